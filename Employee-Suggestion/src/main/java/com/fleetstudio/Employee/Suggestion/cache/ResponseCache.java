@@ -0,0 +1,203 @@
+package com.fleetstudio.Employee.Suggestion.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, time-evicting cache of serialized responses.
+ *
+ * Each entry remembers the scope it was computed for (e.g. a status filter) and the ids it
+ * contains, so callers can invalidate exactly the entries a write affects. Loads carry the
+ * invalidation epoch observed before reading; a load that raced with an invalidation is
+ * not stored.
+ */
+public class ResponseCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<String, Entry> entries;
+    private final Map<String, Set<String>> keysByScope = new HashMap<>();
+    private final Map<Long, Set<String>> keysById = new HashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ResponseCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Epoch to pass to {@link #put} for a value about to be loaded
+     */
+    public long currentEpoch() {
+        return epoch.get();
+    }
+
+    public synchronized byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            removeEntry(key, entry);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.body;
+    }
+
+    public synchronized void put(String key, String scope, Collection<Long> ids, byte[] body, long loadEpoch) {
+        if (loadEpoch != epoch.get()) {
+            return;
+        }
+        Entry previous = entries.get(key);
+        if (previous != null) {
+            removeEntry(key, previous);
+        }
+        Entry entry = new Entry(scope, new HashSet<>(ids), body, System.currentTimeMillis() + ttlMillis);
+        entries.put(key, entry);
+        keysByScope.computeIfAbsent(scope, s -> new HashSet<>()).add(key);
+        for (Long id : entry.ids) {
+            keysById.computeIfAbsent(id, i -> new HashSet<>()).add(key);
+        }
+        evictOverflow();
+    }
+
+    /**
+     * Drop every entry computed for the given scope
+     */
+    public synchronized void invalidateScope(String scope) {
+        epoch.incrementAndGet();
+        Set<String> keys = keysByScope.get(scope);
+        if (keys != null) {
+            removeKeys(new HashSet<>(keys));
+        }
+    }
+
+    /**
+     * Drop every entry that contains the given id
+     */
+    public synchronized void invalidateId(Long id) {
+        epoch.incrementAndGet();
+        Set<String> keys = keysById.get(id);
+        if (keys != null) {
+            removeKeys(new HashSet<>(keys));
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        epoch.incrementAndGet();
+        invalidations.add(entries.size());
+        entries.clear();
+        keysByScope.clear();
+        keysById.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), hits.sum(), misses.sum(), evictions.sum(), invalidations.sum());
+    }
+
+    private void removeKeys(Set<String> keys) {
+        for (String key : keys) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                removeEntry(key, entry);
+                invalidations.increment();
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            it.remove();
+            unlink(eldest.getKey(), eldest.getValue());
+            evictions.increment();
+        }
+    }
+
+    private void removeEntry(String key, Entry entry) {
+        entries.remove(key);
+        unlink(key, entry);
+    }
+
+    private void unlink(String key, Entry entry) {
+        Set<String> scoped = keysByScope.get(entry.scope);
+        if (scoped != null) {
+            scoped.remove(key);
+            if (scoped.isEmpty()) {
+                keysByScope.remove(entry.scope);
+            }
+        }
+        for (Long id : entry.ids) {
+            Set<String> keys = keysById.get(id);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysById.remove(id);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String scope;
+        private final Set<Long> ids;
+        private final byte[] body;
+        private final long expiresAt;
+
+        Entry(String scope, Set<Long> ids, byte[] body, long expiresAt) {
+            this.scope = scope;
+            this.ids = ids;
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Point-in-time cache counters
+     */
+    public static class Stats {
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+
+        public Stats(int size, long hits, long misses, long evictions, long invalidations) {
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+        }
+
+        public int getSize() { return size; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getInvalidations() { return invalidations; }
+
+        public double getHitRatio() {
+            long total = hits + misses;
+            return total > 0 ? (double) hits / total : 0.0;
+        }
+    }
+}
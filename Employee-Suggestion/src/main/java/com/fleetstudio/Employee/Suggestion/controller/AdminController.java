@@ -1,9 +1,21 @@
 package com.fleetstudio.Employee.Suggestion.controller;
 
+import com.fleetstudio.Employee.Suggestion.cache.ResponseCache;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
 import com.fleetstudio.Employee.Suggestion.security.jwt.UserDetailsImpl;
 import com.fleetstudio.Employee.Suggestion.service.AdminService;
+import com.fleetstudio.Employee.Suggestion.service.StatusAsOfService;
+import com.fleetstudio.Employee.Suggestion.service.StatusDistributionService;
+import com.fleetstudio.Employee.Suggestion.service.StatusHistoryCompactionService;
 import com.fleetstudio.Employee.Suggestion.service.StatusHistoryService;
+import com.fleetstudio.Employee.Suggestion.service.StatusHistoryWriter;
+import com.fleetstudio.Employee.Suggestion.service.SuggestionAgingService;
+import com.fleetstudio.Employee.Suggestion.service.SuggestionArchiveService;
+import com.fleetstudio.Employee.Suggestion.service.SuggestionCardService;
+import com.fleetstudio.Employee.Suggestion.service.SuggestionImportService;
+import com.fleetstudio.Employee.Suggestion.service.SuggestionPurgeService;
+import com.fleetstudio.Employee.Suggestion.service.SuggestionReadCache;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,6 +23,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import com.fleetstudio.Employee.Suggestion.model.Suggestion;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -19,11 +33,41 @@ public class AdminController {
 
     private final AdminService adminService;
     private final StatusHistoryService statusHistoryService;
+    private final SuggestionReadCache suggestionReadCache;
+    private final SuggestionImportService suggestionImportService;
+    private final SuggestionPurgeService suggestionPurgeService;
+    private final SuggestionArchiveService suggestionArchiveService;
+    private final SuggestionCardService suggestionCardService;
+    private final StatusDistributionService statusDistributionService;
+    private final StatusHistoryWriter statusHistoryWriter;
+    private final SuggestionAgingService suggestionAgingService;
+    private final StatusAsOfService statusAsOfService;
+    private final StatusHistoryCompactionService statusHistoryCompactionService;
 
     @Autowired
-    public AdminController(AdminService adminService, StatusHistoryService statusHistoryService) {
+    public AdminController(AdminService adminService, StatusHistoryService statusHistoryService,
+                           SuggestionReadCache suggestionReadCache,
+                           SuggestionImportService suggestionImportService,
+                           SuggestionPurgeService suggestionPurgeService,
+                           SuggestionArchiveService suggestionArchiveService,
+                           SuggestionCardService suggestionCardService,
+                           StatusDistributionService statusDistributionService,
+                           StatusHistoryWriter statusHistoryWriter,
+                           SuggestionAgingService suggestionAgingService,
+                           StatusAsOfService statusAsOfService,
+                           StatusHistoryCompactionService statusHistoryCompactionService) {
         this.adminService = adminService;
         this.statusHistoryService = statusHistoryService;
+        this.suggestionReadCache = suggestionReadCache;
+        this.suggestionImportService = suggestionImportService;
+        this.suggestionPurgeService = suggestionPurgeService;
+        this.suggestionArchiveService = suggestionArchiveService;
+        this.suggestionCardService = suggestionCardService;
+        this.statusDistributionService = statusDistributionService;
+        this.statusHistoryWriter = statusHistoryWriter;
+        this.suggestionAgingService = suggestionAgingService;
+        this.statusAsOfService = statusAsOfService;
+        this.statusHistoryCompactionService = statusHistoryCompactionService;
     }
 
 
@@ -94,7 +138,24 @@ public class AdminController {
 
 
     /**
-     * Bulk update suggestion statuses
+     * Bulk update suggestion statuses; the outcome is reported per id
+     */
+    @PutMapping("/suggestions/status/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> bulkUpdateStatus(
+            @RequestBody BulkStatusUpdateRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        try {
+            AdminService.BulkUpdateResult result = adminService.bulkUpdateStatus(
+                    request.getSuggestionIds(), request.getStatus(), userDetails.getUsername(), request.getReason());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get soft-deleted suggestions
      */
 
     @GetMapping("/suggestions/deleted")
@@ -108,15 +169,52 @@ public class AdminController {
         }
     }
 
+    /**
+     * Start purging soft-deleted suggestions; returns the job to poll
+     */
     @DeleteMapping("/suggestions/hardDelete")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> hardDeletedSuggestions() {
+    public ResponseEntity<?> hardDeletedSuggestions(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        SuggestionPurgeService.PurgeJob job = adminService.hardDeleteSuggestions(userDetails.getUsername());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/admin/suggestions/purge-jobs/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * Progress of a purge job
+     */
+    @GetMapping("/suggestions/purge-jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getPurgeJob(@PathVariable String jobId) {
+        return suggestionPurgeService.getJob(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Pause a purge job after its current chunk
+     */
+    @PostMapping("/suggestions/purge-jobs/{jobId}/pause")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> pausePurgeJob(@PathVariable String jobId) {
         try {
-            adminService.hardDeleteSuggestions(); // Call the service method
-            return ResponseEntity.noContent().build(); // 204 No Content
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                    .body("Error while deleting suggestions: " + e.getMessage());
+            return ResponseEntity.ok(suggestionPurgeService.pause(jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Resume a paused purge job
+     */
+    @PostMapping("/suggestions/purge-jobs/{jobId}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> resumePurgeJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(suggestionPurgeService.resume(jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -124,6 +222,142 @@ public class AdminController {
 
 
 
+    /**
+     * Import suggestions from a CSV (text/csv) or NDJSON (application/x-ndjson) body
+     */
+    @PostMapping("/suggestions/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importSuggestions(
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        try {
+            SuggestionImportService.Format format =
+                    SuggestionImportService.Format.fromContentType(request.getContentType());
+            SuggestionImportService.ImportResult result = suggestionImportService.importSuggestions(
+                    request.getInputStream(), format, userDetails.getUsername());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Failed to read import body: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Live suggestions that have been in one of the given statuses (open or under review by
+     * default) for more than olderThanDays days, longest-waiting first
+     */
+    @GetMapping("/suggestions/stale")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getStaleSuggestions(
+            @RequestParam(name = "status", required = false) List<SuggestionStatus> statuses,
+            @RequestParam(defaultValue = "0") int olderThanDays,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + SuggestionAgingService.DEFAULT_LIMIT) int limit) {
+        try {
+            if (statuses == null || statuses.isEmpty()) {
+                statuses = List.of(SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW);
+            }
+            return ResponseEntity.ok(suggestionAgingService.getStale(statuses, olderThanDays, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * New breaches found by the most recent SLA check (null before the first one)
+     */
+    @GetMapping("/suggestions/sla/last-run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SuggestionAgingService.SlaRun> getLastSlaRun() {
+        return ResponseEntity.ok(suggestionAgingService.getLastSlaRun());
+    }
+
+    /**
+     * Outcome of the most recent archive run (null before the first one)
+     */
+    @GetMapping("/suggestions/archive/last-run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SuggestionArchiveService.ArchiveRun> getLastArchiveRun() {
+        return ResponseEntity.ok(suggestionArchiveService.getLastRun());
+    }
+
+    /**
+     * Suggestion read cache hit ratio and size
+     */
+    @GetMapping("/cache/suggestions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseCache.Stats> getSuggestionCacheStats() {
+        return ResponseEntity.ok(suggestionReadCache.getStats());
+    }
+
+    /**
+     * Clear the suggestion read cache
+     */
+    @DeleteMapping("/cache/suggestions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> clearSuggestionCache() {
+        suggestionReadCache.clear();
+        return ResponseEntity.ok(new SuccessResponse("Suggestion cache cleared"));
+    }
+
+    /**
+     * Status history writer queue depth and counters
+     */
+    @GetMapping("/status-history/writer")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StatusHistoryWriter.Stats> getStatusHistoryWriterStats() {
+        return ResponseEntity.ok(statusHistoryWriter.getStats());
+    }
+
+    /**
+     * Outcome of the most recent status history compaction (null before the first one)
+     */
+    @GetMapping("/status-history/compaction/last-run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StatusHistoryCompactionService.CompactionRun> getLastCompactionRun() {
+        return ResponseEntity.ok(statusHistoryCompactionService.getLastRun());
+    }
+
+    /**
+     * Rebuild the suggestion-card read model from the live tables
+     */
+    @PostMapping("/suggestion-cards/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildSuggestionCards() {
+        int cards = suggestionCardService.rebuild();
+        suggestionReadCache.clear();
+        return ResponseEntity.ok(new SuccessResponse("Rebuilt " + cards + " suggestion cards"));
+    }
+
+    /**
+     * Drop the daily status distribution snapshots and rebuild them from the status history
+     */
+    @PostMapping("/status-distribution/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildStatusDistribution() {
+        try {
+            int days = statusDistributionService.rebuild();
+            return ResponseEntity.ok(new SuccessResponse("Rebuilt " + days + " days of status distribution"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Drop the as-of status checkpoints and rebuild them from the status history
+     */
+    @PostMapping("/status-checkpoints/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildStatusCheckpoints() {
+        try {
+            int checkpoints = statusAsOfService.rebuild();
+            return ResponseEntity.ok(new SuccessResponse("Rebuilt " + checkpoints + " status checkpoints"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
     // Request/Response classes
     public static class ChangeStatusRequest {
         private SuggestionStatus status;
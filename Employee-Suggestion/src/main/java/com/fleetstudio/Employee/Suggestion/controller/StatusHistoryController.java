@@ -3,12 +3,15 @@ package com.fleetstudio.Employee.Suggestion.controller;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatusHistory;
 import com.fleetstudio.Employee.Suggestion.service.StatusHistoryService;
+import com.fleetstudio.Employee.Suggestion.service.StatusTimingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -68,69 +71,118 @@ public class StatusHistoryController {
     }
 
     /**
-     * Get all status history for active suggestions
+     * Get status history for active suggestions, newest first, a page at a time
      */
     @GetMapping
-    public ResponseEntity<List<SuggestionStatusHistory>> getAllStatusHistory() {
-        List<SuggestionStatusHistory> history = statusHistoryService.getAllStatusHistory();
-        return ResponseEntity.ok(history);
+    public ResponseEntity<?> getAllStatusHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + StatusHistoryService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(statusHistoryService.getAllStatusHistory(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
     }
 
     /**
-     * Get status changes by admin
+     * Get status changes by admin, a page at a time
      */
     @GetMapping("/admin/{adminName}")
-    public ResponseEntity<List<SuggestionStatusHistory>> getStatusChangesByAdmin(@PathVariable String adminName) {
-        List<SuggestionStatusHistory> changes = statusHistoryService.getStatusChangesByAdmin(adminName);
-        return ResponseEntity.ok(changes);
+    public ResponseEntity<?> getStatusChangesByAdmin(
+            @PathVariable String adminName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + StatusHistoryService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(statusHistoryService.getStatusChangesByAdmin(adminName, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
     }
 
     /**
-     * Get status changes to a specific status
+     * Get status changes to a specific status, a page at a time
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<SuggestionStatusHistory>> getStatusChangesTo(@PathVariable SuggestionStatus status) {
-        List<SuggestionStatusHistory> changes = statusHistoryService.getStatusChangesTo(status);
-        return ResponseEntity.ok(changes);
+    public ResponseEntity<?> getStatusChangesTo(
+            @PathVariable SuggestionStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + StatusHistoryService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(statusHistoryService.getStatusChangesTo(status, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
     }
 
     /**
-     * Get status transitions between two statuses
+     * Get status transitions between two statuses, a page at a time
      */
     @GetMapping("/transitions")
-    public ResponseEntity<List<SuggestionStatusHistory>> getStatusTransitions(
+    public ResponseEntity<?> getStatusTransitions(
             @RequestParam SuggestionStatus from,
-            @RequestParam SuggestionStatus to) {
-        List<SuggestionStatusHistory> transitions = statusHistoryService.getStatusTransitions(from, to);
-        return ResponseEntity.ok(transitions);
+            @RequestParam SuggestionStatus to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + StatusHistoryService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(statusHistoryService.getStatusTransitions(from, to, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
     }
 
     /**
-     * Get recent status changes
+     * Get recent status changes, a page at a time
      */
     @GetMapping("/recent")
-    public ResponseEntity<List<SuggestionStatusHistory>> getRecentStatusChanges(
-            @RequestParam(defaultValue = "7") int days) {
-        List<SuggestionStatusHistory> changes = statusHistoryService.getRecentStatusChanges(days);
-        return ResponseEntity.ok(changes);
+    public ResponseEntity<?> getRecentStatusChanges(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + StatusHistoryService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(statusHistoryService.getRecentStatusChanges(days, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
     }
 
     /**
-     * Get status changes within date range
+     * Get status changes within date range, a page at a time
      */
     @GetMapping("/date-range")
-    public ResponseEntity<List<SuggestionStatusHistory>> getStatusChangesBetween(
+    public ResponseEntity<?> getStatusChangesBetween(
             @RequestParam String startDate,
-            @RequestParam String endDate) {
+            @RequestParam String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + StatusHistoryService.DEFAULT_PAGE_SIZE) int limit) {
         try {
             DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
             LocalDateTime start = LocalDateTime.parse(startDate, formatter);
             LocalDateTime end = LocalDateTime.parse(endDate, formatter);
-            
-            List<SuggestionStatusHistory> changes = statusHistoryService.getStatusChangesBetween(start, end);
-            return ResponseEntity.ok(changes);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+
+            return ResponseEntity.ok(statusHistoryService.getStatusChangesBetween(start, end, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Dates must be ISO date-times"));
+        }
+    }
+
+    /**
+     * Get the status of every suggestion as of a past instant. {@code ts} is an ISO
+     * date-time, or an ISO date meaning the end of that day; changes made at or after it
+     * are not included.
+     */
+    @GetMapping("/as-of")
+    public ResponseEntity<?> getStatusAsOf(@RequestParam String ts) {
+        try {
+            LocalDateTime at = ts.contains("T")
+                    ? LocalDateTime.parse(ts, DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                    : LocalDate.parse(ts).plusDays(1).atStartOfDay();
+            return ResponseEntity.ok(statusHistoryService.getStatusAsOf(at));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("ts must be an ISO date or date-time"));
         }
     }
 
@@ -162,13 +214,42 @@ public class StatusHistoryController {
     }
 
     /**
-     * Get suggestions with multiple status changes
+     * Get daily suggestion counts per status, from the stored snapshots: either the last
+     * {@code days} days or an explicit from/to range (ISO dates, inclusive)
+     */
+    @GetMapping("/analytics/distribution")
+    public ResponseEntity<?> getStatusDistributionOverTime(
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        try {
+            if (from == null && to == null) {
+                return ResponseEntity.ok(statusHistoryService.getStatusDistributionOverTime(days));
+            }
+            if (from == null || to == null) {
+                throw new IllegalArgumentException("Both from and to are required for a date range");
+            }
+            return ResponseEntity.ok(statusHistoryService.getStatusDistributionOverTime(
+                    LocalDate.parse(from), LocalDate.parse(to)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Dates must be in yyyy-MM-dd format"));
+        }
+    }
+
+    /**
+     * Get suggestions with multiple status changes, most first, a page at a time
      */
     @GetMapping("/analytics/frequent-changes")
-    public ResponseEntity<List<StatusHistoryService.SuggestionStatusSummary>> getSuggestionsWithMultipleStatusChanges() {
-        List<StatusHistoryService.SuggestionStatusSummary> suggestions = 
-            statusHistoryService.getSuggestionsWithMultipleStatusChanges();
-        return ResponseEntity.ok(suggestions);
+    public ResponseEntity<?> getSuggestionsWithMultipleStatusChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + StatusHistoryService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(statusHistoryService.getSuggestionsWithMultipleStatusChanges(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
     }
 
     /**
@@ -208,11 +289,11 @@ public class StatusHistoryController {
     }
 
     /**
-     * Get average status change times (placeholder implementation)
+     * Get time spent in each status: count, mean, p50, p90 and p99 in days
      */
     @GetMapping("/analytics/timing")
-    public ResponseEntity<Map<String, Double>> getAverageStatusChangeTime() {
-        Map<String, Double> timing = statusHistoryService.getAverageStatusChangeTime();
+    public ResponseEntity<Map<SuggestionStatus, StatusTimingService.StatusTiming>> getAverageStatusChangeTime() {
+        Map<SuggestionStatus, StatusTimingService.StatusTiming> timing = statusHistoryService.getAverageStatusChangeTime();
         return ResponseEntity.ok(timing);
     }
 
@@ -225,7 +306,7 @@ public class StatusHistoryController {
         
         ActivitySummary summary = new ActivitySummary();
         summary.totalChanges = statusHistoryService.getTotalStatusChanges();
-        summary.recentChanges = statusHistoryService.getRecentStatusChanges(days).size();
+        summary.recentChanges = statusHistoryService.countRecentStatusChanges(days);
         summary.statusStatistics = statusHistoryService.getStatusChangeStatistics();
         summary.adminActivity = statusHistoryService.getAdminActivityStatistics();
         summary.periodDays = days;
@@ -247,9 +328,22 @@ public class StatusHistoryController {
         public long getTimestamp() { return timestamp; }
     }
 
+    public static class ErrorResponse {
+        private String message;
+        private long timestamp;
+
+        public ErrorResponse(String message) {
+            this.message = message;
+            this.timestamp = System.currentTimeMillis();
+        }
+
+        public String getMessage() { return message; }
+        public long getTimestamp() { return timestamp; }
+    }
+
     public static class ActivitySummary {
         public long totalChanges;
-        public int recentChanges;
+        public long recentChanges;
         public int periodDays;
         public Map<SuggestionStatus, Long> statusStatistics;
         public Map<String, Long> adminActivity;
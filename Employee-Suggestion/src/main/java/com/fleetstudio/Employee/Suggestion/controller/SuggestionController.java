@@ -1,34 +1,84 @@
 package com.fleetstudio.Employee.Suggestion.controller;
 
+import com.fleetstudio.Employee.Suggestion.dto.SuggestionChangesResponse;
+import com.fleetstudio.Employee.Suggestion.dto.SuggestionFields;
 import com.fleetstudio.Employee.Suggestion.dto.SuggestionRequest;
 import com.fleetstudio.Employee.Suggestion.dto.SuggestionResponse;
+import com.fleetstudio.Employee.Suggestion.index.MinHashLshIndex;
 import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionCard;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatusHistory;
+import com.fleetstudio.Employee.Suggestion.security.jwt.StreamTicketService;
 import com.fleetstudio.Employee.Suggestion.security.jwt.UserDetailsImpl;
+import com.fleetstudio.Employee.Suggestion.service.DuplicateDetectionService;
+import com.fleetstudio.Employee.Suggestion.service.ResourceVersionService;
+import com.fleetstudio.Employee.Suggestion.service.SuggestionCardService;
+import com.fleetstudio.Employee.Suggestion.service.SuggestionFacetService;
+import com.fleetstudio.Employee.Suggestion.service.SuggestionProjectionService;
+import com.fleetstudio.Employee.Suggestion.service.SuggestionChangeLogService;
+import com.fleetstudio.Employee.Suggestion.service.SuggestionReadCache;
 import com.fleetstudio.Employee.Suggestion.service.SuggestionService;
+import com.fleetstudio.Employee.Suggestion.service.SuggestionStreamHub;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/suggestions")
 @CrossOrigin(origins = "*")
 public class SuggestionController {
 
+    private static final int MAX_BATCH_IDS = 100;
+
     private final SuggestionService suggestionService;
+    private final SuggestionCardService suggestionCardService;
+    private final SuggestionFacetService facetService;
+    private final SuggestionProjectionService projectionService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final SuggestionReadCache suggestionReadCache;
+    private final ResourceVersionService resourceVersionService;
+    private final SuggestionChangeLogService changeLogService;
+    private final SuggestionStreamHub streamHub;
+    private final StreamTicketService streamTicketService;
 
     @Autowired
-    public SuggestionController(SuggestionService suggestionService) {
+    public SuggestionController(SuggestionService suggestionService,
+                                SuggestionCardService suggestionCardService,
+                                SuggestionFacetService facetService,
+                                SuggestionProjectionService projectionService,
+                                DuplicateDetectionService duplicateDetectionService,
+                                SuggestionReadCache suggestionReadCache,
+                                ResourceVersionService resourceVersionService,
+                                SuggestionChangeLogService changeLogService,
+                                SuggestionStreamHub streamHub,
+                                StreamTicketService streamTicketService) {
         this.suggestionService = suggestionService;
+        this.suggestionCardService = suggestionCardService;
+        this.facetService = facetService;
+        this.projectionService = projectionService;
+        this.duplicateDetectionService = duplicateDetectionService;
+        this.suggestionReadCache = suggestionReadCache;
+        this.resourceVersionService = resourceVersionService;
+        this.changeLogService = changeLogService;
+        this.streamHub = streamHub;
+        this.streamTicketService = streamTicketService;
     }
 
     /**
@@ -40,57 +90,220 @@ public class SuggestionController {
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "false") boolean paginated,
             @RequestParam(defaultValue = "ALL") String status,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
 
         boolean isAdmin = userDetails != null && userDetails.getAuthorities()
                 .stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
 
-        if (paginated) {
-            if (isAdmin && !status.equalsIgnoreCase("ALL")) {
-                // Admin + Filter + Paginated
-                Page<Suggestion> suggestions = suggestionService.getSuggestionsByStatus(
-                        SuggestionStatus.valueOf(status.toUpperCase()), page, size);
-                return ResponseEntity.ok(suggestions.map(SuggestionResponse::new));
-            } else {
-                // Normal Paginated
-                Page<Suggestion> suggestions = suggestionService.getAllSuggestions(page, size);
-                return ResponseEntity.ok(suggestions.map(SuggestionResponse::new));
-            }
+        SuggestionStatus statusFilter = isAdmin && !status.equalsIgnoreCase("ALL")
+                ? SuggestionStatus.valueOf(status.toUpperCase())
+                : null;
+        String scope = SuggestionReadCache.scopeOf(statusFilter);
+        SuggestionFields fieldSet;
+        try {
+            fieldSet = SuggestionFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+        String shape = (paginated ? "page=" + page + "&size=" + size : "all")
+                + (fieldSet != null ? "&fields=" + fieldSet.getMask() : "");
+
+        String etag = resourceVersionService.feedETag(scope + "|" + shape);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+
+        byte[] body;
+        if (fieldSet != null) {
+            body = paginated
+                    ? suggestionReadCache.getPage(scope, shape,
+                            () -> projectionService.getFeed(fieldSet, statusFilter, page, size), SuggestionController::rowId)
+                    : suggestionReadCache.getList(scope, shape,
+                            () -> projectionService.getFeed(fieldSet, statusFilter), SuggestionController::rowId);
+        } else if (paginated) {
+            body = suggestionReadCache.getPage(scope, shape, () -> {
+                Page<SuggestionCard> cards = statusFilter != null
+                        // Admin + Filter + Paginated
+                        ? suggestionCardService.getFeedByStatus(statusFilter, page, size)
+                        // Normal Paginated
+                        : suggestionCardService.getFeed(page, size);
+                return cards.map(SuggestionResponse::new);
+            });
         } else {
-            if (isAdmin && !status.equalsIgnoreCase("ALL")) {
-                // Admin + Filter (non-paginated)
-                List<Suggestion> suggestions = suggestionService.getSuggestionsByStatus(
-                        SuggestionStatus.valueOf(status.toUpperCase()));
-                return ResponseEntity.ok(suggestions.stream().map(SuggestionResponse::new).toList());
-            } else {
-                // Normal Non-paginated
-                List<Suggestion> suggestions = suggestionService.getAllSuggestions();
-                return ResponseEntity.ok(suggestions.stream().map(SuggestionResponse::new).toList());
-            }
+            body = suggestionReadCache.getList(scope, shape, () -> {
+                List<SuggestionCard> cards = statusFilter != null
+                        // Admin + Filter (non-paginated)
+                        ? suggestionCardService.getFeedByStatus(statusFilter)
+                        // Normal Non-paginated
+                        : suggestionCardService.getFeed();
+                return cards.stream().map(SuggestionResponse::new).toList();
+            });
         }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Search suggestions by title or description
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<SuggestionResponse>> searchSuggestions(@RequestParam(defaultValue = "") String q) {
+        return ResponseEntity.ok(suggestionCardService.search(q).stream().map(SuggestionResponse::new).toList());
+    }
+
+    /**
+     * Filter suggestions by status, anonymity, submitter department and creation month,
+     * with facet counts per dimension (Admin only). Values within a dimension are ORed,
+     * dimensions are ANDed; months are given as yyyy-MM.
+     */
+    @GetMapping("/facets")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getFacets(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) Boolean anonymous,
+            @RequestParam(required = false) List<String> department,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "" + SuggestionFacetService.DEFAULT_LIMIT) int limit) {
+        try {
+            Set<SuggestionStatus> statuses = status == null ? Set.of() : status.stream()
+                    .map(s -> SuggestionStatus.valueOf(s.trim().toUpperCase()))
+                    .collect(Collectors.toSet());
+            Set<String> departments = department == null ? Set.of() : Set.copyOf(department);
+            return ResponseEntity.ok(facetService.query(new SuggestionFacetService.FacetQuery(
+                    statuses, anonymous, departments,
+                    from != null ? YearMonth.parse(from) : null,
+                    to != null ? YearMonth.parse(to) : null,
+                    limit)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid facet filter: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get suggestions changed since a sequence number (delta sync)
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<SuggestionChangesResponse> getChangesSince(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "" + SuggestionChangeLogService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(changeLogService.getChangesSince(since, limit));
+    }
+
+    /**
+     * Get the latest change sequence number
+     */
+    @GetMapping("/changes/latest")
+    public ResponseEntity<Map<String, Long>> getLatestChangeSeq() {
+        return ResponseEntity.ok(Map.of("seq", changeLogService.getLatestSeq()));
+    }
+
+    /**
+     * Single-use ticket for opening the stream, which EventSource cannot send a header to
+     */
+    @PostMapping("/stream/ticket")
+    public ResponseEntity<?> issueStreamTicket(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseEntity.ok(Map.of(
+                "ticket", streamTicketService.issue(userDetails.getEmail()),
+                "expiresInMs", streamTicketService.getTtlMillis()));
+    }
+
+    /**
+     * Live feed of suggestion changes and coalesced vote counts (Server-Sent Events),
+     * opened with {@code ?ticket=} from {@code POST /stream/ticket}
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSuggestions() {
+        return streamHub.subscribe();
     }
 
     /**
      * Get suggestion by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getSuggestionById(@PathVariable Long id) {
-        Optional<Suggestion> suggestion = suggestionService.getSuggestionById(id);
-        return suggestion.<ResponseEntity<?>>map(ResponseEntity::ok)
+    public ResponseEntity<?> getSuggestionById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        SuggestionFields fieldSet;
+        try {
+            fieldSet = SuggestionFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+        Optional<String> etag = resourceVersionService.suggestionETag(id)
+                .map(tag -> fieldSet != null ? ETags.variant(tag, "f" + fieldSet.getMask()) : tag);
+        if (etag.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (ETags.matches(ifNoneMatch, etag.get())) {
+            return ETags.notModified(etag.get());
+        }
+        Optional<byte[]> body = fieldSet != null
+                ? suggestionReadCache.getDetail(id, "fields=" + fieldSet.getMask(),
+                        () -> projectionService.getById(fieldSet, id))
+                : suggestionReadCache.getDetail(id, "detail", () -> suggestionService.getSuggestionDetail(id));
+        return body.<ResponseEntity<?>>map(b -> ResponseEntity.ok()
+                        .eTag(etag.get())
+                        .cacheControl(CacheControl.noCache())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(b))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
-     * Create new suggestion
+     * Create new suggestion, returning existing suggestions it may duplicate
      */
     @PreAuthorize("hasRole('USER')")
     @PostMapping
     public ResponseEntity<?> submitSuggestion(@RequestBody SuggestionRequest request,
                                               @AuthenticationPrincipal UserDetailsImpl userDetails) {
         Long employeeId = userDetails.getId();
-        suggestionService.createSuggestion(
+        Suggestion suggestion = suggestionService.createSuggestion(
                 request.getTitle(), request.getDescription(), employeeId, request.isAnonymous());
-        return ResponseEntity.ok("Suggestion submitted successfully");
+        List<MinHashLshIndex.Match> duplicates = duplicateDetectionService.findPossibleDuplicates(
+                request.getTitle(), request.getDescription(), suggestion.getId());
+        return ResponseEntity.ok(new SubmitSuggestionResponse(
+                "Suggestion submitted successfully", suggestion.getId(), duplicates));
+    }
+
+    /**
+     * Fetch several suggestions at once, in request order, with not-found markers
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> getSuggestionsBatch(@RequestBody BatchRequest request) {
+        List<Long> ids = request.getIds();
+        if (ids == null || ids.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("At least one suggestion ID is required"));
+        }
+        if (ids.size() > MAX_BATCH_IDS) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("At most " + MAX_BATCH_IDS + " suggestion IDs can be fetched at once"));
+        }
+        if (ids.contains(null)) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Suggestion IDs cannot be null"));
+        }
+        byte[] body = suggestionReadCache.getBatch(ids, missing -> suggestionCardService.getCards(missing).stream()
+                .map(SuggestionResponse::new)
+                .toList());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Find possible duplicates of a suggestion before submitting it
+     */
+    @PostMapping("/duplicates")
+    public ResponseEntity<List<MinHashLshIndex.Match>> findPossibleDuplicates(
+            @RequestBody SuggestionRequest request) {
+        return ResponseEntity.ok(duplicateDetectionService.findPossibleDuplicates(
+                request.getTitle(), request.getDescription()));
     }
 
     /**
@@ -123,9 +336,33 @@ public class SuggestionController {
         return ResponseEntity.ok(suggestions);
     }
 
+    private static Long rowId(Map<String, Object> row) {
+        return (Long) row.get("id");
+    }
+
     // ... keep the rest of endpoints same (anonymous, search, top, recent, etc.)
 
     // --- Request/Response helper classes ---
+    public static class BatchRequest {
+        private List<Long> ids;
+        public List<Long> getIds() { return ids; }
+        public void setIds(List<Long> ids) { this.ids = ids; }
+    }
+
+    public static class SubmitSuggestionResponse {
+        private final String message;
+        private final Long id;
+        private final List<MinHashLshIndex.Match> possibleDuplicates;
+        public SubmitSuggestionResponse(String message, Long id, List<MinHashLshIndex.Match> possibleDuplicates) {
+            this.message = message;
+            this.id = id;
+            this.possibleDuplicates = possibleDuplicates;
+        }
+        public String getMessage() { return message; }
+        public Long getId() { return id; }
+        public List<MinHashLshIndex.Match> getPossibleDuplicates() { return possibleDuplicates; }
+    }
+
     public static class UpdateSuggestionRequest {
         private String title;
         private String description;
@@ -0,0 +1,29 @@
+package com.fleetstudio.Employee.Suggestion.controller;
+
+import com.fleetstudio.Employee.Suggestion.service.TypeaheadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/suggest")
+@CrossOrigin(origins = "*")
+public class TypeaheadController {
+
+    private final TypeaheadService typeaheadService;
+
+    @Autowired
+    public TypeaheadController(TypeaheadService typeaheadService) {
+        this.typeaheadService = typeaheadService;
+    }
+
+    /**
+     * Prefix completions for suggestion titles and employee names
+     */
+    @GetMapping
+    public ResponseEntity<TypeaheadService.TypeaheadResult> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "" + TypeaheadService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(typeaheadService.suggest(query, limit));
+    }
+}
@@ -2,8 +2,11 @@ package com.fleetstudio.Employee.Suggestion.controller;
 
 import com.fleetstudio.Employee.Suggestion.model.Vote;
 import com.fleetstudio.Employee.Suggestion.security.jwt.UserDetailsImpl;
+import com.fleetstudio.Employee.Suggestion.service.ResourceVersionService;
 import com.fleetstudio.Employee.Suggestion.service.VoteService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/votes")
@@ -19,10 +23,12 @@ import java.util.Map;
 public class VoteController {
 
     private final VoteService voteService;
+    private final ResourceVersionService resourceVersionService;
 
     @Autowired
-    public VoteController(VoteService voteService) {
+    public VoteController(VoteService voteService, ResourceVersionService resourceVersionService) {
         this.voteService = voteService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     /**
@@ -122,10 +128,22 @@ public class VoteController {
      * Get vote count for a suggestion
      */
     @GetMapping("/suggestion/{suggestionId}/count")
-    public ResponseEntity<VoteCountResponse> getVoteCount(@PathVariable Long suggestionId) {
+    public ResponseEntity<VoteCountResponse> getVoteCount(
+            @PathVariable Long suggestionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            Optional<String> etag = resourceVersionService.voteCountETag(suggestionId);
+            if (etag.isPresent() && ETags.matches(ifNoneMatch, etag.get())) {
+                return ETags.notModified(etag.get());
+            }
             long count = voteService.getVoteCount(suggestionId);
-            return ResponseEntity.ok(new VoteCountResponse(count));
+            if (etag.isEmpty()) {
+                return ResponseEntity.ok(new VoteCountResponse(count));
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag.get())
+                    .cacheControl(CacheControl.noCache())
+                    .body(new VoteCountResponse(count));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(new VoteCountResponse(0));
         }
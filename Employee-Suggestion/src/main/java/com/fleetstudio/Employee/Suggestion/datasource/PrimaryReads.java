@@ -0,0 +1,36 @@
+package com.fleetstudio.Employee.Suggestion.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the reads made inside a block to the primary.
+ *
+ * Used when the result is kept beyond the request (response caches, version stamps): a
+ * lagging replica would otherwise be read right after a write's invalidation and the
+ * stale result would be cached until the next write. A no-op when no replica is configured.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Integer> DEPTH = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        Integer depth = DEPTH.get();
+        DEPTH.set(depth == null ? 1 : depth + 1);
+        try {
+            return reads.get();
+        } finally {
+            if (depth == null) {
+                DEPTH.remove();
+            } else {
+                DEPTH.set(depth);
+            }
+        }
+    }
+
+    static boolean isActive() {
+        return DEPTH.get() != null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.fleetstudio.Employee.Suggestion.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ *
+ * Reads stay on the primary while the replica lags past the threshold, while the
+ * current client is inside its read-your-writes window, and inside {@link PrimaryReads}.
+ * Must sit behind a LazyConnectionDataSourceProxy so the transaction's read-only flag
+ * is already set when the connection is fetched.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWrites) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return route(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    Route route(boolean readOnly) {
+        if (!readOnly || PrimaryReads.isActive() || !lagMonitor.isReplicaUsable() || readYourWrites.isSticky()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+}
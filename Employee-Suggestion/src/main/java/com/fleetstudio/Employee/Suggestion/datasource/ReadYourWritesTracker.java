@@ -0,0 +1,86 @@
+package com.fleetstudio.Employee.Suggestion.datasource;
+
+import com.fleetstudio.Employee.Suggestion.event.EmployeeChangedEvent;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which clients wrote recently, so their reads stay on the primary until the
+ * replica has had time to catch up.
+ *
+ * Clients are identified by their authenticated username, or by remote address for
+ * anonymous callers (e.g. device-based voting). Writes are picked up from the committed
+ * domain events, which run on the writing request's thread.
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowMillis;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        recordWrite();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        recordWrite();
+    }
+
+    /**
+     * Mark the current client as having just written (no-op outside a request)
+     */
+    public void recordWrite() {
+        String client = currentClient();
+        if (client != null) {
+            stickyUntil.put(client, System.currentTimeMillis() + windowMillis);
+        }
+    }
+
+    /**
+     * True if the current client wrote within the window
+     */
+    public boolean isSticky() {
+        if (stickyUntil.isEmpty()) {
+            return false;
+        }
+        String client = currentClient();
+        if (client == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(client);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.sticky-window-ms:5000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until <= now);
+    }
+
+    private static String currentClient() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return "addr:" + servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
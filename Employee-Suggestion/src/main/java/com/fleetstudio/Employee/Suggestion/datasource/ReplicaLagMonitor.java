@@ -0,0 +1,137 @@
+package com.fleetstudio.Employee.Suggestion.datasource;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Measures replica lag with a heartbeat row.
+ *
+ * Each tick first reads the beat the replica has, then stamps a new one on the primary.
+ * Beats written by this instance are remembered, and the lag is the age of the oldest
+ * one the replica has not seen yet: zero while it has the newest beat, however long the
+ * interval between beats. Measuring against the replica's own beat time instead would
+ * always read at least one interval behind and make routing flap whenever the threshold
+ * is close to the interval. Works with any replication setup (no SHOW REPLICA STATUS
+ * privileges needed). The replica counts as usable only while the last measurement
+ * succeeded and stayed under the threshold.
+ */
+public class ReplicaLagMonitor {
+
+    private static final int MAX_REMEMBERED_BEATS = 10_000;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    // Beats written by this instance, oldest first; only the monitor thread touches it
+    private final Deque<LocalDateTime> writtenBeats = new ArrayDeque<>();
+
+    private volatile long lagMillis = -1;
+    private volatile boolean usable;
+    private volatile String lastError;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @PostConstruct
+    public void createHeartbeatTable() {
+        try {
+            primary.execute("CREATE TABLE IF NOT EXISTS replication_heartbeat ("
+                    + "id INT NOT NULL PRIMARY KEY, beat_at TIMESTAMP(6) NOT NULL)");
+        } catch (DataAccessException e) {
+            lastError = e.getMostSpecificCause().getMessage();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.heartbeat-interval-ms:1000}")
+    public void check() {
+        try {
+            List<LocalDateTime> seen = replica.queryForList(
+                    "SELECT beat_at FROM replication_heartbeat WHERE id = 1", LocalDateTime.class);
+            recordReplicaBeat(seen.isEmpty() ? null : seen.get(0), utcNow());
+        } catch (DataAccessException e) {
+            recordLag(null);
+            lastError = e.getMostSpecificCause().getMessage();
+        }
+        LocalDateTime beat = utcNow();
+        try {
+            primary.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?) "
+                    + "ON DUPLICATE KEY UPDATE beat_at = ?", beat, beat);
+            recordBeat(beat);
+        } catch (DataAccessException e) {
+            // A missed beat shows up as growing lag on the replica side
+            lastError = e.getMostSpecificCause().getMessage();
+        }
+    }
+
+    /**
+     * Remember a beat written to the primary
+     */
+    void recordBeat(LocalDateTime beat) {
+        writtenBeats.addLast(beat);
+        if (writtenBeats.size() > MAX_REMEMBERED_BEATS) {
+            // Only reached while the replica is hopelessly behind; the lag stays far above any threshold
+            writtenBeats.removeFirst();
+        }
+    }
+
+    /**
+     * Apply the beat read from the replica (null if it has none yet) at the given time
+     */
+    void recordReplicaBeat(LocalDateTime seen, LocalDateTime now) {
+        // Beats the replica already has no longer matter; keep the newest as a reference
+        while (writtenBeats.size() > 1 && seen != null && !writtenBeats.peekFirst().isAfter(seen)) {
+            writtenBeats.removeFirst();
+        }
+        LocalDateTime oldestUnseen = writtenBeats.peekFirst();
+        if (oldestUnseen != null && seen != null && !oldestUnseen.isAfter(seen)) {
+            recordLag(0L);
+        } else if (oldestUnseen != null) {
+            recordLag(Duration.between(oldestUnseen, now).toMillis());
+        } else {
+            // Nothing written by this instance yet: fall back to the age of the replica's beat
+            recordLag(seen != null ? Duration.between(seen, now).toMillis() : null);
+        }
+    }
+
+    /**
+     * Apply one measurement; null means the replica could not be read
+     */
+    void recordLag(Long lag) {
+        lagMillis = lag != null ? Math.max(0, lag) : -1;
+        usable = lag != null && lag <= maxLagMillis;
+    }
+
+    private static LocalDateTime utcNow() {
+        return LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Last measured lag in milliseconds, -1 if unknown
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
@@ -0,0 +1,92 @@
+package com.fleetstudio.Employee.Suggestion.dto;
+
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of suggestions ordered by how often their status changed, most first.
+ * {@code nextCursor} is passed back as {@code ?cursor=} to get the following page and is
+ * null on the last one.
+ */
+public class FrequentChangesPage {
+    private final List<Entry> entries;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public FrequentChangesPage(List<Entry> entries, String nextCursor, boolean hasMore) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters
+    public List<Entry> getEntries() { return entries; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+
+    public static class Entry {
+        private final Long suggestionId;
+        private final String title;
+        private final SuggestionStatus status;
+        private final long statusChangeCount;
+
+        public Entry(Long suggestionId, String title, SuggestionStatus status, long statusChangeCount) {
+            this.suggestionId = suggestionId;
+            this.title = title;
+            this.status = status;
+            this.statusChangeCount = statusChangeCount;
+        }
+
+        public Long getSuggestionId() { return suggestionId; }
+        public String getTitle() { return title; }
+        public SuggestionStatus getStatus() { return status; }
+        public long getStatusChangeCount() { return statusChangeCount; }
+    }
+
+    /**
+     * Position after a (change count, suggestion id) pair in most-changes-first order
+     */
+    public static final class Cursor {
+
+        /**
+         * Starting position: before every real row
+         */
+        public static final Cursor FIRST = new Cursor(Long.MAX_VALUE, 0L);
+
+        private final long changes;
+        private final long suggestionId;
+
+        public Cursor(long changes, long suggestionId) {
+            this.changes = changes;
+            this.suggestionId = suggestionId;
+        }
+
+        public long getChanges() { return changes; }
+        public long getSuggestionId() { return suggestionId; }
+
+        public String encode() {
+            String raw = changes + "|" + suggestionId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Parse a token from {@link #encode()}; null or blank gives {@link #FIRST}
+         */
+        public static Cursor decode(String token) {
+            if (token == null || token.isBlank()) {
+                return FIRST;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(Long.parseLong(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.fleetstudio.Employee.Suggestion.dto;
+
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One status history row as listed by the audit endpoints: the suggestion is referenced by
+ * id only, so listing never loads suggestions.
+ */
+public class StatusHistoryEntry {
+    private final Long id;
+    private final Long suggestionId;
+    private final SuggestionStatus previousStatus;
+    private final SuggestionStatus newStatus;
+    private final String changedBy;
+    private final String changeReason;
+    private final LocalDateTime createdAt;
+
+    public StatusHistoryEntry(Long id, Long suggestionId, SuggestionStatus previousStatus,
+                              SuggestionStatus newStatus, String changedBy, String changeReason,
+                              LocalDateTime createdAt) {
+        this.id = id;
+        this.suggestionId = suggestionId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.changedBy = changedBy;
+        this.changeReason = changeReason;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getSuggestionId() { return suggestionId; }
+    public SuggestionStatus getPreviousStatus() { return previousStatus; }
+    public SuggestionStatus getNewStatus() { return newStatus; }
+    public String getChangedBy() { return changedBy; }
+    public String getChangeReason() { return changeReason; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,30 @@
+package com.fleetstudio.Employee.Suggestion.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of status history, newest first. {@code nextCursor} is passed back as
+ * {@code ?cursor=} to get the following page and is null on the last one.
+ */
+public class StatusHistoryPage {
+    private final List<StatusHistoryEntry> entries;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public StatusHistoryPage(List<StatusHistoryEntry> entries, String nextCursor, boolean hasMore) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Starting position, newest first: after every real row
+     */
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    // Getters
+    public List<StatusHistoryEntry> getEntries() { return entries; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+}
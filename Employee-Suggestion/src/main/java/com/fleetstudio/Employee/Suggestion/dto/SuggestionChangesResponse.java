@@ -0,0 +1,35 @@
+package com.fleetstudio.Employee.Suggestion.dto;
+
+import java.util.List;
+
+public class SuggestionChangesResponse {
+    private List<SuggestionResponse> changed;
+    private List<Long> tombstones;   // ids deleted since the requested sequence
+    private long nextSince;
+    private boolean hasMore;
+    private boolean resyncRequired;  // the log no longer covers the requested sequence
+
+    public SuggestionChangesResponse(List<SuggestionResponse> changed, List<Long> tombstones,
+                                     long nextSince, boolean hasMore) {
+        this.changed = changed;
+        this.tombstones = tombstones;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Tell the client to reload everything and sync from the given sequence number
+     */
+    public static SuggestionChangesResponse resync(long latestSeq) {
+        SuggestionChangesResponse response = new SuggestionChangesResponse(List.of(), List.of(), latestSeq, false);
+        response.resyncRequired = true;
+        return response;
+    }
+
+    // Getters
+    public List<SuggestionResponse> getChanged() { return changed; }
+    public List<Long> getTombstones() { return tombstones; }
+    public long getNextSince() { return nextSince; }
+    public boolean isHasMore() { return hasMore; }
+    public boolean isResyncRequired() { return resyncRequired; }
+}
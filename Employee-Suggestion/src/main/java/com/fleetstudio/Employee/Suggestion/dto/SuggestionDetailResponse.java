@@ -0,0 +1,75 @@
+package com.fleetstudio.Employee.Suggestion.dto;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusHistoryOutboxEntry;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatusHistory;
+import com.fleetstudio.Employee.Suggestion.model.Vote;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body of GET /api/suggestions/{id}: the same fields the endpoint returned when it
+ * serialized the Suggestion entity, votes and status history included. History entries
+ * still waiting in the outbox are listed too, without an id yet.
+ */
+public class SuggestionDetailResponse {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final Long submitterId;
+    private final String submitterName;
+    private final Boolean isAnonymous;
+    private final SuggestionStatus status;
+    private final Integer voteCount;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Boolean deleted;
+    private final LocalDateTime deletedAt;
+    private final List<Vote> votes;
+    private final List<SuggestionStatusHistory> statusHistory;
+
+    /**
+     * Must be called inside a transaction: reads the lazy votes and history
+     */
+    public SuggestionDetailResponse(Suggestion s, List<StatusHistoryOutboxEntry> pendingHistory) {
+        this.id = s.getId();
+        this.title = s.getTitle();
+        this.description = s.getDescription();
+        this.submitterId = s.getSubmitterId();
+        this.submitterName = s.getSubmitterName();
+        this.isAnonymous = s.getIsAnonymous();
+        this.status = s.getStatus();
+        this.voteCount = s.getVoteCount();
+        this.createdAt = s.getCreatedAt();
+        this.updatedAt = s.getUpdatedAt();
+        this.deleted = s.getDeleted();
+        this.deletedAt = s.getDeletedAt();
+        this.votes = new ArrayList<>(s.getVotes());
+        this.statusHistory = new ArrayList<>(s.getStatusHistory());
+        for (StatusHistoryOutboxEntry entry : pendingHistory) {
+            SuggestionStatusHistory pending = new SuggestionStatusHistory(s, entry.getPreviousStatus(),
+                    entry.getNewStatus(), entry.getChangedBy(), entry.getChangeReason());
+            pending.setCreatedAt(entry.getCreatedAt());
+            statusHistory.add(pending);
+        }
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public Long getSubmitterId() { return submitterId; }
+    public String getSubmitterName() { return submitterName; }
+    public Boolean getIsAnonymous() { return isAnonymous; }
+    public SuggestionStatus getStatus() { return status; }
+    public Integer getVoteCount() { return voteCount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Boolean getDeleted() { return deleted; }
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public List<Vote> getVotes() { return votes; }
+    public List<SuggestionStatusHistory> getStatusHistory() { return statusHistory; }
+}
@@ -0,0 +1,100 @@
+package com.fleetstudio.Employee.Suggestion.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A sparse fieldset for suggestion responses, parsed from {@code ?fields=id,title,status}.
+ *
+ * Field names are the JSON names of {@link SuggestionResponse}. The id is always included
+ * (cache invalidation and clients both key on it). Two requests naming the same fields in
+ * any order get the same {@link #getMask() mask}, which is what query shapes and cache
+ * entries are keyed by.
+ */
+public final class SuggestionFields {
+
+    public enum Field {
+        ID("id", "c.id"),
+        TITLE("title", "c.title"),
+        DESCRIPTION("description", "c.description"),
+        SUBMITTER_ID("submitterId", "c.submitterId"),
+        SUBMITTER_NAME("submitterName", "c.submitterName"),
+        IS_ANONYMOUS("isAnonymous", "c.isAnonymous"),
+        STATUS("status", "c.status"),
+        VOTE_COUNT("voteCount", "c.voteCount"),
+        CREATED_AT("createdAt", "c.createdAt"),
+        UPDATED_AT("updatedAt", "c.updatedAt"),
+        STATUS_CHANGED_AT("statusChangedAt", "c.statusChangedAt");
+
+        private final String jsonName;
+        private final String path;
+
+        Field(String jsonName, String path) {
+            this.jsonName = jsonName;
+            this.path = path;
+        }
+
+        public String getJsonName() {
+            return jsonName;
+        }
+
+        /**
+         * JPQL path on the SuggestionCard alias {@code c}
+         */
+        public String getPath() {
+            return path;
+        }
+
+        static Field byJsonName(String name) {
+            for (Field field : values()) {
+                if (field.jsonName.equalsIgnoreCase(name)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown field '" + name + "'");
+        }
+    }
+
+    private final int mask;
+    private final List<Field> fields;
+
+    private SuggestionFields(int mask) {
+        this.mask = mask;
+        List<Field> selected = new ArrayList<>();
+        for (Field field : Field.values()) {
+            if ((mask & (1 << field.ordinal())) != 0) {
+                selected.add(field);
+            }
+        }
+        this.fields = Collections.unmodifiableList(selected);
+    }
+
+    /**
+     * Parse a comma-separated field list; null or blank means "all fields" and returns null
+     */
+    public static SuggestionFields parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return null;
+        }
+        int mask = 1 << Field.ID.ordinal();
+        for (String name : spec.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                mask |= 1 << Field.byJsonName(trimmed).ordinal();
+            }
+        }
+        return new SuggestionFields(mask);
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Selected fields in canonical order (id first)
+     */
+    public List<Field> getFields() {
+        return fields;
+    }
+}
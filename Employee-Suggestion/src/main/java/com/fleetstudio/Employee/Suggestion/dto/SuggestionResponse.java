@@ -1,6 +1,7 @@
 package com.fleetstudio.Employee.Suggestion.dto;
 
 import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionCard;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
 
 import java.time.LocalDateTime;
@@ -15,6 +16,8 @@ public class SuggestionResponse {
     private SuggestionStatus status;
     private Integer voteCount;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime statusChangedAt;   // only known when built from a card
 
     public SuggestionResponse(Suggestion s) {
         this.id = s.getId();
@@ -26,6 +29,21 @@ public class SuggestionResponse {
         this.status = s.getStatus();
         this.voteCount = s.getVoteCount();
         this.createdAt = s.getCreatedAt();
+        this.updatedAt = s.getUpdatedAt();
+    }
+
+    public SuggestionResponse(SuggestionCard c) {
+        this.id = c.getId();
+        this.title = c.getTitle();
+        this.description = c.getDescription();
+        this.submitterId = c.getSubmitterId();
+        this.submitterName = c.getSubmitterName();
+        this.isAnonymous = c.getIsAnonymous();
+        this.status = c.getStatus();
+        this.voteCount = c.getVoteCount();
+        this.createdAt = c.getCreatedAt();
+        this.updatedAt = c.getUpdatedAt();
+        this.statusChangedAt = c.getStatusChangedAt();
     }
 
     // Getters
@@ -38,4 +56,6 @@ public class SuggestionResponse {
     public SuggestionStatus getStatus() { return status; }
     public Integer getVoteCount() { return voteCount; }
     public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public LocalDateTime getStatusChangedAt() { return statusChangedAt; }
 }
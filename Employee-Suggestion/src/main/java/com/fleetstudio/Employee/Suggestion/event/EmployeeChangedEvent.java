@@ -0,0 +1,47 @@
+package com.fleetstudio.Employee.Suggestion.event;
+
+import com.fleetstudio.Employee.Suggestion.model.Employee;
+
+/**
+ * Domain event published whenever an employee row is created, updated or removed.
+ */
+public class EmployeeChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long employeeId;
+    private final String name;
+    private final String department;
+
+    public EmployeeChangedEvent(Type type, Long employeeId, String name, String department) {
+        this.type = type;
+        this.employeeId = employeeId;
+        this.name = name;
+        this.department = department;
+    }
+
+    public static EmployeeChangedEvent of(Type type, Employee employee) {
+        return new EmployeeChangedEvent(type, employee.getId(), employee.getName(), employee.getDepartment());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+}
@@ -0,0 +1,145 @@
+package com.fleetstudio.Employee.Suggestion.event;
+
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event published by SuggestionService and VoteService whenever a suggestion
+ * is written. Carries a snapshot of the row so listeners never have to reload it.
+ */
+public class SuggestionChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED,
+        VOTE_COUNT_CHANGED,
+        ARCHIVED
+    }
+
+    private final Type type;
+    private final Long suggestionId;
+    private final String title;
+    private final String description;
+    private final SuggestionStatus status;
+    private final SuggestionStatus previousStatus;
+    private final LocalDateTime previousStatusSince;
+    private final int voteCount;
+    private final boolean anonymous;
+    private final Long submitterId;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime occurredAt;
+
+    public SuggestionChangedEvent(Type type, Suggestion suggestion, SuggestionStatus previousStatus) {
+        this(type, suggestion, previousStatus, null);
+    }
+
+    /**
+     * Status change that also records when the suggestion entered its previous status
+     */
+    public SuggestionChangedEvent(Type type, Suggestion suggestion, SuggestionStatus previousStatus,
+                                  LocalDateTime previousStatusSince) {
+        this.type = type;
+        this.suggestionId = suggestion.getId();
+        this.title = suggestion.getTitle();
+        this.description = suggestion.getDescription();
+        this.status = suggestion.getStatus();
+        this.previousStatus = previousStatus;
+        this.previousStatusSince = previousStatusSince;
+        this.voteCount = suggestion.getVoteCount() != null ? suggestion.getVoteCount() : 0;
+        this.anonymous = Boolean.TRUE.equals(suggestion.getIsAnonymous());
+        this.submitterId = suggestion.getSubmitterId();
+        this.createdAt = suggestion.getCreatedAt();
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    private SuggestionChangedEvent(Type type, Long suggestionId, SuggestionStatus status) {
+        this.type = type;
+        this.suggestionId = suggestionId;
+        this.title = null;
+        this.description = null;
+        this.status = status;
+        this.previousStatus = null;
+        this.previousStatusSince = null;
+        this.voteCount = 0;
+        this.anonymous = false;
+        this.submitterId = null;
+        this.createdAt = null;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public static SuggestionChangedEvent of(Type type, Suggestion suggestion) {
+        return new SuggestionChangedEvent(type, suggestion, null);
+    }
+
+    /**
+     * A live suggestion was moved to the archive tables; only id and status are known
+     */
+    public static SuggestionChangedEvent archived(Long suggestionId, SuggestionStatus status) {
+        return new SuggestionChangedEvent(Type.ARCHIVED, suggestionId, status);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getSuggestionId() {
+        return suggestionId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public SuggestionStatus getStatus() {
+        return status;
+    }
+
+    public SuggestionStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    /**
+     * When the suggestion entered its previous status (status changes only, null if unknown)
+     */
+    public LocalDateTime getPreviousStatusSince() {
+        return previousStatusSince;
+    }
+
+    public int getVoteCount() {
+        return voteCount;
+    }
+
+    public boolean isAnonymous() {
+        return anonymous;
+    }
+
+    public Long getSubmitterId() {
+        return submitterId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "SuggestionChangedEvent{" +
+                "type=" + type +
+                ", suggestionId=" + suggestionId +
+                ", status=" + status +
+                ", voteCount=" + voteCount +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.fleetstudio.Employee.Suggestion.event;
+
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published by SuggestionAgingService when suggestions have stayed in a status longer
+ * than its SLA. Each suggestion is reported once per stay.
+ */
+public class SuggestionSlaBreachedEvent {
+
+    private final List<Breach> breaches;
+    private final LocalDateTime occurredAt;
+
+    public SuggestionSlaBreachedEvent(List<Breach> breaches) {
+        this.breaches = breaches;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public List<Breach> getBreaches() { return breaches; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+
+    public static class Breach {
+        private final Long suggestionId;
+        private final SuggestionStatus status;
+        private final LocalDateTime since;
+        private final int slaDays;
+
+        public Breach(Long suggestionId, SuggestionStatus status, LocalDateTime since, int slaDays) {
+            this.suggestionId = suggestionId;
+            this.status = status;
+            this.since = since;
+            this.slaDays = slaDays;
+        }
+
+        public Long getSuggestionId() { return suggestionId; }
+        public SuggestionStatus getStatus() { return status; }
+        public LocalDateTime getSince() { return since; }
+        public int getSlaDays() { return slaDays; }
+    }
+}
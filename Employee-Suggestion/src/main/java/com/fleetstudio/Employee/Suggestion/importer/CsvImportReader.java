@@ -0,0 +1,130 @@
+package com.fleetstudio.Employee.Suggestion.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row. Quoted fields may contain commas, doubled quotes and
+ * line breaks; blank lines are skipped.
+ */
+public class CsvImportReader implements ImportRowReader {
+
+    private static final List<String> UNTERMINATED = List.of();
+
+    private final BufferedReader reader;
+    private Map<String, Integer> columns;
+    private long rowNumber;
+
+    public CsvImportReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public SuggestionImportRow next() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        while (true) {
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            rowNumber++;
+            if (record == UNTERMINATED) {
+                return SuggestionImportRow.failed(rowNumber, "Unterminated quoted field");
+            }
+            if (record.size() != columns.size()) {
+                return SuggestionImportRow.failed(rowNumber,
+                        "Expected " + columns.size() + " columns but found " + record.size());
+            }
+            return SuggestionImportRow.of(rowNumber, name -> {
+                Integer index = columns.get(name);
+                return index != null ? record.get(index) : null;
+            });
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null || header == UNTERMINATED) {
+            throw new IllegalArgumentException("CSV import requires a header row");
+        }
+        columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i);
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            columns.putIfAbsent(SuggestionImportRow.normalizeField(name), i);
+        }
+        if (!columns.containsKey("title") || !columns.containsKey("description")) {
+            throw new IllegalArgumentException("CSV header must include title and description columns");
+        }
+    }
+
+    /**
+     * Read one record, or null at end of input
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean sawInput = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            sawInput = true;
+            if (inQuotes) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (!sawInput) {
+            return null;
+        }
+        if (inQuotes) {
+            return UNTERMINATED;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,16 @@
+package com.fleetstudio.Employee.Suggestion.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-style reader over an import body; rows are parsed one at a time so the upload
+ * is never held in memory
+ */
+public interface ImportRowReader extends Closeable {
+
+    /**
+     * Next row, or null at end of input. Rows that cannot be parsed come back with an error.
+     */
+    SuggestionImportRow next() throws IOException;
+}
@@ -0,0 +1,62 @@
+package com.fleetstudio.Employee.Suggestion.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Newline-delimited JSON: one suggestion object per line; blank lines are skipped
+ */
+public class NdjsonImportReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long rowNumber;
+
+    public NdjsonImportReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public SuggestionImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        rowNumber++;
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            return SuggestionImportRow.failed(rowNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            return SuggestionImportRow.failed(rowNumber, "Expected a JSON object");
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        for (Map.Entry<String, JsonNode> entry : node.properties()) {
+            JsonNode value = entry.getValue();
+            if (!value.isNull()) {
+                fields.putIfAbsent(SuggestionImportRow.normalizeField(entry.getKey()), value.asText());
+            }
+        }
+        return SuggestionImportRow.of(rowNumber, fields::get);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
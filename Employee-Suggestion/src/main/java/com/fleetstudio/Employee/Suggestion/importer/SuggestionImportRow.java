@@ -0,0 +1,123 @@
+package com.fleetstudio.Employee.Suggestion.importer;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * One parsed row of a suggestion import, or the reason it could not be parsed.
+ *
+ * Recognised fields (case and separators ignored): title, description, submitterEmail
+ * (or email), anonymous, createdAt.
+ */
+public class SuggestionImportRow {
+
+    private final long rowNumber;
+    private final String title;
+    private final String description;
+    private final String submitterEmail;
+    private final boolean anonymous;
+    private final LocalDateTime createdAt;
+    private final String error;
+
+    private SuggestionImportRow(long rowNumber, String title, String description, String submitterEmail,
+                                boolean anonymous, LocalDateTime createdAt, String error) {
+        this.rowNumber = rowNumber;
+        this.title = title;
+        this.description = description;
+        this.submitterEmail = submitterEmail;
+        this.anonymous = anonymous;
+        this.createdAt = createdAt;
+        this.error = error;
+    }
+
+    public static SuggestionImportRow failed(long rowNumber, String error) {
+        return new SuggestionImportRow(rowNumber, null, null, null, false, null, error);
+    }
+
+    /**
+     * Build a row from a field lookup keyed by {@link #normalizeField} names
+     */
+    public static SuggestionImportRow of(long rowNumber, Function<String, String> field) {
+        String email = blankToNull(field.apply("submitteremail"));
+        if (email == null) {
+            email = blankToNull(field.apply("email"));
+        }
+
+        Boolean anonymous = parseBoolean(field.apply("anonymous"));
+        if (anonymous == null) {
+            return failed(rowNumber, "Invalid value for anonymous: " + field.apply("anonymous"));
+        }
+
+        LocalDateTime createdAt = null;
+        String rawCreatedAt = blankToNull(field.apply("createdat"));
+        if (rawCreatedAt != null) {
+            createdAt = parseTimestamp(rawCreatedAt);
+            if (createdAt == null) {
+                return failed(rowNumber, "Invalid createdAt timestamp: " + rawCreatedAt);
+            }
+        }
+
+        return new SuggestionImportRow(rowNumber, field.apply("title"), field.apply("description"),
+                email != null ? email.trim().toLowerCase(Locale.ROOT) : null, anonymous, createdAt, null);
+    }
+
+    /**
+     * Lower-case a column or property name and drop separators, so "Created At",
+     * "created_at" and "createdAt" all match
+     */
+    public static String normalizeField(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value == null || value.isBlank()) {
+            return false;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "1":
+                return true;
+            case "false", "no", "n", "0":
+                return false;
+            default:
+                return null;
+        }
+    }
+
+    private static LocalDateTime parseTimestamp(String value) {
+        try {
+            return OffsetDateTime.parse(value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            // fall through to a zone-less timestamp
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    public boolean isValid() { return error == null; }
+
+    public long getRowNumber() { return rowNumber; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public String getSubmitterEmail() { return submitterEmail; }
+    public boolean isAnonymous() { return anonymous; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public String getError() { return error; }
+}
@@ -0,0 +1,125 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Items ordered by how long they have been in their current state, oldest first.
+ *
+ * One balanced tree per state is keyed by (since, id), with a hash map from id to entry
+ * for moves and removals, so every update is O(log n). Reading the k oldest items of
+ * some states from a position is O(s log n + k log s): each tree is entered at the
+ * position and the heads are merged. Not thread-safe; callers guard it.
+ */
+public final class AgingIndex<S extends Enum<S>> {
+
+    private static final Comparator<Item<?>> OLDEST_FIRST =
+            Comparator.<Item<?>, LocalDateTime>comparing(Item::getSince).thenComparingLong(Item::getId);
+
+    private final Map<S, NavigableSet<Item<S>>> byState;
+    private final Map<Long, Item<S>> byId = new HashMap<>();
+
+    public AgingIndex(Class<S> type) {
+        this.byState = new EnumMap<>(type);
+        for (S state : type.getEnumConstants()) {
+            byState.put(state, new TreeSet<>(OLDEST_FIRST));
+        }
+    }
+
+    /**
+     * Record that {@code id} entered {@code state} at {@code since}, replacing any earlier entry
+     */
+    public void put(long id, S state, LocalDateTime since) {
+        remove(id);
+        Item<S> item = new Item<>(id, state, since);
+        byId.put(id, item);
+        byState.get(state).add(item);
+    }
+
+    public void remove(long id) {
+        Item<S> item = byId.remove(id);
+        if (item != null) {
+            byState.get(item.state).remove(item);
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Up to {@code limit} items in any of {@code states} that entered them before
+     * {@code enteredBefore}, oldest first, starting after the position (afterSince, afterId)
+     * (both null for the start)
+     */
+    public List<Item<S>> oldest(Collection<S> states, LocalDateTime enteredBefore,
+                                LocalDateTime afterSince, Long afterId, int limit) {
+        Item<S> from = afterSince == null ? null : new Item<>(afterId == null ? Long.MAX_VALUE : afterId, null, afterSince);
+        PriorityQueue<Head<S>> heads = new PriorityQueue<>((a, b) -> OLDEST_FIRST.compare(a.item, b.item));
+        for (S state : states) {
+            NavigableSet<Item<S>> set = byState.get(state);
+            Iterator<Item<S>> it = (from == null ? set : set.tailSet(from, false)).iterator();
+            if (it.hasNext()) {
+                heads.add(new Head<>(it.next(), it));
+            }
+        }
+        List<Item<S>> result = new ArrayList<>(Math.min(limit, 1024));
+        while (result.size() < limit && !heads.isEmpty()) {
+            Head<S> head = heads.poll();
+            if (!head.item.since.isBefore(enteredBefore)) {
+                // Every remaining head is at least as recent
+                break;
+            }
+            result.add(head.item);
+            if (head.rest.hasNext()) {
+                heads.add(new Head<>(head.rest.next(), head.rest));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Items of {@code state} that entered it in (after, through], oldest first
+     */
+    public List<Item<S>> enteredBetween(S state, LocalDateTime after, LocalDateTime through) {
+        Item<S> low = new Item<>(Long.MAX_VALUE, null, after);
+        Item<S> high = new Item<>(Long.MAX_VALUE, null, through);
+        return new ArrayList<>(byState.get(state).subSet(low, false, high, true));
+    }
+
+    private static final class Head<S extends Enum<S>> {
+        private final Item<S> item;
+        private final Iterator<Item<S>> rest;
+
+        Head(Item<S> item, Iterator<Item<S>> rest) {
+            this.item = item;
+            this.rest = rest;
+        }
+    }
+
+    public static final class Item<S extends Enum<S>> {
+        private final long id;
+        private final S state;
+        private final LocalDateTime since;
+
+        Item(long id, S state, LocalDateTime since) {
+            this.id = id;
+            this.state = state;
+            this.since = since;
+        }
+
+        public long getId() { return id; }
+        public S getState() { return state; }
+        public LocalDateTime getSince() { return since; }
+    }
+}
@@ -0,0 +1,486 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of non-negative ints, laid out like a Roaring bitmap.
+ *
+ * Values are split by their high 16 bits into containers. A container holds a sorted
+ * array of the low 16 bits while it has at most 4096 values and switches to a 65536-bit
+ * bitmap above that, so sparse and dense ranges both stay small and intersections run
+ * container by container. Not thread-safe; callers guard it.
+ */
+public final class CompressedBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private char[] keys = new char[0];
+    private Object[] containers = new Object[0];
+    private int size;
+
+    public CompressedBitmap() {
+    }
+
+    public void add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        int i = indexOf(key);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, key, new ArrayContainer());
+        }
+        containers[i] = add(containers[i], (char) value);
+    }
+
+    public void remove(int value) {
+        if (value < 0) {
+            return;
+        }
+        int i = indexOf((char) (value >>> 16));
+        if (i < 0) {
+            return;
+        }
+        Object container = remove(containers[i], (char) value);
+        if (cardinality(container) == 0) {
+            removeContainer(i);
+        } else {
+            containers[i] = container;
+        }
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = indexOf((char) (value >>> 16));
+        return i >= 0 && contains(containers[i], (char) value);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += cardinality(containers[i]);
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove every value that is also in the other bitmap
+     */
+    public void removeAll(CompressedBitmap other) {
+        int[] values = other.toArray();
+        for (int value : values) {
+            remove(value);
+        }
+    }
+
+    /**
+     * Add every value of the other bitmap
+     */
+    public void addAll(CompressedBitmap other) {
+        CompressedBitmap union = or(this, other);
+        this.keys = union.keys;
+        this.containers = union.containers;
+        this.size = union.size;
+    }
+
+    public static CompressedBitmap and(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Object container = and(a.containers[i], b.containers[j]);
+                if (cardinality(container) > 0) {
+                    result.appendContainer(a.keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public static CompressedBitmap or(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.appendContainer(a.keys[i], copy(a.containers[i]));
+                i++;
+            } else if (i >= a.size || b.keys[j] < a.keys[i]) {
+                result.appendContainer(b.keys[j], copy(b.containers[j]));
+                j++;
+            } else {
+                result.appendContainer(a.keys[i], or(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Size of the intersection, without building it
+     */
+    public static int andCardinality(CompressedBitmap a, CompressedBitmap b) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                total += andCardinality(a.containers[i], b.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    public CompressedBitmap copy() {
+        CompressedBitmap result = new CompressedBitmap();
+        for (int i = 0; i < size; i++) {
+            result.appendContainer(keys[i], copy(containers[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Up to n of the largest values, largest first
+     */
+    public int[] top(int n) {
+        int[] out = new int[Math.min(n, cardinality())];
+        int pos = 0;
+        for (int i = size - 1; i >= 0 && pos < out.length; i--) {
+            int high = keys[i] << 16;
+            Object container = containers[i];
+            if (container instanceof ArrayContainer array) {
+                for (int k = array.cardinality - 1; k >= 0 && pos < out.length; k--) {
+                    out[pos++] = high | array.values[k];
+                }
+            } else {
+                long[] words = ((BitmapContainer) container).words;
+                for (int w = WORDS - 1; w >= 0 && pos < out.length; w--) {
+                    long word = words[w];
+                    while (word != 0 && pos < out.length) {
+                        int bit = 63 - Long.numberOfLeadingZeros(word);
+                        out[pos++] = high | (w << 6) | bit;
+                        word &= ~(1L << bit);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    public int[] toArray() {
+        int[] out = new int[cardinality()];
+        int pos = 0;
+        for (int i = 0; i < size; i++) {
+            int high = keys[i] << 16;
+            Object container = containers[i];
+            if (container instanceof ArrayContainer array) {
+                for (int k = 0; k < array.cardinality; k++) {
+                    out[pos++] = high | array.values[k];
+                }
+            } else {
+                long[] words = ((BitmapContainer) container).words;
+                for (int w = 0; w < WORDS; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        out[pos++] = high | (w << 6) | Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    // --- container bookkeeping ---
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertContainer(int index, char key, Object container) {
+        ensureCapacity();
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void appendContainer(char key, Object container) {
+        ensureCapacity();
+        keys[size] = key;
+        containers[size] = container;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    private void ensureCapacity() {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Bitmap values must be non-negative: " + value);
+        }
+    }
+
+    // --- containers ---
+
+    private static final class ArrayContainer {
+        private char[] values = new char[4];
+        private int cardinality;
+    }
+
+    private static final class BitmapContainer {
+        private final long[] words = new long[WORDS];
+        private int cardinality;
+    }
+
+    private static Object add(Object container, char low) {
+        if (container instanceof BitmapContainer bitmap) {
+            long mask = 1L << low;
+            if ((bitmap.words[low >>> 6] & mask) == 0) {
+                bitmap.words[low >>> 6] |= mask;
+                bitmap.cardinality++;
+            }
+            return bitmap;
+        }
+        ArrayContainer array = (ArrayContainer) container;
+        int i = Arrays.binarySearch(array.values, 0, array.cardinality, low);
+        if (i >= 0) {
+            return array;
+        }
+        if (array.cardinality == ARRAY_MAX) {
+            BitmapContainer bitmap = toBitmap(array);
+            return add(bitmap, low);
+        }
+        i = -i - 1;
+        if (array.cardinality == array.values.length) {
+            array.values = Arrays.copyOf(array.values, Math.min(ARRAY_MAX, array.cardinality * 2));
+        }
+        System.arraycopy(array.values, i, array.values, i + 1, array.cardinality - i);
+        array.values[i] = low;
+        array.cardinality++;
+        return array;
+    }
+
+    private static Object remove(Object container, char low) {
+        if (container instanceof BitmapContainer bitmap) {
+            long mask = 1L << low;
+            if ((bitmap.words[low >>> 6] & mask) != 0) {
+                bitmap.words[low >>> 6] &= ~mask;
+                bitmap.cardinality--;
+            }
+            return bitmap.cardinality <= ARRAY_MAX ? toArray(bitmap) : bitmap;
+        }
+        ArrayContainer array = (ArrayContainer) container;
+        int i = Arrays.binarySearch(array.values, 0, array.cardinality, low);
+        if (i >= 0) {
+            System.arraycopy(array.values, i + 1, array.values, i, array.cardinality - i - 1);
+            array.cardinality--;
+        }
+        return array;
+    }
+
+    private static boolean contains(Object container, char low) {
+        if (container instanceof BitmapContainer bitmap) {
+            return (bitmap.words[low >>> 6] & (1L << low)) != 0;
+        }
+        ArrayContainer array = (ArrayContainer) container;
+        return Arrays.binarySearch(array.values, 0, array.cardinality, low) >= 0;
+    }
+
+    private static int cardinality(Object container) {
+        return container instanceof BitmapContainer bitmap
+                ? bitmap.cardinality
+                : ((ArrayContainer) container).cardinality;
+    }
+
+    private static Object copy(Object container) {
+        if (container instanceof BitmapContainer bitmap) {
+            BitmapContainer result = new BitmapContainer();
+            System.arraycopy(bitmap.words, 0, result.words, 0, WORDS);
+            result.cardinality = bitmap.cardinality;
+            return result;
+        }
+        ArrayContainer array = (ArrayContainer) container;
+        ArrayContainer result = new ArrayContainer();
+        result.values = Arrays.copyOf(array.values, Math.max(4, array.cardinality));
+        result.cardinality = array.cardinality;
+        return result;
+    }
+
+    private static Object and(Object a, Object b) {
+        if (a instanceof BitmapContainer x && b instanceof BitmapContainer y) {
+            BitmapContainer result = new BitmapContainer();
+            for (int w = 0; w < WORDS; w++) {
+                result.words[w] = x.words[w] & y.words[w];
+                result.cardinality += Long.bitCount(result.words[w]);
+            }
+            return result.cardinality <= ARRAY_MAX ? toArray(result) : result;
+        }
+        if (a instanceof BitmapContainer) {
+            return and(b, a);
+        }
+        ArrayContainer array = (ArrayContainer) a;
+        ArrayContainer result = new ArrayContainer();
+        result.values = new char[Math.max(4, array.cardinality)];
+        if (b instanceof BitmapContainer bitmap) {
+            for (int k = 0; k < array.cardinality; k++) {
+                char v = array.values[k];
+                if ((bitmap.words[v >>> 6] & (1L << v)) != 0) {
+                    result.values[result.cardinality++] = v;
+                }
+            }
+            return result;
+        }
+        ArrayContainer other = (ArrayContainer) b;
+        int i = 0;
+        int j = 0;
+        while (i < array.cardinality && j < other.cardinality) {
+            char x = array.values[i];
+            char y = other.values[j];
+            if (x < y) {
+                i++;
+            } else if (x > y) {
+                j++;
+            } else {
+                result.values[result.cardinality++] = x;
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private static int andCardinality(Object a, Object b) {
+        if (a instanceof BitmapContainer x && b instanceof BitmapContainer y) {
+            int total = 0;
+            for (int w = 0; w < WORDS; w++) {
+                total += Long.bitCount(x.words[w] & y.words[w]);
+            }
+            return total;
+        }
+        if (a instanceof BitmapContainer) {
+            return andCardinality(b, a);
+        }
+        ArrayContainer array = (ArrayContainer) a;
+        int total = 0;
+        if (b instanceof BitmapContainer bitmap) {
+            for (int k = 0; k < array.cardinality; k++) {
+                char v = array.values[k];
+                if ((bitmap.words[v >>> 6] & (1L << v)) != 0) {
+                    total++;
+                }
+            }
+            return total;
+        }
+        ArrayContainer other = (ArrayContainer) b;
+        int i = 0;
+        int j = 0;
+        while (i < array.cardinality && j < other.cardinality) {
+            char x = array.values[i];
+            char y = other.values[j];
+            if (x < y) {
+                i++;
+            } else if (x > y) {
+                j++;
+            } else {
+                total++;
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    private static Object or(Object a, Object b) {
+        if (a instanceof ArrayContainer x && b instanceof ArrayContainer y
+                && x.cardinality + y.cardinality <= ARRAY_MAX) {
+            ArrayContainer result = new ArrayContainer();
+            result.values = new char[Math.max(4, x.cardinality + y.cardinality)];
+            int i = 0;
+            int j = 0;
+            while (i < x.cardinality || j < y.cardinality) {
+                char v;
+                if (j >= y.cardinality || (i < x.cardinality && x.values[i] < y.values[j])) {
+                    v = x.values[i++];
+                } else if (i >= x.cardinality || y.values[j] < x.values[i]) {
+                    v = y.values[j++];
+                } else {
+                    v = x.values[i++];
+                    j++;
+                }
+                result.values[result.cardinality++] = v;
+            }
+            return result;
+        }
+        BitmapContainer result = a instanceof BitmapContainer x ? (BitmapContainer) copy(x) : toBitmap((ArrayContainer) a);
+        if (b instanceof BitmapContainer y) {
+            result.cardinality = 0;
+            for (int w = 0; w < WORDS; w++) {
+                result.words[w] |= y.words[w];
+                result.cardinality += Long.bitCount(result.words[w]);
+            }
+        } else {
+            ArrayContainer y = (ArrayContainer) b;
+            for (int k = 0; k < y.cardinality; k++) {
+                add(result, y.values[k]);
+            }
+        }
+        return result.cardinality <= ARRAY_MAX ? toArray(result) : result;
+    }
+
+    private static BitmapContainer toBitmap(ArrayContainer array) {
+        BitmapContainer bitmap = new BitmapContainer();
+        for (int k = 0; k < array.cardinality; k++) {
+            char v = array.values[k];
+            bitmap.words[v >>> 6] |= 1L << v;
+        }
+        bitmap.cardinality = array.cardinality;
+        return bitmap;
+    }
+
+    private static ArrayContainer toArray(BitmapContainer bitmap) {
+        ArrayContainer array = new ArrayContainer();
+        array.values = new char[Math.max(4, bitmap.cardinality)];
+        for (int w = 0; w < WORDS; w++) {
+            long word = bitmap.words[w];
+            while (word != 0) {
+                array.values[array.cardinality++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return array;
+    }
+}
@@ -0,0 +1,99 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Per-id counters kept in descending count order.
+ *
+ * Every counter lives in a hash map; those that reach {@code minRanked} are also in a
+ * balanced tree keyed by (count descending, id), so an update is O(log n) and a page read
+ * from any (count, id) position is O(log n + k). Not thread-safe; callers guard it.
+ */
+public final class CountRanking {
+
+    private static final Comparator<Entry> MOST_FIRST =
+            Comparator.comparingLong(Entry::getCount).reversed().thenComparingLong(Entry::getId);
+
+    private final long minRanked;
+    private final Map<Long, Long> counts = new HashMap<>();
+    private final NavigableSet<Entry> ranked = new TreeSet<>(MOST_FIRST);
+
+    public CountRanking(long minRanked) {
+        this.minRanked = minRanked;
+    }
+
+    /**
+     * Add {@code delta} (possibly negative) to the counter of {@code id}
+     */
+    public void add(long id, long delta) {
+        long before = counts.getOrDefault(id, 0L);
+        long after = before + delta;
+        if (before >= minRanked) {
+            ranked.remove(new Entry(id, before));
+        }
+        if (after > 0) {
+            counts.put(id, after);
+            if (after >= minRanked) {
+                ranked.add(new Entry(id, after));
+            }
+        } else {
+            counts.remove(id);
+        }
+    }
+
+    public void remove(long id) {
+        Long count = counts.remove(id);
+        if (count != null && count >= minRanked) {
+            ranked.remove(new Entry(id, count));
+        }
+    }
+
+    public long count(long id) {
+        return counts.getOrDefault(id, 0L);
+    }
+
+    /**
+     * Number of counters at or above the ranking threshold
+     */
+    public int rankedSize() {
+        return ranked.size();
+    }
+
+    /**
+     * Up to {@code limit} ranked counters, highest first, after the position (afterCount,
+     * afterId); pass (Long.MAX_VALUE, 0) for the start
+     */
+    public List<Entry> after(long afterCount, long afterId, int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, 1024));
+        Iterator<Entry> it = ranked.tailSet(new Entry(afterId, afterCount), false).iterator();
+        while (result.size() < limit && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    public static final class Entry {
+        private final long id;
+        private final long count;
+
+        Entry(long id, long count) {
+            this.id = id;
+            this.count = count;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
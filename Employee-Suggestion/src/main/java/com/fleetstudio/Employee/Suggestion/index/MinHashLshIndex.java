@@ -0,0 +1,282 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory MinHash signatures with banded locality-sensitive hashing.
+ *
+ * Text is normalized and cut into overlapping word shingles; each document keeps a
+ * fixed-size signature. Signatures are split into bands and every band is hashed into
+ * a bucket, so a lookup only compares against documents sharing at least one bucket
+ * and never scans the whole corpus. A document with similarity s becomes a candidate
+ * with probability 1-(1-s^rows)^bands; the default 32 bands of 3 rows puts the knee of
+ * that curve near 0.3, so about 98.6% of documents at s=0.5 and 99.96% at s=0.6 are
+ * found, at the cost of comparing some less similar candidates.
+ */
+public class MinHashLshIndex {
+
+    private static final int SHINGLE_WORDS = 2;
+
+    private final int numHashes;
+    private final int bands;
+    private final int rowsPerBand;
+    private final long[] seeds;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final List<Map<Long, Set<Long>>> buckets;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public MinHashLshIndex() {
+        this(96, 32);
+    }
+
+    public MinHashLshIndex(int numHashes, int bands) {
+        if (numHashes % bands != 0) {
+            throw new IllegalArgumentException("numHashes must be a multiple of bands");
+        }
+        this.numHashes = numHashes;
+        this.bands = bands;
+        this.rowsPerBand = numHashes / bands;
+        this.seeds = new long[numHashes];
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < numHashes; i++) {
+            seed = mix(seed + i);
+            seeds[i] = seed;
+        }
+        this.buckets = new ArrayList<>(bands);
+        for (int b = 0; b < bands; b++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Insert or replace the document for the given id
+     */
+    public void put(long id, String label, String text) {
+        int[] signature = signature(text);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (signature == null) {
+                return;
+            }
+            documents.put(id, new Document(label, signature));
+            for (int b = 0; b < bands; b++) {
+                buckets.get(b).computeIfAbsent(bandKey(signature, b), k -> new HashSet<>(2)).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            buckets.forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Probability that a document with the given Jaccard similarity shares a bucket
+     */
+    public double candidateProbability(double similarity) {
+        return 1 - Math.pow(1 - Math.pow(similarity, rowsPerBand), bands);
+    }
+
+    /**
+     * Documents whose estimated Jaccard similarity to the text is at least the threshold
+     */
+    public List<Match> findSimilar(String text, double threshold, int limit, Long excludeId) {
+        int[] signature = signature(text);
+        if (signature == null || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = new HashSet<>();
+            for (int b = 0; b < bands; b++) {
+                Set<Long> bucket = buckets.get(b).get(bandKey(signature, b));
+                if (bucket != null) {
+                    candidates.addAll(bucket);
+                }
+            }
+
+            List<Match> matches = new ArrayList<>();
+            for (Long id : candidates) {
+                if (id.equals(excludeId)) {
+                    continue;
+                }
+                Document doc = documents.get(id);
+                double similarity = estimateSimilarity(signature, doc.signature);
+                if (similarity >= threshold) {
+                    matches.add(new Match(id, doc.label, similarity));
+                }
+            }
+            matches.sort(Comparator.comparingDouble(Match::getSimilarity).reversed());
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Document existing = documents.remove(id);
+        if (existing == null) {
+            return;
+        }
+        for (int b = 0; b < bands; b++) {
+            long key = bandKey(existing.signature, b);
+            Set<Long> bucket = buckets.get(b).get(key);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    buckets.get(b).remove(key);
+                }
+            }
+        }
+    }
+
+    private int[] signature(String text) {
+        long[] shingles = shingles(text);
+        if (shingles.length == 0) {
+            return null;
+        }
+        int[] signature = new int[numHashes];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < numHashes; i++) {
+                int h = (int) mix(shingle ^ seeds[i]);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private double estimateSimilarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < numHashes; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / numHashes;
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long h = band;
+        int start = band * rowsPerBand;
+        for (int i = start; i < start + rowsPerBand; i++) {
+            h = mix(h * 31 + signature[i]);
+        }
+        return h;
+    }
+
+    /**
+     * Hashes of overlapping word shingles; single-word texts fall back to the word itself
+     */
+    private static long[] shingles(String text) {
+        String normalized = PrefixTrie.normalize(text);
+        if (normalized.isEmpty()) {
+            return new long[0];
+        }
+        String[] words = normalized.split(" ");
+        if (words.length < SHINGLE_WORDS) {
+            return new long[]{mix(words[0].hashCode())};
+        }
+        Set<Long> hashes = new HashSet<>();
+        for (int i = 0; i + SHINGLE_WORDS <= words.length; i++) {
+            long h = 0;
+            for (int j = i; j < i + SHINGLE_WORDS; j++) {
+                h = h * 1_000_003L + words[j].hashCode();
+            }
+            hashes.add(mix(h));
+        }
+        long[] result = new long[hashes.size()];
+        int idx = 0;
+        for (Long h : hashes) {
+            result[idx++] = h;
+        }
+        return result;
+    }
+
+    /**
+     * 64-bit finalizer from MurmurHash3
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Document {
+        private final String label;
+        private final int[] signature;
+
+        Document(String label, int[] signature) {
+            this.label = label;
+            this.signature = signature;
+        }
+    }
+
+    /**
+     * A near-duplicate candidate with its estimated similarity
+     */
+    public static class Match {
+        private final long id;
+        private final String label;
+        private final double similarity;
+
+        public Match(long id, String label, double similarity) {
+            this.id = id;
+            this.label = label;
+            this.similarity = similarity;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compact in-memory prefix index returning the top-k weighted completions for a prefix.
+ *
+ * Every entry is indexed under its full normalized text and under each later word, so
+ * "stat" matches "Coffee Station Improvement". Children are kept in sorted char arrays
+ * and each node caches the highest weight in its subtree, so a lookup only visits the
+ * branches that can still beat the current k-th result.
+ */
+public class PrefixTrie {
+
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int MAX_WORD_KEYS = 8;
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private final Map<Long, Completion> entries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Insert or replace the entry for the given id
+     */
+    public void put(long id, String text, long weight) {
+        if (text == null || normalize(text).isEmpty()) {
+            remove(id);
+            return;
+        }
+        Completion completion = new Completion(id, text.trim(), weight);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            entries.put(id, completion);
+            for (String key : keysFor(completion.getText())) {
+                insert(key, completion);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Update only the weight of an existing entry
+     */
+    public void updateWeight(long id, long weight) {
+        lock.writeLock().lock();
+        try {
+            Completion existing = entries.get(id);
+            if (existing == null || existing.getWeight() == weight) {
+                return;
+            }
+            removeLocked(id);
+            Completion updated = new Completion(id, existing.getText(), weight);
+            entries.put(id, updated);
+            for (String key : keysFor(updated.getText())) {
+                insert(key, updated);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            root.keys = NO_KEYS;
+            root.children = NO_CHILDREN;
+            root.terminals = null;
+            root.maxWeight = Long.MIN_VALUE;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Top-k completions for the prefix, highest weight first
+     */
+    public List<Completion> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            key = key.substring(0, MAX_KEY_LENGTH);
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return collectTop(node, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased text with runs of whitespace and punctuation collapsed to one space
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                pendingSpace = false;
+                sb.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private List<Completion> collectTop(Node start, int limit) {
+        PriorityQueue<Node> frontier = new PriorityQueue<>(
+                Comparator.comparingLong((Node n) -> n.maxWeight).reversed());
+        PriorityQueue<Completion> best = new PriorityQueue<>(Comparator.comparingLong(Completion::getWeight));
+        Set<Long> seen = new HashSet<>();
+        frontier.add(start);
+
+        while (!frontier.isEmpty()) {
+            Node node = frontier.poll();
+            if (best.size() >= limit && node.maxWeight <= best.peek().getWeight()) {
+                break;
+            }
+            if (node.terminals != null) {
+                for (Completion c : node.terminals) {
+                    if (!seen.add(c.getId())) {
+                        continue;
+                    }
+                    if (best.size() < limit) {
+                        best.add(c);
+                    } else if (c.getWeight() > best.peek().getWeight()) {
+                        best.poll();
+                        best.add(c);
+                    }
+                }
+            }
+            for (Node child : node.children) {
+                frontier.add(child);
+            }
+        }
+
+        List<Completion> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingLong(Completion::getWeight).reversed()
+                .thenComparing(Completion::getText, String.CASE_INSENSITIVE_ORDER));
+        return result;
+    }
+
+    private void insert(String key, Completion completion) {
+        Node[] path = new Node[key.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            path[i + 1] = node;
+        }
+        if (node.terminals == null) {
+            node.terminals = new ArrayList<>(1);
+        }
+        node.terminals.add(completion);
+        for (Node n : path) {
+            if (completion.getWeight() > n.maxWeight) {
+                n.maxWeight = completion.getWeight();
+            }
+        }
+    }
+
+    private void removeLocked(long id) {
+        Completion existing = entries.remove(id);
+        if (existing == null) {
+            return;
+        }
+        for (String key : keysFor(existing.getText())) {
+            removeKey(key, id);
+        }
+    }
+
+    private void removeKey(String key, long id) {
+        Node[] path = new Node[key.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i));
+            if (node == null) {
+                return;
+            }
+            path[i + 1] = node;
+        }
+        if (node.terminals != null) {
+            node.terminals.removeIf(c -> c.getId() == id);
+            if (node.terminals.isEmpty()) {
+                node.terminals = null;
+            }
+        }
+        // Walk back up, pruning empty nodes and recomputing subtree maxima
+        for (int depth = key.length(); depth >= 0; depth--) {
+            Node current = path[depth];
+            current.recomputeMax();
+            if (depth > 0 && current.isEmpty()) {
+                path[depth - 1].removeChild(key.charAt(depth - 1));
+            }
+        }
+    }
+
+    private static Set<String> keysFor(String text) {
+        String normalized = normalize(text);
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(truncate(normalized));
+        int words = 0;
+        for (int i = 0; i < normalized.length() && words < MAX_WORD_KEYS; i++) {
+            if (normalized.charAt(i) == ' ' && i + 1 < normalized.length()) {
+                keys.add(truncate(normalized.substring(i + 1)));
+                words++;
+            }
+        }
+        return keys;
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private List<Completion> terminals;
+        private long maxWeight = Long.MIN_VALUE;
+
+        Node child(char c) {
+            int idx = Arrays.binarySearch(keys, c);
+            return idx >= 0 ? children[idx] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int idx = Arrays.binarySearch(keys, c);
+            if (idx >= 0) {
+                return children[idx];
+            }
+            int insertAt = -idx - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            Node created = new Node();
+            newChildren[insertAt] = created;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return created;
+        }
+
+        void removeChild(char c) {
+            int idx = Arrays.binarySearch(keys, c);
+            if (idx < 0) {
+                return;
+            }
+            if (keys.length == 1) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, idx);
+            System.arraycopy(children, 0, newChildren, 0, idx);
+            System.arraycopy(keys, idx + 1, newKeys, idx, keys.length - idx - 1);
+            System.arraycopy(children, idx + 1, newChildren, idx, children.length - idx - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        void recomputeMax() {
+            long max = Long.MIN_VALUE;
+            if (terminals != null) {
+                for (Completion c : terminals) {
+                    max = Math.max(max, c.getWeight());
+                }
+            }
+            for (Node child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+
+        boolean isEmpty() {
+            return terminals == null && children.length == 0;
+        }
+    }
+
+    /**
+     * A single completion result
+     */
+    public static class Completion {
+        private final long id;
+        private final String text;
+        private final long weight;
+
+        public Completion(long id, String text, long weight) {
+            this.id = id;
+            this.text = text;
+            this.weight = weight;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary form of an id → state map.
+ *
+ * The state names are written once as a header and each entry refers to them by position,
+ * so reordering or adding enum constants does not change how old data reads. Entries are
+ * sorted by id and each id is stored as a variable-length gap from the previous one,
+ * which for dense ids is one byte, so an entry usually takes two bytes.
+ */
+public final class StatusSnapshotCodec {
+
+    private StatusSnapshotCodec() {
+    }
+
+    public static <S extends Enum<S>> byte[] encode(Map<Long, S> states, Class<S> type) {
+        S[] constants = type.getEnumConstants();
+        long[] ids = states.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + ids.length * 2);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(constants.length);
+            for (S constant : constants) {
+                out.writeUTF(constant.name());
+            }
+            out.writeInt(ids.length);
+            long previous = 0;
+            for (long id : ids) {
+                writeVarLong(out, id - previous);
+                out.writeByte(states.get(id).ordinal());
+                previous = id;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode into a mutable map; states no longer defined in {@code type} are rejected
+     */
+    public static <S extends Enum<S>> Map<Long, S> decode(byte[] data, Class<S> type) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int stateCount = in.readUnsignedByte();
+            Object[] states = new Object[stateCount];
+            for (int i = 0; i < stateCount; i++) {
+                states[i] = Enum.valueOf(type, in.readUTF());
+            }
+            int entries = in.readInt();
+            Map<Long, S> map = new HashMap<>(Math.max(16, (int) (entries / 0.75f) + 1));
+            long id = 0;
+            for (int i = 0; i < entries; i++) {
+                id += readVarLong(in);
+                map.put(id, type.cast(states[in.readUnsignedByte()]));
+            }
+            return map;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt status snapshot", e);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Corrupt status snapshot: unknown state index", e);
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Variable-length id is too long");
+    }
+}
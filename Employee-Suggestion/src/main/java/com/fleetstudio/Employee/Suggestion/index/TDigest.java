@@ -0,0 +1,156 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest for streaming quantile estimates.
+ *
+ * Samples are buffered and periodically merged into a bounded list of weighted centroids,
+ * sorted by mean. A centroid may only grow to about 4·n·q(1-q)/compression samples, so
+ * centroids near the tails stay small and extreme quantiles stay accurate while the
+ * whole sketch holds a few hundred numbers regardless of how many samples it has seen.
+ * Not thread-safe; callers guard it.
+ */
+public final class TDigest {
+
+    private final double compression;
+
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int buffered;
+    private double bufferedWeight;
+
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(100);
+    }
+
+    public TDigest(double compression) {
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression * 2) + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferMeans = new double[(int) Math.ceil(compression * 5)];
+        this.bufferWeights = new double[bufferMeans.length];
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    /**
+     * Add {@code weight} samples known only by their mean {@code value}
+     */
+    public void add(double value, long weight) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Cannot add NaN to a t-digest");
+        }
+        if (weight < 1) {
+            throw new IllegalArgumentException("Weight must be positive: " + weight);
+        }
+        if (buffered == bufferMeans.length) {
+            merge();
+        }
+        bufferMeans[buffered] = value;
+        bufferWeights[buffered++] = weight;
+        bufferedWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Number of samples added
+     */
+    public long size() {
+        return (long) (totalWeight + bufferedWeight);
+    }
+
+    /**
+     * Estimated value at quantile q (0..1); NaN when empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        merge();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+        double index = q * totalWeight;
+        double firstCenter = weights[0] / 2;
+        if (index <= firstCenter) {
+            return min + (means[0] - min) * (firstCenter > 0 ? index / firstCenter : 0);
+        }
+        double cumulative = firstCenter;
+        for (int i = 0; i < centroids - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (cumulative + gap >= index) {
+                double t = (index - cumulative) / gap;
+                return means[i] + t * (means[i + 1] - means[i]);
+            }
+            cumulative += gap;
+        }
+        int last = centroids - 1;
+        double lastHalf = weights[last] / 2;
+        double t = lastHalf > 0 ? Math.min(1, (index - cumulative) / lastHalf) : 1;
+        return means[last] + t * (max - means[last]);
+    }
+
+    private void merge() {
+        if (buffered == 0) {
+            return;
+        }
+        int n = centroids + buffered;
+        double[][] points = new double[n][];
+        for (int i = 0; i < centroids; i++) {
+            points[i] = new double[] {means[i], weights[i]};
+        }
+        for (int i = 0; i < buffered; i++) {
+            points[centroids + i] = new double[] {bufferMeans[i], bufferWeights[i]};
+        }
+        Arrays.sort(points, (a, b) -> Double.compare(a[0], b[0]));
+        totalWeight += bufferedWeight;
+        buffered = 0;
+        bufferedWeight = 0;
+
+        double[] mergedMeans = new double[n];
+        double[] mergedWeights = new double[n];
+        int out = 0;
+        double soFar = 0;
+        double mean = points[0][0];
+        double weight = points[0][1];
+        for (int i = 1; i < n; i++) {
+            double proposed = weight + points[i][1];
+            double q = (soFar + proposed / 2) / totalWeight;
+            double limit = 4 * totalWeight * q * (1 - q) / compression;
+            if (proposed <= Math.max(1, limit)) {
+                mean += (points[i][0] - mean) * points[i][1] / proposed;
+                weight = proposed;
+            } else {
+                mergedMeans[out] = mean;
+                mergedWeights[out] = weight;
+                out++;
+                soFar += weight;
+                mean = points[i][0];
+                weight = points[i][1];
+            }
+        }
+        mergedMeans[out] = mean;
+        mergedWeights[out] = weight;
+        out++;
+
+        means = mergedMeans;
+        weights = mergedWeights;
+        centroids = out;
+    }
+}
@@ -0,0 +1,61 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts of transitions between the constants of an enum, with an extra "initial" row
+ * for entries that have no previous state.
+ *
+ * Cells live in one primitive array indexed by ordinal and are updated atomically, so
+ * writers never block each other or readers. Each cell is padded to its own cache line:
+ * concurrent updates of different transitions then do not contend on the same line.
+ * Readers see each cell exactly, but a read of several cells is not a snapshot.
+ */
+public final class TransitionMatrix<E extends Enum<E>> {
+
+    // 8 longs = 64 bytes, one cache line per cell
+    private static final int STRIDE = 8;
+
+    private final E[] states;
+    private final AtomicLongArray cells;
+
+    public TransitionMatrix(Class<E> type) {
+        this.states = type.getEnumConstants();
+        this.cells = new AtomicLongArray((states.length + 1) * states.length * STRIDE);
+    }
+
+    /**
+     * Count one transition; a null {@code from} is an initial entry
+     */
+    public void increment(E from, E to) {
+        add(from, to, 1);
+    }
+
+    public void add(E from, E to, long delta) {
+        cells.addAndGet(index(from, to), delta);
+    }
+
+    public long get(E from, E to) {
+        return cells.get(index(from, to));
+    }
+
+    /**
+     * All entries into {@code to}, initial ones included
+     */
+    public long countInto(E to) {
+        long total = get(null, to);
+        for (E from : states) {
+            total += get(from, to);
+        }
+        return total;
+    }
+
+    public E[] states() {
+        return states.clone();
+    }
+
+    private int index(E from, E to) {
+        int row = from == null ? 0 : from.ordinal() + 1;
+        return (row * states.length + to.ordinal()) * STRIDE;
+    }
+}
@@ -0,0 +1,85 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Status history entry of an archived suggestion
+ */
+@Entity
+@Table(name = "archived_status_history",
+       indexes = {
+           @Index(name = "idx_archived_status_history_suggestion", columnList = "suggestion_id, created_at"),
+           @Index(name = "idx_archived_status_history_created", columnList = "created_at")
+       })
+public class ArchivedStatusHistory {
+
+    @Id
+    private Long id;
+
+    @Column(name = "suggestion_id", nullable = false)
+    private Long suggestionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private SuggestionStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status", nullable = false)
+    private SuggestionStatus newStatus;
+
+    @Column(name = "changed_by", length = 100)
+    private String changedBy;
+
+    @Column(name = "change_reason", length = 500)
+    private String changeReason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ArchivedStatusHistory() {}
+
+    /**
+     * Detached live-shaped copy, so archive reads can be served by the existing endpoints
+     */
+    public SuggestionStatusHistory toStatusHistory() {
+        SuggestionStatusHistory history = new SuggestionStatusHistory();
+        history.setId(id);
+        history.setPreviousStatus(previousStatus);
+        history.setNewStatus(newStatus);
+        history.setChangedBy(changedBy);
+        history.setChangeReason(changeReason);
+        history.setCreatedAt(createdAt);
+        return history;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSuggestionId() {
+        return suggestionId;
+    }
+
+    public SuggestionStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public SuggestionStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public String getChangeReason() {
+        return changeReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,130 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a deleted or closed suggestion, moved out of the live table by
+ * SuggestionArchiveService. Keeps the original id; the submitter is kept as a plain id.
+ */
+@Entity
+@Table(name = "archived_suggestions",
+       indexes = @Index(name = "idx_archived_suggestions_deleted", columnList = "deleted, deleted_at"))
+public class ArchivedSuggestion {
+
+    @Id
+    private Long id;
+
+    @Column(name = "title", nullable = false, length = 200)
+    private String title;
+
+    @Column(name = "description", nullable = false, columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "employee_id")
+    private Long submitterId;
+
+    @Column(name = "is_anonymous", nullable = false)
+    private Boolean isAnonymous;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private SuggestionStatus status;
+
+    @Column(name = "vote_count", nullable = false)
+    private Integer voteCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "deleted", nullable = false)
+    private Boolean deleted;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Constructors
+    public ArchivedSuggestion() {}
+
+    /**
+     * Detached live-shaped copy (without votes or history) for endpoints that return Suggestion
+     */
+    public Suggestion toSuggestion(Employee submittedBy) {
+        Suggestion suggestion = new Suggestion();
+        suggestion.setId(id);
+        suggestion.setTitle(title);
+        suggestion.setDescription(description);
+        suggestion.setSubmittedBy(submittedBy);
+        suggestion.setIsAnonymous(isAnonymous);
+        suggestion.setStatus(status);
+        suggestion.setVoteCount(voteCount);
+        suggestion.setCreatedAt(createdAt);
+        suggestion.setUpdatedAt(updatedAt);
+        suggestion.setDeleted(deleted);
+        suggestion.setDeletedAt(deletedAt);
+        suggestion.setVersion(version);
+        return suggestion;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Long getSubmitterId() {
+        return submitterId;
+    }
+
+    public Boolean getIsAnonymous() {
+        return isAnonymous;
+    }
+
+    public SuggestionStatus getStatus() {
+        return status;
+    }
+
+    public Integer getVoteCount() {
+        return voteCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Boolean getDeleted() {
+        return deleted;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
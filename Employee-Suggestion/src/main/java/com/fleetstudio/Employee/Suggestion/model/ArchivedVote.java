@@ -0,0 +1,52 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Vote of an archived suggestion
+ */
+@Entity
+@Table(name = "archived_votes",
+       indexes = @Index(name = "idx_archived_votes_suggestion", columnList = "suggestion_id"))
+public class ArchivedVote {
+
+    @Id
+    private Long id;
+
+    @Column(name = "suggestion_id", nullable = false)
+    private Long suggestionId;
+
+    @Column(name = "device_identifier", nullable = false, length = 255)
+    private String deviceIdentifier;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ArchivedVote() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSuggestionId() {
+        return suggestionId;
+    }
+
+    public String getDeviceIdentifier() {
+        return deviceIdentifier;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Named counter row. Locking the row while incrementing serializes writers, so values
+ * are handed out in commit order.
+ */
+@Entity
+@Table(name = "change_sequences")
+public class ChangeSequence {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "current_value", nullable = false)
+    private long currentValue;
+
+    // Constructors
+    public ChangeSequence() {}
+
+    public ChangeSequence(String name) {
+        this.name = name;
+        this.currentValue = 0;
+    }
+
+    public long next() {
+        return ++currentValue;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getCurrentValue() {
+        return currentValue;
+    }
+
+    public void setCurrentValue(long currentValue) {
+        this.currentValue = currentValue;
+    }
+}
@@ -13,7 +13,9 @@ import java.util.List;
 public class Employee {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "employee_id")
+    @TableGenerator(name = "employee_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "employees", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Employee name is required")
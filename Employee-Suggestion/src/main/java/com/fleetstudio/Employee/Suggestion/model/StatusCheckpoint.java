@@ -0,0 +1,65 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Status of every existing (not deleted) suggestion at one instant, built from all status
+ * history before it. The entries are stored as one StatusSnapshotCodec blob so a
+ * checkpoint reads back in a single row. Appended by StatusAsOfService; never updated.
+ */
+@Entity
+@Table(name = "status_checkpoints",
+       uniqueConstraints = @UniqueConstraint(name = "uk_status_checkpoints_at", columnNames = "checkpoint_at"))
+public class StatusCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "status_checkpoint_id")
+    @TableGenerator(name = "status_checkpoint_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "status_checkpoints", allocationSize = 10)
+    private Long id;
+
+    @Column(name = "checkpoint_at", nullable = false)
+    private LocalDateTime checkpointAt;
+
+    @Column(name = "suggestion_count", nullable = false)
+    private int suggestionCount;
+
+    @Lob
+    @Column(name = "entries", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] entries;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public StatusCheckpoint() {}
+
+    public StatusCheckpoint(LocalDateTime checkpointAt, int suggestionCount, byte[] entries) {
+        this.checkpointAt = checkpointAt;
+        this.suggestionCount = suggestionCount;
+        this.entries = entries;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getCheckpointAt() {
+        return checkpointAt;
+    }
+
+    public int getSuggestionCount() {
+        return suggestionCount;
+    }
+
+    public byte[] getEntries() {
+        return entries;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,66 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Number of existing (not deleted) suggestions in one status at the end of one day.
+ * Appended once a day by StatusDistributionService; rows are never updated.
+ */
+@Entity
+@Table(name = "status_daily_counts",
+       uniqueConstraints = @UniqueConstraint(name = "uk_status_daily_counts_date_status",
+                                             columnNames = {"snapshot_date", "status"}))
+public class StatusDailyCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "status_daily_count_id")
+    @TableGenerator(name = "status_daily_count_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "status_daily_counts", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private SuggestionStatus status;
+
+    @Column(name = "suggestion_count", nullable = false)
+    private long suggestionCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public StatusDailyCount() {}
+
+    public StatusDailyCount(LocalDate snapshotDate, SuggestionStatus status, long suggestionCount) {
+        this.snapshotDate = snapshotDate;
+        this.status = status;
+        this.suggestionCount = suggestionCount;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public SuggestionStatus getStatus() {
+        return status;
+    }
+
+    public long getSuggestionCount() {
+        return suggestionCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
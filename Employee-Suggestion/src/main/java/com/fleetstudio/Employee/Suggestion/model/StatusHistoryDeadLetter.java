@@ -0,0 +1,95 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An outbox entry the StatusHistoryWriter could not move into suggestion_status_history
+ * even on its own, kept with the error so it can be inspected and the rest of the outbox
+ * keeps flowing. It keeps the outbox entry's id.
+ */
+@Entity
+@Table(name = "status_history_dead_letters")
+public class StatusHistoryDeadLetter {
+
+    @Id
+    private Long id;
+
+    @Column(name = "suggestion_id", nullable = false)
+    private Long suggestionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private SuggestionStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status", nullable = false)
+    private SuggestionStatus newStatus;
+
+    @Column(name = "changed_by", length = 100)
+    private String changedBy;
+
+    @Column(name = "change_reason", length = 500)
+    private String changeReason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+
+    // Constructors
+    public StatusHistoryDeadLetter() {}
+
+    public StatusHistoryDeadLetter(StatusHistoryOutboxEntry entry, String error) {
+        this.id = entry.getId();
+        this.suggestionId = entry.getSuggestionId();
+        this.previousStatus = entry.getPreviousStatus();
+        this.newStatus = entry.getNewStatus();
+        this.changedBy = entry.getChangedBy();
+        this.changeReason = entry.getChangeReason();
+        this.createdAt = entry.getCreatedAt();
+        this.error = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        this.failedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSuggestionId() {
+        return suggestionId;
+    }
+
+    public SuggestionStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public SuggestionStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public String getChangeReason() {
+        return changeReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getFailedAt() {
+        return failedAt;
+    }
+}
@@ -0,0 +1,88 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A status history entry committed with the change it records but not yet moved into
+ * suggestion_status_history. The table has no foreign key and a single secondary index,
+ * on suggestion_id, which the status-entered lookups of every status change use.
+ */
+@Entity
+@Table(name = "status_history_outbox",
+       indexes = @Index(name = "idx_status_history_outbox_suggestion", columnList = "suggestion_id"))
+public class StatusHistoryOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "status_history_outbox_id")
+    @TableGenerator(name = "status_history_outbox_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "status_history_outbox", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "suggestion_id", nullable = false)
+    private Long suggestionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private SuggestionStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status", nullable = false)
+    private SuggestionStatus newStatus;
+
+    @Column(name = "changed_by", length = 100)
+    private String changedBy;
+
+    @Column(name = "change_reason", length = 500)
+    private String changeReason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public StatusHistoryOutboxEntry() {}
+
+    public StatusHistoryOutboxEntry(Long suggestionId, SuggestionStatus previousStatus, SuggestionStatus newStatus,
+                                    String changedBy, String changeReason) {
+        this(suggestionId, previousStatus, newStatus, changedBy, changeReason, LocalDateTime.now());
+    }
+
+    public StatusHistoryOutboxEntry(Long suggestionId, SuggestionStatus previousStatus, SuggestionStatus newStatus,
+                                    String changedBy, String changeReason, LocalDateTime createdAt) {
+        this.suggestionId = suggestionId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.changedBy = changedBy;
+        this.changeReason = changeReason;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSuggestionId() {
+        return suggestionId;
+    }
+
+    public SuggestionStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public SuggestionStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public String getChangeReason() {
+        return changeReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,33 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Pending rewind of one store derived by replaying status history: history from
+ * {@code rewindFrom} on was written after the store may already have covered it.
+ * Recorded by StatusHistoryRewindService; removed by the store's next run.
+ */
+@Entity
+@Table(name = "status_history_rewinds")
+public class StatusHistoryRewind {
+
+    @Id
+    @Column(name = "store", length = 50)
+    private String store;
+
+    @Column(name = "rewind_from", nullable = false)
+    private LocalDateTime rewindFrom;
+
+    // Constructors
+    public StatusHistoryRewind() {}
+
+    // Getters
+    public String getStore() {
+        return store;
+    }
+
+    public LocalDateTime getRewindFrom() {
+        return rewindFrom;
+    }
+}
@@ -0,0 +1,159 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import jakarta.persistence.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything compacted out of one suggestion's status history: its first and last
+ * compacted entries, and per (previous status, new status, author) the entry count and
+ * the completed stays those entries closed. Written by StatusHistoryCompactionService;
+ * a later run folds further entries into the same row. Keyed by suggestion id without a
+ * foreign key so the row outlives archiving.
+ */
+@Entity
+@Table(name = "status_history_summaries",
+       uniqueConstraints = @UniqueConstraint(name = "uk_status_history_summaries_suggestion",
+                                             columnNames = "suggestion_id"))
+public class StatusHistorySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "status_history_summary_id")
+    @TableGenerator(name = "status_history_summary_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "status_history_summaries", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "suggestion_id", nullable = false)
+    private Long suggestionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "first_status", nullable = false)
+    private SuggestionStatus firstStatus;
+
+    @Column(name = "first_changed_by", length = 100)
+    private String firstChangedBy;
+
+    @Column(name = "first_changed_at", nullable = false)
+    private LocalDateTime firstChangedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_previous_status")
+    private SuggestionStatus lastPreviousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_status", nullable = false)
+    private SuggestionStatus lastStatus;
+
+    @Column(name = "last_changed_by", length = 100)
+    private String lastChangedBy;
+
+    @Column(name = "last_changed_at", nullable = false)
+    private LocalDateTime lastChangedAt;
+
+    @Column(name = "entries_compacted", nullable = false)
+    private long entriesCompacted;
+
+    // Entries created before this instant have been compacted
+    @Column(name = "compacted_through", nullable = false)
+    private LocalDateTime compactedThrough;
+
+    @ElementCollection
+    @CollectionTable(name = "status_history_summary_totals",
+                     joinColumns = @JoinColumn(name = "summary_id"),
+                     indexes = @Index(name = "idx_status_history_summary_totals_summary", columnList = "summary_id"))
+    private List<StatusHistoryTotal> totals = new ArrayList<>();
+
+    // Constructors
+    public StatusHistorySummary() {}
+
+    public StatusHistorySummary(Long suggestionId) {
+        this.suggestionId = suggestionId;
+    }
+
+    /**
+     * Fold the next compacted entry, in history order, into the summary
+     */
+    public void absorb(SuggestionStatus previousStatus, SuggestionStatus newStatus, String changedBy,
+                       LocalDateTime createdAt) {
+        if (entriesCompacted == 0) {
+            firstStatus = newStatus;
+            firstChangedBy = changedBy;
+            firstChangedAt = createdAt;
+        }
+        StatusHistoryTotal total = totals.stream()
+                .filter(t -> t.matches(previousStatus, newStatus, changedBy))
+                .findFirst()
+                .orElseGet(() -> {
+                    StatusHistoryTotal created = new StatusHistoryTotal(previousStatus, newStatus, changedBy);
+                    totals.add(created);
+                    return created;
+                });
+        total.addEntry();
+
+        boolean transition = previousStatus != null && previousStatus != newStatus;
+        if (transition && entriesCompacted > 0 && lastStatus == previousStatus && lastPreviousStatus != lastStatus) {
+            // Closes the stay that started at the last entry (unless that was a deletion marker)
+            total.addStay(Math.max(0, Duration.between(lastChangedAt, createdAt).getSeconds()));
+        }
+        lastPreviousStatus = previousStatus;
+        lastStatus = newStatus;
+        lastChangedBy = changedBy;
+        lastChangedAt = createdAt;
+        entriesCompacted++;
+    }
+
+    public void setCompactedThrough(LocalDateTime compactedThrough) {
+        this.compactedThrough = compactedThrough;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSuggestionId() {
+        return suggestionId;
+    }
+
+    public SuggestionStatus getFirstStatus() {
+        return firstStatus;
+    }
+
+    public String getFirstChangedBy() {
+        return firstChangedBy;
+    }
+
+    public LocalDateTime getFirstChangedAt() {
+        return firstChangedAt;
+    }
+
+    public SuggestionStatus getLastPreviousStatus() {
+        return lastPreviousStatus;
+    }
+
+    public SuggestionStatus getLastStatus() {
+        return lastStatus;
+    }
+
+    public String getLastChangedBy() {
+        return lastChangedBy;
+    }
+
+    public LocalDateTime getLastChangedAt() {
+        return lastChangedAt;
+    }
+
+    public long getEntriesCompacted() {
+        return entriesCompacted;
+    }
+
+    public LocalDateTime getCompactedThrough() {
+        return compactedThrough;
+    }
+
+    public List<StatusHistoryTotal> getTotals() {
+        return totals;
+    }
+}
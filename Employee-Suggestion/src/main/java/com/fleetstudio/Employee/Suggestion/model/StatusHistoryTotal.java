@@ -0,0 +1,81 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import jakarta.persistence.*;
+import java.util.Objects;
+
+/**
+ * Compacted history entries of one suggestion with the same previous status, new status
+ * and author: how many there were and, for transitions, the completed stays in the
+ * previous status they closed.
+ */
+@Embeddable
+public class StatusHistoryTotal {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private SuggestionStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status", nullable = false)
+    private SuggestionStatus newStatus;
+
+    @Column(name = "changed_by", length = 100)
+    private String changedBy;
+
+    @Column(name = "entries", nullable = false)
+    private long entries;
+
+    @Column(name = "stays", nullable = false)
+    private long stays;
+
+    @Column(name = "dwell_seconds", nullable = false)
+    private long dwellSeconds;
+
+    // Constructors
+    public StatusHistoryTotal() {}
+
+    public StatusHistoryTotal(SuggestionStatus previousStatus, SuggestionStatus newStatus, String changedBy) {
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.changedBy = changedBy;
+    }
+
+    boolean matches(SuggestionStatus previousStatus, SuggestionStatus newStatus, String changedBy) {
+        return this.previousStatus == previousStatus && this.newStatus == newStatus
+                && Objects.equals(this.changedBy, changedBy);
+    }
+
+    void addEntry() {
+        entries++;
+    }
+
+    void addStay(long seconds) {
+        stays++;
+        dwellSeconds += seconds;
+    }
+
+    // Getters
+    public SuggestionStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public SuggestionStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    public long getStays() {
+        return stays;
+    }
+
+    public long getDwellSeconds() {
+        return dwellSeconds;
+    }
+}
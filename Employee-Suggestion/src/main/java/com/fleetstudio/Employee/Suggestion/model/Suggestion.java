@@ -13,7 +13,9 @@ import java.util.List;
 public class Suggestion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "suggestion_id")
+    @TableGenerator(name = "suggestion_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "suggestions", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -54,6 +56,11 @@ public class Suggestion {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    // Optimistic-lock version, also used as the resource version for ETags
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // One-to-many relationship with votes
     @OneToMany(mappedBy = "suggestion", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Vote> votes = new ArrayList<>();
@@ -205,6 +212,14 @@ public class Suggestion {
         this.deletedAt = deletedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public List<Vote> getVotes() {
         return votes;
     }
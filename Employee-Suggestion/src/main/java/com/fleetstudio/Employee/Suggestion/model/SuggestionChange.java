@@ -0,0 +1,80 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the suggestion change log used for delta sync.
+ * The sequence number is assigned in commit order by SuggestionChangeLogService.
+ */
+@Entity
+@Table(name = "suggestion_changes",
+       indexes = @Index(name = "idx_suggestion_changes_suggestion", columnList = "suggestion_id"))
+public class SuggestionChange {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED,
+        VOTE_COUNT_CHANGED,
+        ARCHIVED
+    }
+
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "suggestion_id", nullable = false)
+    private Long suggestionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 32)
+    private ChangeType changeType;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public SuggestionChange() {}
+
+    public SuggestionChange(Long seq, Long suggestionId, ChangeType changeType) {
+        this.seq = seq;
+        this.suggestionId = suggestionId;
+        this.changeType = changeType;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public Long getSuggestionId() {
+        return suggestionId;
+    }
+
+    public void setSuggestionId(Long suggestionId) {
+        this.suggestionId = suggestionId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
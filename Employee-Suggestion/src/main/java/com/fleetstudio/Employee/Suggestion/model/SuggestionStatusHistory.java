@@ -5,11 +5,19 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "suggestion_status_history")
+@Table(name = "suggestion_status_history",
+       indexes = {
+           @Index(name = "idx_status_history_created", columnList = "created_at, id"),
+           @Index(name = "idx_status_history_changed_by", columnList = "changed_by, created_at, id"),
+           @Index(name = "idx_status_history_new_status", columnList = "new_status, created_at, id"),
+           @Index(name = "idx_status_history_transition", columnList = "previous_status, new_status, created_at, id")
+       })
 public class SuggestionStatusHistory {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "status_history_id")
+    @TableGenerator(name = "status_history_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "suggestion_status_history", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -0,0 +1,42 @@
+package com.fleetstudio.Employee.Suggestion.repository;
+
+import com.fleetstudio.Employee.Suggestion.model.ArchivedStatusHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedStatusHistoryRepository extends JpaRepository<ArchivedStatusHistory, Long> {
+
+    /**
+     * Copy the live status history of the given suggestions into the archive in one statement
+     */
+    @Modifying
+    @Query(value = "INSERT INTO archived_status_history (id, suggestion_id, previous_status, new_status, " +
+                   "changed_by, change_reason, created_at) " +
+                   "SELECT id, suggestion_id, previous_status, new_status, changed_by, change_reason, created_at " +
+                   "FROM suggestion_status_history WHERE suggestion_id IN (:suggestionIds)",
+           nativeQuery = true)
+    int copyFromLive(@Param("suggestionIds") Collection<Long> suggestionIds);
+
+    /**
+     * Archived history of one suggestion, newest first
+     */
+    List<ArchivedStatusHistory> findBySuggestionIdOrderByCreatedAtDesc(Long suggestionId);
+
+    /**
+     * Time of the oldest archived entry (null when the archive is empty)
+     */
+    @Query("SELECT MIN(sh.createdAt) FROM ArchivedStatusHistory sh")
+    LocalDateTime findFirstChangeAt();
+
+    @Modifying
+    @Query("DELETE FROM ArchivedStatusHistory sh WHERE sh.suggestionId IN :suggestionIds")
+    int deleteBySuggestionIdIn(@Param("suggestionIds") Collection<Long> suggestionIds);
+}
@@ -0,0 +1,50 @@
+package com.fleetstudio.Employee.Suggestion.repository;
+
+import com.fleetstudio.Employee.Suggestion.model.ArchivedSuggestion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedSuggestionRepository extends JpaRepository<ArchivedSuggestion, Long> {
+
+    /**
+     * Copy live suggestion rows into the archive in one statement
+     */
+    @Modifying
+    @Query(value = "INSERT INTO archived_suggestions (id, title, description, employee_id, is_anonymous, status, " +
+                   "vote_count, created_at, updated_at, deleted, deleted_at, version, archived_at) " +
+                   "SELECT id, title, description, employee_id, is_anonymous, status, vote_count, created_at, " +
+                   "updated_at, deleted, deleted_at, version, :archivedAt FROM suggestions WHERE id IN (:ids)",
+           nativeQuery = true)
+    int copyFromLive(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Archived suggestions that were soft deleted, most recently deleted first
+     */
+    @Query("SELECT a FROM ArchivedSuggestion a WHERE a.deleted = true ORDER BY a.deletedAt DESC")
+    List<ArchivedSuggestion> findDeleted();
+
+    /**
+     * Next chunk of archived soft-deleted suggestion ids, in id order (purge job cursor)
+     */
+    @Query("SELECT a.id FROM ArchivedSuggestion a WHERE a.deleted = true AND a.id > :afterId ORDER BY a.id")
+    List<Long> findDeletedIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Id, title and status of the given archived suggestions, without loading the entities
+     */
+    @Query("SELECT a.id, a.title, a.status FROM ArchivedSuggestion a WHERE a.id IN :ids")
+    List<Object[]> findTitleAndStatusByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedSuggestion a WHERE a.id IN :ids AND a.deleted = true")
+    int deleteDeletedByIdIn(@Param("ids") Collection<Long> ids);
+}
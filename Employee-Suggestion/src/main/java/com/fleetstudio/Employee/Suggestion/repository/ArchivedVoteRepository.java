@@ -0,0 +1,28 @@
+package com.fleetstudio.Employee.Suggestion.repository;
+
+import com.fleetstudio.Employee.Suggestion.model.ArchivedVote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface ArchivedVoteRepository extends JpaRepository<ArchivedVote, Long> {
+
+    /**
+     * Copy the live votes of the given suggestions into the archive in one statement
+     */
+    @Modifying
+    @Query(value = "INSERT INTO archived_votes (id, suggestion_id, device_identifier, employee_id, created_at) " +
+                   "SELECT id, suggestion_id, device_identifier, employee_id, created_at FROM votes " +
+                   "WHERE suggestion_id IN (:suggestionIds)",
+           nativeQuery = true)
+    int copyFromLive(@Param("suggestionIds") Collection<Long> suggestionIds);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedVote v WHERE v.suggestionId IN :suggestionIds")
+    int deleteBySuggestionIdIn(@Param("suggestionIds") Collection<Long> suggestionIds);
+}
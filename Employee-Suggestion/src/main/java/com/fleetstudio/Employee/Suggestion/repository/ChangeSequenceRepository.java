@@ -0,0 +1,22 @@
+package com.fleetstudio.Employee.Suggestion.repository;
+
+import com.fleetstudio.Employee.Suggestion.model.ChangeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, String> {
+
+    /**
+     * Load a counter row with a write lock held until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ChangeSequence c WHERE c.name = :name")
+    Optional<ChangeSequence> findForUpdate(@Param("name") String name);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -65,6 +66,24 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     List<Employee> findByDepartmentAndPosition(@Param("department") String department, 
                                              @Param("position") String position);
     
+    /**
+     * Id and name of every employee (used to seed the typeahead index)
+     */
+    @Query("SELECT e.id, e.name FROM Employee e")
+    List<Object[]> findAllNameRows();
+
+    /**
+     * Id and email of the employees with the given emails (batched lookup for imports)
+     */
+    @Query("SELECT e.id, e.email FROM Employee e WHERE e.email IN :emails")
+    List<Object[]> findIdRowsByEmailIn(@Param("emails") Collection<String> emails);
+
+    /**
+     * Id and department of every employee
+     */
+    @Query("SELECT e.id, e.department FROM Employee e")
+    List<Object[]> findDepartmentRows();
+
     /**
      * Count employees by department
      */
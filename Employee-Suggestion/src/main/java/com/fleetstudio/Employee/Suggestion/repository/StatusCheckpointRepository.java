@@ -0,0 +1,38 @@
+package com.fleetstudio.Employee.Suggestion.repository;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface StatusCheckpointRepository extends JpaRepository<StatusCheckpoint, Long> {
+
+    /**
+     * Latest checkpoint at or before the given instant (null when there is none)
+     */
+    StatusCheckpoint findFirstByCheckpointAtLessThanEqualOrderByCheckpointAtDesc(LocalDateTime at);
+
+    /**
+     * Most recent checkpoint (null when none has been taken)
+     */
+    StatusCheckpoint findFirstByOrderByCheckpointAtDesc();
+
+    /**
+     * Remove every checkpoint (before a full rebuild)
+     */
+    @Modifying
+    @Query("DELETE FROM StatusCheckpoint c")
+    int deleteAllCheckpoints();
+
+    /**
+     * Remove the checkpoints after the given instant (before a partial rebuild)
+     */
+    @Modifying
+    @Query("DELETE FROM StatusCheckpoint c WHERE c.checkpointAt > :after")
+    int deleteCheckpointsAfter(@Param("after") LocalDateTime after);
+}
@@ -0,0 +1,45 @@
+package com.fleetstudio.Employee.Suggestion.repository;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusDailyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StatusDailyCountRepository extends JpaRepository<StatusDailyCount, Long> {
+
+    /**
+     * Snapshot rows of the days in [from, to], oldest first
+     */
+    List<StatusDailyCount> findBySnapshotDateBetweenOrderBySnapshotDateAsc(LocalDate from, LocalDate to);
+
+    /**
+     * Rows of one day
+     */
+    List<StatusDailyCount> findBySnapshotDate(LocalDate snapshotDate);
+
+    /**
+     * Most recent day with a snapshot (null when none has been taken)
+     */
+    @Query("SELECT MAX(c.snapshotDate) FROM StatusDailyCount c")
+    LocalDate findLatestSnapshotDate();
+
+    /**
+     * Remove every snapshot (before a full rebuild)
+     */
+    @Modifying
+    @Query("DELETE FROM StatusDailyCount c")
+    int deleteAllSnapshots();
+
+    /**
+     * Remove the snapshots of the given day and later (before a partial rebuild)
+     */
+    @Modifying
+    @Query("DELETE FROM StatusDailyCount c WHERE c.snapshotDate >= :from")
+    int deleteSnapshotsFrom(@Param("from") LocalDate from);
+}
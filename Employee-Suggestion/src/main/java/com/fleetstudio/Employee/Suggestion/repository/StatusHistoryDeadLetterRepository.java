@@ -0,0 +1,9 @@
+package com.fleetstudio.Employee.Suggestion.repository;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusHistoryDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StatusHistoryDeadLetterRepository extends JpaRepository<StatusHistoryDeadLetter, Long> {
+}
@@ -0,0 +1,59 @@
+package com.fleetstudio.Employee.Suggestion.repository;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusHistoryOutboxEntry;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StatusHistoryOutboxRepository extends JpaRepository<StatusHistoryOutboxEntry, Long> {
+
+    /**
+     * Oldest waiting entries, row-locked until the transaction ends. Rows locked by
+     * another writer are skipped (a lock timeout of -2 is SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM StatusHistoryOutboxEntry e ORDER BY e.id")
+    List<StatusHistoryOutboxEntry> findBatchForUpdate(Pageable pageable);
+
+    /**
+     * One waiting entry, row-locked; empty if it is gone or locked by another writer
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM StatusHistoryOutboxEntry e WHERE e.id = :id")
+    List<StatusHistoryOutboxEntry> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Waiting entries of one suggestion, oldest first
+     */
+    List<StatusHistoryOutboxEntry> findBySuggestionIdOrderByIdAsc(Long suggestionId);
+
+    /**
+     * Outbox counterpart of SuggestionStatusHistoryRepository#findStatusEnteredAt
+     */
+    @Query("SELECT MAX(e.createdAt) FROM StatusHistoryOutboxEntry e WHERE e.suggestionId = :suggestionId " +
+           "AND e.newStatus = :status AND (e.previousStatus IS NULL OR e.previousStatus <> e.newStatus)")
+    LocalDateTime findStatusEnteredAt(@Param("suggestionId") Long suggestionId, @Param("status") SuggestionStatus status);
+
+    /**
+     * Outbox counterpart of SuggestionStatusHistoryRepository#findStatusEnteredAtByIdIn
+     */
+    @Query("SELECT e.suggestionId, e.newStatus, MAX(e.createdAt) FROM StatusHistoryOutboxEntry e " +
+           "WHERE e.suggestionId IN :suggestionIds " +
+           "AND (e.previousStatus IS NULL OR e.previousStatus <> e.newStatus) " +
+           "GROUP BY e.suggestionId, e.newStatus")
+    List<Object[]> findStatusEnteredAtByIdIn(@Param("suggestionIds") Collection<Long> suggestionIds);
+}
@@ -0,0 +1,40 @@
+package com.fleetstudio.Employee.Suggestion.repository;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusHistoryRewind;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StatusHistoryRewindRepository extends JpaRepository<StatusHistoryRewind, String> {
+
+    /**
+     * The store's pending rewind, locked until the transaction ends; when there is none,
+     * the key is still locked, so a writer cannot record one until then
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StatusHistoryRewind r WHERE r.store = :store")
+    List<StatusHistoryRewind> findByStoreForUpdate(@Param("store") String store);
+
+    /**
+     * Record a rewind, keeping the earlier instant if one is already pending
+     */
+    @Modifying
+    @Query(value = "INSERT INTO status_history_rewinds (store, rewind_from) VALUES (:store, :rewindFrom) " +
+                   "ON DUPLICATE KEY UPDATE rewind_from = LEAST(rewind_from, VALUES(rewind_from))",
+           nativeQuery = true)
+    int recordRewind(@Param("store") String store, @Param("rewindFrom") LocalDateTime rewindFrom);
+
+    /**
+     * Earliest pending rewind of any store (null when none is pending)
+     */
+    @Query("SELECT MIN(r.rewindFrom) FROM StatusHistoryRewind r")
+    LocalDateTime findEarliestRewind();
+}
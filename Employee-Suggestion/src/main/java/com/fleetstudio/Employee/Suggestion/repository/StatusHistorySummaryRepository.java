@@ -0,0 +1,72 @@
+package com.fleetstudio.Employee.Suggestion.repository;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusHistorySummary;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StatusHistorySummaryRepository extends JpaRepository<StatusHistorySummary, Long> {
+
+    Optional<StatusHistorySummary> findBySuggestionId(Long suggestionId);
+
+    @Query("SELECT DISTINCT s FROM StatusHistorySummary s LEFT JOIN FETCH s.totals WHERE s.suggestionId IN :suggestionIds")
+    List<StatusHistorySummary> findBySuggestionIdIn(@Param("suggestionIds") Collection<Long> suggestionIds);
+
+    /**
+     * Entries created before this instant may have been compacted (null before the first run)
+     */
+    @Query("SELECT MAX(s.compactedThrough) FROM StatusHistorySummary s")
+    LocalDateTime findCompactedThrough();
+
+    @Query("SELECT COALESCE(SUM(s.entriesCompacted), 0) FROM StatusHistorySummary s")
+    long sumEntriesCompacted();
+
+    @Query("SELECT COALESCE(SUM(t.entries), 0) FROM StatusHistorySummary s JOIN s.totals t WHERE t.newStatus = :status")
+    long sumEntriesByNewStatus(@Param("status") SuggestionStatus status);
+
+    @Query("SELECT COALESCE(SUM(t.entries), 0) FROM StatusHistorySummary s JOIN s.totals t WHERE t.changedBy = :changedBy")
+    long sumEntriesByChangedBy(@Param("changedBy") String changedBy);
+
+    /**
+     * Compacted entries per author, excluding System (same shape as the live admin activity query)
+     */
+    @Query("SELECT t.changedBy, SUM(t.entries) FROM StatusHistorySummary s JOIN s.totals t " +
+           "WHERE t.changedBy IS NOT NULL AND t.changedBy != 'System' GROUP BY t.changedBy")
+    List<Object[]> sumEntriesByAuthor();
+
+    /**
+     * Compacted completed stays of suggestions in (afterId, throughId]: status, number of
+     * stays and their total seconds
+     */
+    @Query("SELECT t.previousStatus, t.stays, t.dwellSeconds FROM StatusHistorySummary s JOIN s.totals t " +
+           "WHERE t.stays > 0 AND s.suggestionId > :afterId AND s.suggestionId <= :throughId")
+    List<Object[]> findCompactedDwellRows(@Param("afterId") long afterId, @Param("throughId") long throughId);
+
+    /**
+     * Remove the summaries of the given suggestions (when they are purged)
+     */
+    default int deleteBySuggestionIdIn(Collection<Long> suggestionIds) {
+        deleteTotalsBySuggestionIdIn(suggestionIds);
+        return deleteSummariesBySuggestionIdIn(suggestionIds);
+    }
+
+    @Modifying
+    @Query(value = "DELETE t FROM status_history_summary_totals t JOIN status_history_summaries s " +
+                   "ON s.id = t.summary_id WHERE s.suggestion_id IN (:suggestionIds)",
+           nativeQuery = true)
+    int deleteTotalsBySuggestionIdIn(@Param("suggestionIds") Collection<Long> suggestionIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM status_history_summaries WHERE suggestion_id IN (:suggestionIds)",
+           nativeQuery = true)
+    int deleteSummariesBySuggestionIdIn(@Param("suggestionIds") Collection<Long> suggestionIds);
+}
@@ -0,0 +1,122 @@
+package com.fleetstudio.Employee.Suggestion.repository;
+
+import com.fleetstudio.Employee.Suggestion.model.SuggestionCard;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SuggestionCardRepository extends JpaRepository<SuggestionCard, Long> {
+
+    /**
+     * All cards, newest first
+     */
+    List<SuggestionCard> findAllByOrderByCreatedAtDesc();
+
+    /**
+     * All cards with pagination, newest first
+     */
+    Page<SuggestionCard> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    /**
+     * Cards in a status, newest first
+     */
+    List<SuggestionCard> findByStatusOrderByCreatedAtDesc(SuggestionStatus status);
+
+    /**
+     * Cards in a status with pagination, newest first
+     */
+    Page<SuggestionCard> findByStatusOrderByCreatedAtDesc(SuggestionStatus status, Pageable pageable);
+
+    /**
+     * Search cards by title or description
+     */
+    @Query("SELECT c FROM SuggestionCard c WHERE " +
+           "LOWER(c.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "ORDER BY c.createdAt DESC")
+    List<SuggestionCard> search(@Param("searchTerm") String searchTerm);
+
+    /**
+     * Id, status, status-change time and creation time of cards after the given id
+     */
+    @Query("SELECT c.id, c.status, c.statusChangedAt, c.createdAt FROM SuggestionCard c " +
+           "WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findAgingRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Insert or refresh the cards of the given live suggestions from the live tables. The
+     * status change time is that of the newest history entry, which a status change has
+     * already put in the outbox within the same transaction.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO suggestion_cards (id, title, description, employee_id, submitter_name, " +
+                   "is_anonymous, status, vote_count, created_at, updated_at, status_changed_at) " +
+                   "SELECT s.id, s.title, s.description, s.employee_id, " +
+                   "CASE WHEN s.is_anonymous OR e.id IS NULL THEN 'Anonymous' ELSE e.name END, " +
+                   "s.is_anonymous, s.status, s.vote_count, s.created_at, s.updated_at, " +
+                   "COALESCE((SELECT MAX(o.created_at) FROM status_history_outbox o WHERE o.suggestion_id = s.id), " +
+                   "(SELECT MAX(h.created_at) FROM suggestion_status_history h WHERE h.suggestion_id = s.id), " +
+                   "s.created_at) " +
+                   "FROM suggestions s LEFT JOIN employees e ON e.id = s.employee_id " +
+                   "WHERE s.id IN (:ids) AND s.deleted = false " +
+                   "ON DUPLICATE KEY UPDATE title = VALUES(title), description = VALUES(description), " +
+                   "employee_id = VALUES(employee_id), submitter_name = VALUES(submitter_name), " +
+                   "is_anonymous = VALUES(is_anonymous), status = VALUES(status), vote_count = VALUES(vote_count), " +
+                   "created_at = VALUES(created_at), updated_at = VALUES(updated_at), " +
+                   "status_changed_at = VALUES(status_changed_at)",
+           nativeQuery = true)
+    int upsertCards(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM SuggestionCard c WHERE c.id IN :ids")
+    int deleteCards(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Follow an employee rename on their non-anonymous cards
+     */
+    @Modifying
+    @Query("UPDATE SuggestionCard c SET c.submitterName = :name " +
+           "WHERE c.submitterId = :employeeId AND c.isAnonymous = false")
+    int renameSubmitter(@Param("employeeId") Long employeeId, @Param("name") String name);
+
+    /**
+     * Cards of a removed employee show as anonymous, like the live rows do
+     */
+    @Modifying
+    @Query("UPDATE SuggestionCard c SET c.submitterId = null, c.submitterName = 'Anonymous' " +
+           "WHERE c.submitterId = :employeeId")
+    int detachSubmitter(@Param("employeeId") Long employeeId);
+
+    /**
+     * Build cards for live suggestions that do not have one yet
+     */
+    @Modifying
+    @Query(value = "INSERT INTO suggestion_cards (id, title, description, employee_id, submitter_name, " +
+                   "is_anonymous, status, vote_count, created_at, updated_at, status_changed_at) " +
+                   "SELECT s.id, s.title, s.description, s.employee_id, " +
+                   "CASE WHEN s.is_anonymous OR e.id IS NULL THEN 'Anonymous' ELSE e.name END, " +
+                   "s.is_anonymous, s.status, s.vote_count, s.created_at, s.updated_at, " +
+                   "(SELECT MAX(h.created_at) FROM suggestion_status_history h WHERE h.suggestion_id = s.id) " +
+                   "FROM suggestions s LEFT JOIN employees e ON e.id = s.employee_id " +
+                   "WHERE s.deleted = false AND NOT EXISTS (SELECT 1 FROM suggestion_cards c WHERE c.id = s.id)",
+           nativeQuery = true)
+    int insertMissing();
+
+    /**
+     * Drop cards whose suggestion was deleted, archived or purged
+     */
+    @Modifying
+    @Query(value = "DELETE c FROM suggestion_cards c LEFT JOIN suggestions s ON s.id = c.id " +
+                   "WHERE s.id IS NULL OR s.deleted = true",
+           nativeQuery = true)
+    int deleteOrphaned();
+}
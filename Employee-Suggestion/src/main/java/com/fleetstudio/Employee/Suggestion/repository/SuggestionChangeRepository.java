@@ -0,0 +1,26 @@
+package com.fleetstudio.Employee.Suggestion.repository;
+
+import com.fleetstudio.Employee.Suggestion.model.SuggestionChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SuggestionChangeRepository extends JpaRepository<SuggestionChange, Long> {
+
+    /**
+     * Changes after the given sequence number, oldest first
+     */
+    @Query("SELECT c FROM SuggestionChange c WHERE c.seq > :since ORDER BY c.seq ASC")
+    List<SuggestionChange> findChangesSince(@Param("since") Long since, Pageable pageable);
+
+    /**
+     * Highest sequence number written so far
+     */
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM SuggestionChange c")
+    long findLatestSeq();
+}
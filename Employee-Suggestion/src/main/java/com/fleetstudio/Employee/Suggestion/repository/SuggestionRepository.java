@@ -5,13 +5,16 @@ import com.fleetstudio.Employee.Suggestion.model.Suggestion;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -138,21 +141,124 @@ public interface SuggestionRepository extends JpaRepository<Suggestion, Long> {
                         @Param("updateTime") LocalDateTime updateTime);
     
     /**
-     * Increment vote count
+     * Live suggestions among the given ids, row-locked until the transaction ends
      */
-    @Modifying
-    @Query("UPDATE Suggestion s SET s.voteCount = s.voteCount + 1, s.updatedAt = :updateTime " +
-           "WHERE s.id = :suggestionId AND s.deleted = false")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Suggestion s WHERE s.id IN :ids AND s.deleted = false")
+    List<Suggestion> findLiveByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Update the status of several suggestions in one statement (bumps their version)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Suggestion s SET s.status = :status, s.updatedAt = :updateTime, s.version = s.version + 1 " +
+           "WHERE s.id IN :ids AND s.deleted = false")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("status") SuggestionStatus status,
+                           @Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * Increment vote count and bump the row version in one statement, so concurrent
+     * votes queue on the row lock instead of failing the optimistic check
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Suggestion s SET s.voteCount = s.voteCount + 1, s.updatedAt = :updateTime, " +
+           "s.version = s.version + 1 WHERE s.id = :suggestionId AND s.deleted = false")
     int incrementVoteCount(@Param("suggestionId") Long suggestionId, @Param("updateTime") LocalDateTime updateTime);
     
     /**
-     * Decrement vote count (ensuring it doesn't go below 0)
+     * Decrement vote count (ensuring it doesn't go below 0) and bump the row version
      */
-    @Modifying
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("UPDATE Suggestion s SET s.voteCount = CASE WHEN s.voteCount > 0 THEN s.voteCount - 1 ELSE 0 END, " +
-           "s.updatedAt = :updateTime WHERE s.id = :suggestionId AND s.deleted = false")
+           "s.updatedAt = :updateTime, s.version = s.version + 1 " +
+           "WHERE s.id = :suggestionId AND s.deleted = false")
     int decrementVoteCount(@Param("suggestionId") Long suggestionId, @Param("updateTime") LocalDateTime updateTime);
 
+    /**
+     * Id, title and vote count of every live suggestion (used to seed the typeahead index)
+     */
+    @Query("SELECT s.id, s.title, s.voteCount FROM Suggestion s WHERE s.deleted = false")
+    List<Object[]> findTitleRowsForActiveSuggestions();
+
+    /**
+     * Id, title and description of live suggestions after the given id, in id order
+     */
+    @Query("SELECT s.id, s.title, s.description FROM Suggestion s " +
+           "WHERE s.deleted = false AND s.id > :afterId ORDER BY s.id")
+    List<Object[]> findTextRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Id, title and status of the given suggestions, without loading the entities
+     */
+    @Query("SELECT s.id, s.title, s.status FROM Suggestion s WHERE s.id IN :ids")
+    List<Object[]> findTitleAndStatusByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Id, status, anonymity, submitter id and creation time of live suggestions after the given id
+     */
+    @Query("SELECT s.id, s.status, s.isAnonymous, s.submittedBy.id, s.createdAt FROM Suggestion s " +
+           "WHERE s.deleted = false AND s.id > :afterId ORDER BY s.id")
+    List<Object[]> findFacetRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Current row version of a live suggestion
+     */
+    @Query("SELECT s.version FROM Suggestion s WHERE s.id = :suggestionId AND s.deleted = false")
+    Optional<Long> findVersionById(@Param("suggestionId") Long suggestionId);
+
     List<Suggestion> findByDeletedTrue();
-    void deleteByDeleted(boolean deleted);
+
+    /**
+     * Next chunk of soft-deleted suggestion ids, in id order (purge job cursor)
+     */
+    @Query("SELECT s.id FROM Suggestion s WHERE s.deleted = true AND s.id > :afterId ORDER BY s.id")
+    List<Long> findDeletedIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Hard delete soft-deleted suggestions in one statement; children must already be gone
+     */
+    @Modifying
+    @Query("DELETE FROM Suggestion s WHERE s.id IN :ids AND s.deleted = true")
+    int deleteDeletedByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Next chunk of suggestions old enough to archive: soft deleted before deletedBefore, or
+     * implemented/rejected and untouched since closedBefore (non-locking scan)
+     */
+    @Query(value = "SELECT id FROM suggestions WHERE id > :afterId AND (" +
+                   "(deleted = true AND COALESCE(deleted_at, updated_at, created_at) < :deletedBefore) OR " +
+                   "(deleted = false AND status IN ('IMPLEMENTED', 'REJECTED') " +
+                   "AND COALESCE(updated_at, created_at) < :closedBefore)) " +
+                   "ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findArchivableIdsAfter(@Param("afterId") Long afterId,
+                                      @Param("deletedBefore") LocalDateTime deletedBefore,
+                                      @Param("closedBefore") LocalDateTime closedBefore,
+                                      @Param("limit") int limit);
+
+    /**
+     * Lock the given candidates by primary key, keeping only those that still qualify
+     */
+    @Query(value = "SELECT id FROM suggestions WHERE id IN (:ids) AND (" +
+                   "(deleted = true AND COALESCE(deleted_at, updated_at, created_at) < :deletedBefore) OR " +
+                   "(deleted = false AND status IN ('IMPLEMENTED', 'REJECTED') " +
+                   "AND COALESCE(updated_at, created_at) < :closedBefore)) FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockArchivableIds(@Param("ids") Collection<Long> ids,
+                                 @Param("deletedBefore") LocalDateTime deletedBefore,
+                                 @Param("closedBefore") LocalDateTime closedBefore);
+
+    /**
+     * Id, status and deleted flag of the given suggestions
+     */
+    @Query("SELECT s.id, s.status, s.deleted FROM Suggestion s WHERE s.id IN :ids")
+    List<Object[]> findStateRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Remove suggestions whose votes and history have already been moved or deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Suggestion s WHERE s.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -1,16 +1,24 @@
 package com.fleetstudio.Employee.Suggestion.repository;
 
 
+import com.fleetstudio.Employee.Suggestion.dto.StatusHistoryEntry;
 import com.fleetstudio.Employee.Suggestion.model.Suggestion;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatusHistory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SuggestionStatusHistoryRepository extends JpaRepository<SuggestionStatusHistory, Long> {
@@ -26,49 +34,71 @@ public interface SuggestionStatusHistoryRepository extends JpaRepository<Suggest
     @Query("SELECT sh FROM SuggestionStatusHistory sh WHERE sh.suggestion.id = :suggestionId ORDER BY sh.createdAt DESC")
     List<SuggestionStatusHistory> findBySuggestionIdOrderByCreatedAtDesc(@Param("suggestionId") Long suggestionId);
     
+    String ENTRY = "SELECT new com.fleetstudio.Employee.Suggestion.dto.StatusHistoryEntry(sh.id, sh.suggestion.id, " +
+                   "sh.previousStatus, sh.newStatus, sh.changedBy, sh.changeReason, sh.createdAt) " +
+                   "FROM SuggestionStatusHistory sh ";
+    String BEFORE_CURSOR = "(sh.createdAt < :createdAt OR (sh.createdAt = :createdAt AND sh.id < :id)) ";
+    String NEWEST_FIRST = "ORDER BY sh.createdAt DESC, sh.id DESC";
+
     /**
-     * Find the latest status change for a specific suggestion
+     * Keyset page of the history of suggestions that are not deleted, newest first
      */
-    @Query("SELECT sh FROM SuggestionStatusHistory sh WHERE sh.suggestion.id = :suggestionId " +
-           "ORDER BY sh.createdAt DESC LIMIT 1")
-    SuggestionStatusHistory findLatestBySuggestionId(@Param("suggestionId") Long suggestionId);
-    
+    @Query(ENTRY + "WHERE sh.suggestion.deleted = false AND " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<StatusHistoryEntry> findActivePage(@Param("createdAt") LocalDateTime createdAt, @Param("id") long id,
+                                            Pageable pageable);
+
     /**
-     * Find status history by changed by (admin/user who made the change)
+     * Keyset page of the changes made by one person, newest first
      */
-    List<SuggestionStatusHistory> findByChangedByOrderByCreatedAtDesc(String changedBy);
-    
+    @Query(ENTRY + "WHERE sh.changedBy = :changedBy AND " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<StatusHistoryEntry> findPageByChangedBy(@Param("changedBy") String changedBy,
+                                                 @Param("createdAt") LocalDateTime createdAt, @Param("id") long id,
+                                                 Pageable pageable);
+
     /**
-     * Find status history by new status
+     * Keyset page of the changes into one status, newest first
      */
-    List<SuggestionStatusHistory> findByNewStatusOrderByCreatedAtDesc(SuggestionStatus newStatus);
-    
+    @Query(ENTRY + "WHERE sh.newStatus = :newStatus AND " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<StatusHistoryEntry> findPageByNewStatus(@Param("newStatus") SuggestionStatus newStatus,
+                                                 @Param("createdAt") LocalDateTime createdAt, @Param("id") long id,
+                                                 Pageable pageable);
+
     /**
-     * Find status history by previous status
+     * Keyset page of the transitions from one status to another, newest first
      */
-    List<SuggestionStatusHistory> findByPreviousStatusOrderByCreatedAtDesc(SuggestionStatus previousStatus);
-    
+    @Query(ENTRY + "WHERE sh.previousStatus = :fromStatus AND sh.newStatus = :toStatus AND " +
+           BEFORE_CURSOR + NEWEST_FIRST)
+    List<StatusHistoryEntry> findPageByTransition(@Param("fromStatus") SuggestionStatus fromStatus,
+                                                  @Param("toStatus") SuggestionStatus toStatus,
+                                                  @Param("createdAt") LocalDateTime createdAt, @Param("id") long id,
+                                                  Pageable pageable);
+
     /**
-     * Find status changes from one specific status to another
+     * Keyset page of the changes made in [startDate, endDate], newest first
      */
-    @Query("SELECT sh FROM SuggestionStatusHistory sh WHERE sh.previousStatus = :fromStatus " +
-           "AND sh.newStatus = :toStatus ORDER BY sh.createdAt DESC")
-    List<SuggestionStatusHistory> findStatusTransitions(@Param("fromStatus") SuggestionStatus fromStatus, 
-                                                       @Param("toStatus") SuggestionStatus toStatus);
-    
+    @Query(ENTRY + "WHERE sh.createdAt >= :startDate AND sh.createdAt <= :endDate AND " +
+           BEFORE_CURSOR + NEWEST_FIRST)
+    List<StatusHistoryEntry> findPageBetween(@Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate,
+                                             @Param("createdAt") LocalDateTime createdAt, @Param("id") long id,
+                                             Pageable pageable);
+
     /**
-     * Find status history within a date range
+     * Count status changes made since the given time
      */
-    @Query("SELECT sh FROM SuggestionStatusHistory sh WHERE sh.createdAt BETWEEN :startDate AND :endDate " +
-           "ORDER BY sh.createdAt DESC")
-    List<SuggestionStatusHistory> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, 
-                                                        @Param("endDate") LocalDateTime endDate);
+    long countByCreatedAtGreaterThanEqual(LocalDateTime since);
+
+    /**
+     * Find the latest status change for a specific suggestion
+     */
+    @Query("SELECT sh FROM SuggestionStatusHistory sh WHERE sh.suggestion.id = :suggestionId " +
+           "ORDER BY sh.createdAt DESC LIMIT 1")
+    SuggestionStatusHistory findLatestBySuggestionId(@Param("suggestionId") Long suggestionId);
     
     /**
-     * Find recent status changes (last N days)
+     * Find status history by previous status
      */
-    @Query("SELECT sh FROM SuggestionStatusHistory sh WHERE sh.createdAt >= :sinceDate ORDER BY sh.createdAt DESC")
-    List<SuggestionStatusHistory> findRecentStatusChanges(@Param("sinceDate") LocalDateTime sinceDate);
+    List<SuggestionStatusHistory> findByPreviousStatusOrderByCreatedAtDesc(SuggestionStatus previousStatus);
     
     /**
      * Count status changes made by a specific person
@@ -80,12 +110,6 @@ public interface SuggestionStatusHistoryRepository extends JpaRepository<Suggest
      */
     long countByNewStatus(SuggestionStatus newStatus);
     
-    /**
-     * Get status change statistics (count of changes to each status)
-     */
-    @Query("SELECT sh.newStatus, COUNT(sh) FROM SuggestionStatusHistory sh GROUP BY sh.newStatus")
-    List<Object[]> getStatusChangeStatistics();
-    
     /**
      * Get admin activity statistics
      */
@@ -95,25 +119,19 @@ public interface SuggestionStatusHistoryRepository extends JpaRepository<Suggest
     List<Object[]> getAdminActivityStatistics();
     
     /**
-     * Find suggestions that changed status multiple times
+     * History entries per suggestion across every tier: waiting in the outbox, live,
+     * archived and compacted into summaries. Rows are the suggestion id and its count;
+     * only the suggestion_id indexes are read, never the suggestions.
      */
-    @Query("SELECT sh.suggestion, COUNT(sh) as changeCount FROM SuggestionStatusHistory sh " +
-           "GROUP BY sh.suggestion HAVING COUNT(sh) > 1 ORDER BY changeCount DESC")
-    List<Object[]> findSuggestionsWithMultipleStatusChanges();
+    @Query(value = "SELECT x.suggestion_id, SUM(x.entries) FROM (" +
+                   "SELECT suggestion_id, COUNT(*) AS entries FROM status_history_outbox GROUP BY suggestion_id " +
+                   "UNION ALL SELECT suggestion_id, COUNT(*) FROM suggestion_status_history GROUP BY suggestion_id " +
+                   "UNION ALL SELECT suggestion_id, COUNT(*) FROM archived_status_history GROUP BY suggestion_id " +
+                   "UNION ALL SELECT suggestion_id, entries_compacted FROM status_history_summaries) x " +
+                   "GROUP BY x.suggestion_id",
+           nativeQuery = true)
+    List<Object[]> countEntriesPerSuggestion();
     
-    /**
-     * Get status transition analytics (from -> to status counts)
-     */
-    @Query("SELECT sh.previousStatus, sh.newStatus, COUNT(sh) FROM SuggestionStatusHistory sh " +
-           "WHERE sh.previousStatus IS NOT NULL " +
-           "GROUP BY sh.previousStatus, sh.newStatus ORDER BY COUNT(sh) DESC")
-    List<Object[]> getStatusTransitionAnalytics();
-    
-    /**
-     * Find status history for suggestions that are not deleted
-     */
-    @Query("SELECT sh FROM SuggestionStatusHistory sh WHERE sh.suggestion.deleted = false ORDER BY sh.createdAt DESC")
-    List<SuggestionStatusHistory> findForActiveSuggestions();
     
     /**
      * Get the first status change for each suggestion (when it was moved from initial status)
@@ -127,7 +145,154 @@ public interface SuggestionStatusHistoryRepository extends JpaRepository<Suggest
      * Delete all status history for a specific suggestion (cleanup when suggestion is hard deleted)
      */
     void deleteBySuggestion(Suggestion suggestion);
+
+    /**
+     * Next chunk of suggestion ids with entries created before the given instant, in id order
+     * (compaction job cursor)
+     */
+    @Query("SELECT DISTINCT sh.suggestion.id FROM SuggestionStatusHistory sh " +
+           "WHERE sh.createdAt < :before AND sh.suggestion.id > :afterId ORDER BY sh.suggestion.id")
+    List<Long> findSuggestionIdsWithEntriesBefore(@Param("afterId") Long afterId,
+                                                  @Param("before") LocalDateTime before,
+                                                  Pageable pageable);
+
+    /**
+     * Entries of the given suggestions created before the given instant, in history order:
+     * id, suggestion id, previous status, new status, changed by and created at
+     */
+    @Query("SELECT sh.id, sh.suggestion.id, sh.previousStatus, sh.newStatus, sh.changedBy, sh.createdAt " +
+           "FROM SuggestionStatusHistory sh WHERE sh.suggestion.id IN :suggestionIds AND sh.createdAt < :before " +
+           "ORDER BY sh.suggestion.id, sh.createdAt, sh.id")
+    List<Object[]> findEntriesBefore(@Param("suggestionIds") Collection<Long> suggestionIds,
+                                     @Param("before") LocalDateTime before);
+
+    /**
+     * Which of the given suggestions have entries created at or after the given instant
+     */
+    @Query("SELECT DISTINCT sh.suggestion.id FROM SuggestionStatusHistory sh " +
+           "WHERE sh.suggestion.id IN :suggestionIds AND sh.createdAt >= :from")
+    List<Long> findSuggestionIdsWithEntriesFrom(@Param("suggestionIds") Collection<Long> suggestionIds,
+                                                @Param("from") LocalDateTime from);
+
+    @Modifying
+    @Query("DELETE FROM SuggestionStatusHistory sh WHERE sh.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete the history of many suggestions in one statement
+     */
+    @Modifying
+    @Query("DELETE FROM SuggestionStatusHistory sh WHERE sh.suggestion.id IN :suggestionIds")
+    int deleteBySuggestionIdIn(@Param("suggestionIds") Collection<Long> suggestionIds);
     
+    /**
+     * When a suggestion last entered the given status (entries that kept the status, such as
+     * deletions, do not count)
+     */
+    @Query("SELECT MAX(sh.createdAt) FROM SuggestionStatusHistory sh WHERE sh.suggestion.id = :suggestionId " +
+           "AND sh.newStatus = :status AND (sh.previousStatus IS NULL OR sh.previousStatus <> sh.newStatus)")
+    LocalDateTime findStatusEnteredAt(@Param("suggestionId") Long suggestionId, @Param("status") SuggestionStatus status);
+
+    /**
+     * {@link #findStatusEnteredAt} for several suggestions: suggestion id, status and when it
+     * was last entered
+     */
+    @Query("SELECT sh.suggestion.id, sh.newStatus, MAX(sh.createdAt) FROM SuggestionStatusHistory sh " +
+           "WHERE sh.suggestion.id IN :suggestionIds " +
+           "AND (sh.previousStatus IS NULL OR sh.previousStatus <> sh.newStatus) " +
+           "GROUP BY sh.suggestion.id, sh.newStatus")
+    List<Object[]> findStatusEnteredAtByIdIn(@Param("suggestionIds") Collection<Long> suggestionIds);
+
+    /**
+     * Highest suggestion id with any history, live or archived
+     */
+    @Query(value = "SELECT GREATEST(" +
+                   "COALESCE((SELECT MAX(suggestion_id) FROM suggestion_status_history), 0), " +
+                   "COALESCE((SELECT MAX(suggestion_id) FROM archived_status_history), 0))",
+           nativeQuery = true)
+    long findMaxSuggestionIdWithHistory();
+
+    /**
+     * Completed stays of the suggestions in (afterId, throughId], live and archived: each
+     * status entry is paired with the next one of the same suggestion. A compacted summary
+     * contributes its last entry, so the stay open when history was compacted is paired
+     * with the first entry kept. Rows are the status and the seconds spent in it.
+     */
+    @Query(value = "SELECT t.new_status, TIMESTAMPDIFF(SECOND, t.created_at, t.next_at) FROM (" +
+                   "SELECT x.new_status, x.created_at, " +
+                   "LEAD(x.created_at) OVER (PARTITION BY x.suggestion_id ORDER BY x.created_at, x.id) AS next_at " +
+                   "FROM (SELECT id, suggestion_id, previous_status, new_status, created_at " +
+                   "FROM suggestion_status_history WHERE suggestion_id > :afterId AND suggestion_id <= :throughId " +
+                   "UNION ALL SELECT id, suggestion_id, previous_status, new_status, created_at " +
+                   "FROM archived_status_history WHERE suggestion_id > :afterId AND suggestion_id <= :throughId " +
+                   "UNION ALL SELECT 0, suggestion_id, last_previous_status, last_status, last_changed_at " +
+                   "FROM status_history_summaries WHERE suggestion_id > :afterId AND suggestion_id <= :throughId) x " +
+                   "WHERE x.previous_status IS NULL OR x.previous_status <> x.new_status) t " +
+                   "WHERE t.next_at IS NOT NULL",
+           nativeQuery = true)
+    List<Object[]> findDwellRows(@Param("afterId") long afterId, @Param("throughId") long throughId);
+
+    /**
+     * Every status change in [from, to), live and archived, in the order it happened: previous
+     * status, new status and the day. Streamed from the server rather than buffered, so the
+     * caller must close the stream inside its transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(value = "SELECT x.previous_status, x.new_status, DATE(x.created_at) FROM (" +
+                   "SELECT id, previous_status, new_status, created_at FROM suggestion_status_history " +
+                   "WHERE created_at >= :from AND created_at < :to " +
+                   "UNION ALL SELECT id, previous_status, new_status, created_at FROM archived_status_history " +
+                   "WHERE created_at >= :from AND created_at < :to) x " +
+                   "ORDER BY x.created_at, x.id",
+           nativeQuery = true)
+    Stream<Object[]> streamStatusChanges(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Every status change in [from, to), live and archived, in the order it happened:
+     * suggestion id, previous status, new status and when. Streamed like
+     * {@link #streamStatusChanges}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(value = "SELECT x.suggestion_id, x.previous_status, x.new_status, x.created_at FROM (" +
+                   "SELECT id, suggestion_id, previous_status, new_status, created_at FROM suggestion_status_history " +
+                   "WHERE created_at >= :from AND created_at < :to " +
+                   "UNION ALL SELECT id, suggestion_id, previous_status, new_status, created_at FROM archived_status_history " +
+                   "WHERE created_at >= :from AND created_at < :to) x " +
+                   "ORDER BY x.created_at, x.id",
+           nativeQuery = true)
+    Stream<Object[]> streamSuggestionStatusChanges(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Time of the oldest live entry (null when there is none)
+     */
+    @Query("SELECT MIN(sh.createdAt) FROM SuggestionStatusHistory sh")
+    LocalDateTime findFirstChangeAt();
+
+    /**
+     * Entry counts per (previous status, new status) over live, archived and compacted history
+     */
+    @Query(value = "SELECT x.previous_status, x.new_status, SUM(x.entries) FROM (" +
+                   "SELECT previous_status, new_status, 1 AS entries FROM suggestion_status_history " +
+                   "UNION ALL SELECT previous_status, new_status, 1 FROM archived_status_history " +
+                   "UNION ALL SELECT previous_status, new_status, entries FROM status_history_summary_totals) x " +
+                   "GROUP BY x.previous_status, x.new_status",
+           nativeQuery = true)
+    List<Object[]> countAllTransitions();
+
+    /**
+     * Same counts as {@link #countAllTransitions} restricted to the given suggestions
+     */
+    @Query(value = "SELECT x.previous_status, x.new_status, SUM(x.entries) FROM (" +
+                   "SELECT previous_status, new_status, 1 AS entries FROM suggestion_status_history " +
+                   "WHERE suggestion_id IN (:suggestionIds) " +
+                   "UNION ALL SELECT previous_status, new_status, 1 FROM archived_status_history " +
+                   "WHERE suggestion_id IN (:suggestionIds) " +
+                   "UNION ALL SELECT t.previous_status, t.new_status, t.entries FROM status_history_summary_totals t " +
+                   "JOIN status_history_summaries s ON s.id = t.summary_id WHERE s.suggestion_id IN (:suggestionIds)) x " +
+                   "GROUP BY x.previous_status, x.new_status",
+           nativeQuery = true)
+    List<Object[]> countTransitionsBySuggestionIdIn(@Param("suggestionIds") Collection<Long> suggestionIds);
+
     /**
      * Count total status changes
      */
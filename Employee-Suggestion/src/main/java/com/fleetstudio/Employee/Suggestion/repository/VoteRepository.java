@@ -4,11 +4,13 @@ import com.fleetstudio.Employee.Suggestion.model.Suggestion;
 import com.fleetstudio.Employee.Suggestion.model.Vote;
 import com.fleetstudio.Employee.Suggestion.model.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -122,6 +124,13 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
      * Delete all votes for a specific suggestion (cleanup when suggestion is hard deleted)
      */
     void deleteBySuggestion(Suggestion suggestion);
+
+    /**
+     * Delete the votes of many suggestions in one statement
+     */
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.suggestion.id IN :suggestionIds")
+    int deleteBySuggestionIdIn(@Param("suggestionIds") Collection<Long> suggestionIds);
     
     /**
      * Delete vote by suggestion ID and device identifier (for unvoting functionality)
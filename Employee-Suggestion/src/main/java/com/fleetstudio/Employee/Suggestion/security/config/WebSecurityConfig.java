@@ -1,7 +1,9 @@
 package com.fleetstudio.Employee.Suggestion.security.config;
 
 import com.fleetstudio.Employee.Suggestion.security.jwt.JwtAuthenticationFilter;
+import com.fleetstudio.Employee.Suggestion.security.jwt.StreamTicketService;
 import com.fleetstudio.Employee.Suggestion.security.jwt.UserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -38,7 +40,11 @@ public class WebSecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity httpSecurity)throws Exception{
 
         httpSecurity.csrf(AbstractHttpConfigurer::disable)
-                .authorizeHttpRequests( auth -> auth.requestMatchers("/api/auth/**", "/api/auth").permitAll()
+                .authorizeHttpRequests( auth -> auth
+                        // SSE frames are written on async dispatches of the already authorized stream request
+                        .requestMatchers(request -> request.getDispatcherType() == DispatcherType.ASYNC
+                                && StreamTicketService.STREAM_PATH.equals(request.getServletPath())).permitAll()
+                        .requestMatchers("/api/auth/**", "/api/auth").permitAll()
                         .requestMatchers("/{shortUrl}").permitAll()
                         .requestMatchers("/api/urls/**").authenticated()
                         .anyRequest().authenticated()
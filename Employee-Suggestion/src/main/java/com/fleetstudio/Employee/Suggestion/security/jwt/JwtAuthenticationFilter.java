@@ -26,6 +26,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private StreamTicketService streamTicketService;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
@@ -34,8 +37,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             String jwt=jwtUtils.getJwtFromHeader(request);
 
+            String email=null;
             if(jwt != null && jwtUtils.validateToken(jwt)){
-                String email=jwtUtils.getUserNameFromToken(jwt);
+                email=jwtUtils.getUserNameFromToken(jwt);
+            } else if(jwt == null && StreamTicketService.STREAM_PATH.equals(url)){
+                // EventSource cannot set headers; the stream is opened with a single-use ticket
+                email=streamTicketService.redeem(request.getParameter(StreamTicketService.TICKET_PARAM));
+            }
+            if(email != null){
                 UserDetails userDetails=userDetailsService.loadUserByUsername(email);
                 if(userDetails != null){
                     UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken=new UsernamePasswordAuthenticationToken(userDetails,null,userDetails.getAuthorities());
@@ -0,0 +1,71 @@
+package com.fleetstudio.Employee.Suggestion.security.jwt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived, single-use tickets for opening the suggestion stream.
+ *
+ * EventSource cannot set an Authorization header, so the stream is opened with
+ * {@code ?ticket=} instead. A ticket is issued to an already authenticated user, is
+ * only accepted on {@link #STREAM_PATH}, and is gone after the first use or
+ * {@code suggestions.stream.ticket-ttl-ms}, whichever comes first, so a leaked URL
+ * is worthless.
+ */
+@Component
+public class StreamTicketService {
+
+    public static final String STREAM_PATH = "/api/suggestions/stream";
+    public static final String TICKET_PARAM = "ticket";
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public StreamTicketService(@Value("${suggestions.stream.ticket-ttl-ms:30000}") long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public String issue(String email) {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(ticket -> ticket.expiresAt < now);
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(ticket, new Ticket(email, now + ttlMillis));
+        return ticket;
+    }
+
+    /**
+     * The email the ticket was issued to, or null if it is unknown, used or expired
+     */
+    public String redeem(String ticket) {
+        if (ticket == null) {
+            return null;
+        }
+        Ticket issued = tickets.remove(ticket);
+        if (issued == null || issued.expiresAt < System.currentTimeMillis()) {
+            return null;
+        }
+        return issued.email;
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    private static final class Ticket {
+        private final String email;
+        private final long expiresAt;
+
+        private Ticket(String email, long expiresAt) {
+            this.email = email;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
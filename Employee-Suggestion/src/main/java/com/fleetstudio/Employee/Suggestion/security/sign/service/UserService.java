@@ -1,5 +1,6 @@
 package com.fleetstudio.Employee.Suggestion.security.sign.service;
 
+import com.fleetstudio.Employee.Suggestion.event.EmployeeChangedEvent;
 import com.fleetstudio.Employee.Suggestion.model.Employee;
 import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
 import com.fleetstudio.Employee.Suggestion.security.jwt.JwtUtils;
@@ -10,6 +11,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.couchbase.CouchbaseProperties;
 import org.springframework.boot.autoconfigure.pulsar.PulsarProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -32,11 +34,14 @@ public class UserService {
     private AuthenticationManager authenticationManager;
     @Autowired
     private JwtUtils jwtUtils;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public boolean register(Employee user) {
         if(userRepo.existsByEmail(user.getEmail()))return false;
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        userRepo.save(user);
+        Employee saved = userRepo.save(user);
+        eventPublisher.publishEvent(EmployeeChangedEvent.of(EmployeeChangedEvent.Type.CREATED, saved));
         return true;
     }
 
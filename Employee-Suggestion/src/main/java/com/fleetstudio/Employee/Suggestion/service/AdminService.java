@@ -5,9 +5,12 @@ import com.fleetstudio.Employee.Suggestion.model.Suggestion;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,16 +23,22 @@ public class AdminService {
     private final VoteService voteService;
     private final StatusHistoryService statusHistoryService;
     private final EmployeeService employeeService;
+    private final SuggestionPurgeService suggestionPurgeService;
+    private final SuggestionArchiveService suggestionArchiveService;
 
     @Autowired
     public AdminService(SuggestionService suggestionService,
                        VoteService voteService,
                        StatusHistoryService statusHistoryService,
-                       EmployeeService employeeService) {
+                       EmployeeService employeeService,
+                       SuggestionPurgeService suggestionPurgeService,
+                       SuggestionArchiveService suggestionArchiveService) {
         this.suggestionService = suggestionService;
         this.voteService = voteService;
         this.statusHistoryService = statusHistoryService;
         this.employeeService = employeeService;
+        this.suggestionPurgeService = suggestionPurgeService;
+        this.suggestionArchiveService = suggestionArchiveService;
     }
 
     /**
@@ -64,7 +73,7 @@ public class AdminService {
         // Recent activity
         stats.recentSuggestions7Days = suggestionService.getRecentSuggestions(7).size();
         stats.recentVotes7Days = voteService.getRecentVotes(7).size();
-        stats.recentStatusChanges7Days = statusHistoryService.getRecentStatusChanges(7).size();
+        stats.recentStatusChanges7Days = statusHistoryService.countRecentStatusChanges(7);
         
         // Employee statistics
         stats.totalEmployees = employeeService.getTotalEmployeeCount();
@@ -95,28 +104,14 @@ public class AdminService {
     }
 
     /**
-     * Bulk status update for multiple suggestions
+     * Bulk status update for multiple suggestions (set-based, chunk by chunk)
      */
-    public BulkUpdateResult bulkUpdateStatus(Long[] suggestionIds, SuggestionStatus newStatus, 
-                                           String adminToken, String reason) {
-        if (!isAdmin(adminToken)) {
-            throw new SecurityException("Admin privileges required");
-        }
-        
-        String adminName = getAdminName(adminToken);
-        int successCount = 0;
-        int failureCount = 0;
-        
-        for (Long suggestionId : suggestionIds) {
-            try {
-                suggestionService.changeStatus(suggestionId, newStatus, adminName, reason);
-                successCount++;
-            } catch (Exception e) {
-                failureCount++;
-            }
-        }
-        
-        return new BulkUpdateResult(successCount, failureCount);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkUpdateResult bulkUpdateStatus(Long[] suggestionIds, SuggestionStatus newStatus,
+                                           String adminName, String reason) {
+        List<SuggestionService.StatusChangeOutcome> results = suggestionService.bulkChangeStatus(
+                suggestionIds == null ? null : Arrays.asList(suggestionIds), newStatus, adminName, reason);
+        return new BulkUpdateResult(results);
     }
 
     /**
@@ -203,19 +198,19 @@ public class AdminService {
     }
 
     /**
-     * Get admin name from token (demo implementation)
+     * Soft-deleted suggestions, both still in the live table and already archived
      */
-    private String getAdminName(String adminToken) {
-        // In production, this would decode the actual admin token
-        return "admin123".equals(adminToken) ? "Administrator" : "Admin";
-    }
-
     public List<Suggestion> getDeletedSuggestions() {
-        return suggestionService.findByDeletedTrue();
+        List<Suggestion> deleted = new ArrayList<>(suggestionService.findByDeletedTrue());
+        deleted.addAll(suggestionArchiveService.getArchivedDeletedSuggestions());
+        return deleted;
     }
 
-    public void hardDeleteSuggestions() {
-        suggestionService.hardDeleteSuggestions();
+    /**
+     * Start a background purge of soft-deleted suggestions
+     */
+    public SuggestionPurgeService.PurgeJob hardDeleteSuggestions(String adminName) {
+        return suggestionPurgeService.startPurge(adminName);
     }
 
     // Inner classes for return types
@@ -231,7 +226,7 @@ public class AdminService {
         public double averageVotesPerSuggestion;
         public int recentSuggestions7Days;
         public int recentVotes7Days;
-        public int recentStatusChanges7Days;
+        public long recentStatusChanges7Days;
         public long totalEmployees;
         public Map<SuggestionStatus, Long> statusChangeStatistics;
         public Map<String, Long> adminActivityStatistics;
@@ -241,11 +236,13 @@ public class AdminService {
         public final int successCount;
         public final int failureCount;
         public final int totalCount;
+        public final List<SuggestionService.StatusChangeOutcome> results;
 
-        public BulkUpdateResult(int successCount, int failureCount) {
-            this.successCount = successCount;
-            this.failureCount = failureCount;
-            this.totalCount = successCount + failureCount;
+        public BulkUpdateResult(List<SuggestionService.StatusChangeOutcome> results) {
+            this.results = results;
+            this.successCount = (int) results.stream().filter(SuggestionService.StatusChangeOutcome::isSuccess).count();
+            this.totalCount = results.size();
+            this.failureCount = totalCount - successCount;
         }
 
         public boolean isFullySuccessful() {
@@ -0,0 +1,95 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.index.MinHashLshIndex;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Flags likely duplicates of a new suggestion before it is submitted.
+ *
+ * Live suggestions are held in a MinHash/LSH index keyed by id. The index is loaded
+ * once at startup in id-ordered chunks and then maintained from domain events, so a
+ * lookup never touches the database. New submissions are checked too, and the matches
+ * come back with the created suggestion.
+ */
+@Service
+public class DuplicateDetectionService {
+
+    private static final int BOOTSTRAP_CHUNK_SIZE = 1000;
+
+    private final SuggestionRepository suggestionRepository;
+    private final MinHashLshIndex index = new MinHashLshIndex();
+    private final double similarityThreshold;
+    private final int maxResults;
+
+    @Autowired
+    public DuplicateDetectionService(SuggestionRepository suggestionRepository,
+                                     @Value("${suggestions.duplicates.threshold:0.5}") double similarityThreshold,
+                                     @Value("${suggestions.duplicates.max-results:5}") int maxResults) {
+        this.suggestionRepository = suggestionRepository;
+        this.similarityThreshold = similarityThreshold;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Load every live suggestion into the index
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        index.clear();
+        long afterId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = suggestionRepository.findTextRowsAfter(afterId, PageRequest.of(0, BOOTSTRAP_CHUNK_SIZE));
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                index.put(id, (String) row[1], textOf((String) row[1], (String) row[2]));
+                afterId = id;
+            }
+        } while (rows.size() == BOOTSTRAP_CHUNK_SIZE);
+    }
+
+    /**
+     * Possible duplicates of the given title and description, most similar first
+     */
+    public List<MinHashLshIndex.Match> findPossibleDuplicates(String title, String description) {
+        return findPossibleDuplicates(title, description, null);
+    }
+
+    /**
+     * Possible duplicates, ignoring the suggestion with the given id (used when editing)
+     */
+    public List<MinHashLshIndex.Match> findPossibleDuplicates(String title, String description, Long excludeId) {
+        return index.findSimilar(textOf(title, description), similarityThreshold, maxResults, excludeId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        if (event.getSuggestionId() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED, UPDATED -> index.put(event.getSuggestionId(), event.getTitle(),
+                    textOf(event.getTitle(), event.getDescription()));
+            case DELETED, ARCHIVED -> index.remove(event.getSuggestionId());
+            default -> {
+                // Status and vote changes leave the text untouched
+            }
+        }
+    }
+
+    private static String textOf(String title, String description) {
+        return (title != null ? title : "") + " " + (description != null ? description : "");
+    }
+}
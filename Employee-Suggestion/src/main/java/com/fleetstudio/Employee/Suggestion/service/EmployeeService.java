@@ -1,8 +1,10 @@
 package com.fleetstudio.Employee.Suggestion.service;
 
+import com.fleetstudio.Employee.Suggestion.event.EmployeeChangedEvent;
 import com.fleetstudio.Employee.Suggestion.model.Employee;
 import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,10 +16,13 @@ import java.util.Optional;
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -52,7 +57,9 @@ public class EmployeeService {
         if (employeeRepository.existsByEmail(employee.getEmail())) {
             throw new IllegalArgumentException("Employee with email " + employee.getEmail() + " already exists");
         }
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.of(EmployeeChangedEvent.Type.CREATED, savedEmployee));
+        return savedEmployee;
     }
 
     /**
@@ -79,7 +86,9 @@ public class EmployeeService {
         employee.setDepartment(updatedEmployee.getDepartment());
         employee.setPosition(updatedEmployee.getPosition());
 
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.of(EmployeeChangedEvent.Type.UPDATED, savedEmployee));
+        return savedEmployee;
     }
 
     /**
@@ -90,6 +99,7 @@ public class EmployeeService {
             throw new IllegalArgumentException("Employee with ID " + id + " not found");
         }
         employeeRepository.deleteById(id);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.DELETED, id, null, null));
     }
 
     /**
@@ -187,7 +197,9 @@ public class EmployeeService {
                 new Employee("Daniel Jackson", "daniel.jackson@company.com", "Customer Success", "Customer Success Manager")
             );
 
-            employeeRepository.saveAll(sampleEmployees);
+            for (Employee saved : employeeRepository.saveAll(sampleEmployees)) {
+                eventPublisher.publishEvent(EmployeeChangedEvent.of(EmployeeChangedEvent.Type.CREATED, saved));
+            }
         }
     }
 
@@ -0,0 +1,129 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.datasource.PrimaryReads;
+import com.fleetstudio.Employee.Suggestion.event.EmployeeChangedEvent;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamps used to build strong ETags for suggestion reads.
+ *
+ * The feed has a single counter bumped after every committed suggestion write. Single
+ * suggestions use their {@code @Version} column, remembered in memory once read and
+ * forgotten again when the suggestion changes, so an idle poller's conditional GET is
+ * answered without touching the database. Remembered versions are bounded (least
+ * recently used first out) and expire after a few seconds, which caps how long a stamp
+ * can lag a write this instance never saw an event for: one made by another instance,
+ * or a purge that removes rows without publishing. A boot id keeps tags from colliding
+ * across restarts, when the in-memory counter starts over.
+ */
+@Service
+public class ResourceVersionService {
+
+    private final SuggestionRepository suggestionRepository;
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong feedVersion = new AtomicLong();
+    private final AtomicLong employeeGeneration = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final int maxVersions;
+    private final long versionTtlMillis;
+    private final LinkedHashMap<Long, KnownVersion> suggestionVersions = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Autowired
+    public ResourceVersionService(SuggestionRepository suggestionRepository,
+                                  @Value("${suggestions.etag.max-versions:10000}") int maxVersions,
+                                  @Value("${suggestions.etag.version-ttl-ms:5000}") long versionTtlMillis) {
+        this.suggestionRepository = suggestionRepository;
+        this.maxVersions = maxVersions;
+        this.versionTtlMillis = versionTtlMillis;
+    }
+
+    /**
+     * ETag for one shape of the suggestion feed
+     */
+    public String feedETag(String shape) {
+        return quote("feed-" + bootId + "-" + feedVersion.get() + "-" + Integer.toHexString(shape.hashCode()));
+    }
+
+    /**
+     * ETag for a single suggestion, empty if it does not exist
+     */
+    public Optional<String> suggestionETag(Long suggestionId) {
+        return suggestionVersion(suggestionId)
+                .map(v -> quote("s-" + suggestionId + "-" + v + "-" + employeeGeneration.get()));
+    }
+
+    /**
+     * ETag for the vote count of a suggestion, empty if it does not exist
+     */
+    public Optional<String> voteCountETag(Long suggestionId) {
+        return suggestionVersion(suggestionId).map(v -> quote("c-" + suggestionId + "-" + v));
+    }
+
+    public Optional<Long> suggestionVersion(Long suggestionId) {
+        long now = System.currentTimeMillis();
+        synchronized (suggestionVersions) {
+            KnownVersion known = suggestionVersions.get(suggestionId);
+            if (known != null && known.expiresAt > now) {
+                return Optional.of(known.version);
+            }
+        }
+        long evictionsBefore = evictions.get();
+        Optional<Long> loaded = PrimaryReads.call(() -> suggestionRepository.findVersionById(suggestionId));
+        synchronized (suggestionVersions) {
+            // Only remember the version if no write was committed while it was being read
+            if (loaded.isPresent() && evictions.get() == evictionsBefore) {
+                suggestionVersions.put(suggestionId, new KnownVersion(loaded.get(), now + versionTtlMillis));
+                Iterator<Long> eldest = suggestionVersions.keySet().iterator();
+                while (suggestionVersions.size() > maxVersions) {
+                    eldest.next();
+                    eldest.remove();
+                }
+            } else {
+                suggestionVersions.remove(suggestionId);
+            }
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        evictions.incrementAndGet();
+        synchronized (suggestionVersions) {
+            suggestionVersions.remove(event.getSuggestionId());
+        }
+        feedVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() != EmployeeChangedEvent.Type.CREATED) {
+            employeeGeneration.incrementAndGet();
+            feedVersion.incrementAndGet();
+        }
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+
+    private static final class KnownVersion {
+        private final long version;
+        private final long expiresAt;
+
+        KnownVersion(long version, long expiresAt) {
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.index.StatusSnapshotCodec;
+import com.fleetstudio.Employee.Suggestion.model.StatusCheckpoint;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedStatusHistoryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusCheckpointRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistorySummaryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Status of every suggestion as it was at a past instant.
+ *
+ * Every few days (at midnight) the status of every existing suggestion is stored as a
+ * checkpoint. An as-of read loads the latest checkpoint at or before the instant and
+ * replays only the live and archived history between the two, so its cost is bounded by
+ * the number of suggestions plus one checkpoint interval of changes, however long the
+ * history grows. Replay follows the history conventions: a creation sets the status, a
+ * transition replaces it and a deletion (an entry that keeps the status) removes the
+ * suggestion. Each new checkpoint is the previous one plus the changes since; the first
+ * run backfills checkpoints over the whole history in one streamed pass. History written
+ * later with an earlier date (imports) leaves a rewind marker; the next run drops the
+ * checkpoints after that instant and builds them again. Checkpoints are only built after
+ * the marker is claimed and the history outbox flushed; an as-of read of the last second
+ * or so may miss entries still waiting there.
+ */
+@Service
+public class StatusAsOfService {
+
+    private static final LocalDateTime HISTORY_START = LocalDate.of(1970, 1, 1).atStartOfDay();
+
+    private final StatusCheckpointRepository checkpointRepository;
+    private final SuggestionStatusHistoryRepository statusHistoryRepository;
+    private final ArchivedStatusHistoryRepository archivedStatusHistoryRepository;
+    private final StatusHistorySummaryRepository summaryRepository;
+    private final StatusHistoryWriter statusHistoryWriter;
+    private final StatusHistoryRewindService rewindService;
+    private final TransactionTemplate transactionTemplate;
+    private final int intervalDays;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public StatusAsOfService(StatusCheckpointRepository checkpointRepository,
+                             SuggestionStatusHistoryRepository statusHistoryRepository,
+                             ArchivedStatusHistoryRepository archivedStatusHistoryRepository,
+                             StatusHistorySummaryRepository summaryRepository,
+                             StatusHistoryWriter statusHistoryWriter,
+                             StatusHistoryRewindService rewindService,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${suggestions.status-checkpoint.interval-days:7}") int intervalDays) {
+        if (intervalDays < 1) {
+            throw new IllegalArgumentException("suggestions.status-checkpoint.interval-days must be at least 1");
+        }
+        this.checkpointRepository = checkpointRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.archivedStatusHistoryRepository = archivedStatusHistoryRepository;
+        this.summaryRepository = summaryRepository;
+        this.statusHistoryWriter = statusHistoryWriter;
+        this.rewindService = rewindService;
+        this.transactionTemplate = transactionTemplate;
+        this.intervalDays = intervalDays;
+    }
+
+    /**
+     * Store every checkpoint that is due up to today's midnight (the full backfill on first start)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${suggestions.status-checkpoint.cron:0 20 0 * * *}")
+    public void appendCheckpoints() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            transactionTemplate.execute(status -> {
+                LocalDateTime rewindFrom = rewindService.claim(StatusHistoryRewindService.STATUS_CHECKPOINTS);
+                statusHistoryWriter.flush();
+                if (rewindFrom != null) {
+                    rewind(rewindFrom);
+                }
+                return append();
+            });
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Drop the checkpoints and build them again from the history; returns the number stored.
+     * Checkpoints up to the compaction horizon cannot be rebuilt and are kept.
+     */
+    public int rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalArgumentException("A status checkpoint run is already in progress");
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                // Everything is rebuilt anyway
+                rewindService.claim(StatusHistoryRewindService.STATUS_CHECKPOINTS);
+                statusHistoryWriter.flush();
+                LocalDateTime compactedThrough = summaryRepository.findCompactedThrough();
+                if (compactedThrough == null) {
+                    checkpointRepository.deleteAllCheckpoints();
+                } else {
+                    checkpointRepository.deleteCheckpointsAfter(compactedThrough);
+                }
+                return append();
+            });
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Status of every suggestion that existed just before {@code at}, by suggestion id.
+     * Before the compaction horizon only checkpoints can be answered exactly; other instants
+     * there get the nearest earlier checkpoint, flagged as not exact.
+     */
+    @Transactional(readOnly = true)
+    public AsOfStatus getStatusAsOf(LocalDateTime at) {
+        if (at.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Timestamp must not be in the future");
+        }
+        StatusCheckpoint checkpoint = checkpointRepository.findFirstByCheckpointAtLessThanEqualOrderByCheckpointAtDesc(at);
+        Map<Long, SuggestionStatus> statuses = checkpoint != null
+                ? StatusSnapshotCodec.decode(checkpoint.getEntries(), SuggestionStatus.class)
+                : new HashMap<>();
+        LocalDateTime from = checkpoint != null ? checkpoint.getCheckpointAt() : HISTORY_START;
+        LocalDateTime compactedThrough = summaryRepository.findCompactedThrough();
+        if (compactedThrough != null && at.isBefore(compactedThrough) && !from.equals(at)) {
+            return new AsOfStatus(at, checkpoint != null ? checkpoint.getCheckpointAt() : null, 0, false, statuses);
+        }
+
+        long replayed = 0;
+        try (Stream<Object[]> changes = statusHistoryRepository.streamSuggestionStatusChanges(from, at)) {
+            Iterator<Object[]> it = changes.iterator();
+            while (it.hasNext()) {
+                apply(statuses, it.next());
+                replayed++;
+            }
+        }
+        return new AsOfStatus(at, checkpoint != null ? checkpoint.getCheckpointAt() : null, replayed, true, statuses);
+    }
+
+    /**
+     * Drop the checkpoints after {@code from}, which do not include what was written there;
+     * those up to the compaction horizon are kept
+     */
+    private void rewind(LocalDateTime from) {
+        LocalDateTime compactedThrough = summaryRepository.findCompactedThrough();
+        if (compactedThrough != null && from.isBefore(compactedThrough)) {
+            from = compactedThrough;
+        }
+        checkpointRepository.deleteCheckpointsAfter(from);
+    }
+
+    /**
+     * Store a checkpoint at each due midnight up to today's, replaying the history since the
+     * latest one; returns the number stored
+     */
+    private int append() {
+        StatusCheckpoint latest = checkpointRepository.findFirstByOrderByCheckpointAtDesc();
+        Map<Long, SuggestionStatus> statuses;
+        LocalDateTime from;
+        LocalDateTime next;
+        if (latest != null) {
+            statuses = StatusSnapshotCodec.decode(latest.getEntries(), SuggestionStatus.class);
+            from = latest.getCheckpointAt();
+            next = from.plusDays(intervalDays);
+        } else {
+            LocalDateTime first = firstChangeAt();
+            if (first == null) {
+                return 0;
+            }
+            // An empty checkpoint at the start of the first day anchors reads before it
+            statuses = new HashMap<>();
+            from = first.toLocalDate().atStartOfDay();
+            next = from;
+        }
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        if (next.isAfter(today)) {
+            return 0;
+        }
+        LocalDateTime last = next;
+        while (!last.plusDays(intervalDays).isAfter(today)) {
+            last = last.plusDays(intervalDays);
+        }
+
+        // Checkpoints are buffered until the stream is closed: the connection cannot run
+        // other statements while a streamed result is open
+        List<StatusCheckpoint> checkpoints = new ArrayList<>();
+        try (Stream<Object[]> changes = statusHistoryRepository.streamSuggestionStatusChanges(from, last)) {
+            Iterator<Object[]> it = changes.iterator();
+            while (it.hasNext()) {
+                Object[] change = it.next();
+                LocalDateTime changedAt = toLocalDateTime(change[3]);
+                for (; !changedAt.isBefore(next); next = next.plusDays(intervalDays)) {
+                    checkpoints.add(checkpoint(next, statuses));
+                }
+                apply(statuses, change);
+            }
+        }
+        for (; !next.isAfter(last); next = next.plusDays(intervalDays)) {
+            checkpoints.add(checkpoint(next, statuses));
+        }
+        checkpointRepository.saveAll(checkpoints);
+        return checkpoints.size();
+    }
+
+    private LocalDateTime firstChangeAt() {
+        LocalDateTime live = statusHistoryRepository.findFirstChangeAt();
+        LocalDateTime archived = archivedStatusHistoryRepository.findFirstChangeAt();
+        if (live == null || archived == null) {
+            return live != null ? live : archived;
+        }
+        return live.isBefore(archived) ? live : archived;
+    }
+
+    private static StatusCheckpoint checkpoint(LocalDateTime at, Map<Long, SuggestionStatus> statuses) {
+        return new StatusCheckpoint(at, statuses.size(), StatusSnapshotCodec.encode(statuses, SuggestionStatus.class));
+    }
+
+    private static void apply(Map<Long, SuggestionStatus> statuses, Object[] change) {
+        Long suggestionId = ((Number) change[0]).longValue();
+        String previous = (String) change[1];
+        String next = (String) change[2];
+        if (next.equals(previous)) {
+            statuses.remove(suggestionId);
+        } else {
+            statuses.put(suggestionId, SuggestionStatus.valueOf(next));
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    /**
+     * Status of every suggestion at {@code asOf}, with the checkpoint the read started from
+     * (null before the first one) and how many history entries were replayed on top of it.
+     * {@code exact} is false when the history after the checkpoint had been compacted.
+     */
+    public static class AsOfStatus {
+        private final LocalDateTime asOf;
+        private final LocalDateTime checkpointAt;
+        private final long changesReplayed;
+        private final boolean exact;
+        private final Map<SuggestionStatus, Long> counts = new EnumMap<>(SuggestionStatus.class);
+        private final Map<Long, SuggestionStatus> statuses;
+
+        public AsOfStatus(LocalDateTime asOf, LocalDateTime checkpointAt, long changesReplayed, boolean exact,
+                          Map<Long, SuggestionStatus> statuses) {
+            this.asOf = asOf;
+            this.checkpointAt = checkpointAt;
+            this.changesReplayed = changesReplayed;
+            this.exact = exact;
+            this.statuses = new TreeMap<>(statuses);
+            for (SuggestionStatus status : SuggestionStatus.values()) {
+                counts.put(status, 0L);
+            }
+            statuses.values().forEach(status -> counts.merge(status, 1L, Long::sum));
+        }
+
+        public LocalDateTime getAsOf() { return asOf; }
+        public LocalDateTime getCheckpointAt() { return checkpointAt; }
+        public long getChangesReplayed() { return changesReplayed; }
+        public boolean isExact() { return exact; }
+        public Map<SuggestionStatus, Long> getCounts() { return counts; }
+        public Map<Long, SuggestionStatus> getStatuses() { return statuses; }
+    }
+}
@@ -0,0 +1,140 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.index.CountRanking;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Status history entries per suggestion, ranked most first, kept in memory.
+ *
+ * Seeded at startup with one GROUP BY over every history tier (outbox, live, archived
+ * and compacted summaries), then incremented after each committed creation, status
+ * change and deletion, each of which writes one entry. Archiving moves history without
+ * changing the counts; the purge job drops the suggestions it deletes. Pages of the
+ * most-changed list are read from a position in the ranking, so the cost of a page does
+ * not depend on how deep it is or on the size of the history. Changes applied while a
+ * rebuild is running are collected on the side and added to the fresh ranking before
+ * it replaces the old one.
+ */
+@Service
+public class StatusChangeRankingService {
+
+    // A creation writes the first entry, so "changed more than once" means two or more
+    private static final long MIN_RANKED_ENTRIES = 2;
+
+    private final SuggestionStatusHistoryRepository statusHistoryRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private CountRanking ranking = new CountRanking(MIN_RANKED_ENTRIES);
+    // Changes applied since the running rebuild started, null when none is running
+    private Map<Long, Long> pendingDeltas;
+    private Set<Long> pendingRemovals;
+
+    @Autowired
+    public StatusChangeRankingService(SuggestionStatusHistoryRepository statusHistoryRepository) {
+        this.statusHistoryRepository = statusHistoryRepository;
+    }
+
+    /**
+     * Recount every suggestion's history entries
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDeltas = new HashMap<>();
+            pendingRemovals = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        CountRanking next = new CountRanking(MIN_RANKED_ENTRIES);
+        boolean loaded = false;
+        try {
+            for (Object[] row : statusHistoryRepository.countEntriesPerSuggestion()) {
+                next.add(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    pendingRemovals.forEach(next::remove);
+                    pendingDeltas.forEach(next::add);
+                    ranking = next;
+                }
+                pendingDeltas = null;
+                pendingRemovals = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED, STATUS_CHANGED, DELETED -> add(event.getSuggestionId(), 1);
+            default -> {
+                // No history entry is written
+            }
+        }
+    }
+
+    /**
+     * Forget suggestions whose history has been purged
+     */
+    public void remove(Collection<Long> suggestionIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : suggestionIds) {
+                ranking.remove(id);
+                if (pendingRemovals != null) {
+                    pendingRemovals.add(id);
+                    pendingDeltas.remove(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} suggestions with more than one entry, most entries first, after
+     * the (entries, suggestion id) position
+     */
+    public List<CountRanking.Entry> mostChanged(long afterEntries, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            return ranking.after(afterEntries, afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(long suggestionId, long delta) {
+        lock.writeLock().lock();
+        try {
+            ranking.add(suggestionId, delta);
+            if (pendingDeltas != null) {
+                pendingDeltas.merge(suggestionId, delta, Long::sum);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
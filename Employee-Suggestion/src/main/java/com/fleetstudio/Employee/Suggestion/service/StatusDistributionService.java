@@ -0,0 +1,230 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusDailyCount;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.StatusDailyCountRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistorySummaryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Daily time series of how many suggestions are in each status.
+ *
+ * One row per status per day is stored in status_daily_counts and reads only ever
+ * select a date range of those rows. Snapshots are appended by replaying the status
+ * history (live and archived) in the order it happened on top of the last stored day:
+ * a creation adds one to its status, a transition moves one between statuses and a
+ * deletion (an entry that keeps the status) removes one. The first run has no stored day
+ * and replays the whole history in a single streamed pass; afterwards the nightly job
+ * only reads the days since the last snapshot, and catches up on any it missed. History
+ * written later with an earlier date (imports) leaves a rewind marker; the next run drops
+ * the snapshots from that day on and replays them. The history outbox is flushed after
+ * the marker is claimed, so no committed change is left out of a stored day.
+ */
+@Service
+public class StatusDistributionService {
+
+    private static final LocalDate HISTORY_START = LocalDate.of(1970, 1, 1);
+    private static final SuggestionStatus[] STATUSES = SuggestionStatus.values();
+
+    private final StatusDailyCountRepository dailyCountRepository;
+    private final SuggestionStatusHistoryRepository statusHistoryRepository;
+    private final StatusHistorySummaryRepository summaryRepository;
+    private final StatusHistoryWriter statusHistoryWriter;
+    private final StatusHistoryRewindService rewindService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public StatusDistributionService(StatusDailyCountRepository dailyCountRepository,
+                                     SuggestionStatusHistoryRepository statusHistoryRepository,
+                                     StatusHistorySummaryRepository summaryRepository,
+                                     StatusHistoryWriter statusHistoryWriter,
+                                     StatusHistoryRewindService rewindService,
+                                     TransactionTemplate transactionTemplate) {
+        this.dailyCountRepository = dailyCountRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.summaryRepository = summaryRepository;
+        this.statusHistoryWriter = statusHistoryWriter;
+        this.rewindService = rewindService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Append snapshots for every completed day not stored yet (the full backfill on first start)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${suggestions.status-distribution.cron:0 10 0 * * *}")
+    public void appendSnapshots() {
+        appendThrough(LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * Drop the snapshots and replay the history again; returns the number of days stored.
+     * Days whose history has been compacted cannot be replayed and are kept.
+     */
+    public int rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalArgumentException("A status distribution snapshot is already running");
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                // Everything is replayed anyway
+                rewindService.claim(StatusHistoryRewindService.STATUS_DISTRIBUTION);
+                statusHistoryWriter.flush();
+                LocalDateTime compactedThrough = summaryRepository.findCompactedThrough();
+                if (compactedThrough == null) {
+                    dailyCountRepository.deleteAllSnapshots();
+                } else {
+                    // Compaction stops at a midnight covered by a snapshot
+                    dailyCountRepository.deleteSnapshotsFrom(compactedThrough.toLocalDate());
+                }
+                return replay(LocalDate.now().minusDays(1));
+            });
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Counts per status for each stored day in [from, to], oldest first
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, Map<SuggestionStatus, Long>> getSeries(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        Map<LocalDate, Map<SuggestionStatus, Long>> series = new LinkedHashMap<>();
+        for (StatusDailyCount row : dailyCountRepository.findBySnapshotDateBetweenOrderBySnapshotDateAsc(from, to)) {
+            series.computeIfAbsent(row.getSnapshotDate(), d -> new EnumMap<>(SuggestionStatus.class))
+                    .put(row.getStatus(), row.getSuggestionCount());
+        }
+        return series;
+    }
+
+    /**
+     * Most recent day with a snapshot (null before the first one)
+     */
+    @Transactional(readOnly = true)
+    public LocalDate getLatestSnapshotDate() {
+        return dailyCountRepository.findLatestSnapshotDate();
+    }
+
+    private void appendThrough(LocalDate through) {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            transactionTemplate.execute(status -> {
+                LocalDateTime rewindFrom = rewindService.claim(StatusHistoryRewindService.STATUS_DISTRIBUTION);
+                statusHistoryWriter.flush();
+                if (rewindFrom != null) {
+                    rewind(rewindFrom);
+                }
+                return replay(through);
+            });
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Drop the snapshots of the day of {@code from} and later, never before the compaction horizon
+     */
+    private void rewind(LocalDateTime from) {
+        LocalDate day = from.toLocalDate();
+        LocalDateTime compactedThrough = summaryRepository.findCompactedThrough();
+        if (compactedThrough != null && day.isBefore(compactedThrough.toLocalDate())) {
+            day = compactedThrough.toLocalDate();
+        }
+        dailyCountRepository.deleteSnapshotsFrom(day);
+    }
+
+    /**
+     * Store one row per status for each day after the latest snapshot up to and including
+     * {@code through}; returns the number of days stored
+     */
+    private int replay(LocalDate through) {
+        LocalDate latest = dailyCountRepository.findLatestSnapshotDate();
+        if (latest != null && !latest.isBefore(through)) {
+            return 0;
+        }
+        long[] counts = new long[STATUSES.length];
+        if (latest != null) {
+            for (StatusDailyCount row : dailyCountRepository.findBySnapshotDate(latest)) {
+                counts[row.getStatus().ordinal()] = row.getSuggestionCount();
+            }
+        }
+
+        // Rows are buffered until the stream is closed: the connection cannot run other
+        // statements while a streamed result is open
+        List<StatusDailyCount> rows = new ArrayList<>();
+        LocalDate day = latest != null ? latest.plusDays(1) : null;
+        LocalDate from = latest != null ? day : HISTORY_START;
+        try (Stream<Object[]> changes = statusHistoryRepository.streamStatusChanges(
+                from.atStartOfDay(), through.plusDays(1).atStartOfDay())) {
+            Iterator<Object[]> it = changes.iterator();
+            while (it.hasNext()) {
+                Object[] change = it.next();
+                LocalDate changeDay = toLocalDate(change[2]);
+                if (day == null) {
+                    day = changeDay;
+                }
+                for (; day.isBefore(changeDay); day = day.plusDays(1)) {
+                    snapshot(rows, day, counts);
+                }
+                apply(counts, (String) change[0], (String) change[1]);
+            }
+        }
+        if (day == null) {
+            // No history at all yet: nothing to start the series from
+            return 0;
+        }
+        for (; !day.isAfter(through); day = day.plusDays(1)) {
+            snapshot(rows, day, counts);
+        }
+        dailyCountRepository.saveAll(rows);
+        return rows.size() / STATUSES.length;
+    }
+
+    private static void apply(long[] counts, String previous, String next) {
+        int to = SuggestionStatus.valueOf(next).ordinal();
+        if (previous == null) {
+            counts[to]++;
+        } else if (previous.equals(next)) {
+            counts[to]--;
+        } else {
+            counts[SuggestionStatus.valueOf(previous).ordinal()]--;
+            counts[to]++;
+        }
+    }
+
+    private static void snapshot(List<StatusDailyCount> rows, LocalDate day, long[] counts) {
+        for (SuggestionStatus status : STATUSES) {
+            rows.add(new StatusDailyCount(day, status, counts[status.ordinal()]));
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
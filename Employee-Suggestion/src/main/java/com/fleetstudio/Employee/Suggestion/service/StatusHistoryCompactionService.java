@@ -0,0 +1,215 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusCheckpoint;
+import com.fleetstudio.Employee.Suggestion.model.StatusHistorySummary;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.StatusCheckpointRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusDailyCountRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistorySummaryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rolls old status history into one summary row per suggestion.
+ *
+ * Live entries older than the retention horizon are folded into the suggestion's
+ * StatusHistorySummary and deleted, a chunk of suggestions per transaction. A
+ * suggestion's newest entry is always kept, so lookups of when it entered its current
+ * status still read the raw table. The horizon is moved back to the latest as-of
+ * checkpoint no later than the day after the latest distribution snapshot, or than a
+ * pending history rewind, so both of those can always be extended or replayed again from
+ * the raw history that remains. Statistics, timings and transition counts add the
+ * summaries to the raw history.
+ */
+@Service
+public class StatusHistoryCompactionService {
+
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final SuggestionStatusHistoryRepository statusHistoryRepository;
+    private final StatusHistorySummaryRepository summaryRepository;
+    private final StatusCheckpointRepository checkpointRepository;
+    private final StatusDailyCountRepository dailyCountRepository;
+    private final StatusHistoryWriter statusHistoryWriter;
+    private final StatusHistoryRewindService rewindService;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final long chunkDelayMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile CompactionRun lastRun;
+
+    @Autowired
+    public StatusHistoryCompactionService(SuggestionStatusHistoryRepository statusHistoryRepository,
+                                          StatusHistorySummaryRepository summaryRepository,
+                                          StatusCheckpointRepository checkpointRepository,
+                                          StatusDailyCountRepository dailyCountRepository,
+                                          StatusHistoryWriter statusHistoryWriter,
+                                          StatusHistoryRewindService rewindService,
+                                          TransactionTemplate transactionTemplate,
+                                          @Value("${suggestions.history-compaction.retention-days:365}") int retentionDays,
+                                          @Value("${suggestions.history-compaction.chunk-size:500}") int chunkSize,
+                                          @Value("${suggestions.history-compaction.chunk-delay-ms:50}") long chunkDelayMillis) {
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.summaryRepository = summaryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.dailyCountRepository = dailyCountRepository;
+        this.statusHistoryWriter = statusHistoryWriter;
+        this.rewindService = rewindService;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.chunkDelayMillis = chunkDelayMillis;
+    }
+
+    /**
+     * Compact everything older than the horizon; skipped if a run is already in progress
+     */
+    @Scheduled(cron = "${suggestions.history-compaction.cron:0 0 4 * * *}")
+    public void compact() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        CompactionRun run = new CompactionRun();
+        try {
+            // A suggestion's newest entry must be in the raw table to be kept
+            statusHistoryWriter.flush();
+            LocalDateTime before = transactionTemplate.execute(status -> horizon());
+            run.compactedThrough = before;
+            long afterId = 0;
+            while (before != null) {
+                final long cursor = afterId;
+                Long lastId = transactionTemplate.execute(status -> compactChunk(cursor, before, run));
+                if (lastId == null) {
+                    break;
+                }
+                afterId = lastId;
+                if (chunkDelayMillis > 0) {
+                    Thread.sleep(chunkDelayMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.error = "Interrupted by shutdown";
+        } catch (RuntimeException e) {
+            run.error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        } finally {
+            run.finishedAt = LocalDateTime.now();
+            lastRun = run;
+            running.set(false);
+        }
+    }
+
+    public CompactionRun getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Entries created before the returned instant may be compacted; null while there is no
+     * checkpoint to fall back on
+     */
+    private LocalDateTime horizon() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        LocalDate latestSnapshot = dailyCountRepository.findLatestSnapshotDate();
+        if (latestSnapshot == null) {
+            return null;
+        }
+        LocalDateTime snapshotBound = latestSnapshot.plusDays(1).atStartOfDay();
+        if (snapshotBound.isBefore(cutoff)) {
+            cutoff = snapshotBound;
+        }
+        LocalDateTime rewindFrom = rewindService.getEarliestPending();
+        if (rewindFrom != null && rewindFrom.isBefore(cutoff)) {
+            // Snapshots and checkpoints from there on are about to be replayed
+            cutoff = rewindFrom;
+        }
+        StatusCheckpoint checkpoint = checkpointRepository.findFirstByCheckpointAtLessThanEqualOrderByCheckpointAtDesc(cutoff);
+        return checkpoint != null ? checkpoint.getCheckpointAt() : null;
+    }
+
+    /**
+     * Fold one chunk of suggestions' old entries into their summaries and delete them;
+     * returns the scan cursor, or null when nothing is left
+     */
+    private Long compactChunk(long afterId, LocalDateTime before, CompactionRun run) {
+        List<Long> ids = statusHistoryRepository.findSuggestionIdsWithEntriesBefore(
+                afterId, before, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return null;
+        }
+        Set<Long> continued = new HashSet<>(statusHistoryRepository.findSuggestionIdsWithEntriesFrom(ids, before));
+        Map<Long, List<Object[]>> entriesBySuggestion = new LinkedHashMap<>();
+        for (Object[] row : statusHistoryRepository.findEntriesBefore(ids, before)) {
+            entriesBySuggestion.computeIfAbsent((Long) row[1], id -> new ArrayList<>()).add(row);
+        }
+        Map<Long, StatusHistorySummary> summaries = new HashMap<>();
+        for (StatusHistorySummary summary : summaryRepository.findBySuggestionIdIn(ids)) {
+            summaries.put(summary.getSuggestionId(), summary);
+        }
+
+        List<StatusHistorySummary> changed = new ArrayList<>();
+        List<Long> compactedIds = new ArrayList<>();
+        entriesBySuggestion.forEach((suggestionId, entries) -> {
+            if (!continued.contains(suggestionId)) {
+                // Keep the newest entry: it says when the current status was entered
+                entries = entries.subList(0, entries.size() - 1);
+            }
+            if (entries.isEmpty()) {
+                return;
+            }
+            StatusHistorySummary summary = summaries.computeIfAbsent(suggestionId, StatusHistorySummary::new);
+            for (Object[] entry : entries) {
+                summary.absorb((SuggestionStatus) entry[2], (SuggestionStatus) entry[3], (String) entry[4],
+                        (LocalDateTime) entry[5]);
+                compactedIds.add((Long) entry[0]);
+            }
+            summary.setCompactedThrough(before);
+            changed.add(summary);
+        });
+
+        summaryRepository.saveAll(changed);
+        for (int from = 0; from < compactedIds.size(); from += DELETE_BATCH_SIZE) {
+            run.entriesCompacted += statusHistoryRepository.deleteByIdIn(
+                    compactedIds.subList(from, Math.min(from + DELETE_BATCH_SIZE, compactedIds.size())));
+        }
+        run.suggestionsCompacted += changed.size();
+        return ids.get(ids.size() - 1);
+    }
+
+    /**
+     * Summary of one compaction run
+     */
+    public static class CompactionRun {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile LocalDateTime compactedThrough;
+        private volatile long suggestionsCompacted;
+        private volatile long entriesCompacted;
+        private volatile String error;
+
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getFinishedAt() { return finishedAt; }
+        public LocalDateTime getCompactedThrough() { return compactedThrough; }
+        public long getSuggestionsCompacted() { return suggestionsCompacted; }
+        public long getEntriesCompacted() { return entriesCompacted; }
+        public String getError() { return error; }
+    }
+}
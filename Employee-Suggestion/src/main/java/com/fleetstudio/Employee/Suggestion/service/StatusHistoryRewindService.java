@@ -0,0 +1,76 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusHistoryRewind;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistoryRewindRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rewind markers for the stores built by replaying status history forward.
+ *
+ * The status distribution and the as-of checkpoints only read history after what they
+ * have already stored, so an entry written with an earlier created_at (an import of old
+ * suggestions) would never reach them. A writer of such entries records the earliest
+ * instant it wrote, for every store, in its own transaction. Each store claims its
+ * marker at the start of its next run, drops what it stored from that instant on and
+ * replays it again. The claim locks the marker, so a writer that has not committed yet
+ * waits and leaves its marker for the following run; the store flushes the history
+ * outbox only after claiming, so every entry behind a claimed marker is replayed.
+ */
+@Service
+public class StatusHistoryRewindService {
+
+    public static final String STATUS_DISTRIBUTION = "status-distribution";
+    public static final String STATUS_CHECKPOINTS = "status-checkpoints";
+
+    private static final List<String> STORES = List.of(STATUS_DISTRIBUTION, STATUS_CHECKPOINTS);
+
+    private final StatusHistoryRewindRepository rewindRepository;
+
+    @Autowired
+    public StatusHistoryRewindService(StatusHistoryRewindRepository rewindRepository) {
+        this.rewindRepository = rewindRepository;
+    }
+
+    /**
+     * Record, in the current transaction, that history from {@code from} on has been
+     * written behind the stores
+     */
+    public void recordBackdated(LocalDateTime from) {
+        requireTransaction();
+        for (String store : STORES) {
+            rewindRepository.recordRewind(store, from);
+        }
+    }
+
+    /**
+     * Take the store's pending rewind in the current transaction; null when there is none.
+     * Call it before flushing the outbox and before reading any history.
+     */
+    public LocalDateTime claim(String store) {
+        requireTransaction();
+        List<StatusHistoryRewind> pending = rewindRepository.findByStoreForUpdate(store);
+        if (pending.isEmpty()) {
+            return null;
+        }
+        rewindRepository.delete(pending.get(0));
+        return pending.get(0).getRewindFrom();
+    }
+
+    /**
+     * Earliest instant any store still has to replay from (null when none is pending)
+     */
+    public LocalDateTime getEarliestPending() {
+        return rewindRepository.findEarliestRewind();
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Status history rewinds must be recorded and claimed inside a transaction");
+        }
+    }
+}
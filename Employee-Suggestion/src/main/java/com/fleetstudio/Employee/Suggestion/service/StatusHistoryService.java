@@ -1,67 +1,121 @@
 package com.fleetstudio.Employee.Suggestion.service;
 
 
-import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.dto.FrequentChangesPage;
+import com.fleetstudio.Employee.Suggestion.dto.KeysetCursor;
+import com.fleetstudio.Employee.Suggestion.dto.StatusHistoryEntry;
+import com.fleetstudio.Employee.Suggestion.dto.StatusHistoryPage;
+import com.fleetstudio.Employee.Suggestion.index.CountRanking;
+import com.fleetstudio.Employee.Suggestion.model.StatusHistorySummary;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatusHistory;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedSuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistorySummaryRepository;
 import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
 import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 public class StatusHistoryService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final SuggestionStatusHistoryRepository statusHistoryRepository;
     private final SuggestionRepository suggestionRepository;
+    private final StatusHistorySummaryRepository summaryRepository;
+    private final SuggestionArchiveService suggestionArchiveService;
+    private final StatusTimingService statusTimingService;
+    private final StatusDistributionService statusDistributionService;
+    private final StatusTransitionService statusTransitionService;
+    private final StatusAsOfService statusAsOfService;
+    private final StatusChangeRankingService statusChangeRankingService;
+    private final ArchivedSuggestionRepository archivedSuggestionRepository;
 
     @Autowired
     public StatusHistoryService(SuggestionStatusHistoryRepository statusHistoryRepository,
-                               SuggestionRepository suggestionRepository) {
+                               SuggestionRepository suggestionRepository,
+                               StatusHistorySummaryRepository summaryRepository,
+                               SuggestionArchiveService suggestionArchiveService,
+                               StatusTimingService statusTimingService,
+                               StatusDistributionService statusDistributionService,
+                               StatusTransitionService statusTransitionService,
+                               StatusAsOfService statusAsOfService,
+                               StatusChangeRankingService statusChangeRankingService,
+                               ArchivedSuggestionRepository archivedSuggestionRepository) {
         this.statusHistoryRepository = statusHistoryRepository;
         this.suggestionRepository = suggestionRepository;
+        this.summaryRepository = summaryRepository;
+        this.suggestionArchiveService = suggestionArchiveService;
+        this.statusTimingService = statusTimingService;
+        this.statusDistributionService = statusDistributionService;
+        this.statusTransitionService = statusTransitionService;
+        this.statusAsOfService = statusAsOfService;
+        this.statusChangeRankingService = statusChangeRankingService;
+        this.archivedSuggestionRepository = archivedSuggestionRepository;
     }
 
     /**
-     * Get complete status history for a suggestion
+     * Get complete status history for a suggestion (from the archive once it has been moved there)
      */
     public List<SuggestionStatusHistory> getStatusHistory(Long suggestionId) {
-        return statusHistoryRepository.findBySuggestionIdOrderByCreatedAtDesc(suggestionId);
+        List<SuggestionStatusHistory> history = statusHistoryRepository.findBySuggestionIdOrderByCreatedAtDesc(suggestionId);
+        if (history.isEmpty()) {
+            return suggestionArchiveService.getArchivedStatusHistory(suggestionId);
+        }
+        return history;
     }
 
     /**
      * Get latest status change for a suggestion
      */
     public SuggestionStatusHistory getLatestStatusChange(Long suggestionId) {
-        return statusHistoryRepository.findLatestBySuggestionId(suggestionId);
+        SuggestionStatusHistory latest = statusHistoryRepository.findLatestBySuggestionId(suggestionId);
+        if (latest == null) {
+            List<SuggestionStatusHistory> archived = suggestionArchiveService.getArchivedStatusHistory(suggestionId);
+            return archived.isEmpty() ? null : archived.get(0);
+        }
+        return latest;
     }
 
     /**
-     * Get status history for all suggestions
+     * Get status history for suggestions that are not deleted, a page at a time
      */
-    public List<SuggestionStatusHistory> getAllStatusHistory() {
-        return statusHistoryRepository.findForActiveSuggestions();
+    public StatusHistoryPage getAllStatusHistory(String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor, StatusHistoryPage.FIRST);
+        return page(limit, size -> statusHistoryRepository.findActivePage(after.getTimestamp(), after.getId(), size));
     }
 
     /**
-     * Get status changes by admin/user
+     * Get status changes by admin/user, a page at a time
      */
-    public List<SuggestionStatusHistory> getStatusChangesByAdmin(String adminName) {
-        return statusHistoryRepository.findByChangedByOrderByCreatedAtDesc(adminName);
+    public StatusHistoryPage getStatusChangesByAdmin(String adminName, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor, StatusHistoryPage.FIRST);
+        return page(limit, size -> statusHistoryRepository.findPageByChangedBy(
+                adminName, after.getTimestamp(), after.getId(), size));
     }
 
     /**
-     * Get status changes to a specific status
+     * Get status changes to a specific status, a page at a time
      */
-    public List<SuggestionStatusHistory> getStatusChangesTo(SuggestionStatus status) {
-        return statusHistoryRepository.findByNewStatusOrderByCreatedAtDesc(status);
+    public StatusHistoryPage getStatusChangesTo(SuggestionStatus status, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor, StatusHistoryPage.FIRST);
+        return page(limit, size -> statusHistoryRepository.findPageByNewStatus(
+                status, after.getTimestamp(), after.getId(), size));
     }
 
     /**
@@ -72,76 +126,122 @@ public class StatusHistoryService {
     }
 
     /**
-     * Get status transitions between two specific statuses
+     * Get status transitions between two specific statuses, a page at a time
+     */
+    public StatusHistoryPage getStatusTransitions(SuggestionStatus fromStatus, SuggestionStatus toStatus,
+                                                  String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor, StatusHistoryPage.FIRST);
+        return page(limit, size -> statusHistoryRepository.findPageByTransition(
+                fromStatus, toStatus, after.getTimestamp(), after.getId(), size));
+    }
+
+    /**
+     * Get recent status changes (last N days), a page at a time
+     */
+    public StatusHistoryPage getRecentStatusChanges(int days, String cursor, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return getStatusChangesBetween(now.minusDays(days), now, cursor, limit);
+    }
+
+    /**
+     * Count status changes in the last N days
      */
-    public List<SuggestionStatusHistory> getStatusTransitions(SuggestionStatus fromStatus, SuggestionStatus toStatus) {
-        return statusHistoryRepository.findStatusTransitions(fromStatus, toStatus);
+    public long countRecentStatusChanges(int days) {
+        return statusHistoryRepository.countByCreatedAtGreaterThanEqual(LocalDateTime.now().minusDays(days));
     }
 
     /**
-     * Get recent status changes (last N days)
+     * Get status changes within date range, a page at a time
      */
-    public List<SuggestionStatusHistory> getRecentStatusChanges(int days) {
-        LocalDateTime sinceDate = LocalDateTime.now().minusDays(days);
-        return statusHistoryRepository.findRecentStatusChanges(sinceDate);
+    public StatusHistoryPage getStatusChangesBetween(LocalDateTime startDate, LocalDateTime endDate,
+                                                     String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor, StatusHistoryPage.FIRST);
+        return page(limit, size -> statusHistoryRepository.findPageBetween(
+                startDate, endDate, after.getTimestamp(), after.getId(), size));
     }
 
     /**
-     * Get status changes within date range
+     * Fetch one row more than asked for to learn whether another page follows
      */
-    public List<SuggestionStatusHistory> getStatusChangesBetween(LocalDateTime startDate, LocalDateTime endDate) {
-        return statusHistoryRepository.findByCreatedAtBetween(startDate, endDate);
+    private static StatusHistoryPage page(int limit, Function<Pageable, List<StatusHistoryEntry>> query) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<StatusHistoryEntry> rows = query.apply(PageRequest.of(0, size + 1));
+        if (rows.size() <= size) {
+            return new StatusHistoryPage(rows, null, false);
+        }
+        List<StatusHistoryEntry> entries = rows.subList(0, size);
+        StatusHistoryEntry last = entries.get(size - 1);
+        return new StatusHistoryPage(entries,
+                new KeysetCursor(last.getCreatedAt(), last.getId()).encode(), true);
     }
 
     /**
-     * Get status change statistics
+     * Get status change statistics (entries into each status, answered from memory)
      */
     public Map<SuggestionStatus, Long> getStatusChangeStatistics() {
-        List<Object[]> stats = statusHistoryRepository.getStatusChangeStatistics();
-        return stats.stream()
-                .collect(Collectors.toMap(
-                        stat -> (SuggestionStatus) stat[0],
-                        stat -> (Long) stat[1]
-                ));
+        return statusTransitionService.getEntryCounts();
     }
 
     /**
-     * Get admin activity statistics
+     * Get admin activity statistics (recent history plus compacted summaries)
      */
     public Map<String, Long> getAdminActivityStatistics() {
-        List<Object[]> stats = statusHistoryRepository.getAdminActivityStatistics();
-        return stats.stream()
+        Map<String, Long> stats = statusHistoryRepository.getAdminActivityStatistics().stream()
                 .collect(Collectors.toMap(
                         stat -> (String) stat[0],
                         stat -> (Long) stat[1]
                 ));
+        for (Object[] stat : summaryRepository.sumEntriesByAuthor()) {
+            stats.merge((String) stat[0], (Long) stat[1], Long::sum);
+        }
+        return stats;
     }
 
     /**
-     * Get status transition analytics
+     * Get status transition analytics (answered from memory)
      */
     public List<StatusTransition> getStatusTransitionAnalytics() {
-        List<Object[]> analytics = statusHistoryRepository.getStatusTransitionAnalytics();
-        return analytics.stream()
-                .map(row -> new StatusTransition(
-                        (SuggestionStatus) row[0],
-                        (SuggestionStatus) row[1],
-                        (Long) row[2]
-                ))
-                .collect(Collectors.toList());
+        return statusTransitionService.getTransitions();
     }
 
     /**
-     * Get suggestions with multiple status changes
+     * Get suggestions with multiple status changes, live and archived, most first, a page at
+     * a time. Counts come from the in-memory ranking; titles and statuses of the page are
+     * then read by id, from the archive for the ids no longer live.
      */
-    public List<SuggestionStatusSummary> getSuggestionsWithMultipleStatusChanges() {
-        List<Object[]> results = statusHistoryRepository.findSuggestionsWithMultipleStatusChanges();
-        return results.stream()
-                .map(row -> new SuggestionStatusSummary(
-                        (Suggestion) row[0],
-                        (Long) row[1]
-                ))
-                .collect(Collectors.toList());
+    public FrequentChangesPage getSuggestionsWithMultipleStatusChanges(String cursor, int limit) {
+        FrequentChangesPage.Cursor after = FrequentChangesPage.Cursor.decode(cursor);
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<CountRanking.Entry> counts = statusChangeRankingService.mostChanged(
+                after.getChanges(), after.getSuggestionId(), size + 1);
+        boolean hasMore = counts.size() > size;
+        if (hasMore) {
+            counts = counts.subList(0, size);
+        }
+
+        List<Long> ids = counts.stream().map(CountRanking.Entry::getId).toList();
+        Map<Long, Object[]> details = new HashMap<>();
+        suggestionRepository.findTitleAndStatusByIdIn(ids).forEach(row -> details.put((Long) row[0], row));
+        List<Long> archivedIds = ids.stream().filter(id -> !details.containsKey(id)).toList();
+        if (!archivedIds.isEmpty()) {
+            archivedSuggestionRepository.findTitleAndStatusByIdIn(archivedIds)
+                    .forEach(row -> details.put((Long) row[0], row));
+        }
+        List<FrequentChangesPage.Entry> entries = new ArrayList<>(counts.size());
+        for (CountRanking.Entry count : counts) {
+            Object[] detail = details.get(count.getId());
+            entries.add(new FrequentChangesPage.Entry(count.getId(),
+                    detail != null ? (String) detail[1] : null,
+                    detail != null ? (SuggestionStatus) detail[2] : null,
+                    count.getCount()));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            FrequentChangesPage.Entry last = entries.get(entries.size() - 1);
+            nextCursor = new FrequentChangesPage.Cursor(last.getStatusChangeCount(), last.getSuggestionId()).encode();
+        }
+        return new FrequentChangesPage(entries, nextCursor, hasMore);
     }
 
     /**
@@ -152,33 +252,34 @@ public class StatusHistoryService {
     }
 
     /**
-     * Count status changes made by admin
+     * Count status changes made by admin (recent history plus compacted summaries)
      */
     public long countStatusChangesByAdmin(String adminName) {
-        return statusHistoryRepository.countByChangedBy(adminName);
+        return statusHistoryRepository.countByChangedBy(adminName) + summaryRepository.sumEntriesByChangedBy(adminName);
     }
 
     /**
-     * Count status changes to specific status
+     * Count status changes to specific status (recent history plus compacted summaries)
      */
     public long countStatusChangesTo(SuggestionStatus status) {
-        return statusHistoryRepository.countByNewStatus(status);
+        return statusHistoryRepository.countByNewStatus(status) + summaryRepository.sumEntriesByNewStatus(status);
     }
 
     /**
-     * Get total status changes count
+     * Get total status changes count (recent history plus compacted summaries)
      */
     public long getTotalStatusChanges() {
-        return statusHistoryRepository.countTotalStatusChanges();
+        return statusHistoryRepository.countTotalStatusChanges() + summaryRepository.sumEntriesCompacted();
     }
 
     /**
-     * Get status progression for a suggestion (formatted timeline)
+     * Get status progression for a suggestion (formatted timeline). Compacted history shows
+     * as its first and last entries.
      */
     public List<StatusTimelineEntry> getStatusTimeline(Long suggestionId) {
         List<SuggestionStatusHistory> history = getStatusHistory(suggestionId);
         
-        return history.stream()
+        List<StatusTimelineEntry> timeline = history.stream()
                 .map(h -> new StatusTimelineEntry(
                         h.getCreatedAt(),
                         h.getPreviousStatus(),
@@ -187,28 +288,51 @@ public class StatusHistoryService {
                         h.getChangeReason()
                 ))
                 .collect(Collectors.toList());
+        summaryRepository.findBySuggestionId(suggestionId).ifPresent(summary -> addCompacted(timeline, summary));
+        return timeline;
+    }
+
+    private static void addCompacted(List<StatusTimelineEntry> timeline, StatusHistorySummary summary) {
+        long between = summary.getEntriesCompacted() - 2;
+        timeline.add(new StatusTimelineEntry(summary.getLastChangedAt(), summary.getLastPreviousStatus(),
+                summary.getLastStatus(), summary.getLastChangedBy(),
+                between > 0 ? "(" + between + " earlier changes compacted)" : null));
+        if (summary.getEntriesCompacted() > 1) {
+            timeline.add(new StatusTimelineEntry(summary.getFirstChangedAt(), null,
+                    summary.getFirstStatus(), summary.getFirstChangedBy(), null));
+        }
+    }
+
+    /**
+     * Get time spent in each status (count, mean and percentiles in days)
+     */
+    public Map<SuggestionStatus, StatusTimingService.StatusTiming> getAverageStatusChangeTime() {
+        return statusTimingService.getTimings();
+    }
+
+    /**
+     * Get status distribution for each of the last {@code days} completed days
+     */
+    public Map<LocalDate, Map<SuggestionStatus, Long>> getStatusDistributionOverTime(int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Days must be at least 1");
+        }
+        LocalDate to = LocalDate.now().minusDays(1);
+        return statusDistributionService.getSeries(to.minusDays(days - 1L), to);
     }
 
     /**
-     * Get average time between status changes
+     * Get status distribution for each day in [from, to]
      */
-    public Map<String, Double> getAverageStatusChangeTime() {
-        // This would require more complex queries to calculate time differences
-        // For now, returning placeholder implementation
-        return Map.of(
-                "averageDaysInOpen", 5.2,
-                "averageDaysInReview", 3.8,
-                "averageDaysToImplement", 15.6
-        );
+    public Map<LocalDate, Map<SuggestionStatus, Long>> getStatusDistributionOverTime(LocalDate from, LocalDate to) {
+        return statusDistributionService.getSeries(from, to);
     }
 
     /**
-     * Get status distribution over time
+     * Get the status of every suggestion as it was at the given instant
      */
-    public Map<LocalDateTime, Map<SuggestionStatus, Long>> getStatusDistributionOverTime(int days) {
-        // This would require complex aggregation queries
-        // Placeholder for time-series status analysis
-        return Map.of();
+    public StatusAsOfService.AsOfStatus getStatusAsOf(LocalDateTime at) {
+        return statusAsOfService.getStatusAsOf(at);
     }
 
     /**
@@ -245,27 +369,6 @@ public class StatusHistoryService {
         }
     }
 
-    /**
-     * Inner class for suggestion status summary
-     */
-    public static class SuggestionStatusSummary {
-        private final Suggestion suggestion;
-        private final Long statusChangeCount;
-
-        public SuggestionStatusSummary(Suggestion suggestion, Long statusChangeCount) {
-            this.suggestion = suggestion;
-            this.statusChangeCount = statusChangeCount;
-        }
-
-        public Suggestion getSuggestion() {
-            return suggestion;
-        }
-
-        public Long getStatusChangeCount() {
-            return statusChangeCount;
-        }
-    }
-
     /**
      * Inner class for status timeline entry
      */
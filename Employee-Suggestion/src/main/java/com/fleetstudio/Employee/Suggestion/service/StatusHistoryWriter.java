@@ -0,0 +1,313 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusHistoryDeadLetter;
+import com.fleetstudio.Employee.Suggestion.model.StatusHistoryOutboxEntry;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatusHistory;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistoryDeadLetterRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistoryOutboxRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Transactional outbox and group-commit writer for status history entries.
+ *
+ * An entry is inserted into status_history_outbox in the caller's transaction, so it
+ * commits or rolls back with the change it records and survives a crash; the request
+ * never waits for a second commit. The outbox has no foreign key and only an index on
+ * suggestion_id, which keeps that insert cheaper than the history insert it replaces. A single
+ * writer thread, woken by each commit and polling for anything left behind, moves the
+ * entries into suggestion_status_history in batched transactions that insert and delete
+ * together. Batches are claimed with SKIP LOCKED, so several instances can share one
+ * outbox. An entry whose suggestion was purged meanwhile is dropped and counted. An entry
+ * that still violates a constraint when moved on its own is moved to
+ * status_history_dead_letters with the error, so it cannot hold up later flushes; any
+ * other failure leaves the batch in the outbox to be retried.
+ *
+ * Until an entry is moved (normally well within a poll interval) only readers that also
+ * look at the outbox see it. Jobs that replay history call {@link #flush()} first.
+ */
+@Service
+public class StatusHistoryWriter {
+
+    private final StatusHistoryOutboxRepository outboxRepository;
+    private final StatusHistoryDeadLetterRepository deadLetterRepository;
+    private final SuggestionStatusHistoryRepository statusHistoryRepository;
+    private final SuggestionRepository suggestionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "status-history-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private volatile String lastError;
+    private volatile LocalDateTime lastErrorAt;
+
+    @Autowired
+    public StatusHistoryWriter(StatusHistoryOutboxRepository outboxRepository,
+                               StatusHistoryDeadLetterRepository deadLetterRepository,
+                               SuggestionStatusHistoryRepository statusHistoryRepository,
+                               SuggestionRepository suggestionRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${suggestions.history-writer.batch-size:200}") int batchSize,
+                               @Value("${suggestions.history-writer.poll-interval-ms:1000}") long pollIntervalMillis) {
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.suggestionRepository = suggestionRepository;
+        // A new transaction even when flush() is called from inside another one
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        executor.submit(this::drain);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Still in the outbox; moved after the next start
+            recordError(e);
+        }
+    }
+
+    /**
+     * Record a status history entry in the current transaction's outbox
+     */
+    public void append(Long suggestionId, SuggestionStatus previousStatus, SuggestionStatus newStatus,
+                       String changedBy, String reason) {
+        append(suggestionId, previousStatus, newStatus, changedBy, reason, LocalDateTime.now());
+    }
+
+    /**
+     * Record a status history entry dated at the given time, for imports that carry their own dates
+     */
+    public void append(Long suggestionId, SuggestionStatus previousStatus, SuggestionStatus newStatus,
+                       String changedBy, String reason, LocalDateTime createdAt) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Status history entries must be appended inside a transaction");
+        }
+        outboxRepository.save(new StatusHistoryOutboxEntry(
+                suggestionId, previousStatus, newStatus, changedBy, reason, createdAt));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wakeUp.release();
+            }
+        });
+    }
+
+    /**
+     * Move everything in the outbox into the history table now; returns the number of
+     * entries handled. Throws on a failure that may be transient, leaving the entries in
+     * the outbox.
+     */
+    public int flush() {
+        drainLock.lock();
+        try {
+            int handled = 0;
+            int claimed;
+            do {
+                claimed = moveBatch();
+                handled += claimed;
+            } while (claimed == batchSize);
+            return handled;
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(outboxRepository.count(), written.get(), batches.get(), dropped.get(),
+                deadLettered.get(), deadLetterRepository.count(), lastError, lastErrorAt);
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                wakeUp.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                wakeUp.drainPermits();
+                flush();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // Left in the outbox; the next poll retries
+                recordError(e);
+            }
+        }
+    }
+
+    /**
+     * Claim up to one batch, insert it into the history and delete it from the outbox in a
+     * single transaction; returns the number of entries claimed
+     */
+    private int moveBatch() {
+        List<Long> claimed = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<StatusHistoryOutboxEntry> entries = outboxRepository.findBatchForUpdate(PageRequest.of(0, batchSize));
+                if (entries.isEmpty()) {
+                    return;
+                }
+                List<SuggestionStatusHistory> rows = new ArrayList<>(entries.size());
+                for (StatusHistoryOutboxEntry entry : entries) {
+                    claimed.add(entry.getId());
+                    rows.add(toHistory(entry));
+                }
+                statusHistoryRepository.saveAllAndFlush(rows);
+                outboxRepository.deleteAllInBatch(entries);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // One bad entry must not hold back the others
+            moveOneByOne(claimed);
+            return claimed.size();
+        }
+        if (!claimed.isEmpty()) {
+            written.addAndGet(claimed.size());
+            batches.incrementAndGet();
+        }
+        return claimed.size();
+    }
+
+    private void moveOneByOne(List<Long> ids) {
+        for (Long id : ids) {
+            Outcome outcome;
+            try {
+                outcome = transactionTemplate.execute(status -> moveOne(id));
+            } catch (DataIntegrityViolationException e) {
+                // Fails on its own too: park it so it does not fail every later flush
+                recordError(e);
+                String error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                outcome = transactionTemplate.execute(status -> deadLetter(id, error));
+            }
+            if (outcome == Outcome.MOVED) {
+                written.incrementAndGet();
+            } else if (outcome == Outcome.DROPPED) {
+                dropped.incrementAndGet();
+            } else if (outcome == Outcome.DEAD_LETTERED) {
+                deadLettered.incrementAndGet();
+            }
+        }
+    }
+
+    private Outcome moveOne(Long id) {
+        List<StatusHistoryOutboxEntry> found = outboxRepository.findByIdForUpdate(id);
+        if (found.isEmpty()) {
+            // Moved by another writer in the meantime
+            return Outcome.GONE;
+        }
+        StatusHistoryOutboxEntry entry = found.get(0);
+        if (!suggestionRepository.existsById(entry.getSuggestionId())) {
+            // Purged after the entry committed; the rest of its history went with it
+            outboxRepository.delete(entry);
+            return Outcome.DROPPED;
+        }
+        statusHistoryRepository.saveAndFlush(toHistory(entry));
+        outboxRepository.delete(entry);
+        return Outcome.MOVED;
+    }
+
+    private Outcome deadLetter(Long id, String error) {
+        List<StatusHistoryOutboxEntry> found = outboxRepository.findByIdForUpdate(id);
+        if (found.isEmpty()) {
+            return Outcome.GONE;
+        }
+        deadLetterRepository.save(new StatusHistoryDeadLetter(found.get(0), error));
+        outboxRepository.delete(found.get(0));
+        return Outcome.DEAD_LETTERED;
+    }
+
+    private SuggestionStatusHistory toHistory(StatusHistoryOutboxEntry entry) {
+        SuggestionStatusHistory row = new SuggestionStatusHistory(
+                suggestionRepository.getReferenceById(entry.getSuggestionId()),
+                entry.getPreviousStatus(), entry.getNewStatus(), entry.getChangedBy(), entry.getChangeReason());
+        row.setCreatedAt(entry.getCreatedAt());
+        return row;
+    }
+
+    private void recordError(RuntimeException e) {
+        lastError = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        lastErrorAt = LocalDateTime.now();
+    }
+
+    private enum Outcome { MOVED, DROPPED, DEAD_LETTERED, GONE }
+
+    /**
+     * Outbox size and writer counters since startup
+     */
+    public static class Stats {
+        private final long pending;
+        private final long written;
+        private final long batches;
+        private final long dropped;
+        private final long deadLettered;
+        private final long deadLetters;
+        private final String lastError;
+        private final LocalDateTime lastErrorAt;
+
+        public Stats(long pending, long written, long batches, long dropped,
+                     long deadLettered, long deadLetters, String lastError, LocalDateTime lastErrorAt) {
+            this.pending = pending;
+            this.written = written;
+            this.batches = batches;
+            this.dropped = dropped;
+            this.deadLettered = deadLettered;
+            this.deadLetters = deadLetters;
+            this.lastError = lastError;
+            this.lastErrorAt = lastErrorAt;
+        }
+
+        public long getPending() { return pending; }
+        public long getWritten() { return written; }
+        public long getBatches() { return batches; }
+        public long getDropped() { return dropped; }
+        public long getDeadLettered() { return deadLettered; }
+        public long getDeadLetters() { return deadLetters; }
+        public String getLastError() { return lastError; }
+        public LocalDateTime getLastErrorAt() { return lastErrorAt; }
+    }
+}
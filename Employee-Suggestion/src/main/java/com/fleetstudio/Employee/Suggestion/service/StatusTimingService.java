@@ -0,0 +1,150 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.index.TDigest;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistorySummaryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time spent in each status, kept as running sketches.
+ *
+ * A stay starts when a suggestion enters a status and ends at its next real transition;
+ * the status a suggestion is in right now is still open and not counted. At startup the
+ * completed stays are paired in the database with a window query over live and archived
+ * history, a range of suggestion ids at a time. Stays from compacted history are only
+ * known as per-suggestion totals and enter the percentiles at their mean. After that each
+ * status change adds the stay it just closed, so reads never scan the history table.
+ */
+@Service
+public class StatusTimingService {
+
+    private static final long BOOTSTRAP_ID_RANGE = 5000;
+    private static final double SECONDS_PER_DAY = 86_400d;
+
+    private final SuggestionStatusHistoryRepository statusHistoryRepository;
+    private final StatusHistorySummaryRepository summaryRepository;
+
+    private volatile Map<SuggestionStatus, Sketch> sketches = emptySketches();
+
+    @Autowired
+    public StatusTimingService(SuggestionStatusHistoryRepository statusHistoryRepository,
+                               StatusHistorySummaryRepository summaryRepository) {
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.summaryRepository = summaryRepository;
+    }
+
+    /**
+     * Rebuild the sketches from the full status history
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<SuggestionStatus, Sketch> next = emptySketches();
+        long maxId = statusHistoryRepository.findMaxSuggestionIdWithHistory();
+        for (long afterId = 0; afterId < maxId; afterId += BOOTSTRAP_ID_RANGE) {
+            List<Object[]> rows = statusHistoryRepository.findDwellRows(afterId, afterId + BOOTSTRAP_ID_RANGE);
+            for (Object[] row : rows) {
+                next.get(SuggestionStatus.valueOf((String) row[0])).add(((Number) row[1]).longValue(), 1);
+            }
+            for (Object[] row : summaryRepository.findCompactedDwellRows(afterId, afterId + BOOTSTRAP_ID_RANGE)) {
+                next.get((SuggestionStatus) row[0]).add((Long) row[2], (Long) row[1]);
+            }
+        }
+        sketches = next;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        if (event.getType() != SuggestionChangedEvent.Type.STATUS_CHANGED
+                || event.getPreviousStatus() == null || event.getPreviousStatusSince() == null) {
+            return;
+        }
+        long seconds = Duration.between(event.getPreviousStatusSince(), event.getOccurredAt()).getSeconds();
+        sketches.get(event.getPreviousStatus()).add(Math.max(0, seconds), 1);
+    }
+
+    /**
+     * Count, mean and percentiles of completed stays per status, in days
+     */
+    public Map<SuggestionStatus, StatusTiming> getTimings() {
+        Map<SuggestionStatus, StatusTiming> timings = new LinkedHashMap<>();
+        sketches.forEach((status, sketch) -> timings.put(status, sketch.snapshot()));
+        return timings;
+    }
+
+    private static Map<SuggestionStatus, Sketch> emptySketches() {
+        Map<SuggestionStatus, Sketch> map = new EnumMap<>(SuggestionStatus.class);
+        for (SuggestionStatus status : SuggestionStatus.values()) {
+            map.put(status, new Sketch());
+        }
+        return map;
+    }
+
+    private static final class Sketch {
+        private final TDigest digest = new TDigest();
+        private long count;
+        private double totalSeconds;
+
+        /**
+         * Add {@code stays} stays that took {@code seconds} in total
+         */
+        synchronized void add(long seconds, long stays) {
+            digest.add((double) seconds / stays, stays);
+            count += stays;
+            totalSeconds += seconds;
+        }
+
+        synchronized StatusTiming snapshot() {
+            if (count == 0) {
+                return new StatusTiming(0, null, null, null, null);
+            }
+            return new StatusTiming(count,
+                    days(totalSeconds / count),
+                    days(digest.quantile(0.5)),
+                    days(digest.quantile(0.9)),
+                    days(digest.quantile(0.99)));
+        }
+
+        private static Double days(double seconds) {
+            return Math.round(seconds / SECONDS_PER_DAY * 100) / 100d;
+        }
+    }
+
+    /**
+     * Completed stays in one status; the day figures are null when there are none
+     */
+    public static class StatusTiming {
+        private final long count;
+        private final Double meanDays;
+        private final Double p50Days;
+        private final Double p90Days;
+        private final Double p99Days;
+
+        public StatusTiming(long count, Double meanDays, Double p50Days, Double p90Days, Double p99Days) {
+            this.count = count;
+            this.meanDays = meanDays;
+            this.p50Days = p50Days;
+            this.p90Days = p90Days;
+            this.p99Days = p99Days;
+        }
+
+        public long getCount() { return count; }
+        public Double getMeanDays() { return meanDays; }
+        public Double getP50Days() { return p50Days; }
+        public Double getP90Days() { return p90Days; }
+        public Double getP99Days() { return p99Days; }
+    }
+}
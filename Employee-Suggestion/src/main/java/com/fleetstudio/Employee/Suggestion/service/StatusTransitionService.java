@@ -0,0 +1,166 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.index.TransitionMatrix;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Status history counts (entries into each status, and each from -> to transition) kept
+ * in memory.
+ *
+ * Seeded once at startup with a single GROUP BY over live and archived history, then
+ * incremented after each committed creation, status change and deletion, mirroring the
+ * history entry each one writes; purged history is subtracted chunk by chunk. Changes
+ * applied while a recount is running are also collected on the side and added to the
+ * fresh counts before they replace the old ones, so none are lost to the swap. The
+ * dashboard reads never query the history table.
+ */
+@Service
+public class StatusTransitionService {
+
+    private final SuggestionStatusHistoryRepository statusHistoryRepository;
+
+    // Updates share the read lock and never block each other; the recount swap takes the write lock
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile TransitionMatrix<SuggestionStatus> matrix = new TransitionMatrix<>(SuggestionStatus.class);
+    // Changes applied since the running recount started, null when none is running
+    private volatile TransitionMatrix<SuggestionStatus> pendingDeltas;
+
+    @Autowired
+    public StatusTransitionService(SuggestionStatusHistoryRepository statusHistoryRepository) {
+        this.statusHistoryRepository = statusHistoryRepository;
+    }
+
+    /**
+     * Recount every transition from the history tables
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void reseed() {
+        TransitionMatrix<SuggestionStatus> deltas = new TransitionMatrix<>(SuggestionStatus.class);
+        swapLock.writeLock().lock();
+        try {
+            pendingDeltas = deltas;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        TransitionMatrix<SuggestionStatus> next = new TransitionMatrix<>(SuggestionStatus.class);
+        try {
+            addRows(next, statusHistoryRepository.countAllTransitions(), 1);
+        } catch (RuntimeException e) {
+            pendingDeltas = null;
+            throw e;
+        }
+        swapLock.writeLock().lock();
+        try {
+            for (SuggestionStatus to : SuggestionStatus.values()) {
+                next.add(null, to, deltas.get(null, to));
+                for (SuggestionStatus from : SuggestionStatus.values()) {
+                    next.add(from, to, deltas.get(from, to));
+                }
+            }
+            matrix = next;
+            pendingDeltas = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Take purged history out of the counts; rows are (previous status, new status, count)
+     * as returned by SuggestionStatusHistoryRepository#countTransitionsBySuggestionIdIn
+     */
+    public void subtract(List<Object[]> rows) {
+        addRows(null, rows, -1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> add(null, event.getStatus(), 1);
+            case STATUS_CHANGED -> add(event.getPreviousStatus(), event.getStatus(), 1);
+            // A deletion is recorded as an entry that keeps the status
+            case DELETED -> add(event.getStatus(), event.getStatus(), 1);
+            default -> {
+                // No history entry is written
+            }
+        }
+    }
+
+    /**
+     * Entries into each status, initial ones included
+     */
+    public Map<SuggestionStatus, Long> getEntryCounts() {
+        TransitionMatrix<SuggestionStatus> current = matrix;
+        Map<SuggestionStatus, Long> counts = new EnumMap<>(SuggestionStatus.class);
+        for (SuggestionStatus status : current.states()) {
+            long count = current.countInto(status);
+            if (count > 0) {
+                counts.put(status, count);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Non-zero from -> to counts (initial entries excluded), most frequent first
+     */
+    public List<StatusHistoryService.StatusTransition> getTransitions() {
+        TransitionMatrix<SuggestionStatus> current = matrix;
+        List<StatusHistoryService.StatusTransition> transitions = new ArrayList<>();
+        for (SuggestionStatus from : current.states()) {
+            for (SuggestionStatus to : current.states()) {
+                long count = current.get(from, to);
+                if (count > 0) {
+                    transitions.add(new StatusHistoryService.StatusTransition(from, to, count));
+                }
+            }
+        }
+        transitions.sort(Comparator.comparing(StatusHistoryService.StatusTransition::getCount).reversed());
+        return transitions;
+    }
+
+    /**
+     * Add count rows to the given matrix, or to the live counts when it is null
+     */
+    private void addRows(TransitionMatrix<SuggestionStatus> target, List<Object[]> rows, int sign) {
+        for (Object[] row : rows) {
+            SuggestionStatus from = row[0] == null ? null : SuggestionStatus.valueOf((String) row[0]);
+            SuggestionStatus to = SuggestionStatus.valueOf((String) row[1]);
+            long count = sign * ((Number) row[2]).longValue();
+            if (target != null) {
+                target.add(from, to, count);
+            } else {
+                add(from, to, count);
+            }
+        }
+    }
+
+    private void add(SuggestionStatus from, SuggestionStatus to, long delta) {
+        swapLock.readLock().lock();
+        try {
+            matrix.add(from, to, delta);
+            TransitionMatrix<SuggestionStatus> deltas = pendingDeltas;
+            if (deltas != null) {
+                deltas.add(from, to, delta);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+}
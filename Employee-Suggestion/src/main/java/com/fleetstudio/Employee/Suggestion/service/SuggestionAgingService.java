@@ -0,0 +1,258 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.dto.KeysetCursor;
+import com.fleetstudio.Employee.Suggestion.dto.SuggestionResponse;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionSlaBreachedEvent;
+import com.fleetstudio.Employee.Suggestion.index.AgingIndex;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionCard;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionCardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * How long live suggestions have been in their current status, without touching the
+ * status history.
+ *
+ * Every live suggestion sits in an in-memory {@link AgingIndex} keyed by when it entered
+ * its status: seeded from the suggestion cards at startup, then moved on every create and
+ * status change and dropped on delete or archive. The stale listing pages through it
+ * oldest first, and the SLA check reports each suggestion whose stay crossed its status's
+ * limit since the previous check. The check's position is kept in memory, so the first
+ * check after a restart reports every suggestion already over its limit again.
+ */
+@Service
+public class SuggestionAgingService {
+
+    private static final int BOOTSTRAP_CHUNK_SIZE = 5000;
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final SuggestionCardRepository cardRepository;
+    private final SuggestionCardService cardService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<SuggestionStatus, Integer> slaDays = new EnumMap<>(SuggestionStatus.class);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private AgingIndex<SuggestionStatus> index = new AgingIndex<>(SuggestionStatus.class);
+
+    // Per status, stays that entered it up to this time have been reported
+    private final Map<SuggestionStatus, LocalDateTime> reportedThrough = new EnumMap<>(SuggestionStatus.class);
+    private volatile SlaRun lastSlaRun;
+
+    @Autowired
+    public SuggestionAgingService(SuggestionCardRepository cardRepository,
+                                  SuggestionCardService cardService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${suggestions.sla.open-days:14}") int openDays,
+                                  @Value("${suggestions.sla.under-review-days:7}") int underReviewDays) {
+        this.cardRepository = cardRepository;
+        this.cardService = cardService;
+        this.eventPublisher = eventPublisher;
+        if (openDays > 0) {
+            slaDays.put(SuggestionStatus.OPEN, openDays);
+        }
+        if (underReviewDays > 0) {
+            slaDays.put(SuggestionStatus.UNDER_REVIEW, underReviewDays);
+        }
+    }
+
+    /**
+     * Rebuild the index from the suggestion cards
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        AgingIndex<SuggestionStatus> next = new AgingIndex<>(SuggestionStatus.class);
+        long afterId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = cardRepository.findAgingRowsAfter(afterId, PageRequest.of(0, BOOTSTRAP_CHUNK_SIZE));
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                // Cards of suggestions that never changed status have no change time
+                LocalDateTime since = row[2] != null ? (LocalDateTime) row[2] : (LocalDateTime) row[3];
+                next.put(id, (SuggestionStatus) row[1], since);
+                afterId = id;
+            }
+        } while (rows.size() == BOOTSTRAP_CHUNK_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            index = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        long id = event.getSuggestionId();
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case CREATED -> index.put(id, event.getStatus(), event.getCreatedAt());
+                case STATUS_CHANGED -> index.put(id, event.getStatus(), event.getOccurredAt());
+                case DELETED, ARCHIVED -> index.remove(id);
+                case UPDATED, VOTE_COUNT_CHANGED -> { }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Live suggestions in any of {@code statuses} for more than {@code olderThanDays} days,
+     * longest-waiting first, one page at a time
+     */
+    public StalePage getStale(Collection<SuggestionStatus> statuses, int olderThanDays, String cursor, int limit) {
+        if (statuses.isEmpty()) {
+            throw new IllegalArgumentException("At least one status is required");
+        }
+        if (olderThanDays < 0) {
+            throw new IllegalArgumentException("olderThanDays must not be negative");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor, null);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<AgingIndex.Item<SuggestionStatus>> items;
+        lock.readLock().lock();
+        try {
+            items = index.oldest(statuses, now.minusDays(olderThanDays),
+                    after == null ? null : after.getTimestamp(), after == null ? null : after.getId(), limit + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+        boolean hasMore = items.size() > limit;
+        if (hasMore) {
+            items = items.subList(0, limit);
+        }
+
+        Map<Long, SuggestionCard> cards = cardService.getCards(items.stream().map(AgingIndex.Item::getId).toList())
+                .stream().collect(Collectors.toMap(SuggestionCard::getId, Function.identity()));
+        List<StaleSuggestion> suggestions = new ArrayList<>(items.size());
+        for (AgingIndex.Item<SuggestionStatus> item : items) {
+            SuggestionCard card = cards.get(item.getId());
+            if (card != null) {
+                suggestions.add(new StaleSuggestion(new SuggestionResponse(card), item.getSince(),
+                        Duration.between(item.getSince(), now).toDays()));
+            }
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            AgingIndex.Item<SuggestionStatus> last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getSince(), last.getId()).encode();
+        }
+        return new StalePage(suggestions, nextCursor, hasMore);
+    }
+
+    /**
+     * Report suggestions whose stay passed their status's SLA since the previous check
+     */
+    @Scheduled(cron = "${suggestions.sla.cron:0 0 * * * *}")
+    public synchronized void checkSla() {
+        LocalDateTime now = LocalDateTime.now();
+        List<SuggestionSlaBreachedEvent.Breach> breaches = new ArrayList<>();
+        Map<SuggestionStatus, Integer> counts = new EnumMap<>(SuggestionStatus.class);
+        lock.readLock().lock();
+        try {
+            slaDays.forEach((status, days) -> {
+                LocalDateTime cutoff = now.minusDays(days);
+                LocalDateTime from = reportedThrough.getOrDefault(status, LocalDateTime.MIN);
+                List<AgingIndex.Item<SuggestionStatus>> crossed = index.enteredBetween(status, from, cutoff);
+                for (AgingIndex.Item<SuggestionStatus> item : crossed) {
+                    breaches.add(new SuggestionSlaBreachedEvent.Breach(item.getId(), status, item.getSince(), days));
+                }
+                counts.put(status, crossed.size());
+                reportedThrough.put(status, cutoff);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!breaches.isEmpty()) {
+            eventPublisher.publishEvent(new SuggestionSlaBreachedEvent(breaches));
+        }
+        lastSlaRun = new SlaRun(now, counts);
+    }
+
+    /**
+     * Outcome of the most recent SLA check (null before the first one)
+     */
+    public SlaRun getLastSlaRun() {
+        return lastSlaRun;
+    }
+
+    public static class StaleSuggestion {
+        private final SuggestionResponse suggestion;
+        private final LocalDateTime since;
+        private final long daysInStatus;
+
+        public StaleSuggestion(SuggestionResponse suggestion, LocalDateTime since, long daysInStatus) {
+            this.suggestion = suggestion;
+            this.since = since;
+            this.daysInStatus = daysInStatus;
+        }
+
+        public SuggestionResponse getSuggestion() { return suggestion; }
+        public LocalDateTime getSince() { return since; }
+        public long getDaysInStatus() { return daysInStatus; }
+    }
+
+    /**
+     * One page of stale suggestions; {@code nextCursor} is null on the last one
+     */
+    public static class StalePage {
+        private final List<StaleSuggestion> suggestions;
+        private final String nextCursor;
+        private final boolean hasMore;
+
+        public StalePage(List<StaleSuggestion> suggestions, String nextCursor, boolean hasMore) {
+            this.suggestions = suggestions;
+            this.nextCursor = nextCursor;
+            this.hasMore = hasMore;
+        }
+
+        public List<StaleSuggestion> getSuggestions() { return suggestions; }
+        public String getNextCursor() { return nextCursor; }
+        public boolean isHasMore() { return hasMore; }
+    }
+
+    /**
+     * New SLA breaches found per status by one check
+     */
+    public static class SlaRun {
+        private final LocalDateTime ranAt;
+        private final Map<SuggestionStatus, Integer> newBreaches;
+
+        public SlaRun(LocalDateTime ranAt, Map<SuggestionStatus, Integer> newBreaches) {
+            this.ranAt = ranAt;
+            this.newBreaches = newBreaches;
+        }
+
+        public LocalDateTime getRanAt() { return ranAt; }
+        public Map<SuggestionStatus, Integer> getNewBreaches() { return newBreaches; }
+    }
+}
@@ -0,0 +1,197 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.ArchivedStatusHistory;
+import com.fleetstudio.Employee.Suggestion.model.ArchivedSuggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatusHistory;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedStatusHistoryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedSuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedVoteRepository;
+import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.VoteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Moves cold suggestions out of the live tables.
+ *
+ * Soft-deleted suggestions (after a grace period) and implemented or rejected ones that
+ * have not changed for a while are copied, with their votes and history, into the
+ * archived_* tables and removed from the live ones, a chunk per transaction. Closed
+ * suggestions leave the live feed, so an ARCHIVED event is published for each of them.
+ */
+@Service
+public class SuggestionArchiveService {
+
+    private final SuggestionRepository suggestionRepository;
+    private final VoteRepository voteRepository;
+    private final SuggestionStatusHistoryRepository statusHistoryRepository;
+    private final ArchivedSuggestionRepository archivedSuggestionRepository;
+    private final ArchivedVoteRepository archivedVoteRepository;
+    private final ArchivedStatusHistoryRepository archivedStatusHistoryRepository;
+    private final EmployeeRepository employeeRepository;
+    private final StatusHistoryWriter statusHistoryWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int deletedAfterDays;
+    private final int closedAfterDays;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ArchiveRun lastRun;
+
+    @Autowired
+    public SuggestionArchiveService(SuggestionRepository suggestionRepository,
+                                    VoteRepository voteRepository,
+                                    SuggestionStatusHistoryRepository statusHistoryRepository,
+                                    ArchivedSuggestionRepository archivedSuggestionRepository,
+                                    ArchivedVoteRepository archivedVoteRepository,
+                                    ArchivedStatusHistoryRepository archivedStatusHistoryRepository,
+                                    EmployeeRepository employeeRepository,
+                                    StatusHistoryWriter statusHistoryWriter,
+                                    ApplicationEventPublisher eventPublisher,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${suggestions.archive.chunk-size:500}") int chunkSize,
+                                    @Value("${suggestions.archive.deleted-after-days:7}") int deletedAfterDays,
+                                    @Value("${suggestions.archive.closed-after-days:90}") int closedAfterDays) {
+        this.suggestionRepository = suggestionRepository;
+        this.voteRepository = voteRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.archivedSuggestionRepository = archivedSuggestionRepository;
+        this.archivedVoteRepository = archivedVoteRepository;
+        this.archivedStatusHistoryRepository = archivedStatusHistoryRepository;
+        this.employeeRepository = employeeRepository;
+        this.statusHistoryWriter = statusHistoryWriter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.deletedAfterDays = deletedAfterDays;
+        this.closedAfterDays = closedAfterDays;
+    }
+
+    /**
+     * Archive everything that currently qualifies; skipped if a run is already in progress
+     */
+    @Scheduled(cron = "${suggestions.archive.cron:0 30 3 * * *}")
+    public void archiveEligible() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        ArchiveRun run = new ArchiveRun();
+        try {
+            // History still in the outbox would be dropped once its suggestion is gone
+            statusHistoryWriter.flush();
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime deletedBefore = now.minusDays(deletedAfterDays);
+            LocalDateTime closedBefore = now.minusDays(closedAfterDays);
+            long afterId = 0;
+            while (true) {
+                final long cursor = afterId;
+                Long lastId = transactionTemplate.execute(status -> archiveChunk(cursor, deletedBefore, closedBefore, run));
+                if (lastId == null) {
+                    break;
+                }
+                afterId = lastId;
+            }
+        } catch (RuntimeException e) {
+            run.error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        } finally {
+            run.finishedAt = LocalDateTime.now();
+            lastRun = run;
+            running.set(false);
+        }
+    }
+
+    public ArchiveRun getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Soft-deleted suggestions that have been archived, as detached Suggestion objects
+     */
+    @Transactional(readOnly = true)
+    public List<Suggestion> getArchivedDeletedSuggestions() {
+        return archivedSuggestionRepository.findDeleted().stream()
+                .map(a -> a.toSuggestion(a.getSubmitterId() != null
+                        ? employeeRepository.getReferenceById(a.getSubmitterId())
+                        : null))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Archived status history of a suggestion, newest first (empty if it is not archived)
+     */
+    @Transactional(readOnly = true)
+    public List<SuggestionStatusHistory> getArchivedStatusHistory(Long suggestionId) {
+        return archivedStatusHistoryRepository.findBySuggestionIdOrderByCreatedAtDesc(suggestionId).stream()
+                .map(ArchivedStatusHistory::toStatusHistory)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Move one chunk into the archive; returns the scan cursor, or null when nothing is left
+     */
+    private Long archiveChunk(long afterId, LocalDateTime deletedBefore, LocalDateTime closedBefore, ArchiveRun run) {
+        List<Long> candidates = suggestionRepository.findArchivableIdsAfter(
+                afterId, deletedBefore, closedBefore, chunkSize);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        // Re-check under row locks so a concurrent vote or status change is not lost
+        List<Long> ids = suggestionRepository.lockArchivableIds(candidates, deletedBefore, closedBefore);
+        if (!ids.isEmpty()) {
+            List<Object[]> states = suggestionRepository.findStateRowsByIdIn(ids);
+
+            archivedSuggestionRepository.copyFromLive(ids, LocalDateTime.now());
+            run.historyArchived += archivedStatusHistoryRepository.copyFromLive(ids);
+            run.votesArchived += archivedVoteRepository.copyFromLive(ids);
+
+            statusHistoryRepository.deleteBySuggestionIdIn(ids);
+            voteRepository.deleteBySuggestionIdIn(ids);
+            run.suggestionsArchived += suggestionRepository.deleteByIdIn(ids);
+
+            for (Object[] state : states) {
+                if (!Boolean.TRUE.equals(state[2])) {
+                    eventPublisher.publishEvent(
+                            SuggestionChangedEvent.archived((Long) state[0], (SuggestionStatus) state[1]));
+                }
+            }
+        }
+        return candidates.get(candidates.size() - 1);
+    }
+
+    /**
+     * Summary of one archive run
+     */
+    public static class ArchiveRun {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile long suggestionsArchived;
+        private volatile long votesArchived;
+        private volatile long historyArchived;
+        private volatile String error;
+
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getFinishedAt() { return finishedAt; }
+        public long getSuggestionsArchived() { return suggestionsArchived; }
+        public long getVotesArchived() { return votesArchived; }
+        public long getHistoryArchived() { return historyArchived; }
+        public String getError() { return error; }
+    }
+}
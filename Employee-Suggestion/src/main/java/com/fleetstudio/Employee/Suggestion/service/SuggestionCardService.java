@@ -0,0 +1,176 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.EmployeeChangedEvent;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionCard;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionCardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Suggestion-card read model.
+ *
+ * The listeners are plain (synchronous) event listeners that collect the ids a transaction
+ * touches; just before it commits, the cards are deleted or rebuilt from the live tables
+ * with one set-based statement each, so they can never be seen out of step with a
+ * committed write and a bulk write costs two statements rather than a few per row. Feed,
+ * search, detail and delta-sync reads are then a single-table lookup. Missing cards are
+ * rebuilt from the live tables at startup.
+ */
+@Service
+public class SuggestionCardService {
+
+    // Ids per statement, to keep the IN lists of a large bulk write bounded
+    private static final int BATCH_SIZE = 1000;
+
+    private final SuggestionCardRepository cardRepository;
+
+    @Autowired
+    public SuggestionCardService(SuggestionCardRepository cardRepository) {
+        this.cardRepository = cardRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<SuggestionCard> getFeed() {
+        return cardRepository.findAllByOrderByCreatedAtDesc();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<SuggestionCard> getFeed(int page, int size) {
+        return cardRepository.findAllByOrderByCreatedAtDesc(PageRequest.of(page, size));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SuggestionCard> getFeedByStatus(SuggestionStatus status) {
+        return cardRepository.findByStatusOrderByCreatedAtDesc(status);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<SuggestionCard> getFeedByStatus(SuggestionStatus status, int page, int size) {
+        return cardRepository.findByStatusOrderByCreatedAtDesc(status, PageRequest.of(page, size));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SuggestionCard> search(String searchTerm) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            return getFeed();
+        }
+        return cardRepository.search(searchTerm.trim());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SuggestionCard> getCard(Long id) {
+        return cardRepository.findById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SuggestionCard> getCards(Collection<Long> ids) {
+        return cardRepository.findAllById(ids);
+    }
+
+    /**
+     * Queue a suggestion write for its card; the cards are written just before the
+     * writer's transaction commits
+     */
+    @EventListener
+    @Transactional
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        PendingCards pending = pendingCards();
+        Long id = event.getSuggestionId();
+        switch (event.getType()) {
+            case DELETED, ARCHIVED -> {
+                pending.upserts.remove(id);
+                pending.deletes.add(id);
+            }
+            case CREATED, UPDATED, STATUS_CHANGED, VOTE_COUNT_CHANGED -> pending.upserts.add(id);
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        switch (event.getType()) {
+            case UPDATED -> cardRepository.renameSubmitter(event.getEmployeeId(), event.getName());
+            case DELETED -> cardRepository.detachSubmitter(event.getEmployeeId());
+            case CREATED -> { }
+        }
+    }
+
+    /**
+     * Create cards for live suggestions that lack one and drop cards of removed ones.
+     * Runs before the other startup listeners, some of which seed from the cards.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public int reconcile() {
+        cardRepository.deleteOrphaned();
+        return cardRepository.insertMissing();
+    }
+
+    /**
+     * Rebuild every card from the live tables
+     */
+    @Transactional
+    public int rebuild() {
+        cardRepository.deleteAllInBatch();
+        return cardRepository.insertMissing();
+    }
+
+    private PendingCards pendingCards() {
+        PendingCards pending = (PendingCards) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            PendingCards created = new PendingCards();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(SuggestionCardService.this);
+                }
+            });
+            TransactionSynchronizationManager.bindResource(this, created);
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void write(PendingCards pending) {
+        List<Long> deletes = new ArrayList<>(pending.deletes);
+        for (int i = 0; i < deletes.size(); i += BATCH_SIZE) {
+            cardRepository.deleteCards(deletes.subList(i, Math.min(i + BATCH_SIZE, deletes.size())));
+        }
+        List<Long> upserts = new ArrayList<>(pending.upserts);
+        for (int i = 0; i < upserts.size(); i += BATCH_SIZE) {
+            cardRepository.upsertCards(upserts.subList(i, Math.min(i + BATCH_SIZE, upserts.size())));
+        }
+    }
+
+    /**
+     * Card ids a transaction has touched so far
+     */
+    private static class PendingCards {
+        private final Set<Long> upserts = new LinkedHashSet<>();
+        private final Set<Long> deletes = new LinkedHashSet<>();
+    }
+}
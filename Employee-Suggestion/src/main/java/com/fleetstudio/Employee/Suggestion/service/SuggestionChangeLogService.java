@@ -0,0 +1,128 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.dto.SuggestionChangesResponse;
+import com.fleetstudio.Employee.Suggestion.dto.SuggestionResponse;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.ChangeSequence;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionCard;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionChange;
+import com.fleetstudio.Employee.Suggestion.repository.ChangeSequenceRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionChangeRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionCardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Change log behind the delta-sync endpoint.
+ *
+ * Every suggestion write appends a row to {@code suggestion_changes} inside its own
+ * transaction. Sequence numbers come from a locked counter row taken just before commit,
+ * so they are handed out in commit order without gaps and a client that remembers the
+ * last sequence it saw can never skip a change. A client whose sequence the log no longer
+ * covers (rows pruned, or a sequence from before a restore) is told to resync from a
+ * full snapshot instead.
+ */
+@Service
+public class SuggestionChangeLogService {
+
+    public static final String SEQUENCE_NAME = "suggestion_changes";
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 2000;
+
+    private final SuggestionChangeRepository changeRepository;
+    private final ChangeSequenceRepository sequenceRepository;
+    private final SuggestionCardRepository cardRepository;
+
+    @Autowired
+    public SuggestionChangeLogService(SuggestionChangeRepository changeRepository,
+                                      ChangeSequenceRepository sequenceRepository,
+                                      SuggestionCardRepository cardRepository) {
+        this.changeRepository = changeRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.cardRepository = cardRepository;
+    }
+
+    /**
+     * Append a change log row in the writer's transaction
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    @Transactional
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        if (event.getSuggestionId() == null) {
+            return;
+        }
+        ChangeSequence sequence = sequenceRepository.findForUpdate(SEQUENCE_NAME)
+                .orElseGet(() -> new ChangeSequence(SEQUENCE_NAME));
+        long seq = sequence.next();
+        sequenceRepository.save(sequence);
+        changeRepository.save(new SuggestionChange(seq, event.getSuggestionId(),
+                SuggestionChange.ChangeType.valueOf(event.getType().name())));
+    }
+
+    /**
+     * Suggestions changed after the given sequence number, plus tombstones for deleted ones;
+     * a resync marker when the log no longer covers that sequence
+     */
+    @Transactional(readOnly = true)
+    public SuggestionChangesResponse getChangesSince(long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<SuggestionChange> changes = changeRepository.findChangesSince(since, PageRequest.of(0, pageSize));
+
+        if (changes.isEmpty()) {
+            long latest = changeRepository.findLatestSeq();
+            if (since > latest) {
+                // Ahead of the log, e.g. after the database was restored from a backup
+                return SuggestionChangesResponse.resync(latest);
+            }
+            return new SuggestionChangesResponse(List.of(), List.of(), since, false);
+        }
+        if (changes.get(0).getSeq() > since + 1) {
+            // Sequence numbers have no gaps, so the changes right after since were pruned
+            return SuggestionChangesResponse.resync(changeRepository.findLatestSeq());
+        }
+
+        // Keep only the latest change per suggestion, in sequence order
+        Map<Long, SuggestionChange> latest = new LinkedHashMap<>();
+        for (SuggestionChange change : changes) {
+            latest.remove(change.getSuggestionId());
+            latest.put(change.getSuggestionId(), change);
+        }
+
+        // Live suggestions have a card; anything without one is a tombstone
+        Map<Long, SuggestionCard> live = cardRepository.findAllById(latest.keySet()).stream()
+                .collect(Collectors.toMap(SuggestionCard::getId, Function.identity()));
+
+        List<SuggestionResponse> changed = new ArrayList<>();
+        List<Long> tombstones = new ArrayList<>();
+        for (Long suggestionId : latest.keySet()) {
+            SuggestionCard card = live.get(suggestionId);
+            if (card != null) {
+                changed.add(new SuggestionResponse(card));
+            } else {
+                tombstones.add(suggestionId);
+            }
+        }
+
+        long nextSince = changes.get(changes.size() - 1).getSeq();
+        return new SuggestionChangesResponse(changed, tombstones, nextSince, changes.size() == pageSize);
+    }
+
+    /**
+     * Latest sequence number, so a client can take a full snapshot and then sync from here
+     */
+    @Transactional(readOnly = true)
+    public long getLatestSeq() {
+        return changeRepository.findLatestSeq();
+    }
+}
@@ -0,0 +1,354 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.dto.SuggestionResponse;
+import com.fleetstudio.Employee.Suggestion.event.EmployeeChangedEvent;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.index.CompressedBitmap;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionCard;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Faceted filtering over live suggestions, answered from in-memory bitmaps.
+ *
+ * Every live suggestion id is set in one bitmap per status, per anonymity flag, per
+ * submitter department and per creation month. A filter is an OR of the selected values
+ * within each dimension and an AND across dimensions; facet counts for a dimension are
+ * taken with the other dimensions' filters applied, so the UI can show how many results
+ * each further choice would give. Loaded at startup in id-ordered chunks and then kept
+ * current from domain events; queries never touch the database except to load the
+ * cards of the returned page.
+ */
+@Service
+public class SuggestionFacetService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    private static final int BOOTSTRAP_CHUNK_SIZE = 5000;
+
+    private final SuggestionRepository suggestionRepository;
+    private final EmployeeRepository employeeRepository;
+    private final SuggestionCardService cardService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Bitmaps bitmaps = new Bitmaps();
+
+    @Autowired
+    public SuggestionFacetService(SuggestionRepository suggestionRepository,
+                                  EmployeeRepository employeeRepository,
+                                  SuggestionCardService cardService) {
+        this.suggestionRepository = suggestionRepository;
+        this.employeeRepository = employeeRepository;
+        this.cardService = cardService;
+    }
+
+    /**
+     * Load every live suggestion into the bitmaps
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Bitmaps next = new Bitmaps();
+        for (Object[] row : employeeRepository.findDepartmentRows()) {
+            if (row[1] != null) {
+                next.employeeDepartments.put((Long) row[0], (String) row[1]);
+            }
+        }
+        long afterId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = suggestionRepository.findFacetRowsAfter(afterId, PageRequest.of(0, BOOTSTRAP_CHUNK_SIZE));
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                next.add(id, (SuggestionStatus) row[1], Boolean.TRUE.equals(row[2]),
+                        (Long) row[3], (LocalDateTime) row[4]);
+                afterId = id;
+            }
+        } while (rows.size() == BOOTSTRAP_CHUNK_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            bitmaps = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Matching suggestions (newest first) and facet counts for the given filters
+     */
+    public FacetResult query(FacetQuery query) {
+        FacetResult result = new FacetResult();
+        int limit = Math.max(0, Math.min(query.limit, MAX_LIMIT));
+        int[] newest;
+        lock.readLock().lock();
+        try {
+            // Ids are allocated in insertion order, so the largest ids are the newest suggestions
+            newest = count(bitmaps, query, result).top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (int id : newest) {
+            ids.add((long) id);
+        }
+        Map<Long, SuggestionCard> cards = cardService.getCards(ids).stream()
+                .collect(Collectors.toMap(SuggestionCard::getId, Function.identity()));
+        for (Long id : ids) {
+            SuggestionCard card = cards.get(id);
+            if (card != null) {
+                result.suggestions.add(new SuggestionResponse(card));
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        if (event.getSuggestionId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case CREATED -> bitmaps.add(event.getSuggestionId(), event.getStatus(), event.isAnonymous(),
+                        event.getSubmitterId(), event.getCreatedAt());
+                case STATUS_CHANGED -> bitmaps.changeStatus(event.getSuggestionId(), event.getStatus());
+                case DELETED, ARCHIVED -> bitmaps.remove(event.getSuggestionId());
+                default -> {
+                    // Text and vote changes do not affect any facet
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            bitmaps.moveSubmitter(event.getEmployeeId(),
+                    event.getType() == EmployeeChangedEvent.Type.DELETED ? null : event.getDepartment());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Fill in the counts and return the matching ids; caller holds the read lock
+     */
+    private static CompressedBitmap count(Bitmaps current, FacetQuery query, FacetResult result) {
+        CompressedBitmap statusFilter = query.statuses.isEmpty() ? null
+                : orAll(query.statuses.stream().map(current.byStatus::get).toList());
+        CompressedBitmap anonymousFilter = query.anonymous == null ? null
+                : query.anonymous ? current.anonymous : current.named;
+        CompressedBitmap departmentFilter = query.departments.isEmpty() ? null
+                : orAll(query.departments.stream().map(current.byDepartment::get).toList());
+        CompressedBitmap monthFilter = query.from == null && query.to == null ? null
+                : orAll(monthRange(current.byMonth, query.from, query.to).values());
+
+        CompressedBitmap matches = andAll(current.live, statusFilter, anonymousFilter, departmentFilter, monthFilter);
+        result.total = matches.cardinality();
+
+        CompressedBitmap base = andAll(current.live, anonymousFilter, departmentFilter, monthFilter);
+        for (SuggestionStatus status : SuggestionStatus.values()) {
+            result.statuses.put(status.name(), CompressedBitmap.andCardinality(base, current.byStatus.get(status)));
+        }
+        base = andAll(current.live, statusFilter, departmentFilter, monthFilter);
+        result.anonymous.put("true", CompressedBitmap.andCardinality(base, current.anonymous));
+        result.anonymous.put("false", CompressedBitmap.andCardinality(base, current.named));
+        base = andAll(current.live, statusFilter, anonymousFilter, monthFilter);
+        for (Map.Entry<String, CompressedBitmap> entry : current.byDepartment.entrySet()) {
+            result.departments.put(entry.getKey(), CompressedBitmap.andCardinality(base, entry.getValue()));
+        }
+        base = andAll(current.live, statusFilter, anonymousFilter, departmentFilter);
+        for (Map.Entry<YearMonth, CompressedBitmap> entry : current.byMonth.entrySet()) {
+            result.months.put(entry.getKey().toString(), CompressedBitmap.andCardinality(base, entry.getValue()));
+        }
+        return matches;
+    }
+
+    private static NavigableMap<YearMonth, CompressedBitmap> monthRange(NavigableMap<YearMonth, CompressedBitmap> months,
+                                                                       YearMonth from, YearMonth to) {
+        if (months.isEmpty()) {
+            return months;
+        }
+        YearMonth start = from != null ? from : months.firstKey();
+        YearMonth end = to != null ? to : months.lastKey();
+        if (start.isAfter(end)) {
+            return new TreeMap<>();
+        }
+        return months.subMap(start, true, end, true);
+    }
+
+    private static CompressedBitmap orAll(Collection<CompressedBitmap> bitmaps) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (CompressedBitmap bitmap : bitmaps) {
+            if (bitmap != null) {
+                result = CompressedBitmap.or(result, bitmap);
+            }
+        }
+        return result;
+    }
+
+    private static CompressedBitmap andAll(CompressedBitmap live, CompressedBitmap... filters) {
+        CompressedBitmap result = live;
+        for (CompressedBitmap filter : filters) {
+            if (filter != null) {
+                result = CompressedBitmap.and(result, filter);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * All facet bitmaps plus what is needed to maintain them
+     */
+    private static final class Bitmaps {
+        private final CompressedBitmap live = new CompressedBitmap();
+        private final Map<SuggestionStatus, CompressedBitmap> byStatus = new EnumMap<>(SuggestionStatus.class);
+        private final CompressedBitmap anonymous = new CompressedBitmap();
+        private final CompressedBitmap named = new CompressedBitmap();
+        private final Map<String, CompressedBitmap> byDepartment = new TreeMap<>();
+        private final NavigableMap<YearMonth, CompressedBitmap> byMonth = new TreeMap<>();
+        private final Map<Long, CompressedBitmap> bySubmitter = new HashMap<>();
+        private final Map<Long, String> employeeDepartments = new HashMap<>();
+
+        Bitmaps() {
+            for (SuggestionStatus status : SuggestionStatus.values()) {
+                byStatus.put(status, new CompressedBitmap());
+            }
+        }
+
+        void add(Long suggestionId, SuggestionStatus status, boolean isAnonymous, Long submitterId,
+                 LocalDateTime createdAt) {
+            int id = Math.toIntExact(suggestionId);
+            live.add(id);
+            byStatus.get(status).add(id);
+            (isAnonymous ? anonymous : named).add(id);
+            if (!isAnonymous && submitterId != null) {
+                bySubmitter.computeIfAbsent(submitterId, k -> new CompressedBitmap()).add(id);
+                String department = employeeDepartments.get(submitterId);
+                if (department != null) {
+                    byDepartment.computeIfAbsent(department, k -> new CompressedBitmap()).add(id);
+                }
+            }
+            if (createdAt != null) {
+                byMonth.computeIfAbsent(YearMonth.from(createdAt), k -> new CompressedBitmap()).add(id);
+            }
+        }
+
+        void changeStatus(Long suggestionId, SuggestionStatus status) {
+            int id = Math.toIntExact(suggestionId);
+            if (!live.contains(id)) {
+                return;
+            }
+            byStatus.values().forEach(bitmap -> bitmap.remove(id));
+            byStatus.get(status).add(id);
+        }
+
+        void remove(Long suggestionId) {
+            int id = Math.toIntExact(suggestionId);
+            if (!live.contains(id)) {
+                return;
+            }
+            live.remove(id);
+            byStatus.values().forEach(bitmap -> bitmap.remove(id));
+            anonymous.remove(id);
+            named.remove(id);
+            byDepartment.values().forEach(bitmap -> bitmap.remove(id));
+            byMonth.values().forEach(bitmap -> bitmap.remove(id));
+            bySubmitter.values().forEach(bitmap -> bitmap.remove(id));
+        }
+
+        /**
+         * Move an employee's suggestions to a new department (null: no department)
+         */
+        void moveSubmitter(Long employeeId, String department) {
+            String previous = department != null
+                    ? employeeDepartments.put(employeeId, department)
+                    : employeeDepartments.remove(employeeId);
+            if (Objects.equals(previous, department)) {
+                return;
+            }
+            CompressedBitmap ids = bySubmitter.get(employeeId);
+            if (ids == null || ids.isEmpty()) {
+                return;
+            }
+            if (previous != null && byDepartment.containsKey(previous)) {
+                byDepartment.get(previous).removeAll(ids);
+            }
+            if (department != null) {
+                byDepartment.computeIfAbsent(department, k -> new CompressedBitmap()).addAll(ids);
+            }
+        }
+    }
+
+    /**
+     * Filters of a facet query; empty sets and nulls mean "no filter" for that dimension
+     */
+    public static class FacetQuery {
+        private final Set<SuggestionStatus> statuses;
+        private final Boolean anonymous;
+        private final Set<String> departments;
+        private final YearMonth from;
+        private final YearMonth to;
+        private final int limit;
+
+        public FacetQuery(Set<SuggestionStatus> statuses, Boolean anonymous, Set<String> departments,
+                          YearMonth from, YearMonth to, int limit) {
+            this.statuses = statuses != null ? statuses : Set.of();
+            this.anonymous = anonymous;
+            this.departments = departments != null ? departments : Set.of();
+            this.from = from;
+            this.to = to;
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * Match count, facet counts per dimension, and the newest matching suggestions
+     */
+    public static class FacetResult {
+        private int total;
+        private final Map<String, Integer> statuses = new LinkedHashMap<>();
+        private final Map<String, Integer> anonymous = new LinkedHashMap<>();
+        private final Map<String, Integer> departments = new LinkedHashMap<>();
+        private final Map<String, Integer> months = new LinkedHashMap<>();
+        private final List<SuggestionResponse> suggestions = new ArrayList<>();
+
+        public int getTotal() { return total; }
+        public Map<String, Integer> getStatuses() { return statuses; }
+        public Map<String, Integer> getAnonymous() { return anonymous; }
+        public Map<String, Integer> getDepartments() { return departments; }
+        public Map<String, Integer> getMonths() { return months; }
+        public List<SuggestionResponse> getSuggestions() { return suggestions; }
+    }
+}
@@ -0,0 +1,263 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.importer.CsvImportReader;
+import com.fleetstudio.Employee.Suggestion.importer.ImportRowReader;
+import com.fleetstudio.Employee.Suggestion.importer.NdjsonImportReader;
+import com.fleetstudio.Employee.Suggestion.importer.SuggestionImportRow;
+import com.fleetstudio.Employee.Suggestion.model.Employee;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistorySummaryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk suggestion import from CSV or NDJSON.
+ *
+ * The body is parsed row by row and written in chunks: each chunk resolves its submitter
+ * emails with one query and is inserted in its own transaction, so Hibernate sends the
+ * suggestion and outbox rows as JDBC batches. A bad row is reported and skipped; a chunk
+ * that fails to write is reported row by row and the import carries on.
+ *
+ * The initial history goes through {@link StatusHistoryWriter} like every other entry.
+ * An imported creation date also dates that entry, which then lies behind
+ * what the status distribution and checkpoints have stored; each chunk records a history
+ * rewind so they replay it. History before the compaction horizon can no longer be
+ * replayed, so such entries are dated at the horizon instead.
+ */
+@Service
+public class SuggestionImportService {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        /**
+         * Pick the format from a request Content-Type
+         */
+        public static Format fromContentType(String contentType) {
+            String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/ndjson")
+                    || type.startsWith("application/jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported import content type: " + contentType
+                    + " (use text/csv or application/x-ndjson)");
+        }
+    }
+
+    private final SuggestionRepository suggestionRepository;
+    private final EmployeeRepository employeeRepository;
+    private final StatusHistoryWriter statusHistoryWriter;
+    private final StatusHistorySummaryRepository summaryRepository;
+    private final StatusHistoryRewindService rewindService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    @Autowired
+    public SuggestionImportService(SuggestionRepository suggestionRepository,
+                                   EmployeeRepository employeeRepository,
+                                   StatusHistoryWriter statusHistoryWriter,
+                                   StatusHistorySummaryRepository summaryRepository,
+                                   StatusHistoryRewindService rewindService,
+                                   ApplicationEventPublisher eventPublisher,
+                                   TransactionTemplate transactionTemplate,
+                                   ObjectMapper objectMapper,
+                                   @Value("${suggestions.import.chunk-size:500}") int chunkSize) {
+        this.suggestionRepository = suggestionRepository;
+        this.employeeRepository = employeeRepository;
+        this.statusHistoryWriter = statusHistoryWriter;
+        this.summaryRepository = summaryRepository;
+        this.rewindService = rewindService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import every row of the body, attributing the initial status history to the admin
+     */
+    public ImportResult importSuggestions(InputStream body, Format format, String adminName) throws IOException {
+        ImportResult result = new ImportResult();
+        InputStreamReader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+
+        try (ImportRowReader rows = format == Format.CSV
+                ? new CsvImportReader(reader)
+                : new NdjsonImportReader(reader, objectMapper)) {
+            List<SuggestionImportRow> chunk = new ArrayList<>(chunkSize);
+            SuggestionImportRow row;
+            while ((row = rows.next()) != null) {
+                result.totalRows++;
+                if (!row.isValid()) {
+                    result.fail(row.getRowNumber(), row.getError());
+                    continue;
+                }
+                try {
+                    SuggestionService.validateSuggestionData(row.getTitle(), row.getDescription());
+                } catch (IllegalArgumentException e) {
+                    result.fail(row.getRowNumber(), e.getMessage());
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, adminName, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, adminName, result);
+            }
+        }
+        return result;
+    }
+
+    private void writeChunk(List<SuggestionImportRow> chunk, String adminName, ImportResult result) {
+        Map<String, Long> employeeIds = resolveEmployees(chunk);
+
+        List<SuggestionImportRow> accepted = new ArrayList<>(chunk.size());
+        for (SuggestionImportRow row : chunk) {
+            if (!row.isAnonymous() && row.getSubmitterEmail() != null
+                    && !employeeIds.containsKey(row.getSubmitterEmail())) {
+                result.fail(row.getRowNumber(), "Employee with email " + row.getSubmitterEmail() + " not found");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(accepted, employeeIds, adminName));
+            result.imported += accepted.size();
+        } catch (RuntimeException e) {
+            String message = "Chunk write failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (SuggestionImportRow row : accepted) {
+                result.fail(row.getRowNumber(), message);
+            }
+        }
+    }
+
+    private Map<String, Long> resolveEmployees(List<SuggestionImportRow> chunk) {
+        Set<String> emails = new HashSet<>();
+        for (SuggestionImportRow row : chunk) {
+            if (!row.isAnonymous() && row.getSubmitterEmail() != null) {
+                emails.add(row.getSubmitterEmail());
+            }
+        }
+        Map<String, Long> ids = new HashMap<>();
+        if (!emails.isEmpty()) {
+            for (Object[] r : employeeRepository.findIdRowsByEmailIn(emails)) {
+                ids.put(((String) r[1]).toLowerCase(Locale.ROOT), (Long) r[0]);
+            }
+        }
+        return ids;
+    }
+
+    private void insert(List<SuggestionImportRow> rows, Map<String, Long> employeeIds, String adminName) {
+        List<Suggestion> suggestions = new ArrayList<>(rows.size());
+        List<LocalDateTime> historyDates = new ArrayList<>(rows.size());
+        LocalDateTime compactedThrough = summaryRepository.findCompactedThrough();
+        LocalDateTime earliestBackdated = null;
+
+        for (SuggestionImportRow row : rows) {
+            Employee submittedBy = null;
+            if (!row.isAnonymous() && row.getSubmitterEmail() != null) {
+                submittedBy = employeeRepository.getReferenceById(employeeIds.get(row.getSubmitterEmail()));
+            }
+            Suggestion suggestion = new Suggestion(row.getTitle(), row.getDescription(), submittedBy, row.isAnonymous());
+            if (row.getCreatedAt() != null) {
+                suggestion.setCreatedAt(row.getCreatedAt());
+            }
+            LocalDateTime historyAt = suggestion.getCreatedAt();
+            if (compactedThrough != null && historyAt.isBefore(compactedThrough)) {
+                historyAt = compactedThrough;
+            }
+            if (row.getCreatedAt() != null && (earliestBackdated == null || historyAt.isBefore(earliestBackdated))) {
+                earliestBackdated = historyAt;
+            }
+
+            suggestions.add(suggestion);
+            historyDates.add(historyAt);
+        }
+
+        // Pooled ids let the suggestions and their outbox entries go out as JDBC batches when the transaction flushes
+        suggestionRepository.saveAll(suggestions);
+        for (int i = 0; i < suggestions.size(); i++) {
+            statusHistoryWriter.append(suggestions.get(i).getId(), null, SuggestionStatus.OPEN,
+                    adminName, "Imported", historyDates.get(i));
+        }
+        if (earliestBackdated != null) {
+            rewindService.recordBackdated(earliestBackdated);
+        }
+
+        for (Suggestion suggestion : suggestions) {
+            eventPublisher.publishEvent(SuggestionChangedEvent.of(SuggestionChangedEvent.Type.CREATED, suggestion));
+        }
+    }
+
+    /**
+     * Outcome of an import with the first {@link #MAX_REPORTED_ERRORS} row errors
+     */
+    public static class ImportResult {
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private final List<RowError> errors = new ArrayList<>();
+
+        void fail(long rowNumber, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(rowNumber, message));
+            }
+        }
+
+        public long getTotalRows() { return totalRows; }
+        public long getImported() { return imported; }
+        public long getFailed() { return failed; }
+        public List<RowError> getErrors() { return errors; }
+        public boolean isErrorsTruncated() { return failed > errors.size(); }
+    }
+
+    public static class RowError {
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() { return row; }
+        public String getMessage() { return message; }
+    }
+}
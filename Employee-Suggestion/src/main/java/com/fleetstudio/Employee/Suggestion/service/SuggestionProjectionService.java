@@ -0,0 +1,111 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.dto.SuggestionFields;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse-fieldset reads over the suggestion-card table.
+ *
+ * The SELECT list is built from the requested fields, so unrequested columns (notably
+ * the TEXT description) are neither read from MySQL nor serialized. The JPQL text for
+ * each (query kind, field mask) pair is built once and reused, and Hibernate's query
+ * plan cache then keeps one compiled plan per shape.
+ */
+@Service
+public class SuggestionProjectionService {
+
+    private enum Shape {
+        FEED("", " ORDER BY c.createdAt DESC"),
+        FEED_BY_STATUS(" WHERE c.status = :status", " ORDER BY c.createdAt DESC"),
+        BY_ID(" WHERE c.id = :id", "");
+
+        private final String where;
+        private final String orderBy;
+
+        Shape(String where, String orderBy) {
+            this.where = where;
+            this.orderBy = orderBy;
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<Long, String> queries = new ConcurrentHashMap<>();
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getFeed(SuggestionFields fields, SuggestionStatus status) {
+        return toRows(feedQuery(fields, status).getResultList(), fields);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getFeed(SuggestionFields fields, SuggestionStatus status, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        TypedQuery<Tuple> query = feedQuery(fields, status);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<Map<String, Object>> rows = toRows(query.getResultList(), fields);
+
+        TypedQuery<Long> count = entityManager.createQuery(
+                "SELECT COUNT(c) FROM SuggestionCard c" + (status != null ? Shape.FEED_BY_STATUS.where : ""), Long.class);
+        if (status != null) {
+            count.setParameter("status", status);
+        }
+        return new PageImpl<>(rows, pageable, count.getSingleResult());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getById(SuggestionFields fields, Long id) {
+        List<Tuple> result = entityManager.createQuery(jpql(Shape.BY_ID, fields), Tuple.class)
+                .setParameter("id", id)
+                .getResultList();
+        return toRows(result, fields).stream().findFirst();
+    }
+
+    private TypedQuery<Tuple> feedQuery(SuggestionFields fields, SuggestionStatus status) {
+        if (status == null) {
+            return entityManager.createQuery(jpql(Shape.FEED, fields), Tuple.class);
+        }
+        return entityManager.createQuery(jpql(Shape.FEED_BY_STATUS, fields), Tuple.class)
+                .setParameter("status", status);
+    }
+
+    private String jpql(Shape shape, SuggestionFields fields) {
+        long key = ((long) fields.getMask() << 8) | shape.ordinal();
+        return queries.computeIfAbsent(key, k -> "SELECT "
+                + fields.getFields().stream()
+                        .map(SuggestionFields.Field::getPath)
+                        .collect(Collectors.joining(", "))
+                + " FROM SuggestionCard c" + shape.where + shape.orderBy);
+    }
+
+    private static List<Map<String, Object>> toRows(List<Tuple> tuples, SuggestionFields fields) {
+        List<SuggestionFields.Field> selected = fields.getFields();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < selected.size(); i++) {
+                row.put(selected.get(i).getJsonName(), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,313 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedStatusHistoryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedSuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedVoteRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistorySummaryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.VoteRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Background hard delete of soft-deleted suggestions.
+ *
+ * A job walks the deleted suggestions in id order, a chunk at a time, first in the live
+ * tables and then in the archive. Each chunk is one short transaction of set-based
+ * deletes (history, then votes, then suggestions), so no entities are loaded and locks
+ * are held only briefly. The history each chunk removes is counted first and subtracted
+ * from the in-memory transition counts once the chunk commits. Jobs can be paused
+ * between chunks.
+ * Only one job runs at a time; job state lives in memory, and a purge interrupted by a
+ * restart is simply started again.
+ */
+@Service
+public class SuggestionPurgeService {
+
+    private static final int MAX_RETAINED_JOBS = 20;
+
+    private final SuggestionRepository suggestionRepository;
+    private final VoteRepository voteRepository;
+    private final SuggestionStatusHistoryRepository statusHistoryRepository;
+    private final ArchivedSuggestionRepository archivedSuggestionRepository;
+    private final ArchivedVoteRepository archivedVoteRepository;
+    private final ArchivedStatusHistoryRepository archivedStatusHistoryRepository;
+    private final StatusHistorySummaryRepository summaryRepository;
+    private final StatusTransitionService statusTransitionService;
+    private final StatusChangeRankingService statusChangeRankingService;
+    private final StatusHistoryWriter statusHistoryWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long chunkDelayMillis;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "suggestion-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, PurgeJob> jobs = new LinkedHashMap<>();
+    private PurgeJob activeJob;
+
+    @Autowired
+    public SuggestionPurgeService(SuggestionRepository suggestionRepository,
+                                  VoteRepository voteRepository,
+                                  SuggestionStatusHistoryRepository statusHistoryRepository,
+                                  ArchivedSuggestionRepository archivedSuggestionRepository,
+                                  ArchivedVoteRepository archivedVoteRepository,
+                                  ArchivedStatusHistoryRepository archivedStatusHistoryRepository,
+                                  StatusHistorySummaryRepository summaryRepository,
+                                  StatusTransitionService statusTransitionService,
+                                  StatusChangeRankingService statusChangeRankingService,
+                                  StatusHistoryWriter statusHistoryWriter,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${suggestions.purge.chunk-size:500}") int chunkSize,
+                                  @Value("${suggestions.purge.chunk-delay-ms:50}") long chunkDelayMillis) {
+        this.suggestionRepository = suggestionRepository;
+        this.voteRepository = voteRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.archivedSuggestionRepository = archivedSuggestionRepository;
+        this.archivedVoteRepository = archivedVoteRepository;
+        this.archivedStatusHistoryRepository = archivedStatusHistoryRepository;
+        this.summaryRepository = summaryRepository;
+        this.statusTransitionService = statusTransitionService;
+        this.statusChangeRankingService = statusChangeRankingService;
+        this.statusHistoryWriter = statusHistoryWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.chunkDelayMillis = chunkDelayMillis;
+    }
+
+    /**
+     * Start a purge, or return the one already in progress
+     */
+    public synchronized PurgeJob startPurge(String requestedBy) {
+        if (activeJob != null && !activeJob.isFinished()) {
+            return activeJob;
+        }
+        PurgeJob job = new PurgeJob(UUID.randomUUID().toString(), requestedBy);
+        jobs.put(job.getId(), job);
+        trimFinishedJobs();
+        activeJob = job;
+        executor.submit(() -> run(job));
+        return job;
+    }
+
+    public synchronized Optional<PurgeJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public PurgeJob pause(String jobId) {
+        PurgeJob job = requireJob(jobId);
+        job.requestPause(true);
+        return job;
+    }
+
+    public PurgeJob resume(String jobId) {
+        PurgeJob job = requireJob(jobId);
+        job.requestPause(false);
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private PurgeJob requireJob(String jobId) {
+        PurgeJob job = getJob(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Purge job " + jobId + " not found"));
+        if (job.isFinished()) {
+            throw new IllegalArgumentException("Purge job " + jobId + " has already finished");
+        }
+        return job;
+    }
+
+    private void run(PurgeJob job) {
+        try {
+            // Deletion entries still in the outbox are purged with the rest of the history
+            statusHistoryWriter.flush();
+            if (purgeAll(job, false) && purgeAll(job, true)) {
+                job.finish(JobState.COMPLETED, null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(JobState.CANCELLED, "Interrupted by shutdown");
+        } catch (RuntimeException e) {
+            job.finish(JobState.FAILED, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    /**
+     * Purge every chunk of one tier; false if the job was stopped before the tier was empty
+     */
+    private boolean purgeAll(PurgeJob job, boolean archived) throws InterruptedException {
+        long afterId = 0;
+        while (job.awaitRunnable()) {
+            final long cursor = afterId;
+            ChunkResult chunk = transactionTemplate.execute(status ->
+                    archived ? purgeArchivedChunk(cursor) : purgeChunk(cursor));
+            if (chunk == null) {
+                return true;
+            }
+            // Committed: take the removed history out of the in-memory counts
+            statusTransitionService.subtract(chunk.transitions);
+            statusChangeRankingService.remove(chunk.ids);
+            job.record(chunk);
+            afterId = chunk.lastId;
+            if (chunkDelayMillis > 0) {
+                Thread.sleep(chunkDelayMillis);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Delete one chunk of soft-deleted suggestions and their children; null when none are left
+     */
+    private ChunkResult purgeChunk(long afterId) {
+        List<Long> ids = suggestionRepository.findDeletedIdsAfter(afterId, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return null;
+        }
+        ChunkResult result = new ChunkResult();
+        result.transitions = statusHistoryRepository.countTransitionsBySuggestionIdIn(ids);
+        result.historyDeleted = statusHistoryRepository.deleteBySuggestionIdIn(ids);
+        summaryRepository.deleteBySuggestionIdIn(ids);
+        result.votesDeleted = voteRepository.deleteBySuggestionIdIn(ids);
+        result.suggestionsDeleted = suggestionRepository.deleteDeletedByIdIn(ids);
+        result.ids = ids;
+        result.lastId = ids.get(ids.size() - 1);
+        return result;
+    }
+
+    /**
+     * Same as {@link #purgeChunk} for suggestions that were archived after being deleted
+     */
+    private ChunkResult purgeArchivedChunk(long afterId) {
+        List<Long> ids = archivedSuggestionRepository.findDeletedIdsAfter(afterId, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return null;
+        }
+        ChunkResult result = new ChunkResult();
+        result.transitions = statusHistoryRepository.countTransitionsBySuggestionIdIn(ids);
+        result.historyDeleted = archivedStatusHistoryRepository.deleteBySuggestionIdIn(ids);
+        summaryRepository.deleteBySuggestionIdIn(ids);
+        result.votesDeleted = archivedVoteRepository.deleteBySuggestionIdIn(ids);
+        result.suggestionsDeleted = archivedSuggestionRepository.deleteDeletedByIdIn(ids);
+        result.ids = ids;
+        result.lastId = ids.get(ids.size() - 1);
+        return result;
+    }
+
+    private void trimFinishedJobs() {
+        Iterator<PurgeJob> it = jobs.values().iterator();
+        while (jobs.size() > MAX_RETAINED_JOBS && it.hasNext()) {
+            if (it.next().isFinished()) {
+                it.remove();
+            }
+        }
+    }
+
+    private static final class ChunkResult {
+        private List<Long> ids;
+        private long lastId;
+        private int suggestionsDeleted;
+        private int votesDeleted;
+        private int historyDeleted;
+        private List<Object[]> transitions;
+    }
+
+    public enum JobState {
+        RUNNING,
+        PAUSED,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    /**
+     * Progress of one purge run
+     */
+    public static class PurgeJob {
+        private final String id;
+        private final String requestedBy;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile JobState state = JobState.RUNNING;
+        private volatile String error;
+        private volatile long chunks;
+        private volatile long suggestionsDeleted;
+        private volatile long votesDeleted;
+        private volatile long historyDeleted;
+        private boolean pauseRequested;
+
+        PurgeJob(String id, String requestedBy) {
+            this.id = id;
+            this.requestedBy = requestedBy;
+        }
+
+        synchronized void requestPause(boolean pause) {
+            pauseRequested = pause;
+            notifyAll();
+        }
+
+        /**
+         * Block while paused; false once the job has been finished
+         */
+        synchronized boolean awaitRunnable() throws InterruptedException {
+            while (pauseRequested) {
+                state = JobState.PAUSED;
+                wait();
+            }
+            if (isFinished()) {
+                return false;
+            }
+            state = JobState.RUNNING;
+            return true;
+        }
+
+        void record(ChunkResult chunk) {
+            chunks++;
+            suggestionsDeleted += chunk.suggestionsDeleted;
+            votesDeleted += chunk.votesDeleted;
+            historyDeleted += chunk.historyDeleted;
+        }
+
+        synchronized void finish(JobState finalState, String message) {
+            state = finalState;
+            error = message;
+            finishedAt = LocalDateTime.now();
+        }
+
+        public boolean isFinished() {
+            return state == JobState.COMPLETED || state == JobState.FAILED || state == JobState.CANCELLED;
+        }
+
+        public String getId() { return id; }
+        public String getRequestedBy() { return requestedBy; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getFinishedAt() { return finishedAt; }
+        public JobState getState() { return state; }
+        public String getError() { return error; }
+        public long getChunks() { return chunks; }
+        public long getSuggestionsDeleted() { return suggestionsDeleted; }
+        public long getVotesDeleted() { return votesDeleted; }
+        public long getHistoryDeleted() { return historyDeleted; }
+    }
+}
@@ -0,0 +1,218 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fleetstudio.Employee.Suggestion.cache.ResponseCache;
+import com.fleetstudio.Employee.Suggestion.datasource.PrimaryReads;
+import com.fleetstudio.Employee.Suggestion.dto.SuggestionResponse;
+import com.fleetstudio.Employee.Suggestion.event.EmployeeChangedEvent;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Serialized-response cache for the suggestion read endpoints.
+ *
+ * Feed entries are scoped by status filter ("ALL" or a status name) and keyed by the
+ * rest of the query shape. Writes invalidate only what they touch: creates, deletes and
+ * status changes shift the pages of the affected scopes, while edits and vote changes
+ * only drop the entries that contain the suggestion. Misses load from the primary, so an
+ * entry is never filled from a replica that has not seen the write yet.
+ */
+@Service
+public class SuggestionReadCache {
+
+    public static final String SCOPE_ALL = "ALL";
+    private static final String SCOPE_DETAIL = "DETAIL";
+    private static final String FULL_SHAPE = "full";
+
+    private final ResponseCache cache;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public SuggestionReadCache(ObjectMapper objectMapper,
+                               @Value("${suggestions.cache.max-entries:2000}") int maxEntries,
+                               @Value("${suggestions.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.cache = new ResponseCache(maxEntries, ttlSeconds * 1000);
+    }
+
+    public static String scopeOf(SuggestionStatus status) {
+        return status == null ? SCOPE_ALL : status.name();
+    }
+
+    /**
+     * Cached body of a non-paginated feed
+     */
+    public byte[] getList(String scope, String shape, Supplier<List<SuggestionResponse>> loader) {
+        return getList(scope, shape, loader, SuggestionResponse::getId);
+    }
+
+    /**
+     * Cached body of a non-paginated feed of any row type (e.g. sparse fieldsets)
+     */
+    public <T> byte[] getList(String scope, String shape, Supplier<List<T>> loader, Function<T, Long> idOf) {
+        String key = scope + "|" + shape;
+        byte[] body = cache.get(key);
+        if (body != null) {
+            return body;
+        }
+        long epoch = cache.currentEpoch();
+        List<T> value = PrimaryReads.call(loader);
+        body = serialize(value);
+        cache.put(key, scope, value.stream().map(idOf).toList(), body, epoch);
+        return body;
+    }
+
+    /**
+     * Cached body of a paginated feed
+     */
+    public byte[] getPage(String scope, String shape, Supplier<Page<SuggestionResponse>> loader) {
+        return getPage(scope, shape, loader, SuggestionResponse::getId);
+    }
+
+    /**
+     * Cached body of a paginated feed of any row type
+     */
+    public <T> byte[] getPage(String scope, String shape, Supplier<Page<T>> loader, Function<T, Long> idOf) {
+        String key = scope + "|" + shape;
+        byte[] body = cache.get(key);
+        if (body != null) {
+            return body;
+        }
+        long epoch = cache.currentEpoch();
+        Page<T> value = PrimaryReads.call(loader);
+        body = serialize(value);
+        cache.put(key, scope, value.getContent().stream().map(idOf).toList(), body, epoch);
+        return body;
+    }
+
+    /**
+     * Cached body of a single suggestion in the given shape (the full detail or a sparse
+     * fieldset); misses are not cached
+     */
+    public <T> Optional<byte[]> getDetail(Long id, String shape, Supplier<Optional<T>> loader) {
+        String key = SCOPE_DETAIL + "|" + id + "|" + shape;
+        byte[] body = cache.get(key);
+        if (body != null) {
+            return Optional.of(body);
+        }
+        long epoch = cache.currentEpoch();
+        Optional<T> value = PrimaryReads.call(loader);
+        if (value.isEmpty()) {
+            return Optional.empty();
+        }
+        body = serialize(value.get());
+        cache.put(key, SCOPE_DETAIL, List.of(id), body, epoch);
+        return Optional.of(body);
+    }
+
+    /**
+     * Body of a batch lookup: one entry per requested id, in request order, with
+     * {@code "found": false} for ids that are not live. Ids cached by an earlier batch are
+     * served from the cache; the rest are loaded with a single query and cached one by one.
+     */
+    public byte[] getBatch(List<Long> ids, Function<Collection<Long>, List<SuggestionResponse>> loader) {
+        Map<Long, byte[]> bodies = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (!bodies.containsKey(id) && !missing.contains(id)) {
+                byte[] body = cache.get(SCOPE_DETAIL + "|" + id + "|" + FULL_SHAPE);
+                if (body != null) {
+                    bodies.put(id, body);
+                } else {
+                    missing.add(id);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            long epoch = cache.currentEpoch();
+            for (SuggestionResponse response : PrimaryReads.call(() -> loader.apply(missing))) {
+                byte[] body = serialize(response);
+                cache.put(SCOPE_DETAIL + "|" + response.getId() + "|" + FULL_SHAPE, SCOPE_DETAIL,
+                        List.of(response.getId()), body, epoch);
+                bodies.put(response.getId(), body);
+            }
+        }
+
+        // Splice the cached bodies in as-is rather than re-serializing them
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            byte[] body = bodies.get(id);
+            if (i > 0) {
+                out.write(',');
+            }
+            if (body != null) {
+                out.writeBytes(("{\"id\":" + id + ",\"found\":true,\"suggestion\":").getBytes(StandardCharsets.UTF_8));
+                out.writeBytes(body);
+                out.write('}');
+            } else {
+                out.writeBytes(("{\"id\":" + id + ",\"found\":false}").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    public ResponseCache.Stats getStats() {
+        return cache.stats();
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        Long id = event.getSuggestionId();
+        switch (event.getType()) {
+            case CREATED, DELETED, ARCHIVED -> {
+                cache.invalidateScope(SCOPE_ALL);
+                cache.invalidateScope(scopeOf(event.getStatus()));
+                cache.invalidateId(id);
+            }
+            case STATUS_CHANGED -> {
+                cache.invalidateScope(scopeOf(event.getStatus()));
+                if (event.getPreviousStatus() != null) {
+                    cache.invalidateScope(scopeOf(event.getPreviousStatus()));
+                }
+                cache.invalidateId(id);
+            }
+            case UPDATED, VOTE_COUNT_CHANGED -> cache.invalidateId(id);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        // Submitter names are embedded in cached bodies; renames and removals are rare
+        if (event.getType() != EmployeeChangedEvent.Type.CREATED) {
+            cache.invalidateAll();
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize suggestion response", e);
+        }
+    }
+}
@@ -1,41 +1,67 @@
 package com.fleetstudio.Employee.Suggestion.service;
 
 
+import com.fleetstudio.Employee.Suggestion.dto.SuggestionDetailResponse;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
 import com.fleetstudio.Employee.Suggestion.model.Employee;
 
 import com.fleetstudio.Employee.Suggestion.model.Suggestion;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
 import com.fleetstudio.Employee.Suggestion.model.SuggestionStatusHistory;
 import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistoryOutboxRepository;
 import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
 import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class SuggestionService {
 
+    public static final int MAX_BULK_IDS = 1000;
+    private static final int BULK_CHUNK_SIZE = 200;
+
     private final SuggestionRepository suggestionRepository;
     private final EmployeeRepository employeeRepository;
     private final SuggestionStatusHistoryRepository statusHistoryRepository;
+    private final StatusHistoryOutboxRepository outboxRepository;
+    private final StatusHistoryWriter statusHistoryWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public SuggestionService(SuggestionRepository suggestionRepository,
                            EmployeeRepository employeeRepository,
-                           SuggestionStatusHistoryRepository statusHistoryRepository) {
+                           SuggestionStatusHistoryRepository statusHistoryRepository,
+                           StatusHistoryOutboxRepository outboxRepository,
+                           StatusHistoryWriter statusHistoryWriter,
+                           ApplicationEventPublisher eventPublisher,
+                           TransactionTemplate transactionTemplate) {
         this.suggestionRepository = suggestionRepository;
         this.employeeRepository = employeeRepository;
         this.statusHistoryRepository = statusHistoryRepository;
+        this.outboxRepository = outboxRepository;
+        this.statusHistoryWriter = statusHistoryWriter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
@@ -63,6 +89,15 @@ public class SuggestionService {
         return suggestionRepository.findByIdAndDeletedFalse(id);
     }
 
+    /**
+     * Suggestion with its votes and status history (non-deleted only)
+     */
+    @Transactional(readOnly = true)
+    public Optional<SuggestionDetailResponse> getSuggestionDetail(Long id) {
+        return suggestionRepository.findByIdAndDeletedFalse(id)
+                .map(s -> new SuggestionDetailResponse(s, outboxRepository.findBySuggestionIdOrderByIdAsc(id)));
+    }
+
     /**
      * Create a new suggestion
      */
@@ -82,6 +117,7 @@ public class SuggestionService {
         // Create initial status history entry
         createStatusHistoryEntry(savedSuggestion, null, SuggestionStatus.OPEN, "System");
 
+        eventPublisher.publishEvent(SuggestionChangedEvent.of(SuggestionChangedEvent.Type.CREATED, savedSuggestion));
         return savedSuggestion;
     }
 
@@ -97,7 +133,9 @@ public class SuggestionService {
         suggestion.setTitle(title);
         suggestion.setDescription(description);
 
-        return suggestionRepository.save(suggestion);
+        Suggestion updatedSuggestion = suggestionRepository.save(suggestion);
+        eventPublisher.publishEvent(SuggestionChangedEvent.of(SuggestionChangedEvent.Type.UPDATED, updatedSuggestion));
+        return updatedSuggestion;
     }
 
     /**
@@ -113,15 +151,108 @@ public class SuggestionService {
             throw new IllegalArgumentException("Suggestion is already in " + newStatus.getDisplayName() + " status");
         }
 
+        LocalDateTime previousStatusSince = latest(statusHistoryRepository.findStatusEnteredAt(id, previousStatus),
+                outboxRepository.findStatusEnteredAt(id, previousStatus));
+
         suggestion.setStatus(newStatus);
         Suggestion updatedSuggestion = suggestionRepository.save(suggestion);
 
         // Create status history entry
         createStatusHistoryEntry(updatedSuggestion, previousStatus, newStatus, adminName, reason);
 
+        eventPublisher.publishEvent(new SuggestionChangedEvent(
+                SuggestionChangedEvent.Type.STATUS_CHANGED, updatedSuggestion, previousStatus, previousStatusSince));
         return updatedSuggestion;
     }
 
+    /**
+     * Change the status of many suggestions (Admin only), reporting the outcome per id in
+     * request order. Each chunk is one transaction: a locking select that captures the
+     * previous statuses, then a single set-based update; the history entries of a chunk
+     * go to the outbox in the same transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<StatusChangeOutcome> bulkChangeStatus(List<Long> ids, SuggestionStatus newStatus,
+                                                      String adminName, String reason) {
+        if (newStatus == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one suggestion id is required");
+        }
+        if (ids.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_IDS + " suggestions can be updated at once");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Suggestion ids must not be null");
+        }
+
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, StatusChangeOutcome> outcomes = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size()));
+            transactionTemplate.executeWithoutResult(status ->
+                    changeStatusChunk(chunk, newStatus, adminName, reason, outcomes));
+        }
+
+        List<StatusChangeOutcome> results = new ArrayList<>(distinct.size());
+        for (Long id : distinct) {
+            results.add(outcomes.get(id));
+        }
+        return results;
+    }
+
+    private void changeStatusChunk(List<Long> ids, SuggestionStatus newStatus, String adminName, String reason,
+                                   Map<Long, StatusChangeOutcome> outcomes) {
+        Map<Long, Suggestion> live = new HashMap<>();
+        for (Suggestion suggestion : suggestionRepository.findLiveByIdInForUpdate(ids)) {
+            live.put(suggestion.getId(), suggestion);
+        }
+
+        List<Suggestion> changing = new ArrayList<>();
+        for (Long id : ids) {
+            Suggestion suggestion = live.get(id);
+            if (suggestion == null) {
+                outcomes.put(id, StatusChangeOutcome.failed(id, "Suggestion with ID " + id + " not found"));
+            } else if (suggestion.getStatus() == newStatus) {
+                outcomes.put(id, StatusChangeOutcome.failed(id,
+                        "Suggestion is already in " + newStatus.getDisplayName() + " status"));
+            } else {
+                changing.add(suggestion);
+            }
+        }
+        if (changing.isEmpty()) {
+            return;
+        }
+
+        List<Long> changingIds = changing.stream().map(Suggestion::getId).toList();
+        Map<Long, Map<SuggestionStatus, LocalDateTime>> enteredAt = new HashMap<>();
+        List<Object[]> enteredRows = new ArrayList<>(statusHistoryRepository.findStatusEnteredAtByIdIn(changingIds));
+        enteredRows.addAll(outboxRepository.findStatusEnteredAtByIdIn(changingIds));
+        for (Object[] row : enteredRows) {
+            enteredAt.computeIfAbsent((Long) row[0], k -> new EnumMap<>(SuggestionStatus.class))
+                    .merge((SuggestionStatus) row[1], (LocalDateTime) row[2], SuggestionService::latest);
+        }
+
+        // Rows are locked, so the update hits exactly the suggestions read above; it also
+        // detaches them, leaving the loaded objects free to carry the new state into the events
+        LocalDateTime now = LocalDateTime.now();
+        suggestionRepository.updateStatusByIdIn(changingIds, newStatus, now);
+
+        for (Suggestion suggestion : changing) {
+            SuggestionStatus previousStatus = suggestion.getStatus();
+            LocalDateTime previousStatusSince = enteredAt.getOrDefault(suggestion.getId(), Map.of()).get(previousStatus);
+            suggestion.setStatus(newStatus);
+            suggestion.setUpdatedAt(now);
+            suggestion.setVersion(suggestion.getVersion() + 1);
+
+            createStatusHistoryEntry(suggestion, previousStatus, newStatus, adminName, reason);
+            eventPublisher.publishEvent(new SuggestionChangedEvent(
+                    SuggestionChangedEvent.Type.STATUS_CHANGED, suggestion, previousStatus, previousStatusSince));
+            outcomes.put(suggestion.getId(), StatusChangeOutcome.changed(suggestion.getId(), previousStatus));
+        }
+    }
+
     /**
      * Soft delete suggestion (Admin only)
      */
@@ -135,6 +266,8 @@ public class SuggestionService {
         // Create status history entry for deletion
         createStatusHistoryEntry(suggestion, suggestion.getStatus(), suggestion.getStatus(), 
                                 adminName, "Suggestion deleted by admin");
+
+        eventPublisher.publishEvent(SuggestionChangedEvent.of(SuggestionChangedEvent.Type.DELETED, suggestion));
     }
 
     /**
@@ -314,19 +447,27 @@ public class SuggestionService {
     }
 
     /**
-     * Create status history entry with reason
+     * Create status history entry with reason (in the outbox, moved to the history by the writer)
      */
     private void createStatusHistoryEntry(Suggestion suggestion, SuggestionStatus previousStatus, 
                                         SuggestionStatus newStatus, String changedBy, String reason) {
-        SuggestionStatusHistory history = new SuggestionStatusHistory(
-            suggestion, previousStatus, newStatus, changedBy, reason);
-        statusHistoryRepository.save(history);
+        statusHistoryWriter.append(suggestion.getId(), previousStatus, newStatus, changedBy, reason);
     }
 
     /**
-     * Validate suggestion data
+     * Later of two optional instants; history entries may still be waiting in the outbox
      */
-    private void validateSuggestionData(String title, String description) {
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * Validate suggestion data (shared with the bulk import)
+     */
+    static void validateSuggestionData(String title, String description) {
         if (title == null || title.trim().isEmpty()) {
             throw new IllegalArgumentException("Suggestion title is required");
         }
@@ -343,7 +484,33 @@ public class SuggestionService {
 
     }
 
-    public void hardDeleteSuggestions() {
-         suggestionRepository.deleteByDeleted(true);
+    /**
+     * Result of one id in a bulk status change
+     */
+    public static class StatusChangeOutcome {
+        private final Long id;
+        private final boolean success;
+        private final SuggestionStatus previousStatus;
+        private final String error;
+
+        private StatusChangeOutcome(Long id, boolean success, SuggestionStatus previousStatus, String error) {
+            this.id = id;
+            this.success = success;
+            this.previousStatus = previousStatus;
+            this.error = error;
+        }
+
+        static StatusChangeOutcome changed(Long id, SuggestionStatus previousStatus) {
+            return new StatusChangeOutcome(id, true, previousStatus, null);
+        }
+
+        static StatusChangeOutcome failed(Long id, String error) {
+            return new StatusChangeOutcome(id, false, null, error);
+        }
+
+        public Long getId() { return id; }
+        public boolean isSuccess() { return success; }
+        public SuggestionStatus getPreviousStatus() { return previousStatus; }
+        public String getError() { return error; }
     }
-}
\ No newline at end of file
+}
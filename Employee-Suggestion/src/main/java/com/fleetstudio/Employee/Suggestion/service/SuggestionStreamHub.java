@@ -0,0 +1,357 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single fan-out hub behind {@code /api/suggestions/stream}.
+ *
+ * Committed suggestion events are buffered and flushed to every open emitter on a fixed
+ * interval. Vote-count updates are coalesced so each suggestion produces at most one
+ * "votes" frame per interval, and every frame is serialized once for all clients.
+ * Emitters use servlet async I/O, so idle connections do not hold a request thread.
+ *
+ * The flush and heartbeat only enqueue: every client has its own bounded queue, drained
+ * by at most one task at a time on a small writer pool, so a slow client delays nobody
+ * else and never the scheduler. A client whose queue fills up, or whose write has been
+ * stuck for longer than the write timeout, is dropped and has to reconnect.
+ */
+@Service
+public class SuggestionStreamHub {
+
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMillis;
+    private final int clientQueueBatches;
+    private final long writeTimeoutMillis;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final Object pendingLock = new Object();
+    private List<SuggestionUpdate> pendingUpdates = new ArrayList<>();
+    private Map<Long, Integer> pendingVoteCounts = new LinkedHashMap<>();
+    private final AtomicLong frameIds = new AtomicLong();
+    private final AtomicLong droppedClients = new AtomicLong();
+    private final ExecutorService writers;
+
+    @Autowired
+    public SuggestionStreamHub(ObjectMapper objectMapper,
+                               @Value("${suggestions.stream.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                               @Value("${suggestions.stream.client-queue-batches:32}") int clientQueueBatches,
+                               @Value("${suggestions.stream.write-timeout-ms:10000}") long writeTimeoutMillis,
+                               @Value("${suggestions.stream.writer-threads:8}") int writerThreads) {
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.clientQueueBatches = clientQueueBatches;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+        AtomicLong threadIds = new AtomicLong();
+        this.writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread thread = new Thread(r, "sse-writer-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Register a new client connection
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        register(emitter);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter) {
+        Client client = new Client(emitter);
+        emitter.onCompletion(client::close);
+        emitter.onTimeout(client::close);
+        emitter.onError(e -> client.close());
+        clients.add(client);
+        client.offer(SseEmitter.event().comment("connected").reconnectTime(5000).build());
+    }
+
+    public int getConnectionCount() {
+        return clients.size();
+    }
+
+    /**
+     * Clients closed because they fell behind or their writes failed
+     */
+    public long getDroppedClients() {
+        return droppedClients.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        if (event.getSuggestionId() == null) {
+            return;
+        }
+        synchronized (pendingLock) {
+            if (event.getType() == SuggestionChangedEvent.Type.VOTE_COUNT_CHANGED) {
+                pendingVoteCounts.put(event.getSuggestionId(), event.getVoteCount());
+            } else {
+                pendingUpdates.add(new SuggestionUpdate(event));
+            }
+        }
+    }
+
+    /**
+     * Flush buffered updates to every client
+     */
+    @Scheduled(fixedDelayString = "${suggestions.stream.flush-interval-ms:1000}")
+    public void flush() {
+        List<SuggestionUpdate> updates;
+        Map<Long, Integer> voteCounts;
+        synchronized (pendingLock) {
+            if (pendingUpdates.isEmpty() && pendingVoteCounts.isEmpty()) {
+                return;
+            }
+            updates = pendingUpdates;
+            voteCounts = pendingVoteCounts;
+            pendingUpdates = new ArrayList<>();
+            pendingVoteCounts = new LinkedHashMap<>();
+        }
+        if (clients.isEmpty()) {
+            return;
+        }
+
+        List<SseEmitter.SseEventBuilder> frames = new ArrayList<>(updates.size() + voteCounts.size());
+        for (SuggestionUpdate update : updates) {
+            frames.add(frame("suggestion", update));
+        }
+        for (Map.Entry<Long, Integer> entry : voteCounts.entrySet()) {
+            frames.add(frame("votes", new VoteCountUpdate(entry.getKey(), entry.getValue())));
+        }
+        broadcast(frames);
+    }
+
+    /**
+     * Keep idle connections open through proxies and weed out dead and stuck clients
+     */
+    @Scheduled(fixedDelayString = "${suggestions.stream.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        long stuckSince = System.currentTimeMillis() - writeTimeoutMillis;
+        for (Client client : clients) {
+            if (client.isWritingSince(stuckSince)) {
+                // Completed by its writer once the stuck send returns
+                client.fail(new IOException("Write stuck for over " + writeTimeoutMillis + " ms"));
+            }
+        }
+        if (!clients.isEmpty()) {
+            broadcast(List.of(SseEmitter.event().comment("ping")));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (Client client : clients) {
+            // A client stuck in a send holds the emitter's lock; the server closes it anyway
+            if (client.close() && !client.isWriting()) {
+                client.emitter.complete();
+            }
+        }
+        writers.shutdownNow();
+        writers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void broadcast(List<SseEmitter.SseEventBuilder> frames) {
+        // Render every frame once and queue the whole batch to each client as one send
+        Set<ResponseBodyEmitter.DataWithMediaType> batch = new LinkedHashSet<>();
+        for (SseEmitter.SseEventBuilder frame : frames) {
+            batch.addAll(frame.build());
+        }
+        for (Client client : clients) {
+            client.offer(batch);
+        }
+    }
+
+    private SseEmitter.SseEventBuilder frame(String name, Object payload) {
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(frameIds.incrementAndGet()))
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(payload), MediaType.APPLICATION_JSON);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize stream frame", e);
+        }
+    }
+
+    /**
+     * One connection and the batches waiting to be written to it. Only the client's own
+     * writer completes it after a failure, since a stuck send holds the emitter's lock.
+     */
+    private final class Client {
+        private final SseEmitter emitter;
+        private final Deque<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayDeque<>();
+        // A non-empty queue always has a drain task scheduled or running
+        private boolean draining;
+        private boolean closed;
+        private Throwable failure;
+        private volatile long writingSince;
+
+        private Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> batch) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() >= clientQueueBatches) {
+                    fail(new IOException("Client fell " + clientQueueBatches + " batches behind"));
+                    return;
+                }
+                queue.add(batch);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                writers.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                close();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> batch;
+                Throwable failed;
+                synchronized (this) {
+                    failed = failure;
+                    batch = closed ? null : queue.poll();
+                    if (batch == null) {
+                        draining = false;
+                    }
+                }
+                if (batch == null) {
+                    if (failed != null) {
+                        completeWithError(failed);
+                    }
+                    return;
+                }
+                writingSince = System.currentTimeMillis();
+                try {
+                    emitter.send(batch);
+                } catch (IOException | IllegalStateException e) {
+                    fail(e);
+                } finally {
+                    writingSince = 0;
+                }
+            }
+        }
+
+        boolean isWriting() {
+            return writingSince != 0;
+        }
+
+        boolean isWritingSince(long millis) {
+            long since = writingSince;
+            return since != 0 && since < millis;
+        }
+
+        /**
+         * Drop a client that fell behind or failed; its writer completes the emitter
+         */
+        synchronized void fail(Throwable cause) {
+            if (close()) {
+                failure = cause;
+                droppedClients.incrementAndGet();
+                if (!draining) {
+                    // No writer holds the emitter
+                    completeWithError(cause);
+                }
+            }
+        }
+
+        /**
+         * Stop accepting batches; false if already closed
+         */
+        synchronized boolean close() {
+            clients.remove(this);
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            queue.clear();
+            return true;
+        }
+
+        private void completeWithError(Throwable cause) {
+            try {
+                emitter.completeWithError(cause);
+            } catch (RuntimeException e) {
+                // Already completed
+            }
+        }
+    }
+
+    /**
+     * Frame payload for suggestion lifecycle changes
+     */
+    public static class SuggestionUpdate {
+        private final String type;
+        private final Long suggestionId;
+        private final String title;
+        private final SuggestionStatus status;
+        private final int voteCount;
+
+        public SuggestionUpdate(SuggestionChangedEvent event) {
+            this.type = event.getType().name();
+            this.suggestionId = event.getSuggestionId();
+            this.title = event.getTitle();
+            this.status = event.getStatus();
+            this.voteCount = event.getVoteCount();
+        }
+
+        public String getType() { return type; }
+        public Long getSuggestionId() { return suggestionId; }
+        public String getTitle() { return title; }
+        public SuggestionStatus getStatus() { return status; }
+        public int getVoteCount() { return voteCount; }
+    }
+
+    /**
+     * Frame payload for coalesced vote counts
+     */
+    public static class VoteCountUpdate {
+        private final Long suggestionId;
+        private final int voteCount;
+
+        public VoteCountUpdate(Long suggestionId, int voteCount) {
+            this.suggestionId = suggestionId;
+            this.voteCount = voteCount;
+        }
+
+        public Long getSuggestionId() { return suggestionId; }
+        public int getVoteCount() { return voteCount; }
+    }
+}
@@ -0,0 +1,119 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.EmployeeChangedEvent;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.index.PrefixTrie;
+import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Search-as-you-type over suggestion titles and employee names.
+ *
+ * Both tries are seeded once at startup and then kept in sync from domain events
+ * after each write commits, so keystrokes never reach MySQL.
+ */
+@Service
+public class TypeaheadService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final SuggestionRepository suggestionRepository;
+    private final EmployeeRepository employeeRepository;
+
+    private final PrefixTrie suggestionTitles = new PrefixTrie();
+    private final PrefixTrie employeeNames = new PrefixTrie();
+
+    @Autowired
+    public TypeaheadService(SuggestionRepository suggestionRepository,
+                            EmployeeRepository employeeRepository) {
+        this.suggestionRepository = suggestionRepository;
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Load every live suggestion title and employee name into the tries
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        suggestionTitles.clear();
+        for (Object[] row : suggestionRepository.findTitleRowsForActiveSuggestions()) {
+            Integer votes = (Integer) row[2];
+            suggestionTitles.put((Long) row[0], (String) row[1], votes != null ? votes : 0);
+        }
+
+        employeeNames.clear();
+        for (Object[] row : employeeRepository.findAllNameRows()) {
+            employeeNames.put((Long) row[0], (String) row[1], 0);
+        }
+    }
+
+    /**
+     * Top completions for the query, suggestions ranked by vote count
+     */
+    public TypeaheadResult suggest(String query, int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return new TypeaheadResult(
+                suggestionTitles.complete(query, k),
+                employeeNames.complete(query, k));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSuggestionChanged(SuggestionChangedEvent event) {
+        if (event.getSuggestionId() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED, UPDATED ->
+                    suggestionTitles.put(event.getSuggestionId(), event.getTitle(), event.getVoteCount());
+            case VOTE_COUNT_CHANGED ->
+                    suggestionTitles.updateWeight(event.getSuggestionId(), event.getVoteCount());
+            case DELETED, ARCHIVED -> suggestionTitles.remove(event.getSuggestionId());
+            default -> {
+                // Status changes do not affect completions
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getEmployeeId() == null) {
+            return;
+        }
+        if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+            employeeNames.remove(event.getEmployeeId());
+        } else {
+            employeeNames.put(event.getEmployeeId(), event.getName(), 0);
+        }
+    }
+
+    /**
+     * Result holder for typeahead lookups
+     */
+    public static class TypeaheadResult {
+        private final List<PrefixTrie.Completion> suggestions;
+        private final List<PrefixTrie.Completion> employees;
+
+        public TypeaheadResult(List<PrefixTrie.Completion> suggestions, List<PrefixTrie.Completion> employees) {
+            this.suggestions = suggestions;
+            this.employees = employees;
+        }
+
+        public List<PrefixTrie.Completion> getSuggestions() {
+            return suggestions;
+        }
+
+        public List<PrefixTrie.Completion> getEmployees() {
+            return employees;
+        }
+    }
+}
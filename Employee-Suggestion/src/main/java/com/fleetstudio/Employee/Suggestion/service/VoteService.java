@@ -1,6 +1,7 @@
 package com.fleetstudio.Employee.Suggestion.service;
 
 
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
 import com.fleetstudio.Employee.Suggestion.model.Employee;
 import com.fleetstudio.Employee.Suggestion.model.Suggestion;
 import com.fleetstudio.Employee.Suggestion.model.Vote;
@@ -8,6 +9,7 @@ import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
 import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
 import com.fleetstudio.Employee.Suggestion.repository.VoteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,14 +25,17 @@ public class VoteService {
     private final VoteRepository voteRepository;
     private final SuggestionRepository suggestionRepository;
     private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public VoteService(VoteRepository voteRepository, 
                       SuggestionRepository suggestionRepository,
-                      EmployeeRepository employeeRepository) {
+                      EmployeeRepository employeeRepository,
+                      ApplicationEventPublisher eventPublisher) {
         this.voteRepository = voteRepository;
         this.suggestionRepository = suggestionRepository;
         this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -59,8 +64,8 @@ public class VoteService {
         voteRepository.save(vote);
 
         // Update suggestion vote count
-        suggestion.incrementVoteCount();
-        suggestionRepository.save(suggestion);
+        suggestionRepository.incrementVoteCount(suggestionId, LocalDateTime.now());
+        publishVoteCountChanged(suggestionId);
 
         return true; // Vote successful
     }
@@ -72,8 +77,9 @@ public class VoteService {
         validateDeviceIdentifier(deviceIdentifier);
 
         // Check if suggestion exists and is not deleted
-        Suggestion suggestion = suggestionRepository.findByIdAndDeletedFalse(suggestionId)
-            .orElseThrow(() -> new IllegalArgumentException("Suggestion with ID " + suggestionId + " not found or deleted"));
+        if (suggestionRepository.findByIdAndDeletedFalse(suggestionId).isEmpty()) {
+            throw new IllegalArgumentException("Suggestion with ID " + suggestionId + " not found or deleted");
+        }
 
         // Check if vote exists
         Optional<Vote> existingVote = voteRepository.findBySuggestionIdAndDeviceIdentifier(suggestionId, deviceIdentifier);
@@ -86,8 +92,8 @@ public class VoteService {
         voteRepository.delete(existingVote.get());
 
         // Update suggestion vote count
-        suggestion.decrementVoteCount();
-        suggestionRepository.save(suggestion);
+        suggestionRepository.decrementVoteCount(suggestionId, LocalDateTime.now());
+        publishVoteCountChanged(suggestionId);
 
         return true; // Unvote successful
     }
@@ -248,6 +254,7 @@ public class VoteService {
         // Reset vote count
         suggestion.setVoteCount(0);
         suggestionRepository.save(suggestion);
+        publishVoteCountChanged(suggestion);
     }
 
     /**
@@ -275,6 +282,19 @@ public class VoteService {
         return "device_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 10000);
     }
 
+    private void publishVoteCountChanged(Suggestion suggestion) {
+        eventPublisher.publishEvent(
+                SuggestionChangedEvent.of(SuggestionChangedEvent.Type.VOTE_COUNT_CHANGED, suggestion));
+    }
+
+    /**
+     * Publish the count written by an atomic update; the row is read back so the event
+     * carries the count this transaction produced
+     */
+    private void publishVoteCountChanged(Long suggestionId) {
+        suggestionRepository.findById(suggestionId).ifPresent(this::publishVoteCountChanged);
+    }
+
     /**
      * Validate device identifier
      */
@@ -1,5 +1,6 @@
-INSERT IGNORE INTO employees (name, email, password, department, position, role, created_at, updated_at)
+INSERT IGNORE INTO employees (id, name, email, password, department, position, role, created_at, updated_at)
 VALUES (
+  1,
   'Admin',
   'admin@fleetstudio.com',
   '$2a$10$Fl0/6n/zkifJEwOg3AL9/.ZdxX2rQpSa3qdrZMl1xm5jJQu8h.C3S',
@@ -9,3 +10,24 @@ VALUES (
   NOW(),
   NOW()
 );
+
+INSERT IGNORE INTO change_sequences (name, current_value)
+VALUES ('suggestion_changes', 0);
+
+-- Never hand out an id below the rows already present (tables that predate pooled ids,
+-- or rows Hibernate seeded before the admin insert above)
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT * FROM (SELECT 'employees' AS sequence_name, COALESCE(MAX(id), 0) + 1 AS seed FROM employees) AS s
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generators.next_val, s.seed);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT * FROM (SELECT 'suggestions' AS sequence_name, COALESCE(MAX(id), 0) + 1 AS seed FROM suggestions) AS s
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generators.next_val, s.seed);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT * FROM (SELECT 'votes' AS sequence_name, COALESCE(MAX(id), 0) + 1 AS seed FROM votes) AS s
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generators.next_val, s.seed);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT * FROM (SELECT 'suggestion_status_history' AS sequence_name, COALESCE(MAX(id), 0) + 1 AS seed FROM suggestion_status_history) AS s
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generators.next_val, s.seed);
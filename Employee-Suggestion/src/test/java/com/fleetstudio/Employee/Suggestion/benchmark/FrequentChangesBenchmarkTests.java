@@ -0,0 +1,151 @@
+package com.fleetstudio.Employee.Suggestion.benchmark;
+
+import com.fleetstudio.Employee.Suggestion.dto.FrequentChangesPage;
+import com.fleetstudio.Employee.Suggestion.model.Employee;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
+import com.fleetstudio.Employee.Suggestion.service.StatusChangeRankingService;
+import com.fleetstudio.Employee.Suggestion.service.StatusHistoryService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Frequent-changes analytics over 1M status history rows: paging the in-memory ranking
+ * against one run of the entity-grouped query the endpoint used to repeat for every page.
+ * Needs a real database (DB_URL) and runs only with -Pbenchmark; the seed is rolled back
+ * and the ranking rebuilt afterwards, so it leaves nothing behind.
+ */
+@SpringBootTest
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class FrequentChangesBenchmarkTests {
+
+    private static final int SUGGESTIONS = 10_000;
+    private static final int HISTORY_ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = 3;
+
+    // The query the endpoint used to run: groups by the entity and hydrates every suggestion
+    private static final String ENTITY_GROUPED =
+            "SELECT sh.suggestion, COUNT(sh) as changeCount FROM SuggestionStatusHistory sh " +
+            "GROUP BY sh.suggestion HAVING COUNT(sh) > 1 ORDER BY changeCount DESC";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private StatusHistoryService statusHistoryService;
+
+    @Autowired
+    private StatusChangeRankingService statusChangeRankingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void rankedPagesBeatOneGroupedQuery() {
+        Employee admin = employeeRepository.findByEmail("admin@fleetstudio.com").orElseThrow();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                seed(admin);
+                statusChangeRankingService.rebuild();
+
+                long start = System.nanoTime();
+                List<?> grouped = entityManager.createQuery(ENTITY_GROUPED).getResultList();
+                long entityGrouped = System.nanoTime() - start;
+                entityManager.clear();
+
+                start = System.nanoTime();
+                FrequentChangesPage first = statusHistoryService.getSuggestionsWithMultipleStatusChanges(null, PAGE_SIZE);
+                FrequentChangesPage page = first;
+                int pages = 1;
+                while (page.isHasMore() && pages < PAGES) {
+                    page = statusHistoryService.getSuggestionsWithMultipleStatusChanges(page.getNextCursor(), PAGE_SIZE);
+                    pages++;
+                }
+                long ranked = System.nanoTime() - start;
+
+                assertTrue(grouped.size() >= SUGGESTIONS / 2);
+                assertEquals(PAGES, pages);
+                assertEquals(PAGE_SIZE, page.getEntries().size());
+                assertSeededCountsMatch(first);
+                assertTrue(ranked < entityGrouped, () -> String.format(
+                        "%d ranked pages took %.1f ms, one grouped query %.1f ms",
+                        PAGES, ranked / 1e6, entityGrouped / 1e6));
+            });
+        } finally {
+            // Drop the rolled-back seed from the ranking
+            statusChangeRankingService.rebuild();
+        }
+    }
+
+    /**
+     * The ranking agrees with a direct count for every seeded suggestion on the page
+     */
+    private void assertSeededCountsMatch(FrequentChangesPage page) {
+        for (FrequentChangesPage.Entry entry : page.getEntries()) {
+            if (!entry.getTitle().startsWith("Frequent benchmark ")) {
+                continue;
+            }
+            long counted = ((Number) entityManager.createNativeQuery(
+                    "SELECT COUNT(*) FROM suggestion_status_history WHERE suggestion_id = :id")
+                    .setParameter("id", entry.getSuggestionId())
+                    .getSingleResult()).longValue();
+            assertEquals(counted, entry.getStatusChangeCount(), "suggestion " + entry.getSuggestionId());
+        }
+    }
+
+    /**
+     * Suggestions with long descriptions and 1M history rows skewed towards the first ones
+     */
+    private void seed(Employee admin) {
+        Employee submitter = entityManager.getReference(Employee.class, admin.getId());
+        String description = "Frequent-changes benchmark description. ".repeat(50);
+        for (int i = 0; i < SUGGESTIONS; i++) {
+            entityManager.persist(new Suggestion("Frequent benchmark " + i, description, submitter, false));
+            if ((i + 1) % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                submitter = entityManager.getReference(Employee.class, admin.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        long baseId = ((Number) entityManager.createNativeQuery(
+                "SELECT GREATEST(COALESCE((SELECT MAX(id) FROM suggestion_status_history), 0), " +
+                "COALESCE((SELECT MAX(next_val) FROM id_generators WHERE sequence_name = 'suggestion_status_history'), 0))")
+                .getSingleResult()).longValue() + 1;
+        String digit = "(SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4 " +
+                "UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9)";
+        int inserted = entityManager.createNativeQuery(
+                "INSERT INTO suggestion_status_history (id, suggestion_id, previous_status, new_status, " +
+                "changed_by, change_reason, created_at) " +
+                "SELECT :baseId + n.n, t.id, 'OPEN', 'UNDER_REVIEW', 'benchmark', NULL, NOW() - INTERVAL n.n SECOND " +
+                "FROM (SELECT d0.d + 10 * d1.d + 100 * d2.d + 1000 * d3.d + 10000 * d4.d + 100000 * d5.d AS n " +
+                "FROM " + digit + " d0, " + digit + " d1, " + digit + " d2, " + digit + " d3, " +
+                digit + " d4, " + digit + " d5) n " +
+                "JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS rn FROM suggestions " +
+                "WHERE title LIKE 'Frequent benchmark %') t " +
+                "ON t.rn = FLOOR(POW(MOD(n.n * 7919, 1000003) / 1000003, 2) * :suggestions)")
+                .setParameter("baseId", baseId)
+                .setParameter("suggestions", SUGGESTIONS)
+                .executeUpdate();
+        assertEquals(HISTORY_ROWS, inserted);
+    }
+}
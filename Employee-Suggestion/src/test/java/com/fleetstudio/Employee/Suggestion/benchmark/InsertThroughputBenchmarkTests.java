@@ -0,0 +1,128 @@
+package com.fleetstudio.Employee.Suggestion.benchmark;
+
+import com.fleetstudio.Employee.Suggestion.model.Employee;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatusHistory;
+import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Insert throughput with pooled ids and JDBC batching, measured against the same rows
+ * flushed one at a time, which leaves nothing to batch. Needs a real database (DB_URL)
+ * and runs only with -Pbenchmark; every run is rolled back, so it leaves no rows behind.
+ */
+@SpringBootTest
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class InsertThroughputBenchmarkTests {
+
+    private static final int ROWS = 5000;
+    private static final int CHUNK = 500;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void batchedSuggestionImportBeatsRowAtATime() {
+        Employee admin = employeeRepository.findByEmail("admin@fleetstudio.com").orElseThrow();
+
+        long rowAtATime = inRolledBackTransaction(() -> importSuggestions(admin, 1));
+        long batched = inRolledBackTransaction(() -> importSuggestions(admin, CHUNK));
+
+        assertFaster("suggestion import (suggestion + history)", batched, rowAtATime);
+    }
+
+    @Test
+    void batchedHistoryWritesBeatRowAtATime() {
+        Employee admin = employeeRepository.findByEmail("admin@fleetstudio.com").orElseThrow();
+
+        long rowAtATime = inRolledBackTransaction(() -> writeHistory(admin, 1));
+        long batched = inRolledBackTransaction(() -> writeHistory(admin, CHUNK));
+
+        assertFaster("status history writes", batched, rowAtATime);
+    }
+
+    private void importSuggestions(Employee admin, int flushInterval) {
+        Employee submitter = entityManager.getReference(Employee.class, admin.getId());
+        for (int i = 0; i < ROWS; i++) {
+            Suggestion suggestion = new Suggestion("Benchmark suggestion " + i,
+                    "Inserted by the throughput benchmark", submitter, false);
+            entityManager.persist(suggestion);
+            entityManager.persist(new SuggestionStatusHistory(suggestion, null,
+                    SuggestionStatus.OPEN, "benchmark", "Initial submission"));
+            if (flushEvery(i, flushInterval)) {
+                submitter = entityManager.getReference(Employee.class, admin.getId());
+            }
+        }
+    }
+
+    private void writeHistory(Employee admin, int flushInterval) {
+        Employee submitter = entityManager.getReference(Employee.class, admin.getId());
+        List<Long> targetIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Suggestion suggestion = new Suggestion("Benchmark target " + i, "History target", submitter, false);
+            entityManager.persist(suggestion);
+            targetIds.add(suggestion.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        for (int i = 0; i < ROWS; i++) {
+            Suggestion target = entityManager.getReference(Suggestion.class, targetIds.get(i % targetIds.size()));
+            entityManager.persist(new SuggestionStatusHistory(target, SuggestionStatus.OPEN,
+                    SuggestionStatus.UNDER_REVIEW, "benchmark", "Throughput run"));
+            flushEvery(i, flushInterval);
+        }
+    }
+
+    /**
+     * Flushes every {@code interval} rows and clears every CHUNK rows, so both runs carry the
+     * same persistence context and differ only in how many rows each flush can batch
+     */
+    private boolean flushEvery(int i, int interval) {
+        if ((i + 1) % interval == 0) {
+            entityManager.flush();
+        }
+        if ((i + 1) % CHUNK != 0) {
+            return false;
+        }
+        entityManager.clear();
+        return true;
+    }
+
+    private long inRolledBackTransaction(Runnable work) {
+        long[] elapsed = new long[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            long start = System.nanoTime();
+            work.run();
+            entityManager.flush();
+            elapsed[0] = System.nanoTime() - start;
+            status.setRollbackOnly();
+        });
+        entityManager.clear();
+        return elapsed[0];
+    }
+
+    private static void assertFaster(String name, long batchedNanos, long rowAtATimeNanos) {
+        assertTrue(batchedNanos < rowAtATimeNanos, () -> String.format(
+                "%s: %d rows batched took %.2fs, row at a time %.2fs",
+                name, ROWS, batchedNanos / 1e9, rowAtATimeNanos / 1e9));
+    }
+}
@@ -0,0 +1,97 @@
+package com.fleetstudio.Employee.Suggestion.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheTests {
+
+	@Test
+	void expiredEntriesAreMissesAndEvicted() {
+		ResponseCache cache = new ResponseCache(10, 0);
+		cache.put("a", "ALL", List.of(1L), body("a"), cache.currentEpoch());
+
+		assertNull(cache.get("a"));
+		ResponseCache.Stats stats = cache.stats();
+		assertEquals(0, stats.getSize());
+		assertEquals(1, stats.getEvictions());
+		assertEquals(1, stats.getMisses());
+	}
+
+	@Test
+	void overflowEvictsTheLeastRecentlyUsedEntry() {
+		ResponseCache cache = new ResponseCache(2, 60_000);
+		cache.put("a", "ALL", List.of(1L), body("a"), cache.currentEpoch());
+		cache.put("b", "ALL", List.of(2L), body("b"), cache.currentEpoch());
+		// Reading "a" makes "b" the eldest
+		cache.get("a");
+		cache.put("c", "ALL", List.of(3L), body("c"), cache.currentEpoch());
+
+		assertNull(cache.get("b"));
+		assertArrayEquals(body("a"), cache.get("a"));
+		assertArrayEquals(body("c"), cache.get("c"));
+		assertEquals(2, cache.stats().getSize());
+		assertEquals(1, cache.stats().getEvictions());
+
+		// The evicted entry no longer answers to its id
+		cache.invalidateId(2L);
+		assertEquals(0, cache.stats().getInvalidations());
+	}
+
+	@Test
+	void invalidatesByScopeAndById() {
+		ResponseCache cache = new ResponseCache(10, 60_000);
+		cache.put("all", "ALL", List.of(1L, 2L), body("all"), cache.currentEpoch());
+		cache.put("open", "OPEN", List.of(1L), body("open"), cache.currentEpoch());
+		cache.put("done", "IMPLEMENTED", List.of(3L), body("done"), cache.currentEpoch());
+
+		cache.invalidateScope("OPEN");
+		assertNull(cache.get("open"));
+		assertArrayEquals(body("all"), cache.get("all"));
+
+		cache.invalidateId(2L);
+		assertNull(cache.get("all"));
+		assertArrayEquals(body("done"), cache.get("done"));
+		assertEquals(2, cache.stats().getInvalidations());
+
+		cache.invalidateAll();
+		assertNull(cache.get("done"));
+		assertEquals(3, cache.stats().getInvalidations());
+	}
+
+	@Test
+	void aLoadThatRacedAnInvalidationIsNotStored() {
+		ResponseCache cache = new ResponseCache(10, 60_000);
+		long epoch = cache.currentEpoch();
+		// A write lands while the value is being loaded
+		cache.invalidateId(1L);
+		cache.put("a", "ALL", List.of(1L), body("stale"), epoch);
+
+		assertNull(cache.get("a"));
+
+		cache.put("a", "ALL", List.of(1L), body("fresh"), cache.currentEpoch());
+		assertArrayEquals(body("fresh"), cache.get("a"));
+	}
+
+	@Test
+	void countsHitsAndMisses() {
+		ResponseCache cache = new ResponseCache(10, 60_000);
+		cache.get("a");
+		cache.put("a", "ALL", List.of(), body("a"), cache.currentEpoch());
+		cache.get("a");
+		cache.get("a");
+
+		ResponseCache.Stats stats = cache.stats();
+		assertEquals(2, stats.getHits());
+		assertEquals(1, stats.getMisses());
+		assertEquals(2.0 / 3, stats.getHitRatio(), 1e-9);
+	}
+
+	private static byte[] body(String value) {
+		return value.getBytes();
+	}
+}
@@ -0,0 +1,55 @@
+package com.fleetstudio.Employee.Suggestion.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTests {
+
+	private final ReplicaLagMonitor lagMonitor =
+			new ReplicaLagMonitor(new DriverManagerDataSource(), new DriverManagerDataSource(), 1000);
+	private final ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(60_000);
+	private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+			new DriverManagerDataSource(), new DriverManagerDataSource(), lagMonitor, readYourWrites);
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyGoesToReplicaOnlyWhileLagIsMeasuredAndLow() {
+		assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routing.route(true));
+
+		lagMonitor.recordLag(200L);
+		assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, routing.route(true));
+		assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routing.route(false));
+
+		lagMonitor.recordLag(5000L);
+		assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routing.route(true));
+
+		lagMonitor.recordLag(null);
+		assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routing.route(true));
+	}
+
+	@Test
+	void recentWriterAndPinnedReadsStayOnPrimary() {
+		lagMonitor.recordLag(0L);
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				"alice@example.com", null, AuthorityUtils.createAuthorityList("ROLE_EMPLOYEE")));
+		assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, routing.route(true));
+
+		readYourWrites.recordWrite();
+		assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routing.route(true));
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				"bob@example.com", null, AuthorityUtils.createAuthorityList("ROLE_EMPLOYEE")));
+		assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, routing.route(true));
+		assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, PrimaryReads.call(() -> routing.route(true)));
+	}
+}
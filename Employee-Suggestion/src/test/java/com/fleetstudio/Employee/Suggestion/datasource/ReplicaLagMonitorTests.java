@@ -0,0 +1,79 @@
+package com.fleetstudio.Employee.Suggestion.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaLagMonitorTests {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+	// Threshold equal to the heartbeat interval, the setting that used to flap
+	private final ReplicaLagMonitor monitor =
+			new ReplicaLagMonitor(new DriverManagerDataSource(), new DriverManagerDataSource(), 1000);
+
+	@Test
+	void replicaHoldingTheNewestBeatHasNoLagHoweverOldTheBeatIs() {
+		for (int tick = 0; tick < 5; tick++) {
+			LocalDateTime beat = T0.plusSeconds(tick);
+			monitor.recordBeat(beat);
+			// Read at the start of the next tick, one interval plus query time later
+			monitor.recordReplicaBeat(beat, beat.plusNanos(1_050_000_000L));
+
+			assertEquals(0, monitor.getLagMillis());
+			assertTrue(monitor.isReplicaUsable());
+		}
+	}
+
+	@Test
+	void lagIsTheAgeOfTheOldestBeatTheReplicaHasNotSeen() {
+		monitor.recordBeat(T0);
+		monitor.recordBeat(T0.plusSeconds(1));
+		monitor.recordBeat(T0.plusSeconds(2));
+
+		monitor.recordReplicaBeat(T0, at(2300));
+		assertEquals(1300, monitor.getLagMillis());
+		assertFalse(monitor.isReplicaUsable());
+
+		monitor.recordReplicaBeat(T0.plusSeconds(1), at(2400));
+		assertEquals(400, monitor.getLagMillis());
+		assertTrue(monitor.isReplicaUsable());
+
+		monitor.recordReplicaBeat(T0.plusSeconds(2), at(2500));
+		assertEquals(0, monitor.getLagMillis());
+	}
+
+	@Test
+	void newerBeatFromAnotherInstanceCountsAsCaughtUp() {
+		monitor.recordBeat(T0);
+
+		monitor.recordReplicaBeat(at(500), T0.plusSeconds(3));
+
+		assertEquals(0, monitor.getLagMillis());
+		assertTrue(monitor.isReplicaUsable());
+	}
+
+	@Test
+	void replicaWithoutAnyBeatIsOnlyUsableOnceOneArrives() {
+		monitor.recordReplicaBeat(null, T0);
+		assertEquals(-1, monitor.getLagMillis());
+		assertFalse(monitor.isReplicaUsable());
+
+		monitor.recordBeat(T0);
+		monitor.recordReplicaBeat(null, T0.plusSeconds(2));
+		assertEquals(2000, monitor.getLagMillis());
+		assertFalse(monitor.isReplicaUsable());
+
+		monitor.recordReplicaBeat(T0, T0.plusSeconds(3));
+		assertTrue(monitor.isReplicaUsable());
+	}
+
+	private static LocalDateTime at(long millis) {
+		return T0.plusNanos(millis * 1_000_000);
+	}
+}
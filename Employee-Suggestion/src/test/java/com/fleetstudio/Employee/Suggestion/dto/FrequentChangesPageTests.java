@@ -0,0 +1,32 @@
+package com.fleetstudio.Employee.Suggestion.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FrequentChangesPageTests {
+
+	@Test
+	void cursorRoundTrips() {
+		String token = new FrequentChangesPage.Cursor(17L, 4242L).encode();
+
+		FrequentChangesPage.Cursor cursor = FrequentChangesPage.Cursor.decode(token);
+		assertEquals(17L, cursor.getChanges());
+		assertEquals(4242L, cursor.getSuggestionId());
+	}
+
+	@Test
+	void missingCursorStartsAtTheFirstPage() {
+		assertSame(FrequentChangesPage.Cursor.FIRST, FrequentChangesPage.Cursor.decode(null));
+		assertSame(FrequentChangesPage.Cursor.FIRST, FrequentChangesPage.Cursor.decode(""));
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> FrequentChangesPage.Cursor.decode("not a cursor!"));
+		assertThrows(IllegalArgumentException.class, () -> FrequentChangesPage.Cursor.decode("bm9zZXBhcmF0b3I"));
+		assertThrows(IllegalArgumentException.class, () -> FrequentChangesPage.Cursor.decode("eHx5"));
+	}
+}
@@ -0,0 +1,35 @@
+package com.fleetstudio.Employee.Suggestion.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTests {
+
+	@Test
+	void cursorRoundTrips() {
+		LocalDateTime timestamp = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000);
+		String token = new KeysetCursor(timestamp, 42L).encode();
+
+		KeysetCursor cursor = KeysetCursor.decode(token, null);
+		assertEquals(timestamp, cursor.getTimestamp());
+		assertEquals(42L, cursor.getId());
+	}
+
+	@Test
+	void missingCursorStartsAtTheFirstPage() {
+		assertSame(StatusHistoryPage.FIRST, KeysetCursor.decode(null, StatusHistoryPage.FIRST));
+		assertSame(StatusHistoryPage.FIRST, KeysetCursor.decode(" ", StatusHistoryPage.FIRST));
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor!", null));
+		assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("bm9zZXBhcmF0b3I", null));
+		assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("eHx5", null));
+	}
+}
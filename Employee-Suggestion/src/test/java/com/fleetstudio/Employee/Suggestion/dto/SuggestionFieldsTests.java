@@ -0,0 +1,28 @@
+package com.fleetstudio.Employee.Suggestion.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SuggestionFieldsTests {
+
+	@Test
+	void sameFieldsInAnyOrderShareOneShape() {
+		SuggestionFields a = SuggestionFields.parse("voteCount, title,status");
+		SuggestionFields b = SuggestionFields.parse("STATUS,title,voteCount,id");
+
+		assertEquals(a.getMask(), b.getMask());
+		assertEquals(List.of(SuggestionFields.Field.ID, SuggestionFields.Field.TITLE,
+				SuggestionFields.Field.STATUS, SuggestionFields.Field.VOTE_COUNT), a.getFields());
+	}
+
+	@Test
+	void blankMeansAllFieldsAndUnknownFieldsAreRejected() {
+		assertNull(SuggestionFields.parse(" "));
+		assertThrows(IllegalArgumentException.class, () -> SuggestionFields.parse("id,password"));
+	}
+}
@@ -0,0 +1,57 @@
+package com.fleetstudio.Employee.Suggestion.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvImportReaderTests {
+
+    @Test
+    void readsQuotedFieldsAndMatchesHeadersLoosely() throws IOException {
+        String csv = "Title,Description,Submitter Email,anonymous\r\n"
+                + "\"Snacks, please\",\"Line one\nline \"\"two\"\"\",Jane@Example.com,no\r\n"
+                + "\r\n"
+                + "Parking,More spots,,yes\r\n";
+
+        try (CsvImportReader reader = new CsvImportReader(new StringReader(csv))) {
+            SuggestionImportRow first = reader.next();
+            assertTrue(first.isValid());
+            assertEquals(1, first.getRowNumber());
+            assertEquals("Snacks, please", first.getTitle());
+            assertEquals("Line one\nline \"two\"", first.getDescription());
+            assertEquals("jane@example.com", first.getSubmitterEmail());
+            assertFalse(first.isAnonymous());
+
+            SuggestionImportRow second = reader.next();
+            assertEquals(2, second.getRowNumber());
+            assertNull(second.getSubmitterEmail());
+            assertTrue(second.isAnonymous());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void reportsMalformedRowsWithoutStopping() throws IOException {
+        String csv = "title,description,anonymous\n"
+                + "only two,fields\n"
+                + "Ok,Fine,maybe\n"
+                + "Last,Row,false\n";
+
+        try (CsvImportReader reader = new CsvImportReader(new StringReader(csv))) {
+            assertEquals("Expected 3 columns but found 2", reader.next().getError());
+            assertFalse(reader.next().isValid());
+            assertTrue(reader.next().isValid());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void rejectsHeaderWithoutRequiredColumns() {
+        CsvImportReader reader = new CsvImportReader(new StringReader("name,text\nA,B\n"));
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+}
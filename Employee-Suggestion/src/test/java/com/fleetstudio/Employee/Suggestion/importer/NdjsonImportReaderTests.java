@@ -0,0 +1,88 @@
+package com.fleetstudio.Employee.Suggestion.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonImportReaderTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void readsOneObjectPerLineAndMatchesPropertiesLoosely() throws IOException {
+        String ndjson = "{\"title\":\"Snacks\",\"description\":\"More fruit\",\"submitter_email\":\"Jane@Example.com\","
+                + "\"anonymous\":false,\"createdAt\":\"2024-03-01T09:30:00\"}\n"
+                + "\n"
+                + "   \n"
+                + "{\"Title\":\"Parking\",\"Description\":\"More spots\",\"email\":null,\"Anonymous\":\"yes\"}\n";
+
+        try (NdjsonImportReader reader = new NdjsonImportReader(new StringReader(ndjson), objectMapper)) {
+            SuggestionImportRow first = reader.next();
+            assertTrue(first.isValid());
+            assertEquals(1, first.getRowNumber());
+            assertEquals("Snacks", first.getTitle());
+            assertEquals("jane@example.com", first.getSubmitterEmail());
+            assertFalse(first.isAnonymous());
+            assertEquals(LocalDateTime.of(2024, 3, 1, 9, 30), first.getCreatedAt());
+
+            // Blank lines do not count as rows
+            SuggestionImportRow second = reader.next();
+            assertTrue(second.isValid());
+            assertEquals(2, second.getRowNumber());
+            assertEquals("Parking", second.getTitle());
+            assertNull(second.getSubmitterEmail());
+            assertTrue(second.isAnonymous());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void reportsBadLinesWithoutStopping() throws IOException {
+        String ndjson = "{\"title\":\"Snacks\",\n"
+                + "[\"not\",\"an\",\"object\"]\n"
+                + "{\"title\":\"Parking\",\"description\":\"More spots\",\"anonymous\":\"maybe\"}\n"
+                + "{\"title\":\"Lockers\",\"description\":\"By the gym\",\"createdAt\":\"yesterday\"}\n"
+                + "{\"title\":\"Bikes\",\"description\":\"Racks\"}\n";
+
+        try (NdjsonImportReader reader = new NdjsonImportReader(new StringReader(ndjson), objectMapper)) {
+            SuggestionImportRow malformed = reader.next();
+            assertFalse(malformed.isValid());
+            assertEquals(1, malformed.getRowNumber());
+            assertTrue(malformed.getError().startsWith("Malformed JSON"));
+
+            SuggestionImportRow array = reader.next();
+            assertEquals(2, array.getRowNumber());
+            assertEquals("Expected a JSON object", array.getError());
+
+            assertEquals("Invalid value for anonymous: maybe", reader.next().getError());
+            assertEquals("Invalid createdAt timestamp: yesterday", reader.next().getError());
+
+            SuggestionImportRow last = reader.next();
+            assertTrue(last.isValid());
+            assertEquals(5, last.getRowNumber());
+            assertEquals("Bikes", last.getTitle());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void firstOfTwoSpellingsOfAPropertyWins() throws IOException {
+        String ndjson = "{\"created_at\":\"2024-03-01T09:30:00Z\",\"createdAt\":\"2020-01-01T00:00:00\","
+                + "\"title\":\"Snacks\",\"description\":\"More fruit\",\"submitterEmail\":null,\"email\":\"a@b.com\"}\n";
+
+        try (NdjsonImportReader reader = new NdjsonImportReader(new StringReader(ndjson), objectMapper)) {
+            SuggestionImportRow row = reader.next();
+            assertTrue(row.isValid());
+            assertEquals(2024, row.getCreatedAt().getYear());
+            // A null property is treated as missing, so the fallback column is used
+            assertEquals("a@b.com", row.getSubmitterEmail());
+        }
+    }
+}
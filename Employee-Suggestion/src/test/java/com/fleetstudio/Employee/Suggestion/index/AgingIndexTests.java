@@ -0,0 +1,54 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AgingIndexTests {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	@Test
+	void pagesOldestFirstAcrossStates() {
+		AgingIndex<SuggestionStatus> index = new AgingIndex<>(SuggestionStatus.class);
+		index.put(1, SuggestionStatus.OPEN, T0.plusDays(3));
+		index.put(2, SuggestionStatus.UNDER_REVIEW, T0.plusDays(1));
+		index.put(3, SuggestionStatus.OPEN, T0.plusDays(1));
+		index.put(4, SuggestionStatus.IMPLEMENTED, T0);
+		index.put(5, SuggestionStatus.OPEN, T0.plusDays(9));
+
+		List<SuggestionStatus> states = List.of(SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW);
+		List<AgingIndex.Item<SuggestionStatus>> first = index.oldest(states, T0.plusDays(5), null, null, 2);
+		assertEquals(List.of(2L, 3L), ids(first));
+
+		AgingIndex.Item<SuggestionStatus> last = first.get(1);
+		List<AgingIndex.Item<SuggestionStatus>> second =
+				index.oldest(states, T0.plusDays(5), last.getSince(), last.getId(), 2);
+		// Item 5 entered too recently to be stale
+		assertEquals(List.of(1L), ids(second));
+	}
+
+	@Test
+	void movingAnItemRekeysIt() {
+		AgingIndex<SuggestionStatus> index = new AgingIndex<>(SuggestionStatus.class);
+		index.put(1, SuggestionStatus.OPEN, T0);
+		index.put(2, SuggestionStatus.OPEN, T0.plusDays(1));
+		index.put(1, SuggestionStatus.UNDER_REVIEW, T0.plusDays(2));
+		index.remove(2);
+
+		assertEquals(1, index.size());
+		assertEquals(List.of(), ids(index.oldest(List.of(SuggestionStatus.OPEN), T0.plusDays(10), null, null, 10)));
+		assertEquals(List.of(1L),
+				ids(index.enteredBetween(SuggestionStatus.UNDER_REVIEW, T0.plusDays(1), T0.plusDays(2))));
+		assertEquals(List.of(),
+				ids(index.enteredBetween(SuggestionStatus.UNDER_REVIEW, T0.plusDays(2), T0.plusDays(3))));
+	}
+
+	private static List<Long> ids(List<AgingIndex.Item<SuggestionStatus>> items) {
+		return items.stream().map(AgingIndex.Item::getId).toList();
+	}
+}
@@ -0,0 +1,72 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedBitmapTests {
+
+	@Test
+	void setOperationsMatchBitSetAcrossSparseAndDenseContainers() {
+		Random random = new Random(42);
+		CompressedBitmap a = new CompressedBitmap();
+		CompressedBitmap b = new CompressedBitmap();
+		BitSet expectedA = new BitSet();
+		BitSet expectedB = new BitSet();
+		// Dense run in the first container, sparse values further out
+		for (int i = 0; i < 20_000; i++) {
+			int x = random.nextInt(60_000);
+			a.add(x);
+			expectedA.set(x);
+		}
+		for (int i = 0; i < 3_000; i++) {
+			int x = random.nextInt(300_000);
+			b.add(x);
+			expectedB.set(x);
+		}
+
+		BitSet and = (BitSet) expectedA.clone();
+		and.and(expectedB);
+		BitSet or = (BitSet) expectedA.clone();
+		or.or(expectedB);
+
+		assertEquals(expectedA.cardinality(), a.cardinality());
+		assertArrayEquals(and.stream().toArray(), CompressedBitmap.and(a, b).toArray());
+		assertArrayEquals(or.stream().toArray(), CompressedBitmap.or(a, b).toArray());
+		assertEquals(and.cardinality(), CompressedBitmap.andCardinality(a, b));
+	}
+
+	@Test
+	void removeShrinksDenseContainerBackToArray() {
+		CompressedBitmap bitmap = new CompressedBitmap();
+		for (int i = 0; i < CompressedBitmap.ARRAY_MAX + 10; i++) {
+			bitmap.add(i * 2);
+		}
+		for (int i = 0; i < CompressedBitmap.ARRAY_MAX; i++) {
+			bitmap.remove(i * 2);
+		}
+
+		assertEquals(10, bitmap.cardinality());
+		assertFalse(bitmap.contains(0));
+		assertTrue(bitmap.contains(CompressedBitmap.ARRAY_MAX * 2));
+		bitmap.removeAll(bitmap.copy());
+		assertTrue(bitmap.isEmpty());
+	}
+
+	@Test
+	void topReturnsLargestValuesFirst() {
+		CompressedBitmap bitmap = new CompressedBitmap();
+		for (int x : new int[] {5, 70_000, 3, 65_536, 1_000_000}) {
+			bitmap.add(x);
+		}
+
+		assertArrayEquals(new int[] {1_000_000, 70_000, 65_536}, bitmap.top(3));
+		assertArrayEquals(new int[] {1_000_000, 70_000, 65_536, 5, 3}, bitmap.top(10));
+	}
+}
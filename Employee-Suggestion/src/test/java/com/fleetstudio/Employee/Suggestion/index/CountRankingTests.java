@@ -0,0 +1,53 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CountRankingTests {
+
+	@Test
+	void pagesMostFirstWithIdsBreakingTies() {
+		CountRanking ranking = new CountRanking(2);
+		ranking.add(1, 3);
+		ranking.add(2, 5);
+		ranking.add(3, 3);
+		ranking.add(4, 1);
+		ranking.add(5, 2);
+
+		List<CountRanking.Entry> first = ranking.after(Long.MAX_VALUE, 0, 2);
+		assertEquals(List.of(2L, 1L), ids(first));
+
+		CountRanking.Entry last = first.get(1);
+		// 4 has a single entry and is below the threshold
+		assertEquals(List.of(3L, 5L), ids(ranking.after(last.getCount(), last.getId(), 10)));
+		assertEquals(4, ranking.rankedSize());
+	}
+
+	@Test
+	void updatesRekeyAndDropCounters() {
+		CountRanking ranking = new CountRanking(2);
+		ranking.add(1, 1);
+		assertEquals(0, ranking.rankedSize());
+
+		ranking.add(1, 1);
+		ranking.add(2, 4);
+		assertEquals(List.of(2L, 1L), ids(ranking.after(Long.MAX_VALUE, 0, 10)));
+
+		ranking.add(1, 5);
+		assertEquals(List.of(1L, 2L), ids(ranking.after(Long.MAX_VALUE, 0, 10)));
+		assertEquals(7, ranking.count(1));
+
+		ranking.add(1, -6);
+		ranking.remove(2);
+		assertEquals(List.of(), ids(ranking.after(Long.MAX_VALUE, 0, 10)));
+		assertEquals(1, ranking.count(1));
+		assertEquals(0, ranking.count(2));
+	}
+
+	private static List<Long> ids(List<CountRanking.Entry> entries) {
+		return entries.stream().map(CountRanking.Entry::getId).toList();
+	}
+}
@@ -0,0 +1,104 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashLshIndexTests {
+
+	private static final String PARKING = "Add more bike racks near the north entrance so cyclists "
+			+ "do not have to lock their bikes to the fence by the parking lot";
+
+	@Test
+	void shinglesIgnoreCaseAndPunctuation() {
+		MinHashLshIndex index = new MinHashLshIndex();
+		index.put(1, "Bike racks", PARKING);
+
+		List<MinHashLshIndex.Match> matches = index.findSimilar(PARKING.toUpperCase() + "!!", 0.99, 5, null);
+
+		assertEquals(1, matches.size());
+		assertEquals(1.0, matches.get(0).getSimilarity());
+		assertEquals("Bike racks", matches.get(0).getLabel());
+	}
+
+	@Test
+	void shinglesKeepWordOrder() {
+		MinHashLshIndex index = new MinHashLshIndex();
+		index.put(1, "Ordered", "quarterly town hall meetings with open questions");
+
+		assertTrue(index.findSimilar("questions open with meetings hall town quarterly", 0.5, 5, null).isEmpty());
+	}
+
+	@Test
+	void singleWordAndBlankTexts() {
+		MinHashLshIndex index = new MinHashLshIndex();
+		index.put(1, "One word", "Hackathon");
+		index.put(2, "Blank", "  ?! ");
+
+		assertEquals(1, index.size());
+		assertEquals(1, index.findSimilar("hackathon", 0.9, 5, null).size());
+		assertTrue(index.findSimilar("", 0.0, 5, null).isEmpty());
+	}
+
+	@Test
+	void findsNearDuplicatesButNotUnrelatedText() {
+		MinHashLshIndex index = new MinHashLshIndex();
+		index.put(1, "Bike racks", PARKING);
+		index.put(2, "Coffee", "Replace the coffee machine on the third floor with one that grinds fresh beans");
+
+		List<MinHashLshIndex.Match> matches = index.findSimilar(
+				PARKING.replace("north", "south"), 0.5, 5, null);
+
+		assertEquals(1, matches.size());
+		assertEquals(1, matches.get(0).getId());
+		assertTrue(matches.get(0).getSimilarity() < 1.0);
+	}
+
+	@Test
+	void bandsPutTheKneeBelowTheDefaultThreshold() {
+		MinHashLshIndex index = new MinHashLshIndex();
+		assertTrue(index.candidateProbability(0.5) > 0.98);
+		assertTrue(index.candidateProbability(0.1) < 0.05);
+
+		// 16 bands of 4 rows find only about two thirds of the pairs at s=0.5
+		assertEquals(0.64, new MinHashLshIndex(64, 16).candidateProbability(0.5), 0.01);
+	}
+
+	@Test
+	void rejectsBandsThatDoNotDivideTheSignature() {
+		assertThrows(IllegalArgumentException.class, () -> new MinHashLshIndex(64, 10));
+	}
+
+	@Test
+	void putReplacesAndRemoveDropsTheDocument() {
+		MinHashLshIndex index = new MinHashLshIndex();
+		index.put(1, "Bike racks", PARKING);
+		index.put(1, "Coffee", "Replace the coffee machine on the third floor");
+
+		assertTrue(index.findSimilar(PARKING, 0.5, 5, null).isEmpty());
+		assertEquals(1, index.findSimilar("replace the coffee machine on the third floor", 0.9, 5, null).size());
+
+		index.remove(1);
+		assertEquals(0, index.size());
+		assertTrue(index.findSimilar("replace the coffee machine on the third floor", 0.0, 5, null).isEmpty());
+	}
+
+	@Test
+	void excludesTheGivenIdAndHonoursLimit() {
+		MinHashLshIndex index = new MinHashLshIndex();
+		index.put(1, "First", PARKING);
+		index.put(2, "Second", PARKING);
+		index.put(3, "Third", PARKING + " please");
+
+		List<MinHashLshIndex.Match> matches = index.findSimilar(PARKING, 0.5, 5, 1L);
+		assertEquals(2, matches.size());
+		assertEquals(2, matches.get(0).getId());
+		assertEquals(3, matches.get(1).getId());
+
+		assertEquals(1, index.findSimilar(PARKING, 0.5, 1, null).size());
+	}
+}
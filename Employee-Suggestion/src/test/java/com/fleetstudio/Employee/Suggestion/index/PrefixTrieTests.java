@@ -0,0 +1,56 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixTrieTests {
+
+	@Test
+	void returnsHighestWeightedCompletionsFirst() {
+		PrefixTrie trie = new PrefixTrie();
+		trie.put(1, "Flexible Work Hours", 3);
+		trie.put(2, "Flexible Parking", 10);
+		trie.put(3, "Free Lunch Fridays", 50);
+
+		List<PrefixTrie.Completion> result = trie.complete("fle", 5);
+
+		assertEquals(2, result.size());
+		assertEquals(2, result.get(0).getId());
+		assertEquals(1, result.get(1).getId());
+	}
+
+	@Test
+	void matchesLaterWordsAndHonoursLimit() {
+		PrefixTrie trie = new PrefixTrie();
+		trie.put(1, "Coffee Station Improvement", 1);
+		trie.put(2, "Standing desks", 7);
+		trie.put(3, "Bike station", 4);
+
+		List<PrefixTrie.Completion> result = trie.complete("sta", 2);
+
+		assertEquals(2, result.size());
+		assertEquals(2, result.get(0).getId());
+		assertEquals(3, result.get(1).getId());
+	}
+
+	@Test
+	void weightUpdatesAndRemovalsAreReflected() {
+		PrefixTrie trie = new PrefixTrie();
+		trie.put(1, "Remote Work Policy", 1);
+		trie.put(2, "Remote Fridays", 2);
+
+		trie.updateWeight(1, 20);
+		assertEquals(1, trie.complete("remote", 1).get(0).getId());
+
+		trie.remove(1);
+		assertEquals(List.of(2L), trie.complete("remote", 5).stream().map(PrefixTrie.Completion::getId).toList());
+
+		trie.remove(2);
+		assertTrue(trie.complete("r", 5).isEmpty());
+		assertEquals(0, trie.size());
+	}
+}
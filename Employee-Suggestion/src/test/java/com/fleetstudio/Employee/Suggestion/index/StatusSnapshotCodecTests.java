@@ -0,0 +1,50 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatusSnapshotCodecTests {
+
+	@Test
+	void roundTripsSparseAndDenseIds() {
+		Map<Long, SuggestionStatus> states = new HashMap<>();
+		for (long id = 1; id <= 1000; id++) {
+			states.put(id, SuggestionStatus.values()[(int) (id % SuggestionStatus.values().length)]);
+		}
+		states.put(1L << 40, SuggestionStatus.ON_HOLD);
+		states.put(Long.MAX_VALUE, SuggestionStatus.REJECTED);
+
+		byte[] data = StatusSnapshotCodec.encode(states, SuggestionStatus.class);
+		assertEquals(states, StatusSnapshotCodec.decode(data, SuggestionStatus.class));
+	}
+
+	@Test
+	void denseIdsTakeAboutTwoBytesEach() {
+		Map<Long, SuggestionStatus> states = new HashMap<>();
+		for (long id = 1; id <= 10_000; id++) {
+			states.put(id, SuggestionStatus.OPEN);
+		}
+		assertTrue(StatusSnapshotCodec.encode(states, SuggestionStatus.class).length < 20_200);
+	}
+
+	@Test
+	void emptySnapshotRoundTrips() {
+		byte[] data = StatusSnapshotCodec.encode(Map.of(), SuggestionStatus.class);
+		assertTrue(StatusSnapshotCodec.decode(data, SuggestionStatus.class).isEmpty());
+	}
+
+	@Test
+	void truncatedDataIsRejected() {
+		byte[] data = StatusSnapshotCodec.encode(Map.of(7L, SuggestionStatus.OPEN), SuggestionStatus.class);
+		byte[] truncated = Arrays.copyOf(data, data.length - 1);
+		assertThrows(IllegalArgumentException.class, () -> StatusSnapshotCodec.decode(truncated, SuggestionStatus.class));
+	}
+}
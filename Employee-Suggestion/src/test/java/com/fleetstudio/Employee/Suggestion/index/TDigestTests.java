@@ -0,0 +1,58 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TDigestTests {
+
+	@Test
+	void quantilesTrackExactValuesOnSkewedData() {
+		Random random = new Random(7);
+		TDigest digest = new TDigest();
+		double[] values = new double[100_000];
+		for (int i = 0; i < values.length; i++) {
+			// Exponential, like dwell times: most short, a long tail
+			values[i] = -Math.log(1 - random.nextDouble()) * 86_400;
+			digest.add(values[i]);
+		}
+		Arrays.sort(values);
+
+		assertEquals(values.length, digest.size());
+		for (double q : new double[] {0.5, 0.9, 0.99}) {
+			double exact = values[(int) (q * (values.length - 1))];
+			double estimate = digest.quantile(q);
+			assertTrue(Math.abs(estimate - exact) / exact < 0.02,
+					"q=" + q + " exact=" + exact + " estimate=" + estimate);
+		}
+	}
+
+	@Test
+	void smallDigestsStayWithinObservedRange() {
+		TDigest digest = new TDigest();
+		assertTrue(Double.isNaN(digest.quantile(0.5)));
+
+		digest.add(10);
+		digest.add(20);
+		digest.add(30);
+
+		assertEquals(20, digest.quantile(0.5), 1e-9);
+		assertTrue(digest.quantile(0) >= 10);
+		assertTrue(digest.quantile(1) <= 30);
+	}
+
+	@Test
+	void weightedSamplesCountAsRepeatedValues() {
+		TDigest digest = new TDigest();
+		digest.add(100, 90);
+		digest.add(1000, 10);
+
+		assertEquals(100, digest.size());
+		assertEquals(100, digest.quantile(0.3), 1e-9);
+		assertTrue(digest.quantile(0.99) > 500);
+	}
+}
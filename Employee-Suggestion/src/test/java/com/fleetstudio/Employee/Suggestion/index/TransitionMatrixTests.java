@@ -0,0 +1,50 @@
+package com.fleetstudio.Employee.Suggestion.index;
+
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransitionMatrixTests {
+
+	@Test
+	void initialEntriesAreKeptApartFromTransitions() {
+		TransitionMatrix<SuggestionStatus> matrix = new TransitionMatrix<>(SuggestionStatus.class);
+		matrix.increment(null, SuggestionStatus.OPEN);
+		matrix.increment(null, SuggestionStatus.OPEN);
+		matrix.increment(SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW);
+		matrix.increment(SuggestionStatus.UNDER_REVIEW, SuggestionStatus.OPEN);
+		matrix.add(SuggestionStatus.OPEN, SuggestionStatus.OPEN, 3);
+
+		assertEquals(2, matrix.get(null, SuggestionStatus.OPEN));
+		assertEquals(1, matrix.get(SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW));
+		assertEquals(0, matrix.get(SuggestionStatus.UNDER_REVIEW, SuggestionStatus.IMPLEMENTED));
+		assertEquals(6, matrix.countInto(SuggestionStatus.OPEN));
+		assertEquals(1, matrix.countInto(SuggestionStatus.UNDER_REVIEW));
+	}
+
+	@Test
+	void concurrentIncrementsAreNotLost() throws InterruptedException {
+		TransitionMatrix<SuggestionStatus> matrix = new TransitionMatrix<>(SuggestionStatus.class);
+		SuggestionStatus[] states = SuggestionStatus.values();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			SuggestionStatus from = states[t % states.length];
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					matrix.increment(from, SuggestionStatus.IMPLEMENTED);
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(80_000, matrix.countInto(SuggestionStatus.IMPLEMENTED));
+		assertEquals(20_000, matrix.get(states[0], SuggestionStatus.IMPLEMENTED));
+	}
+}
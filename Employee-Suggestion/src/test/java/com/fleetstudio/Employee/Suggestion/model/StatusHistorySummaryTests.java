@@ -0,0 +1,70 @@
+package com.fleetstudio.Employee.Suggestion.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StatusHistorySummaryTests {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	@Test
+	void keepsFirstAndLastEntriesAndCountsEachTransition() {
+		StatusHistorySummary summary = new StatusHistorySummary(7L);
+		summary.absorb(null, SuggestionStatus.OPEN, "System", T0);
+		summary.absorb(SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW, "alice", T0.plusDays(2));
+		summary.absorb(SuggestionStatus.UNDER_REVIEW, SuggestionStatus.OPEN, "bob", T0.plusDays(3));
+		summary.absorb(SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW, "alice", T0.plusDays(7));
+
+		assertEquals(4, summary.getEntriesCompacted());
+		assertEquals(SuggestionStatus.OPEN, summary.getFirstStatus());
+		assertEquals(T0, summary.getFirstChangedAt());
+		assertEquals(SuggestionStatus.OPEN, summary.getLastPreviousStatus());
+		assertEquals(SuggestionStatus.UNDER_REVIEW, summary.getLastStatus());
+		assertEquals(T0.plusDays(7), summary.getLastChangedAt());
+
+		StatusHistoryTotal review = total(summary, SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW, "alice");
+		assertEquals(2, review.getEntries());
+		// Stays in OPEN: two days, then four
+		assertEquals(2, review.getStays());
+		assertEquals(6 * 86_400L, review.getDwellSeconds());
+
+		StatusHistoryTotal back = total(summary, SuggestionStatus.UNDER_REVIEW, SuggestionStatus.OPEN, "bob");
+		assertEquals(1, back.getStays());
+		assertEquals(86_400L, back.getDwellSeconds());
+	}
+
+	@Test
+	void laterRunsContinueFromTheLastEntry() {
+		StatusHistorySummary summary = new StatusHistorySummary(7L);
+		summary.absorb(null, SuggestionStatus.OPEN, "System", T0);
+		summary.absorb(SuggestionStatus.OPEN, SuggestionStatus.IMPLEMENTED, "alice", T0.plusDays(5));
+
+		assertEquals(T0, summary.getFirstChangedAt());
+		assertEquals(5 * 86_400L,
+				total(summary, SuggestionStatus.OPEN, SuggestionStatus.IMPLEMENTED, "alice").getDwellSeconds());
+	}
+
+	@Test
+	void deletionMarkersAreCountedButCloseNoStay() {
+		StatusHistorySummary summary = new StatusHistorySummary(7L);
+		summary.absorb(null, SuggestionStatus.OPEN, "System", T0);
+		summary.absorb(SuggestionStatus.OPEN, SuggestionStatus.OPEN, "alice", T0.plusDays(1));
+
+		StatusHistoryTotal deletion = total(summary, SuggestionStatus.OPEN, SuggestionStatus.OPEN, "alice");
+		assertEquals(1, deletion.getEntries());
+		assertEquals(0, deletion.getStays());
+		assertNull(total(summary, null, SuggestionStatus.OPEN, "System").getPreviousStatus());
+	}
+
+	private static StatusHistoryTotal total(StatusHistorySummary summary, SuggestionStatus previous,
+											SuggestionStatus next, String changedBy) {
+		return summary.getTotals().stream()
+				.filter(t -> t.matches(previous, next, changedBy))
+				.findFirst()
+				.orElseThrow();
+	}
+}
@@ -0,0 +1,33 @@
+package com.fleetstudio.Employee.Suggestion.security.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StreamTicketServiceTests {
+
+	@Test
+	void ticketIsSingleUse() {
+		StreamTicketService tickets = new StreamTicketService(30_000);
+		String first = tickets.issue("alice@fleetstudio.com");
+		String second = tickets.issue("alice@fleetstudio.com");
+		assertNotEquals(first, second);
+
+		assertEquals("alice@fleetstudio.com", tickets.redeem(first));
+		assertNull(tickets.redeem(first));
+		assertEquals("alice@fleetstudio.com", tickets.redeem(second));
+		assertNull(tickets.redeem("made-up"));
+		assertNull(tickets.redeem(null));
+	}
+
+	@Test
+	void expiredTicketIsRejected() throws InterruptedException {
+		StreamTicketService tickets = new StreamTicketService(1);
+		String ticket = tickets.issue("alice@fleetstudio.com");
+		Thread.sleep(10);
+
+		assertNull(tickets.redeem(ticket));
+	}
+}
@@ -0,0 +1,67 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResourceVersionServiceTests {
+
+	private final SuggestionRepository suggestionRepository = mock(SuggestionRepository.class);
+
+	@Test
+	void remembersVersionsUntilTheSuggestionChanges() {
+		ResourceVersionService versions = new ResourceVersionService(suggestionRepository, 100, 60_000);
+		when(suggestionRepository.findVersionById(1L)).thenReturn(Optional.of(3L), Optional.of(4L));
+
+		assertEquals(Optional.of(3L), versions.suggestionVersion(1L));
+		assertEquals(Optional.of(3L), versions.suggestionVersion(1L));
+		verify(suggestionRepository, times(1)).findVersionById(1L);
+
+		Suggestion changed = new Suggestion("Title", "Description", null, true);
+		changed.setId(1L);
+		versions.onSuggestionChanged(SuggestionChangedEvent.of(SuggestionChangedEvent.Type.UPDATED, changed));
+
+		assertEquals(Optional.of(4L), versions.suggestionVersion(1L));
+	}
+
+	@Test
+	void rememberedVersionsExpireSoWritesWithoutEventsAreSeen() throws Exception {
+		ResourceVersionService versions = new ResourceVersionService(suggestionRepository, 100, 20);
+		// Bumped by another instance, then purged: no event reaches this one
+		when(suggestionRepository.findVersionById(1L)).thenReturn(Optional.of(3L), Optional.of(5L), Optional.empty());
+
+		assertEquals(Optional.of(3L), versions.suggestionVersion(1L));
+		Thread.sleep(40);
+		assertEquals(Optional.of(5L), versions.suggestionVersion(1L));
+		Thread.sleep(40);
+		assertEquals(Optional.empty(), versions.suggestionVersion(1L));
+	}
+
+	@Test
+	void leastRecentlyUsedVersionIsForgottenFirst() {
+		ResourceVersionService versions = new ResourceVersionService(suggestionRepository, 2, 60_000);
+		for (long id = 1; id <= 3; id++) {
+			when(suggestionRepository.findVersionById(id)).thenReturn(Optional.of(id * 10));
+		}
+
+		versions.suggestionVersion(1L);
+		versions.suggestionVersion(2L);
+		versions.suggestionVersion(1L);
+		versions.suggestionVersion(3L);
+		versions.suggestionVersion(1L);
+		versions.suggestionVersion(2L);
+
+		verify(suggestionRepository, times(1)).findVersionById(1L);
+		verify(suggestionRepository, times(2)).findVersionById(2L);
+		verify(suggestionRepository, times(1)).findVersionById(3L);
+	}
+}
@@ -0,0 +1,163 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.index.StatusSnapshotCodec;
+import com.fleetstudio.Employee.Suggestion.model.StatusCheckpoint;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedStatusHistoryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusCheckpointRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistorySummaryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatusAsOfServiceTests {
+
+	private static final LocalDateTime TODAY = LocalDate.now().atStartOfDay();
+
+	private StatusCheckpointRepository checkpointRepository;
+	private SuggestionStatusHistoryRepository statusHistoryRepository;
+	private ArchivedStatusHistoryRepository archivedStatusHistoryRepository;
+	private StatusHistorySummaryRepository summaryRepository;
+	private StatusHistoryWriter statusHistoryWriter;
+	private StatusHistoryRewindService rewindService;
+	private StatusAsOfService service;
+
+	@BeforeEach
+	void setUp() {
+		checkpointRepository = mock(StatusCheckpointRepository.class);
+		statusHistoryRepository = mock(SuggestionStatusHistoryRepository.class);
+		archivedStatusHistoryRepository = mock(ArchivedStatusHistoryRepository.class);
+		summaryRepository = mock(StatusHistorySummaryRepository.class);
+		statusHistoryWriter = mock(StatusHistoryWriter.class);
+		rewindService = mock(StatusHistoryRewindService.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		service = new StatusAsOfService(checkpointRepository, statusHistoryRepository, archivedStatusHistoryRepository,
+				summaryRepository, statusHistoryWriter, rewindService, new TransactionTemplate(transactionManager), 7);
+	}
+
+	@Test
+	void firstRunBackfillsACheckpointEveryIntervalFromTheFirstChange() {
+		LocalDateTime first = TODAY.minusDays(20);
+		when(statusHistoryRepository.findFirstChangeAt()).thenReturn(first.plusHours(10));
+		when(statusHistoryRepository.streamSuggestionStatusChanges(first, TODAY.minusDays(6)))
+				.thenReturn(Stream.of(
+						change(1, null, "OPEN", first.plusHours(10)),
+						change(2, null, "OPEN", TODAY.minusDays(15)),
+						change(1, "OPEN", "UNDER_REVIEW", TODAY.minusDays(10)),
+						// A deletion keeps the status
+						change(2, "OPEN", "OPEN", TODAY.minusDays(8))));
+
+		service.appendCheckpoints();
+
+		Map<LocalDateTime, Map<Long, SuggestionStatus>> stored = saved();
+		assertEquals(List.of(first, TODAY.minusDays(13), TODAY.minusDays(6)), List.copyOf(stored.keySet()));
+		assertEquals(Map.of(), stored.get(first));
+		assertEquals(Map.of(1L, SuggestionStatus.OPEN, 2L, SuggestionStatus.OPEN), stored.get(TODAY.minusDays(13)));
+		assertEquals(Map.of(1L, SuggestionStatus.UNDER_REVIEW), stored.get(TODAY.minusDays(6)));
+	}
+
+	@Test
+	void readBetweenTwoCheckpointsReplaysOnlyTheChangesSinceTheEarlierOne() {
+		LocalDateTime checkpointAt = TODAY.minusDays(7);
+		LocalDateTime at = TODAY.minusDays(5).plusHours(12);
+		when(checkpointRepository.findFirstByCheckpointAtLessThanEqualOrderByCheckpointAtDesc(at))
+				.thenReturn(checkpoint(checkpointAt, Map.of(1L, SuggestionStatus.OPEN, 2L, SuggestionStatus.OPEN)));
+		when(statusHistoryRepository.streamSuggestionStatusChanges(checkpointAt, at))
+				.thenReturn(Stream.of(
+						change(2, "OPEN", "REJECTED", TODAY.minusDays(6)),
+						change(3, null, "OPEN", TODAY.minusDays(5))));
+
+		StatusAsOfService.AsOfStatus status = service.getStatusAsOf(at);
+
+		assertTrue(status.isExact());
+		assertEquals(checkpointAt, status.getCheckpointAt());
+		assertEquals(2, status.getChangesReplayed());
+		assertEquals(Map.of(1L, SuggestionStatus.OPEN, 2L, SuggestionStatus.REJECTED, 3L, SuggestionStatus.OPEN),
+				status.getStatuses());
+		assertEquals(2, status.getCounts().get(SuggestionStatus.OPEN));
+		assertEquals(0, status.getCounts().get(SuggestionStatus.IMPLEMENTED));
+	}
+
+	@Test
+	void readInsideTheCompactedRangeFallsBackToTheCheckpoint() {
+		LocalDateTime checkpointAt = TODAY.minusDays(100);
+		LocalDateTime at = TODAY.minusDays(98);
+		when(checkpointRepository.findFirstByCheckpointAtLessThanEqualOrderByCheckpointAtDesc(at))
+				.thenReturn(checkpoint(checkpointAt, Map.of(1L, SuggestionStatus.OPEN)));
+		when(summaryRepository.findCompactedThrough()).thenReturn(TODAY.minusDays(93));
+
+		StatusAsOfService.AsOfStatus status = service.getStatusAsOf(at);
+
+		assertFalse(status.isExact());
+		assertEquals(Map.of(1L, SuggestionStatus.OPEN), status.getStatuses());
+		verify(statusHistoryRepository, never()).streamSuggestionStatusChanges(any(), any());
+	}
+
+	@Test
+	void backdatedHistoryRebuildsTheCheckpointsAfterIt() {
+		LocalDateTime imported = TODAY.minusDays(12).plusHours(9);
+		LocalDateTime kept = TODAY.minusDays(13);
+		when(rewindService.claim(StatusHistoryRewindService.STATUS_CHECKPOINTS)).thenReturn(imported);
+		// After the rewind the latest checkpoint left is the one before the imported entry
+		when(checkpointRepository.findFirstByOrderByCheckpointAtDesc())
+				.thenReturn(checkpoint(kept, Map.of(1L, SuggestionStatus.OPEN)));
+		when(statusHistoryRepository.streamSuggestionStatusChanges(kept, TODAY.minusDays(6)))
+				.thenReturn(Stream.<Object[]>of(change(5, null, "OPEN", imported)));
+
+		service.appendCheckpoints();
+
+		// Claimed before the outbox is flushed, so nothing behind the marker is missed
+		InOrder order = inOrder(rewindService, statusHistoryWriter, checkpointRepository);
+		order.verify(rewindService).claim(StatusHistoryRewindService.STATUS_CHECKPOINTS);
+		order.verify(statusHistoryWriter).flush();
+		order.verify(checkpointRepository).deleteCheckpointsAfter(imported);
+		order.verify(checkpointRepository).findFirstByOrderByCheckpointAtDesc();
+
+		Map<LocalDateTime, Map<Long, SuggestionStatus>> stored = saved();
+		assertEquals(Map.of(TODAY.minusDays(6), Map.of(1L, SuggestionStatus.OPEN, 5L, SuggestionStatus.OPEN)), stored);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<LocalDateTime, Map<Long, SuggestionStatus>> saved() {
+		ArgumentCaptor<List<StatusCheckpoint>> checkpoints = ArgumentCaptor.forClass(List.class);
+		verify(checkpointRepository).saveAll(checkpoints.capture());
+		Map<LocalDateTime, Map<Long, SuggestionStatus>> stored = new LinkedHashMap<>();
+		for (StatusCheckpoint checkpoint : checkpoints.getValue()) {
+			stored.put(checkpoint.getCheckpointAt(),
+					StatusSnapshotCodec.decode(checkpoint.getEntries(), SuggestionStatus.class));
+		}
+		return stored;
+	}
+
+	private static StatusCheckpoint checkpoint(LocalDateTime at, Map<Long, SuggestionStatus> statuses) {
+		return new StatusCheckpoint(at, statuses.size(), StatusSnapshotCodec.encode(statuses, SuggestionStatus.class));
+	}
+
+	private static Object[] change(long suggestionId, String previous, String next, LocalDateTime at) {
+		return new Object[] {suggestionId, previous, next, Timestamp.valueOf(at)};
+	}
+}
@@ -0,0 +1,57 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.index.CountRanking;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatusChangeRankingServiceTests {
+
+	private final SuggestionStatusHistoryRepository statusHistoryRepository =
+			mock(SuggestionStatusHistoryRepository.class);
+	private final StatusChangeRankingService service = new StatusChangeRankingService(statusHistoryRepository);
+
+	@Test
+	void changesDuringARebuildSurviveTheSwap() {
+		when(statusHistoryRepository.countEntriesPerSuggestion()).thenAnswer(invocation -> {
+			// Committed after the recount read its snapshot
+			service.onSuggestionChanged(event(SuggestionChangedEvent.Type.STATUS_CHANGED, 1L));
+			service.onSuggestionChanged(event(SuggestionChangedEvent.Type.CREATED, 9L));
+			service.remove(List.of(2L));
+			return List.<Object[]>of(new Object[] {1L, 2L}, new Object[] {2L, 6L}, new Object[] {3L, 4L});
+		});
+
+		service.rebuild();
+
+		assertEquals(List.of("3:4", "1:3"), entries(service.mostChanged(Long.MAX_VALUE, 0, 10)));
+	}
+
+	@Test
+	void onlyEventsThatWriteHistoryCount() {
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.CREATED, 1L));
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.UPDATED, 1L));
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.VOTE_COUNT_CHANGED, 1L));
+		assertEquals(List.of(), entries(service.mostChanged(Long.MAX_VALUE, 0, 10)));
+
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.DELETED, 1L));
+		service.onSuggestionChanged(SuggestionChangedEvent.archived(1L, null));
+		assertEquals(List.of("1:2"), entries(service.mostChanged(Long.MAX_VALUE, 0, 10)));
+	}
+
+	private static List<String> entries(List<CountRanking.Entry> entries) {
+		return entries.stream().map(e -> e.getId() + ":" + e.getCount()).toList();
+	}
+
+	private static SuggestionChangedEvent event(SuggestionChangedEvent.Type type, Long id) {
+		Suggestion suggestion = new Suggestion("Title", "Description", null, true);
+		suggestion.setId(id);
+		return SuggestionChangedEvent.of(type, suggestion);
+	}
+}
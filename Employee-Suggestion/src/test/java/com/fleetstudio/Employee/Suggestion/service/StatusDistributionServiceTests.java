@@ -0,0 +1,165 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusDailyCount;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.StatusDailyCountRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistorySummaryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatusDistributionServiceTests {
+
+	private static final LocalDate TODAY = LocalDate.now();
+
+	private StatusDailyCountRepository dailyCountRepository;
+	private SuggestionStatusHistoryRepository statusHistoryRepository;
+	private StatusHistorySummaryRepository summaryRepository;
+	private StatusHistoryWriter statusHistoryWriter;
+	private StatusHistoryRewindService rewindService;
+	private StatusDistributionService service;
+
+	@BeforeEach
+	void setUp() {
+		dailyCountRepository = mock(StatusDailyCountRepository.class);
+		statusHistoryRepository = mock(SuggestionStatusHistoryRepository.class);
+		summaryRepository = mock(StatusHistorySummaryRepository.class);
+		statusHistoryWriter = mock(StatusHistoryWriter.class);
+		rewindService = mock(StatusHistoryRewindService.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		service = new StatusDistributionService(dailyCountRepository, statusHistoryRepository, summaryRepository,
+				statusHistoryWriter, rewindService, new TransactionTemplate(transactionManager));
+	}
+
+	@Test
+	void firstRunReplaysCreationsTransitionsAndDeletions() {
+		LocalDate first = TODAY.minusDays(3);
+		LocalDate second = TODAY.minusDays(2);
+		when(statusHistoryRepository.streamStatusChanges(LocalDate.of(1970, 1, 1).atStartOfDay(), TODAY.atStartOfDay()))
+				.thenReturn(Stream.of(
+						change(null, "OPEN", first),
+						change(null, "OPEN", first),
+						change("OPEN", "UNDER_REVIEW", second),
+						// A deletion keeps the status
+						change("OPEN", "OPEN", second)));
+
+		service.appendSnapshots();
+
+		Map<LocalDate, Map<SuggestionStatus, Long>> stored = saved();
+		assertEquals(List.of(first, second, TODAY.minusDays(1)), new ArrayList<>(stored.keySet()));
+		assertEquals(2, stored.get(first).get(SuggestionStatus.OPEN));
+		assertEquals(0, stored.get(first).get(SuggestionStatus.UNDER_REVIEW));
+		assertEquals(0, stored.get(second).get(SuggestionStatus.OPEN));
+		assertEquals(1, stored.get(second).get(SuggestionStatus.UNDER_REVIEW));
+		assertEquals(stored.get(second), stored.get(TODAY.minusDays(1)));
+	}
+
+	@Test
+	void catchUpContinuesFromTheLatestSnapshot() {
+		LocalDate latest = TODAY.minusDays(3);
+		when(dailyCountRepository.findLatestSnapshotDate()).thenReturn(latest);
+		when(dailyCountRepository.findBySnapshotDate(latest)).thenReturn(List.of(
+				new StatusDailyCount(latest, SuggestionStatus.OPEN, 5),
+				new StatusDailyCount(latest, SuggestionStatus.UNDER_REVIEW, 1)));
+		when(statusHistoryRepository.streamStatusChanges(TODAY.minusDays(2).atStartOfDay(), TODAY.atStartOfDay()))
+				.thenReturn(Stream.<Object[]>of(change("UNDER_REVIEW", "IMPLEMENTED", TODAY.minusDays(1))));
+
+		service.appendSnapshots();
+
+		Map<LocalDate, Map<SuggestionStatus, Long>> stored = saved();
+		assertEquals(List.of(TODAY.minusDays(2), TODAY.minusDays(1)), new ArrayList<>(stored.keySet()));
+		assertEquals(1, stored.get(TODAY.minusDays(2)).get(SuggestionStatus.UNDER_REVIEW));
+		assertEquals(5, stored.get(TODAY.minusDays(1)).get(SuggestionStatus.OPEN));
+		assertEquals(0, stored.get(TODAY.minusDays(1)).get(SuggestionStatus.UNDER_REVIEW));
+		assertEquals(1, stored.get(TODAY.minusDays(1)).get(SuggestionStatus.IMPLEMENTED));
+	}
+
+	@Test
+	void upToDateSeriesReadsNoHistory() {
+		when(dailyCountRepository.findLatestSnapshotDate()).thenReturn(TODAY.minusDays(1));
+
+		service.appendSnapshots();
+
+		verify(statusHistoryRepository, never()).streamStatusChanges(any(), any());
+		verify(dailyCountRepository, never()).saveAll(any());
+	}
+
+	@Test
+	void backdatedHistoryIsReplayedFromItsDay() {
+		LocalDateTime imported = TODAY.minusDays(10).atTime(9, 30);
+		LocalDate kept = TODAY.minusDays(11);
+		when(rewindService.claim(StatusHistoryRewindService.STATUS_DISTRIBUTION)).thenReturn(imported);
+		// After the rewind the latest snapshot left is the day before the imported entry
+		when(dailyCountRepository.findLatestSnapshotDate()).thenReturn(kept);
+		when(dailyCountRepository.findBySnapshotDate(kept)).thenReturn(List.of(
+				new StatusDailyCount(kept, SuggestionStatus.OPEN, 3)));
+		when(statusHistoryRepository.streamStatusChanges(TODAY.minusDays(10).atStartOfDay(), TODAY.atStartOfDay()))
+				.thenReturn(Stream.<Object[]>of(change(null, "OPEN", TODAY.minusDays(10))));
+
+		service.appendSnapshots();
+
+		// Claimed before the outbox is flushed, so nothing behind the marker is missed
+		InOrder order = inOrder(rewindService, statusHistoryWriter, dailyCountRepository);
+		order.verify(rewindService).claim(StatusHistoryRewindService.STATUS_DISTRIBUTION);
+		order.verify(statusHistoryWriter).flush();
+		order.verify(dailyCountRepository).deleteSnapshotsFrom(TODAY.minusDays(10));
+		order.verify(dailyCountRepository).findLatestSnapshotDate();
+
+		Map<LocalDate, Map<SuggestionStatus, Long>> stored = saved();
+		assertEquals(10, stored.size());
+		assertEquals(4, stored.get(TODAY.minusDays(10)).get(SuggestionStatus.OPEN));
+		assertEquals(4, stored.get(TODAY.minusDays(1)).get(SuggestionStatus.OPEN));
+	}
+
+	@Test
+	void rewindStopsAtTheCompactionHorizon() {
+		when(rewindService.claim(StatusHistoryRewindService.STATUS_DISTRIBUTION))
+				.thenReturn(TODAY.minusDays(40).atStartOfDay());
+		when(summaryRepository.findCompactedThrough()).thenReturn(TODAY.minusDays(30).atStartOfDay());
+		when(dailyCountRepository.findLatestSnapshotDate()).thenReturn(TODAY.minusDays(1));
+
+		service.appendSnapshots();
+
+		verify(dailyCountRepository).deleteSnapshotsFrom(TODAY.minusDays(30));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<LocalDate, Map<SuggestionStatus, Long>> saved() {
+		ArgumentCaptor<List<StatusDailyCount>> rows = ArgumentCaptor.forClass(List.class);
+		verify(dailyCountRepository).saveAll(rows.capture());
+		Map<LocalDate, Map<SuggestionStatus, Long>> series = new LinkedHashMap<>();
+		for (StatusDailyCount row : rows.getValue()) {
+			series.computeIfAbsent(row.getSnapshotDate(), d -> new EnumMap<>(SuggestionStatus.class))
+					.put(row.getStatus(), row.getSuggestionCount());
+		}
+		return series;
+	}
+
+	private static Object[] change(String previous, String next, LocalDate day) {
+		return new Object[] {previous, next, Date.valueOf(day)};
+	}
+}
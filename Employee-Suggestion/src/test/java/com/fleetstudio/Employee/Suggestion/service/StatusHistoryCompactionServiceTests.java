@@ -0,0 +1,185 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusCheckpoint;
+import com.fleetstudio.Employee.Suggestion.model.StatusHistorySummary;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.StatusCheckpointRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusDailyCountRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistorySummaryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatusHistoryCompactionServiceTests {
+
+	private static final int RETENTION_DAYS = 30;
+
+	private SuggestionStatusHistoryRepository statusHistoryRepository;
+	private StatusHistorySummaryRepository summaryRepository;
+	private StatusCheckpointRepository checkpointRepository;
+	private StatusDailyCountRepository dailyCountRepository;
+	private StatusHistoryWriter statusHistoryWriter;
+	private StatusHistoryRewindService rewindService;
+	private StatusHistoryCompactionService service;
+
+	@BeforeEach
+	void setUp() {
+		statusHistoryRepository = mock(SuggestionStatusHistoryRepository.class);
+		summaryRepository = mock(StatusHistorySummaryRepository.class);
+		checkpointRepository = mock(StatusCheckpointRepository.class);
+		dailyCountRepository = mock(StatusDailyCountRepository.class);
+		statusHistoryWriter = mock(StatusHistoryWriter.class);
+		rewindService = mock(StatusHistoryRewindService.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		when(statusHistoryRepository.deleteByIdIn(anyCollection()))
+				.thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).size());
+		service = new StatusHistoryCompactionService(statusHistoryRepository, summaryRepository,
+				checkpointRepository, dailyCountRepository, statusHistoryWriter, rewindService,
+				new TransactionTemplate(transactionManager), RETENTION_DAYS, 100, 0);
+	}
+
+	@Test
+	void nothingIsCompactedBeforeTheFirstSnapshot() {
+		service.compact();
+
+		assertNull(service.getLastRun().getCompactedThrough());
+		assertNull(service.getLastRun().getError());
+		verify(statusHistoryRepository, never()).findSuggestionIdsWithEntriesBefore(any(), any(), any());
+	}
+
+	@Test
+	void theRetentionCutoffFallsBackToTheLatestCheckpoint() {
+		when(dailyCountRepository.findLatestSnapshotDate()).thenReturn(LocalDate.now().minusDays(1));
+		LocalDateTime checkpointAt = LocalDate.now().minusDays(35).atStartOfDay();
+		when(checkpointRepository.findFirstByCheckpointAtLessThanEqualOrderByCheckpointAtDesc(any()))
+				.thenReturn(checkpoint(checkpointAt));
+
+		service.compact();
+
+		LocalDateTime cutoff = checkpointCutoff();
+		assertTrue(Duration.between(cutoff, LocalDateTime.now().minusDays(RETENTION_DAYS)).abs().toMinutes() < 1);
+		assertEquals(checkpointAt, service.getLastRun().getCompactedThrough());
+		verify(statusHistoryRepository).findSuggestionIdsWithEntriesBefore(eq(0L), eq(checkpointAt), any());
+		// The newest entries have to be in the raw table first
+		verify(statusHistoryWriter).flush();
+	}
+
+	@Test
+	void aLaggingSnapshotHoldsTheCutoffBack() {
+		LocalDate snapshot = LocalDate.now().minusDays(60);
+		when(dailyCountRepository.findLatestSnapshotDate()).thenReturn(snapshot);
+
+		service.compact();
+
+		assertEquals(snapshot.plusDays(1).atStartOfDay(), checkpointCutoff());
+		// No checkpoint that old: nothing to fall back on
+		assertNull(service.getLastRun().getCompactedThrough());
+		verify(statusHistoryRepository, never()).findSuggestionIdsWithEntriesBefore(any(), any(), any());
+	}
+
+	@Test
+	void aPendingRewindHoldsTheCutoffBack() {
+		when(dailyCountRepository.findLatestSnapshotDate()).thenReturn(LocalDate.now().minusDays(1));
+		LocalDateTime rewindFrom = LocalDateTime.now().minusDays(90);
+		when(rewindService.getEarliestPending()).thenReturn(rewindFrom);
+
+		service.compact();
+
+		assertEquals(rewindFrom, checkpointCutoff());
+	}
+
+	@Test
+	void keepsEachSuggestionsNewestEntryAndFoldsTheRestIntoItsSummary() {
+		LocalDateTime horizon = LocalDate.now().minusDays(100).atStartOfDay();
+		when(dailyCountRepository.findLatestSnapshotDate()).thenReturn(LocalDate.now().minusDays(1));
+		when(checkpointRepository.findFirstByCheckpointAtLessThanEqualOrderByCheckpointAtDesc(any()))
+				.thenReturn(checkpoint(horizon));
+		List<Long> ids = List.of(1L, 2L, 3L);
+		when(statusHistoryRepository.findSuggestionIdsWithEntriesBefore(eq(0L), eq(horizon), any())).thenReturn(ids);
+		// Suggestion 2 has entries past the horizon, so all of its old ones can go
+		when(statusHistoryRepository.findSuggestionIdsWithEntriesFrom(ids, horizon)).thenReturn(List.of(2L));
+		LocalDateTime t0 = horizon.minusDays(20);
+		when(statusHistoryRepository.findEntriesBefore(ids, horizon)).thenReturn(List.of(
+				entry(10L, 1L, null, SuggestionStatus.OPEN, t0),
+				entry(11L, 1L, SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW, t0.plusDays(2)),
+				entry(12L, 1L, SuggestionStatus.UNDER_REVIEW, SuggestionStatus.IMPLEMENTED, t0.plusDays(5)),
+				entry(20L, 2L, SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW, t0.plusDays(3)),
+				entry(21L, 2L, SuggestionStatus.UNDER_REVIEW, SuggestionStatus.OPEN, t0.plusDays(4)),
+				entry(30L, 3L, null, SuggestionStatus.OPEN, t0)));
+		// Suggestion 2 was compacted before
+		StatusHistorySummary existing = new StatusHistorySummary(2L);
+		existing.absorb(null, SuggestionStatus.OPEN, "System", t0.minusDays(50));
+		when(summaryRepository.findBySuggestionIdIn(ids)).thenReturn(List.of(existing));
+
+		service.compact();
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Collection<Long>> deleted = ArgumentCaptor.forClass(Collection.class);
+		verify(statusHistoryRepository).deleteByIdIn(deleted.capture());
+		assertEquals(List.of(10L, 11L, 20L, 21L), new ArrayList<>(deleted.getValue()));
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<StatusHistorySummary>> saved = ArgumentCaptor.forClass(List.class);
+		verify(summaryRepository).saveAll(saved.capture());
+		List<StatusHistorySummary> summaries = new ArrayList<>(saved.getValue());
+		summaries.sort(Comparator.comparing(StatusHistorySummary::getSuggestionId));
+		assertEquals(2, summaries.size());
+
+		StatusHistorySummary first = summaries.get(0);
+		assertEquals(1L, first.getSuggestionId());
+		assertEquals(2, first.getEntriesCompacted());
+		assertEquals(SuggestionStatus.UNDER_REVIEW, first.getLastStatus());
+		assertEquals(horizon, first.getCompactedThrough());
+
+		StatusHistorySummary folded = summaries.get(1);
+		assertSame(existing, folded);
+		assertEquals(3, folded.getEntriesCompacted());
+		assertEquals(t0.minusDays(50), folded.getFirstChangedAt());
+		assertEquals(SuggestionStatus.OPEN, folded.getLastStatus());
+		assertEquals(t0.plusDays(4), folded.getLastChangedAt());
+
+		assertEquals(2, service.getLastRun().getSuggestionsCompacted());
+		assertEquals(4, service.getLastRun().getEntriesCompacted());
+		verify(statusHistoryRepository).findSuggestionIdsWithEntriesBefore(eq(3L), eq(horizon), any());
+	}
+
+	private LocalDateTime checkpointCutoff() {
+		ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(checkpointRepository).findFirstByCheckpointAtLessThanEqualOrderByCheckpointAtDesc(cutoff.capture());
+		return cutoff.getValue();
+	}
+
+	private static StatusCheckpoint checkpoint(LocalDateTime at) {
+		return new StatusCheckpoint(at, 0, new byte[0]);
+	}
+
+	private static Object[] entry(Long id, Long suggestionId, SuggestionStatus previous, SuggestionStatus next,
+								  LocalDateTime at) {
+		return new Object[] {id, suggestionId, previous, next, "admin", at};
+	}
+}
@@ -0,0 +1,156 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.model.StatusHistoryDeadLetter;
+import com.fleetstudio.Employee.Suggestion.model.StatusHistoryOutboxEntry;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistoryDeadLetterRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistoryOutboxRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatusHistoryWriterTests {
+
+	private StatusHistoryOutboxRepository outboxRepository;
+	private StatusHistoryDeadLetterRepository deadLetterRepository;
+	private SuggestionStatusHistoryRepository statusHistoryRepository;
+	private SuggestionRepository suggestionRepository;
+	private StatusHistoryWriter writer;
+
+	@BeforeEach
+	void setUp() {
+		outboxRepository = mock(StatusHistoryOutboxRepository.class);
+		deadLetterRepository = mock(StatusHistoryDeadLetterRepository.class);
+		statusHistoryRepository = mock(SuggestionStatusHistoryRepository.class);
+		suggestionRepository = mock(SuggestionRepository.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		// Not started: the tests drive flush() directly
+		writer = new StatusHistoryWriter(outboxRepository, deadLetterRepository, statusHistoryRepository,
+				suggestionRepository, transactionManager, 2, 1000);
+	}
+
+	@Test
+	void flushMovesBatchesUntilTheOutboxIsEmpty() {
+		when(outboxRepository.findBatchForUpdate(any()))
+				.thenReturn(List.of(entry(1, 10), entry(2, 10)))
+				.thenReturn(List.of(entry(3, 11)));
+
+		assertEquals(3, writer.flush());
+
+		verify(statusHistoryRepository, times(2)).saveAllAndFlush(anyList());
+		verify(outboxRepository, times(2)).deleteAllInBatch(anyList());
+		assertEquals(3, writer.getStats().getWritten());
+		assertEquals(2, writer.getStats().getBatches());
+	}
+
+	@Test
+	void entriesOfPurgedSuggestionsAreDroppedAndTheRestMoved() {
+		StatusHistoryOutboxEntry purged = entry(1, 10);
+		StatusHistoryOutboxEntry live = entry(2, 20);
+		when(outboxRepository.findBatchForUpdate(any())).thenReturn(List.of(purged, live)).thenReturn(List.of());
+		when(statusHistoryRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException("fk"));
+		when(outboxRepository.findByIdForUpdate(1L)).thenReturn(List.of(purged));
+		when(outboxRepository.findByIdForUpdate(2L)).thenReturn(List.of(live));
+		when(suggestionRepository.existsById(10L)).thenReturn(false);
+		when(suggestionRepository.existsById(20L)).thenReturn(true);
+
+		writer.flush();
+
+		verify(outboxRepository).delete(purged);
+		verify(outboxRepository).delete(live);
+		verify(statusHistoryRepository, times(1)).saveAndFlush(any());
+		assertEquals(1, writer.getStats().getDropped());
+		assertEquals(1, writer.getStats().getWritten());
+	}
+
+	@Test
+	void entryThatStillFailsIsDeadLetteredAndTheRestMoved() {
+		StatusHistoryOutboxEntry poison = entry(1, 10);
+		StatusHistoryOutboxEntry good = entry(2, 20);
+		when(outboxRepository.findBatchForUpdate(any())).thenReturn(List.of(poison, good)).thenReturn(List.of());
+		when(statusHistoryRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException("batch"));
+		when(outboxRepository.findByIdForUpdate(1L)).thenReturn(List.of(poison));
+		when(outboxRepository.findByIdForUpdate(2L)).thenReturn(List.of(good));
+		when(suggestionRepository.existsById(any())).thenReturn(true);
+		when(statusHistoryRepository.saveAndFlush(any()))
+				.thenThrow(new DataIntegrityViolationException("row"))
+				.thenReturn(null);
+
+		writer.flush();
+
+		ArgumentCaptor<StatusHistoryDeadLetter> parked = ArgumentCaptor.forClass(StatusHistoryDeadLetter.class);
+		verify(deadLetterRepository).save(parked.capture());
+		assertEquals(1L, parked.getValue().getId());
+		assertEquals("row", parked.getValue().getError());
+		verify(outboxRepository).delete(poison);
+		verify(outboxRepository).delete(good);
+		assertEquals(1, writer.getStats().getDeadLettered());
+		assertEquals(1, writer.getStats().getWritten());
+		assertNotNull(writer.getStats().getLastError());
+
+		// Nothing is left to fail the next flush
+		when(outboxRepository.findBatchForUpdate(any())).thenReturn(List.of());
+		assertEquals(0, writer.flush());
+	}
+
+	@Test
+	void transientFailureLeavesTheBatchForTheNextFlush() {
+		when(outboxRepository.findBatchForUpdate(any())).thenReturn(List.of(entry(1, 10)));
+		when(statusHistoryRepository.saveAllAndFlush(anyList()))
+				.thenThrow(new CannotAcquireLockException("deadlock"))
+				.thenReturn(List.of());
+
+		assertThrows(CannotAcquireLockException.class, writer::flush);
+		verify(outboxRepository, never()).deleteAllInBatch(anyList());
+
+		assertEquals(1, writer.flush());
+		verify(outboxRepository).deleteAllInBatch(anyList());
+		assertEquals(1, writer.getStats().getWritten());
+	}
+
+	@Test
+	void appendWritesToTheOutboxOfTheCurrentTransaction() {
+		assertThrows(IllegalStateException.class,
+				() -> writer.append(1L, null, SuggestionStatus.OPEN, "System", null));
+		verify(outboxRepository, never()).save(any());
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			writer.append(1L, SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW, "admin", "triage");
+			verify(outboxRepository).save(any(StatusHistoryOutboxEntry.class));
+			assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+		} finally {
+			TransactionSynchronizationManager.clear();
+		}
+	}
+
+	private static StatusHistoryOutboxEntry entry(long id, long suggestionId) {
+		StatusHistoryOutboxEntry entry = new StatusHistoryOutboxEntry(
+				suggestionId, SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW, "admin", null);
+		ReflectionTestUtils.setField(entry, "id", id);
+		return entry;
+	}
+}
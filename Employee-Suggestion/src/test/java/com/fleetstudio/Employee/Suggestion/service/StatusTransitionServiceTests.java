@@ -0,0 +1,64 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatusTransitionServiceTests {
+
+	private final SuggestionStatusHistoryRepository statusHistoryRepository =
+			mock(SuggestionStatusHistoryRepository.class);
+	private final StatusTransitionService service = new StatusTransitionService(statusHistoryRepository);
+
+	@Test
+	void changesCommittedDuringARecountSurviveTheSwap() {
+		when(statusHistoryRepository.countAllTransitions()).thenAnswer(invocation -> {
+			// Committed after the recount read its snapshot
+			service.onSuggestionChanged(statusChanged(SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW));
+			return List.<Object[]>of(new Object[] {"OPEN", "UNDER_REVIEW", 4L}, new Object[] {null, "OPEN", 9L});
+		});
+
+		service.reseed();
+
+		assertEquals(5, count(SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW));
+		assertEquals(9, service.getEntryCounts().get(SuggestionStatus.OPEN));
+
+		// Later changes go straight to the new counts
+		service.onSuggestionChanged(statusChanged(SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW));
+		assertEquals(6, count(SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW));
+	}
+
+	@Test
+	void purgedHistoryIsSubtracted() {
+		when(statusHistoryRepository.countAllTransitions()).thenReturn(
+				List.<Object[]>of(new Object[] {"OPEN", "UNDER_REVIEW", 4L}, new Object[] {null, "OPEN", 9L}));
+		service.reseed();
+
+		service.subtract(List.<Object[]>of(new Object[] {"OPEN", "UNDER_REVIEW", 3L}, new Object[] {null, "OPEN", 2L}));
+
+		assertEquals(1, count(SuggestionStatus.OPEN, SuggestionStatus.UNDER_REVIEW));
+		assertEquals(7, service.getEntryCounts().get(SuggestionStatus.OPEN));
+	}
+
+	private long count(SuggestionStatus from, SuggestionStatus to) {
+		return service.getTransitions().stream()
+				.filter(t -> t.getFromStatus() == from && t.getToStatus() == to)
+				.mapToLong(StatusHistoryService.StatusTransition::getCount)
+				.sum();
+	}
+
+	private static SuggestionChangedEvent statusChanged(SuggestionStatus from, SuggestionStatus to) {
+		Suggestion suggestion = new Suggestion("Title", "Description", null, true);
+		suggestion.setId(1L);
+		suggestion.setStatus(to);
+		return new SuggestionChangedEvent(SuggestionChangedEvent.Type.STATUS_CHANGED, suggestion, from);
+	}
+}
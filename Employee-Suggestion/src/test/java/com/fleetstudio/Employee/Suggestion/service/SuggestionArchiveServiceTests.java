@@ -0,0 +1,128 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedStatusHistoryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedSuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedVoteRepository;
+import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.VoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SuggestionArchiveServiceTests {
+
+	private SuggestionRepository suggestionRepository;
+	private VoteRepository voteRepository;
+	private SuggestionStatusHistoryRepository statusHistoryRepository;
+	private ArchivedSuggestionRepository archivedSuggestionRepository;
+	private ArchivedVoteRepository archivedVoteRepository;
+	private ArchivedStatusHistoryRepository archivedStatusHistoryRepository;
+	private StatusHistoryWriter statusHistoryWriter;
+	private ApplicationEventPublisher eventPublisher;
+	private SuggestionArchiveService archiveService;
+
+	@BeforeEach
+	void setUp() {
+		suggestionRepository = mock(SuggestionRepository.class);
+		voteRepository = mock(VoteRepository.class);
+		statusHistoryRepository = mock(SuggestionStatusHistoryRepository.class);
+		archivedSuggestionRepository = mock(ArchivedSuggestionRepository.class);
+		archivedVoteRepository = mock(ArchivedVoteRepository.class);
+		archivedStatusHistoryRepository = mock(ArchivedStatusHistoryRepository.class);
+		statusHistoryWriter = mock(StatusHistoryWriter.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+		archiveService = new SuggestionArchiveService(suggestionRepository, voteRepository, statusHistoryRepository,
+				archivedSuggestionRepository, archivedVoteRepository, archivedStatusHistoryRepository,
+				mock(EmployeeRepository.class), statusHistoryWriter, eventPublisher,
+				new TransactionTemplate(transactionManager), 2, 7, 90);
+	}
+
+	@Test
+	void movesLockedCandidatesChunkByChunkAndSkipsOnesThatChanged() {
+		when(suggestionRepository.findArchivableIdsAfter(eq(0L), any(), any(), eq(2))).thenReturn(List.of(1L, 2L));
+		when(suggestionRepository.findArchivableIdsAfter(eq(2L), any(), any(), eq(2))).thenReturn(List.of(4L));
+		when(suggestionRepository.findArchivableIdsAfter(eq(4L), any(), any(), eq(2))).thenReturn(List.of());
+		// 2 was voted on between the scan and the lock, so it no longer qualifies
+		when(suggestionRepository.lockArchivableIds(eq(List.of(1L, 2L)), any(), any())).thenReturn(List.of(1L));
+		when(suggestionRepository.lockArchivableIds(eq(List.of(4L)), any(), any())).thenReturn(List.of(4L));
+		when(suggestionRepository.findStateRowsByIdIn(List.of(1L)))
+				.thenReturn(List.<Object[]>of(new Object[] {1L, SuggestionStatus.IMPLEMENTED, false}));
+		when(suggestionRepository.findStateRowsByIdIn(List.of(4L)))
+				.thenReturn(List.<Object[]>of(new Object[] {4L, SuggestionStatus.OPEN, true}));
+		when(suggestionRepository.deleteByIdIn(anyCollection())).thenReturn(1);
+		when(archivedStatusHistoryRepository.copyFromLive(anyCollection())).thenReturn(3);
+		when(archivedVoteRepository.copyFromLive(anyCollection())).thenReturn(5);
+
+		archiveService.archiveEligible();
+
+		SuggestionArchiveService.ArchiveRun run = archiveService.getLastRun();
+		assertNull(run.getError());
+		assertEquals(2, run.getSuggestionsArchived());
+		assertEquals(6, run.getHistoryArchived());
+		assertEquals(10, run.getVotesArchived());
+
+		// Pending history is flushed first, and every chunk copies before it deletes
+		InOrder order = inOrder(statusHistoryWriter, archivedSuggestionRepository, archivedStatusHistoryRepository,
+				archivedVoteRepository, statusHistoryRepository, voteRepository, suggestionRepository);
+		order.verify(statusHistoryWriter).flush();
+		for (List<Long> ids : List.of(List.of(1L), List.of(4L))) {
+			order.verify(archivedSuggestionRepository).copyFromLive(eq(ids), any());
+			order.verify(archivedStatusHistoryRepository).copyFromLive(ids);
+			order.verify(archivedVoteRepository).copyFromLive(ids);
+			order.verify(statusHistoryRepository).deleteBySuggestionIdIn(ids);
+			order.verify(voteRepository).deleteBySuggestionIdIn(ids);
+			order.verify(suggestionRepository).deleteByIdIn(ids);
+		}
+		verify(suggestionRepository, never()).deleteByIdIn(List.of(1L, 2L));
+
+		// Only the closed suggestion leaves the live feed; the deleted one already had
+		ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+		verify(eventPublisher).publishEvent(events.capture());
+		SuggestionChangedEvent archived = (SuggestionChangedEvent) events.getValue();
+		assertEquals(SuggestionChangedEvent.Type.ARCHIVED, archived.getType());
+		assertEquals(1L, archived.getSuggestionId());
+	}
+
+	@Test
+	void failedChunkIsRecordedAndTheNextRunStartsAgain() {
+		when(suggestionRepository.findArchivableIdsAfter(anyLong(), any(), any(), anyInt())).thenReturn(List.of(1L));
+		when(suggestionRepository.lockArchivableIds(anyCollection(), any(), any())).thenReturn(List.of(1L));
+		when(archivedSuggestionRepository.copyFromLive(anyCollection(), any()))
+				.thenThrow(new IllegalStateException("duplicate key"));
+
+		archiveService.archiveEligible();
+		assertEquals("duplicate key", archiveService.getLastRun().getError());
+		verify(suggestionRepository, never()).deleteByIdIn(anyCollection());
+
+		when(suggestionRepository.findArchivableIdsAfter(anyLong(), any(), any(), anyInt())).thenReturn(List.of());
+		archiveService.archiveEligible();
+		assertNull(archiveService.getLastRun().getError());
+	}
+}
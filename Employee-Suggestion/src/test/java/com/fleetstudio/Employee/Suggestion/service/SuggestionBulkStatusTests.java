@@ -0,0 +1,155 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistoryOutboxRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SuggestionBulkStatusTests {
+
+	private SuggestionRepository suggestionRepository;
+	private SuggestionStatusHistoryRepository statusHistoryRepository;
+	private StatusHistoryOutboxRepository outboxRepository;
+	private StatusHistoryWriter statusHistoryWriter;
+	private ApplicationEventPublisher eventPublisher;
+	private PlatformTransactionManager transactionManager;
+	private SuggestionService suggestionService;
+
+	@BeforeEach
+	void setUp() {
+		suggestionRepository = mock(SuggestionRepository.class);
+		statusHistoryRepository = mock(SuggestionStatusHistoryRepository.class);
+		outboxRepository = mock(StatusHistoryOutboxRepository.class);
+		statusHistoryWriter = mock(StatusHistoryWriter.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+		transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+		suggestionService = new SuggestionService(suggestionRepository, mock(EmployeeRepository.class),
+				statusHistoryRepository, outboxRepository, statusHistoryWriter, eventPublisher,
+				new TransactionTemplate(transactionManager));
+
+		// Every id is live and open, except 3 (gone) and 4 (already under review)
+		when(suggestionRepository.findLiveByIdInForUpdate(anyCollection())).thenAnswer(invocation -> {
+			List<Suggestion> rows = new ArrayList<>();
+			for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+				if (id != 3L) {
+					rows.add(suggestion(id, id == 4L ? SuggestionStatus.UNDER_REVIEW : SuggestionStatus.OPEN));
+				}
+			}
+			return rows;
+		});
+	}
+
+	@Test
+	void reportsOneOutcomePerDistinctIdInRequestOrder() {
+		List<SuggestionService.StatusChangeOutcome> outcomes = suggestionService.bulkChangeStatus(
+				List.of(5L, 3L, 4L, 5L, 1L), SuggestionStatus.UNDER_REVIEW, "admin", "triage");
+
+		assertEquals(List.of(5L, 3L, 4L, 1L), outcomes.stream().map(SuggestionService.StatusChangeOutcome::getId).toList());
+		assertTrue(outcomes.get(0).isSuccess());
+		assertEquals(SuggestionStatus.OPEN, outcomes.get(0).getPreviousStatus());
+		assertFalse(outcomes.get(1).isSuccess());
+		assertEquals("Suggestion with ID 3 not found", outcomes.get(1).getError());
+		assertFalse(outcomes.get(2).isSuccess());
+		assertEquals("Suggestion is already in Under Review status", outcomes.get(2).getError());
+		assertNull(outcomes.get(2).getPreviousStatus());
+		assertTrue(outcomes.get(3).isSuccess());
+
+		// One set-based update for the ids that actually change, one history entry and event each
+		verify(suggestionRepository).updateStatusByIdIn(eq(List.of(5L, 1L)), eq(SuggestionStatus.UNDER_REVIEW), any());
+		verify(statusHistoryWriter, times(2)).append(any(), eq(SuggestionStatus.OPEN),
+				eq(SuggestionStatus.UNDER_REVIEW), eq("admin"), eq("triage"));
+		verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void splitsLargeRequestsIntoOneTransactionPerChunk() {
+		List<Long> ids = LongStream.rangeClosed(1001, 1450).boxed().toList();
+
+		List<SuggestionService.StatusChangeOutcome> outcomes =
+				suggestionService.bulkChangeStatus(ids, SuggestionStatus.UNDER_REVIEW, "admin", null);
+
+		assertEquals(450, outcomes.size());
+		assertTrue(outcomes.stream().allMatch(SuggestionService.StatusChangeOutcome::isSuccess));
+		verify(transactionManager, times(3)).commit(any());
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Collection<Long>> chunks = ArgumentCaptor.forClass(Collection.class);
+		verify(suggestionRepository, times(3)).updateStatusByIdIn(chunks.capture(), any(), any());
+		assertEquals(List.of(200, 200, 50), chunks.getAllValues().stream().map(Collection::size).toList());
+		assertEquals(ids.subList(200, 400), new ArrayList<>(chunks.getAllValues().get(1)));
+	}
+
+	@Test
+	void eventsCarryWhenThePreviousStatusWasEnteredFromHistoryOrOutbox() {
+		LocalDateTime fromHistory = LocalDateTime.of(2026, 3, 1, 9, 0);
+		LocalDateTime fromOutbox = LocalDateTime.of(2026, 3, 2, 9, 0);
+		when(statusHistoryRepository.findStatusEnteredAtByIdIn(List.of(1L)))
+				.thenReturn(List.<Object[]>of(new Object[] {1L, SuggestionStatus.OPEN, fromHistory}));
+		when(outboxRepository.findStatusEnteredAtByIdIn(List.of(1L)))
+				.thenReturn(List.<Object[]>of(new Object[] {1L, SuggestionStatus.OPEN, fromOutbox}));
+
+		suggestionService.bulkChangeStatus(List.of(1L), SuggestionStatus.IMPLEMENTED, "admin", null);
+
+		ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+		verify(eventPublisher).publishEvent(events.capture());
+		SuggestionChangedEvent event = (SuggestionChangedEvent) events.getValue();
+		assertEquals(SuggestionStatus.OPEN, event.getPreviousStatus());
+		assertEquals(SuggestionStatus.IMPLEMENTED, event.getStatus());
+		assertEquals(fromOutbox, event.getPreviousStatusSince());
+	}
+
+	@Test
+	void rejectsInvalidRequestsBeforeTouchingTheDatabase() {
+		List<Long> tooMany = LongStream.rangeClosed(1, SuggestionService.MAX_BULK_IDS + 1).boxed().toList();
+		List<Long> withNull = new ArrayList<>(List.of(1L));
+		withNull.add(null);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> suggestionService.bulkChangeStatus(List.of(1L), null, "admin", null));
+		assertThrows(IllegalArgumentException.class,
+				() -> suggestionService.bulkChangeStatus(List.of(), SuggestionStatus.OPEN, "admin", null));
+		assertThrows(IllegalArgumentException.class,
+				() -> suggestionService.bulkChangeStatus(tooMany, SuggestionStatus.OPEN, "admin", null));
+		assertThrows(IllegalArgumentException.class,
+				() -> suggestionService.bulkChangeStatus(withNull, SuggestionStatus.OPEN, "admin", null));
+		verify(transactionManager, times(0)).getTransaction(any());
+	}
+
+	private static Suggestion suggestion(Long id, SuggestionStatus status) {
+		Suggestion suggestion = new Suggestion("Suggestion " + id, "Description", null, true);
+		suggestion.setId(id);
+		suggestion.setStatus(status);
+		return suggestion;
+	}
+}
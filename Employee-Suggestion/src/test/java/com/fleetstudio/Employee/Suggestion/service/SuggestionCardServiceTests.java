@@ -0,0 +1,151 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.EmployeeChangedEvent;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionCardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SuggestionCardServiceTests {
+
+	private SuggestionCardRepository cardRepository;
+	private SuggestionCardService service;
+
+	@BeforeEach
+	void setUp() {
+		cardRepository = mock(SuggestionCardRepository.class);
+		service = new SuggestionCardService(cardRepository);
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.unbindResourceIfPossible(service);
+		TransactionSynchronizationManager.clear();
+	}
+
+	@Test
+	void writesTheCardsOfATransactionWithOneStatementEachBeforeCommit() {
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.CREATED, 1L));
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.CREATED, 2L));
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.STATUS_CHANGED, 1L));
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.VOTE_COUNT_CHANGED, 3L));
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.UPDATED, 4L));
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.DELETED, 4L));
+		service.onSuggestionChanged(SuggestionChangedEvent.archived(5L, null));
+
+		// Nothing is written until the transaction commits
+		verifyNoInteractions(cardRepository);
+		assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+		commit();
+
+		InOrder order = inOrder(cardRepository);
+		order.verify(cardRepository).deleteCards(List.of(4L, 5L));
+		order.verify(cardRepository).upsertCards(List.of(1L, 2L, 3L));
+		assertFalse(TransactionSynchronizationManager.hasResource(service));
+	}
+
+	@Test
+	void aRecreatedSuggestionIsDeletedAndThenRebuilt() {
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.DELETED, 1L));
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.UPDATED, 1L));
+
+		commit();
+
+		InOrder order = inOrder(cardRepository);
+		order.verify(cardRepository).deleteCards(List.of(1L));
+		order.verify(cardRepository).upsertCards(List.of(1L));
+	}
+
+	@Test
+	void largeTransactionsAreWrittenInBoundedStatements() {
+		for (long id = 1; id <= 2500; id++) {
+			service.onSuggestionChanged(event(SuggestionChangedEvent.Type.CREATED, id));
+		}
+		List<Integer> sizes = new ArrayList<>();
+		when(cardRepository.upsertCards(anyCollection())).thenAnswer(invocation -> {
+			sizes.add(invocation.<Collection<Long>>getArgument(0).size());
+			return 0;
+		});
+
+		commit();
+
+		assertEquals(List.of(1000, 1000, 500), sizes);
+		verify(cardRepository, never()).deleteCards(any());
+	}
+
+	@Test
+	void eachTransactionCollectsItsOwnIds() {
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.CREATED, 1L));
+		commit();
+
+		TransactionSynchronizationManager.initSynchronization();
+		service.onSuggestionChanged(event(SuggestionChangedEvent.Type.CREATED, 2L));
+		commit();
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+		verify(cardRepository, times(2)).upsertCards(ids.capture());
+		assertEquals(List.of(List.of(1L), List.of(2L)), ids.getAllValues());
+	}
+
+	@Test
+	void submitterRenamesAndRemovalsUpdateTheirCards() {
+		service.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.Type.CREATED, 7L, "Jane", "Ops"));
+		verifyNoInteractions(cardRepository);
+
+		service.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, 7L, "Jane Doe", "Ops"));
+		verify(cardRepository).renameSubmitter(7L, "Jane Doe");
+
+		service.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.Type.DELETED, 7L, "Jane Doe", "Ops"));
+		verify(cardRepository).detachSubmitter(7L);
+	}
+
+	@Test
+	void reconcileDropsOrphansBeforeFillingGaps() {
+		when(cardRepository.insertMissing()).thenReturn(3);
+
+		assertEquals(3, service.reconcile());
+
+		InOrder order = inOrder(cardRepository);
+		order.verify(cardRepository).deleteOrphaned();
+		order.verify(cardRepository).insertMissing();
+	}
+
+	private static void commit() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		synchronizations.forEach(s -> s.beforeCommit(false));
+		synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	private static SuggestionChangedEvent event(SuggestionChangedEvent.Type type, Long id) {
+		Suggestion suggestion = new Suggestion("Title", "Description", null, true);
+		suggestion.setId(id);
+		return SuggestionChangedEvent.of(type, suggestion);
+	}
+}
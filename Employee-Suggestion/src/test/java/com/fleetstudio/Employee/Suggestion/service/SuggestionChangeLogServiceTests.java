@@ -0,0 +1,162 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.dto.SuggestionChangesResponse;
+import com.fleetstudio.Employee.Suggestion.dto.SuggestionResponse;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.ChangeSequence;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionCard;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionChange;
+import com.fleetstudio.Employee.Suggestion.repository.ChangeSequenceRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionCardRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SuggestionChangeLogServiceTests {
+
+	private SuggestionChangeRepository changeRepository;
+	private ChangeSequenceRepository sequenceRepository;
+	private SuggestionCardRepository cardRepository;
+	private SuggestionChangeLogService service;
+
+	@BeforeEach
+	void setUp() {
+		changeRepository = mock(SuggestionChangeRepository.class);
+		sequenceRepository = mock(ChangeSequenceRepository.class);
+		cardRepository = mock(SuggestionCardRepository.class);
+		service = new SuggestionChangeLogService(changeRepository, sequenceRepository, cardRepository);
+	}
+
+	@Test
+	void recordsEveryEventTypeUnderTheNextSequenceNumber() {
+		ChangeSequence sequence = new ChangeSequence(SuggestionChangeLogService.SEQUENCE_NAME);
+		sequence.setCurrentValue(41);
+		when(sequenceRepository.findForUpdate(SuggestionChangeLogService.SEQUENCE_NAME))
+				.thenReturn(Optional.of(sequence));
+
+		for (SuggestionChangedEvent.Type type : SuggestionChangedEvent.Type.values()) {
+			service.onSuggestionChanged(type == SuggestionChangedEvent.Type.ARCHIVED
+					? SuggestionChangedEvent.archived(7L, null)
+					: SuggestionChangedEvent.of(type, suggestion(7L)));
+		}
+
+		ArgumentCaptor<SuggestionChange> saved = ArgumentCaptor.forClass(SuggestionChange.class);
+		verify(changeRepository, times(SuggestionChangedEvent.Type.values().length)).save(saved.capture());
+		List<String> recorded = new ArrayList<>();
+		for (SuggestionChange change : saved.getAllValues()) {
+			assertEquals(7L, change.getSuggestionId());
+			recorded.add(change.getSeq() + ":" + change.getChangeType());
+		}
+		assertEquals(List.of("42:CREATED", "43:UPDATED", "44:STATUS_CHANGED", "45:DELETED",
+				"46:VOTE_COUNT_CHANGED", "47:ARCHIVED"), recorded);
+		assertEquals(47, sequence.getCurrentValue());
+	}
+
+	@Test
+	void theFirstChangeStartsTheSequence() {
+		when(sequenceRepository.findForUpdate(SuggestionChangeLogService.SEQUENCE_NAME)).thenReturn(Optional.empty());
+
+		service.onSuggestionChanged(SuggestionChangedEvent.of(SuggestionChangedEvent.Type.CREATED, suggestion(1L)));
+
+		ArgumentCaptor<SuggestionChange> saved = ArgumentCaptor.forClass(SuggestionChange.class);
+		verify(changeRepository).save(saved.capture());
+		assertEquals(1L, saved.getValue().getSeq());
+		verify(sequenceRepository).save(any(ChangeSequence.class));
+	}
+
+	@Test
+	void pagesFromTheGivenSequenceKeepingTheLatestChangePerSuggestion() {
+		when(changeRepository.findChangesSince(10L, PageRequest.of(0, 4))).thenReturn(List.of(
+				change(11, 1L), change(12, 2L), change(13, 1L), change(14, 3L)));
+		when(cardRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+			List<SuggestionCard> cards = new ArrayList<>();
+			for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+				if (id != 3L) {
+					cards.add(new SuggestionCard(id));
+				}
+			}
+			return cards;
+		});
+
+		SuggestionChangesResponse page = service.getChangesSince(10, 4);
+
+		assertEquals(List.of(2L, 1L), page.getChanged().stream().map(SuggestionResponse::getId).toList());
+		assertEquals(List.of(3L), page.getTombstones());
+		assertEquals(14, page.getNextSince());
+		assertTrue(page.isHasMore());
+		assertFalse(page.isResyncRequired());
+
+		when(changeRepository.findChangesSince(14L, PageRequest.of(0, 4))).thenReturn(List.of(change(15, 2L)));
+		SuggestionChangesResponse last = service.getChangesSince(14, 4);
+		assertEquals(15, last.getNextSince());
+		assertFalse(last.isHasMore());
+	}
+
+	@Test
+	void anUpToDateClientKeepsItsSequence() {
+		when(changeRepository.findChangesSince(eq(20L), any())).thenReturn(List.of());
+		when(changeRepository.findLatestSeq()).thenReturn(20L);
+
+		SuggestionChangesResponse response = service.getChangesSince(20, 100);
+
+		assertEquals(20, response.getNextSince());
+		assertFalse(response.isResyncRequired());
+		assertFalse(response.isHasMore());
+	}
+
+	@Test
+	void aSequenceThePrunedLogNoLongerCoversAsksForAResync() {
+		// Changes 1-99 are gone
+		when(changeRepository.findChangesSince(eq(5L), any())).thenReturn(List.of(change(100, 1L), change(101, 2L)));
+		when(changeRepository.findLatestSeq()).thenReturn(101L);
+
+		SuggestionChangesResponse response = service.getChangesSince(5, 100);
+
+		assertTrue(response.isResyncRequired());
+		assertEquals(101, response.getNextSince());
+		assertTrue(response.getChanged().isEmpty());
+		verify(cardRepository, never()).findAllById(anyCollection());
+	}
+
+	@Test
+	void aSequenceAheadOfTheLogAsksForAResync() {
+		when(changeRepository.findChangesSince(anyLong(), any())).thenReturn(List.of());
+		when(changeRepository.findLatestSeq()).thenReturn(30L);
+
+		SuggestionChangesResponse response = service.getChangesSince(500, 100);
+
+		assertTrue(response.isResyncRequired());
+		assertEquals(30, response.getNextSince());
+	}
+
+	private static SuggestionChange change(long seq, Long suggestionId) {
+		return new SuggestionChange(seq, suggestionId, SuggestionChange.ChangeType.UPDATED);
+	}
+
+	private static Suggestion suggestion(Long id) {
+		Suggestion suggestion = new Suggestion("Title", "Description", null, true);
+		suggestion.setId(id);
+		return suggestion;
+	}
+}
@@ -0,0 +1,174 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fleetstudio.Employee.Suggestion.model.Employee;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistorySummaryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SuggestionImportServiceTests {
+
+	private static final String HEADER = "title,description,submitterEmail,anonymous,createdAt\n";
+
+	private SuggestionRepository suggestionRepository;
+	private EmployeeRepository employeeRepository;
+	private StatusHistoryWriter statusHistoryWriter;
+	private StatusHistorySummaryRepository summaryRepository;
+	private StatusHistoryRewindService rewindService;
+	private SuggestionImportService service;
+	private final List<List<Suggestion>> savedChunks = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		suggestionRepository = mock(SuggestionRepository.class);
+		employeeRepository = mock(EmployeeRepository.class);
+		statusHistoryWriter = mock(StatusHistoryWriter.class);
+		summaryRepository = mock(StatusHistorySummaryRepository.class);
+		rewindService = mock(StatusHistoryRewindService.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+		AtomicLong ids = new AtomicLong();
+		when(suggestionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Suggestion> suggestions = invocation.getArgument(0);
+			suggestions.forEach(s -> s.setId(ids.incrementAndGet()));
+			savedChunks.add(suggestions);
+			return suggestions;
+		});
+		when(employeeRepository.findIdRowsByEmailIn(anyCollection()))
+				.thenReturn(List.<Object[]>of(new Object[] {7L, "Jane@Example.com"}));
+		when(employeeRepository.getReferenceById(7L)).thenReturn(new Employee());
+
+		service = new SuggestionImportService(suggestionRepository, employeeRepository, statusHistoryWriter,
+				summaryRepository, rewindService, mock(ApplicationEventPublisher.class),
+				new TransactionTemplate(transactionManager), new ObjectMapper(), 2);
+	}
+
+	@Test
+	void reportsBadRowsAndUnknownEmailsAndImportsTheRest() throws IOException {
+		SuggestionImportService.ImportResult result = importCsv(HEADER
+				+ "Snacks,More fruit,jane@example.com,no,\n"
+				+ ",No title,,yes,\n"
+				+ "Parking,More spots,nobody@example.com,no,\n"
+				+ "Lockers,By the gym,,maybe,\n"
+				+ "Bikes,Racks,,yes,\n");
+
+		assertEquals(5, result.getTotalRows());
+		assertEquals(2, result.getImported());
+		assertEquals(3, result.getFailed());
+		assertEquals(List.of("2:Suggestion title is required",
+				"3:Employee with email nobody@example.com not found",
+				"4:Invalid value for anonymous: maybe"), errors(result));
+		assertFalse(result.isErrorsTruncated());
+
+		verify(statusHistoryWriter).append(eq(1L), isNull(), eq(SuggestionStatus.OPEN), eq("admin"), eq("Imported"), any());
+		verify(statusHistoryWriter).append(eq(2L), isNull(), eq(SuggestionStatus.OPEN), eq("admin"), eq("Imported"), any());
+		verify(rewindService, never()).recordBackdated(any());
+	}
+
+	@Test
+	void capsReportedErrorsButCountsEveryFailure() throws IOException {
+		StringBuilder csv = new StringBuilder(HEADER);
+		int bad = SuggestionImportService.MAX_REPORTED_ERRORS + 5;
+		for (int i = 0; i < bad; i++) {
+			csv.append(",missing title,,yes,\n");
+		}
+		csv.append("Snacks,More fruit,,yes,\n");
+
+		SuggestionImportService.ImportResult result = importCsv(csv.toString());
+
+		assertEquals(bad + 1, result.getTotalRows());
+		assertEquals(1, result.getImported());
+		assertEquals(bad, result.getFailed());
+		assertEquals(SuggestionImportService.MAX_REPORTED_ERRORS, result.getErrors().size());
+		assertTrue(result.isErrorsTruncated());
+	}
+
+	@Test
+	void aFailedChunkIsReportedForEachOfItsRows() throws IOException {
+		AtomicInteger calls = new AtomicInteger();
+		AtomicLong ids = new AtomicLong();
+		when(suggestionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Suggestion> suggestions = invocation.getArgument(0);
+			if (calls.incrementAndGet() == 2) {
+				throw new DataIntegrityViolationException("write failed", new RuntimeException("Duplicate entry"));
+			}
+			suggestions.forEach(s -> s.setId(ids.incrementAndGet()));
+			return suggestions;
+		});
+
+		SuggestionImportService.ImportResult result = importCsv(HEADER
+				+ "One,First,,yes,\n"
+				+ "Two,Second,,yes,\n"
+				+ "Three,Third,,yes,\n"
+				+ "Four,Fourth,,yes,\n"
+				+ "Five,Fifth,,yes,\n");
+
+		assertEquals(3, result.getImported());
+		assertEquals(List.of("3:Chunk write failed: Duplicate entry", "4:Chunk write failed: Duplicate entry"),
+				errors(result));
+		verify(statusHistoryWriter, times(3)).append(any(), isNull(), eq(SuggestionStatus.OPEN), anyString(), anyString(), any());
+	}
+
+	@Test
+	void backdatedRowsRecordARewindClampedToTheCompactionHorizon() throws IOException {
+		LocalDateTime horizon = LocalDateTime.of(2024, 1, 1, 0, 0);
+		when(summaryRepository.findCompactedThrough()).thenReturn(horizon);
+
+		SuggestionImportService.ImportResult result = importCsv(HEADER
+				+ "Old,Before the horizon,,yes,2023-06-01T10:00:00\n"
+				+ "Later,After the horizon,,yes,2024-02-01T10:00:00\n"
+				+ "Now,Undated,,yes,\n");
+
+		assertEquals(3, result.getImported());
+		assertEquals(LocalDateTime.of(2023, 6, 1, 10, 0), savedChunks.get(0).get(0).getCreatedAt());
+		verify(statusHistoryWriter).append(eq(1L), isNull(), eq(SuggestionStatus.OPEN), eq("admin"), eq("Imported"), eq(horizon));
+		verify(statusHistoryWriter).append(eq(2L), isNull(), eq(SuggestionStatus.OPEN), eq("admin"), eq("Imported"),
+				eq(LocalDateTime.of(2024, 2, 1, 10, 0)));
+		verify(rewindService).recordBackdated(horizon);
+		// The undated row's chunk is not backdated
+		verify(rewindService, times(1)).recordBackdated(any());
+	}
+
+	private SuggestionImportService.ImportResult importCsv(String csv) throws IOException {
+		return service.importSuggestions(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+				SuggestionImportService.Format.CSV, "admin");
+	}
+
+	private static List<String> errors(SuggestionImportService.ImportResult result) {
+		return result.getErrors().stream().map(e -> e.getRow() + ":" + e.getMessage()).toList();
+	}
+}
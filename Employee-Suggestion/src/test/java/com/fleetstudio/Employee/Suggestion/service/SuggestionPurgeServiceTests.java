@@ -0,0 +1,164 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedStatusHistoryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedSuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.ArchivedVoteRepository;
+import com.fleetstudio.Employee.Suggestion.repository.StatusHistorySummaryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionStatusHistoryRepository;
+import com.fleetstudio.Employee.Suggestion.repository.VoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SuggestionPurgeServiceTests {
+
+	private static final PageRequest CHUNK = PageRequest.of(0, 2);
+
+	private SuggestionRepository suggestionRepository;
+	private VoteRepository voteRepository;
+	private SuggestionStatusHistoryRepository statusHistoryRepository;
+	private ArchivedSuggestionRepository archivedSuggestionRepository;
+	private ArchivedStatusHistoryRepository archivedStatusHistoryRepository;
+	private StatusTransitionService statusTransitionService;
+	private StatusChangeRankingService statusChangeRankingService;
+	private SuggestionPurgeService purgeService;
+
+	@BeforeEach
+	void setUp() {
+		suggestionRepository = mock(SuggestionRepository.class);
+		voteRepository = mock(VoteRepository.class);
+		statusHistoryRepository = mock(SuggestionStatusHistoryRepository.class);
+		archivedSuggestionRepository = mock(ArchivedSuggestionRepository.class);
+		archivedStatusHistoryRepository = mock(ArchivedStatusHistoryRepository.class);
+		statusTransitionService = mock(StatusTransitionService.class);
+		statusChangeRankingService = mock(StatusChangeRankingService.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+		purgeService = new SuggestionPurgeService(suggestionRepository, voteRepository, statusHistoryRepository,
+				archivedSuggestionRepository, mock(ArchivedVoteRepository.class), archivedStatusHistoryRepository,
+				mock(StatusHistorySummaryRepository.class), statusTransitionService, statusChangeRankingService,
+				mock(StatusHistoryWriter.class), new TransactionTemplate(transactionManager), 2, 0);
+	}
+
+	@AfterEach
+	void tearDown() {
+		purgeService.shutdown();
+	}
+
+	@Test
+	void walksBothTiersInChunksAndSubtractsEachChunksHistory() throws Exception {
+		when(suggestionRepository.findDeletedIdsAfter(0L, CHUNK)).thenReturn(List.of(1L, 2L));
+		when(suggestionRepository.findDeletedIdsAfter(2L, CHUNK)).thenReturn(List.of(5L));
+		when(suggestionRepository.findDeletedIdsAfter(5L, CHUNK)).thenReturn(List.of());
+		when(archivedSuggestionRepository.findDeletedIdsAfter(0L, CHUNK)).thenReturn(List.of(3L));
+		when(archivedSuggestionRepository.findDeletedIdsAfter(3L, CHUNK)).thenReturn(List.of());
+		when(suggestionRepository.deleteDeletedByIdIn(any())).thenAnswer(i -> i.<List<Long>>getArgument(0).size());
+		when(archivedSuggestionRepository.deleteDeletedByIdIn(any())).thenReturn(1);
+		when(statusHistoryRepository.deleteBySuggestionIdIn(any())).thenReturn(4);
+		when(archivedStatusHistoryRepository.deleteBySuggestionIdIn(any())).thenReturn(2);
+		List<Object[]> counts = List.<Object[]>of(new Object[] {"OPEN", "UNDER_REVIEW", 1L});
+		when(statusHistoryRepository.countTransitionsBySuggestionIdIn(any())).thenReturn(counts);
+
+		SuggestionPurgeService.PurgeJob job = purgeService.startPurge("admin");
+		awaitState(job, SuggestionPurgeService.JobState.COMPLETED);
+
+		assertEquals(3, job.getChunks());
+		assertEquals(4, job.getSuggestionsDeleted());
+		assertEquals(10, job.getHistoryDeleted());
+
+		// The transitions are counted before the history they describe is deleted
+		InOrder order = inOrder(statusHistoryRepository, suggestionRepository);
+		order.verify(statusHistoryRepository).countTransitionsBySuggestionIdIn(List.of(1L, 2L));
+		order.verify(statusHistoryRepository).deleteBySuggestionIdIn(List.of(1L, 2L));
+		order.verify(suggestionRepository).deleteDeletedByIdIn(List.of(1L, 2L));
+		verify(statusTransitionService, times(3)).subtract(counts);
+		verify(statusChangeRankingService).remove(List.of(1L, 2L));
+		verify(statusChangeRankingService).remove(List.of(3L));
+		verify(statusTransitionService, never()).reseed();
+	}
+
+	@Test
+	void pausedJobStopsBetweenChunksUntilResumed() throws Exception {
+		CountDownLatch firstChunkStarted = new CountDownLatch(1);
+		CountDownLatch pauseRequested = new CountDownLatch(1);
+		when(suggestionRepository.findDeletedIdsAfter(0L, CHUNK)).thenAnswer(i -> {
+			firstChunkStarted.countDown();
+			pauseRequested.await(5, TimeUnit.SECONDS);
+			return List.of(1L, 2L);
+		});
+		when(suggestionRepository.findDeletedIdsAfter(2L, CHUNK)).thenReturn(List.of());
+
+		SuggestionPurgeService.PurgeJob job = purgeService.startPurge("admin");
+		assertTrue(firstChunkStarted.await(5, TimeUnit.SECONDS));
+		assertSame(job, purgeService.startPurge("someone else"));
+		purgeService.pause(job.getId());
+		pauseRequested.countDown();
+
+		awaitState(job, SuggestionPurgeService.JobState.PAUSED);
+		assertEquals(1, job.getChunks());
+		verify(suggestionRepository, never()).findDeletedIdsAfter(eq(2L), any());
+
+		purgeService.resume(job.getId());
+		awaitState(job, SuggestionPurgeService.JobState.COMPLETED);
+		assertEquals(1, job.getChunks());
+		verify(suggestionRepository).findDeletedIdsAfter(2L, CHUNK);
+
+		assertThrows(IllegalArgumentException.class, () -> purgeService.pause(job.getId()));
+		assertThrows(IllegalArgumentException.class, () -> purgeService.resume("no-such-job"));
+	}
+
+	@Test
+	void failedChunkFailsTheJobWithoutSubtracting() throws Exception {
+		when(suggestionRepository.findDeletedIdsAfter(anyLong(), any())).thenReturn(List.of(1L));
+		when(voteRepository.deleteBySuggestionIdIn(any())).thenThrow(new IllegalStateException("lock wait timeout"));
+
+		SuggestionPurgeService.PurgeJob job = purgeService.startPurge("admin");
+		awaitState(job, SuggestionPurgeService.JobState.FAILED);
+
+		assertEquals("lock wait timeout", job.getError());
+		assertEquals(0, job.getChunks());
+		verify(statusTransitionService, never()).subtract(any());
+	}
+
+	private static void awaitState(SuggestionPurgeService.PurgeJob job, SuggestionPurgeService.JobState state)
+			throws InterruptedException {
+		awaitTrue(() -> job.getState() == state, "job to reach " + state + " (is " + job.getState() + ")");
+	}
+
+	private static void awaitTrue(BooleanSupplier condition, String what) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Timed out waiting for " + what);
+			}
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fleetstudio.Employee.Suggestion.event.EmployeeChangedEvent;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SuggestionReadCacheTests {
+
+	private SuggestionReadCache cache;
+	private final Map<String, Integer> loads = new HashMap<>();
+
+	@BeforeEach
+	void setUp() {
+		cache = new SuggestionReadCache(new ObjectMapper(), 100, 60);
+		readAll();
+		loads.clear();
+	}
+
+	@Test
+	void editsAndVotesDropOnlyTheEntriesContainingTheSuggestion() {
+		cache.onSuggestionChanged(event(SuggestionChangedEvent.Type.UPDATED, 9L, SuggestionStatus.OPEN));
+		assertEquals(Set.of(), reloaded());
+
+		cache.onSuggestionChanged(event(SuggestionChangedEvent.Type.VOTE_COUNT_CHANGED, 2L, SuggestionStatus.OPEN));
+		assertEquals(Set.of("ALL", "DETAIL-2"), reloaded());
+	}
+
+	@Test
+	void creationsAndRemovalsShiftTheirScopes() {
+		cache.onSuggestionChanged(event(SuggestionChangedEvent.Type.CREATED, 7L, SuggestionStatus.OPEN));
+		assertEquals(Set.of("ALL", "OPEN"), reloaded());
+
+		cache.onSuggestionChanged(event(SuggestionChangedEvent.Type.DELETED, 3L, SuggestionStatus.UNDER_REVIEW));
+		assertEquals(Set.of("ALL", "UNDER_REVIEW"), reloaded());
+
+		cache.onSuggestionChanged(SuggestionChangedEvent.archived(5L, SuggestionStatus.IMPLEMENTED));
+		assertEquals(Set.of("ALL", "DETAIL-5"), reloaded());
+	}
+
+	@Test
+	void statusChangesDropTheOldAndNewScopes() {
+		Suggestion suggestion = suggestion(1L, SuggestionStatus.UNDER_REVIEW);
+		cache.onSuggestionChanged(new SuggestionChangedEvent(
+				SuggestionChangedEvent.Type.STATUS_CHANGED, suggestion, SuggestionStatus.OPEN));
+
+		assertEquals(Set.of("ALL", "OPEN", "UNDER_REVIEW"), reloaded());
+	}
+
+	@Test
+	void submitterChangesDropEverything() {
+		cache.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.Type.CREATED, 7L, "Jane", "Ops"));
+		assertEquals(Set.of(), reloaded());
+
+		cache.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, 7L, "Jane Doe", "Ops"));
+		assertEquals(Set.of("ALL", "OPEN", "UNDER_REVIEW", "DETAIL-2", "DETAIL-5"), reloaded());
+	}
+
+	@Test
+	void aLoadRacingAWriteIsServedButNotCached() {
+		cache.onSuggestionChanged(event(SuggestionChangedEvent.Type.UPDATED, 1L, SuggestionStatus.OPEN));
+		cache.getList(SuggestionStatus.OPEN.name(), "full", () -> {
+			loads.merge(SuggestionStatus.OPEN.name(), 1, Integer::sum);
+			// Committed while the feed was being read
+			cache.onSuggestionChanged(event(SuggestionChangedEvent.Type.UPDATED, 9L, SuggestionStatus.OPEN));
+			return List.of(1L);
+		}, id -> id);
+
+		assertEquals(Set.of("ALL", "OPEN"), reloaded());
+		assertEquals(Set.of(), reloaded());
+	}
+
+	@Test
+	void countsHitsAndMisses() {
+		cache.clear();
+		long hits = cache.getStats().getHits();
+		long misses = cache.getStats().getMisses();
+
+		readAll();
+		readAll();
+
+		assertEquals(hits + 5, cache.getStats().getHits());
+		assertEquals(misses + 5, cache.getStats().getMisses());
+		assertEquals(5, cache.getStats().getSize());
+	}
+
+	/**
+	 * Read every cached view and return the ones that had to be loaded again
+	 */
+	private Set<String> reloaded() {
+		Map<String, Integer> before = new HashMap<>(loads);
+		readAll();
+		Set<String> reloaded = new TreeSet<>();
+		loads.forEach((key, count) -> {
+			if (!count.equals(before.get(key))) {
+				reloaded.add(key);
+			}
+		});
+		return reloaded;
+	}
+
+	private void readAll() {
+		feed(SuggestionReadCache.SCOPE_ALL, List.of(1L, 2L, 3L));
+		feed(SuggestionStatus.OPEN.name(), List.of(1L));
+		feed(SuggestionStatus.UNDER_REVIEW.name(), List.of(3L));
+		detail(2L);
+		detail(5L);
+	}
+
+	private void feed(String scope, List<Long> ids) {
+		cache.getList(scope, "full", () -> {
+			loads.merge(scope, 1, Integer::sum);
+			return ids;
+		}, id -> id);
+	}
+
+	private void detail(Long id) {
+		cache.getDetail(id, "full", () -> {
+			loads.merge("DETAIL-" + id, 1, Integer::sum);
+			return Optional.of(id);
+		});
+	}
+
+	private static SuggestionChangedEvent event(SuggestionChangedEvent.Type type, Long id, SuggestionStatus status) {
+		return SuggestionChangedEvent.of(type, suggestion(id, status));
+	}
+
+	private static Suggestion suggestion(Long id, SuggestionStatus status) {
+		Suggestion suggestion = new Suggestion("Title", "Description", null, true);
+		suggestion.setId(id);
+		suggestion.setStatus(status);
+		return suggestion;
+	}
+}
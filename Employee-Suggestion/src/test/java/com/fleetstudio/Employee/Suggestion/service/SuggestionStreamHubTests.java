@@ -0,0 +1,201 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.SuggestionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SuggestionStreamHubTests {
+
+	private static final Pattern EVENT = Pattern.compile("event:(\\w+)\ndata:(\\{[^\n]*})\n\n");
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	// Two queued batches per client, 50 ms write timeout, two writers
+	private final SuggestionStreamHub hub = new SuggestionStreamHub(objectMapper, 60_000, 2, 50, 2);
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		hub.shutdown();
+	}
+
+	@Test
+	void votesAreCoalescedAfterLifecycleFramesInOrder() throws Exception {
+		RecordingEmitter client = new RecordingEmitter();
+		hub.register(client);
+
+		hub.onSuggestionChanged(event(SuggestionChangedEvent.Type.CREATED, 1L, 0));
+		hub.onSuggestionChanged(event(SuggestionChangedEvent.Type.VOTE_COUNT_CHANGED, 1L, 1));
+		hub.onSuggestionChanged(event(SuggestionChangedEvent.Type.STATUS_CHANGED, 2L, 4));
+		hub.onSuggestionChanged(event(SuggestionChangedEvent.Type.VOTE_COUNT_CHANGED, 2L, 5));
+		hub.onSuggestionChanged(event(SuggestionChangedEvent.Type.VOTE_COUNT_CHANGED, 1L, 3));
+		hub.flush();
+
+		awaitTrue(() -> client.sends() == 2, "the connected comment and one batch");
+		assertEquals(List.of("suggestion 1 CREATED", "suggestion 2 STATUS_CHANGED", "votes 1 3", "votes 2 5"),
+				frames(client.text()));
+
+		// Nothing pending, nothing sent
+		hub.flush();
+		Thread.sleep(50);
+		assertEquals(2, client.sends());
+	}
+
+	@Test
+	void failedClientIsRemovedAndOthersKeepReceiving() throws Exception {
+		RecordingEmitter healthy = new RecordingEmitter();
+		RecordingEmitter broken = new RecordingEmitter();
+		broken.failing = true;
+		hub.register(healthy);
+		hub.register(broken);
+
+		awaitTrue(() -> hub.getConnectionCount() == 1, "the broken client to be removed");
+		assertEquals(1, hub.getDroppedClients());
+		awaitTrue(() -> broken.completedWithError, "the broken emitter to be completed");
+
+		hub.onSuggestionChanged(event(SuggestionChangedEvent.Type.CREATED, 1L, 0));
+		hub.flush();
+		awaitTrue(() -> frames(healthy.text()).equals(List.of("suggestion 1 CREATED")), "the healthy client's frame");
+		assertEquals(1, broken.sends());
+	}
+
+	@Test
+	void stalledClientIsDroppedWithoutHoldingUpTheFlush() throws Exception {
+		RecordingEmitter healthy = new RecordingEmitter();
+		RecordingEmitter stalled = new RecordingEmitter();
+		stalled.stall = new CountDownLatch(1);
+		hub.register(stalled);
+		hub.register(healthy);
+		awaitTrue(() -> stalled.sends() == 1, "the stalled client's first send");
+
+		for (long id = 1; id <= 4; id++) {
+			hub.onSuggestionChanged(event(SuggestionChangedEvent.Type.CREATED, id, 0));
+			hub.flush();
+			// One flush interval: the healthy client keeps up, the stalled one does not
+			int frames = (int) id;
+			awaitTrue(() -> frames(healthy.text()).size() == frames, "frame " + id + " on the healthy client");
+		}
+
+		// The third queued batch overflowed the stalled client's queue
+		assertEquals(1, hub.getConnectionCount());
+		assertEquals(1, hub.getDroppedClients());
+		assertFalse(stalled.completedWithError);
+
+		// Its own writer completes it once the send returns
+		stalled.stall.countDown();
+		awaitTrue(() -> stalled.completedWithError, "the stalled emitter to be completed");
+		assertEquals(1, stalled.sends());
+	}
+
+	@Test
+	void heartbeatDropsAClientStuckInAWrite() throws Exception {
+		RecordingEmitter stuck = new RecordingEmitter();
+		stuck.stall = new CountDownLatch(1);
+		hub.register(stuck);
+		awaitTrue(() -> stuck.sends() == 1, "the stuck client's first send");
+		Thread.sleep(100);
+
+		hub.heartbeat();
+
+		assertEquals(0, hub.getConnectionCount());
+		assertEquals(1, hub.getDroppedClients());
+		stuck.stall.countDown();
+		awaitTrue(() -> stuck.completedWithError, "the stuck emitter to be completed");
+	}
+
+	private List<String> frames(String text) {
+		List<String> frames = new ArrayList<>();
+		Matcher matcher = EVENT.matcher(text);
+		while (matcher.find()) {
+			try {
+				JsonNode payload = objectMapper.readTree(matcher.group(2));
+				frames.add(matcher.group(1) + " " + payload.get("suggestionId").asLong() + " "
+						+ (payload.has("type") ? payload.get("type").asText() : payload.get("voteCount").asText()));
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		return frames;
+	}
+
+	private static SuggestionChangedEvent event(SuggestionChangedEvent.Type type, Long id, int votes) {
+		Suggestion suggestion = new Suggestion("Title " + id, "Description", null, false);
+		suggestion.setId(id);
+		suggestion.setStatus(SuggestionStatus.OPEN);
+		suggestion.setVoteCount(votes);
+		return SuggestionChangedEvent.of(type, suggestion);
+	}
+
+	private static void awaitTrue(BooleanSupplier condition, String what) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Timed out waiting for " + what);
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	/**
+	 * Records what the hub writes instead of writing to a response
+	 */
+	private static class RecordingEmitter extends SseEmitter {
+		private final StringBuffer text = new StringBuffer();
+		private int sends;
+		volatile boolean failing;
+		volatile CountDownLatch stall;
+		volatile boolean completedWithError;
+
+		@Override
+		public void send(Set<DataWithMediaType> items) throws IOException {
+			synchronized (this) {
+				sends++;
+			}
+			if (failing) {
+				throw new IOException("Broken pipe");
+			}
+			CountDownLatch latch = stall;
+			if (latch != null) {
+				try {
+					latch.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return;
+			}
+			for (DataWithMediaType item : items) {
+				text.append(item.getData());
+			}
+		}
+
+		@Override
+		public void completeWithError(Throwable ex) {
+			completedWithError = true;
+		}
+
+		synchronized int sends() {
+			return sends;
+		}
+
+		String text() {
+			return text.toString();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.fleetstudio.Employee.Suggestion.service;
+
+import com.fleetstudio.Employee.Suggestion.event.SuggestionChangedEvent;
+import com.fleetstudio.Employee.Suggestion.model.Suggestion;
+import com.fleetstudio.Employee.Suggestion.model.Vote;
+import com.fleetstudio.Employee.Suggestion.repository.EmployeeRepository;
+import com.fleetstudio.Employee.Suggestion.repository.SuggestionRepository;
+import com.fleetstudio.Employee.Suggestion.repository.VoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VoteServiceTests {
+
+	private static final long SUGGESTION_ID = 7L;
+
+	private VoteRepository voteRepository;
+	private SuggestionRepository suggestionRepository;
+	private ApplicationEventPublisher eventPublisher;
+	private VoteService voteService;
+
+	// Stands in for the vote_count column: only the atomic update statements touch it
+	private final AtomicInteger storedCount = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		voteRepository = mock(VoteRepository.class);
+		suggestionRepository = mock(SuggestionRepository.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+		voteService = new VoteService(voteRepository, suggestionRepository, mock(EmployeeRepository.class),
+				eventPublisher);
+
+		when(suggestionRepository.findByIdAndDeletedFalse(SUGGESTION_ID)).thenAnswer(i -> Optional.of(row()));
+		when(suggestionRepository.findById(SUGGESTION_ID)).thenAnswer(i -> Optional.of(row()));
+		when(suggestionRepository.incrementVoteCount(eq(SUGGESTION_ID), any())).thenAnswer(i -> {
+			storedCount.incrementAndGet();
+			return 1;
+		});
+		when(suggestionRepository.decrementVoteCount(eq(SUGGESTION_ID), any())).thenAnswer(i -> {
+			storedCount.updateAndGet(c -> Math.max(0, c - 1));
+			return 1;
+		});
+	}
+
+	@Test
+	void concurrentVotesAreAllCountedWithoutSavingTheLoadedRow() throws Exception {
+		int voters = 32;
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < voters; i++) {
+				String device = "device-" + i;
+				results.add(pool.submit(() -> {
+					start.await();
+					return voteService.voteForSuggestion(SUGGESTION_ID, device, null);
+				}));
+			}
+			start.countDown();
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertEquals(voters, storedCount.get());
+		// The stale entity loaded before the update is never written back
+		verify(suggestionRepository, never()).save(any(Suggestion.class));
+	}
+
+	@Test
+	void unvoteDecrementsAtomicallyAndPublishesTheStoredCount() {
+		storedCount.set(3);
+		Vote vote = new Vote(row(), "device-1");
+		when(voteRepository.findBySuggestionIdAndDeviceIdentifier(SUGGESTION_ID, "device-1"))
+				.thenReturn(Optional.of(vote));
+
+		assertTrue(voteService.removeVoteForSuggestion(SUGGESTION_ID, "device-1"));
+
+		assertEquals(2, storedCount.get());
+		verify(voteRepository).delete(vote);
+		verify(suggestionRepository, never()).save(any(Suggestion.class));
+		verify(eventPublisher).publishEvent(argThat((Object e) ->
+				e instanceof SuggestionChangedEvent changed && changed.getVoteCount() == 2));
+	}
+
+	@Test
+	void repeatedVoteFromTheSameDeviceIsNotCounted() {
+		when(voteRepository.existsBySuggestionIdAndDeviceIdentifier(eq(SUGGESTION_ID), anyString())).thenReturn(true);
+
+		assertFalse(voteService.voteForSuggestion(SUGGESTION_ID, "device-1", null));
+
+		assertEquals(0, storedCount.get());
+		verify(suggestionRepository, never()).incrementVoteCount(any(), any());
+	}
+
+	private Suggestion row() {
+		Suggestion suggestion = new Suggestion("Bike racks", "More bike racks", null, true);
+		suggestion.setId(SUGGESTION_ID);
+		suggestion.setVoteCount(storedCount.get());
+		return suggestion;
+	}
+}
@@ -2,10 +2,13 @@ import React, { useEffect, useState } from "react";
 import "./DeletedSuggestionsPage.css";
 import AdminNavbar from "./AdminNavbar";
 
+const PURGE_POLL_INTERVAL_MS = 1000;
+
 const DeletedSuggestionsPage = () => {
   const [deletedSuggestions, setDeletedSuggestions] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  const [purgeJob, setPurgeJob] = useState(null);
   const token = localStorage.getItem("token");
 
   // 🔹 Load deleted suggestions
@@ -37,18 +40,47 @@ const handleClearAll = () => {
     .then((res) => {
       if (!res.ok) throw new Error("Failed to clear deleted suggestions");
 
-      // if 204, no body to parse
-      if (res.status === 204) return null; 
+      // 202 with the purge job to poll
       return res.json();
     })
-    .then(() => {
-      setDeletedSuggestions([]); // clear local state
-      getAllDeletedSuggestions(); // refresh list after success
+    .then((job) => {
+      setError(null);
+      setDeletedSuggestions([]); // keep the list cleared while the job runs
+      setPurgeJob(job);
     })
     .catch((err) => setError(err.message));
 };
 
+  // 🔹 Poll the purge job; refresh the list only once it has stopped
+  useEffect(() => {
+    if (!purgeJob || purgeJob.state !== "RUNNING") return;
+    const timer = setTimeout(() => {
+      fetch(`${import.meta.env.VITE_API_BASE_URL}/admin/suggestions/purge-jobs/${purgeJob.id}`, {
+        headers: { Authorization: `Bearer ${token}` },
+      })
+        .then((res) => {
+          if (!res.ok) throw new Error("Failed to check the purge progress");
+          return res.json();
+        })
+        .then((job) => {
+          setPurgeJob(job);
+          if (job.state !== "RUNNING") {
+            if (job.state !== "COMPLETED") {
+              setError(`Purge ${job.state.toLowerCase()}${job.error ? `: ${job.error}` : ""}`);
+            }
+            getAllDeletedSuggestions();
+          }
+        })
+        .catch((err) => {
+          setError(err.message);
+          setPurgeJob(null);
+          getAllDeletedSuggestions();
+        });
+    }, PURGE_POLL_INTERVAL_MS);
+    return () => clearTimeout(timer);
+  }, [purgeJob, token]);
 
+  const purging = purgeJob?.state === "RUNNING";
 
   const formatDate = (dateString) => {
     return new Date(dateString).toLocaleString('en-US', {
@@ -85,7 +117,7 @@ const handleClearAll = () => {
           <p className="page-subtitle">Manage and review deleted suggestions</p>
         </div>
         
-        {deletedSuggestions.length > 0 && (
+        {deletedSuggestions.length > 0 && !purging && (
           <button className="clear-all-btn" onClick={handleClearAll}>
             <span className="btn-icon">🧹</span>
             Clear All
@@ -100,6 +132,13 @@ const handleClearAll = () => {
         </div>
       )}
 
+      {purging && (
+        <div className="loading-container">
+          <div className="loading-spinner"></div>
+          <p>Permanently deleting suggestions... {purgeJob.suggestionsDeleted} removed so far</p>
+        </div>
+      )}
+
       {error && (
         <div className="error-container">
           <div className="error-icon">⚠️</div>
@@ -107,7 +146,7 @@ const handleClearAll = () => {
         </div>
       )}
 
-      {!loading && deletedSuggestions.length === 0 && (
+      {!loading && !purging && deletedSuggestions.length === 0 && (
         <div className="empty-state">
           <div className="empty-icon">📭</div>
           <h3>No deleted suggestions found</h3>